@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Joerg Kubitz and others.
+ * Copyright (c) 2022, 2026 Joerg Kubitz and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,26 +14,41 @@
 package org.eclipse.core.filebuffers.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import org.junit.Test;
 
 
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
 
 import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
 import org.eclipse.core.filebuffers.manipulation.ConvertLineDelimitersOperation;
 import org.eclipse.core.filebuffers.manipulation.FileBufferOperationRunner;
+import org.eclipse.core.filebuffers.manipulation.MultiTextEditWithProgress;
+
+import org.eclipse.jface.text.BadLocationException;
 
 public class ConvertLineDelemiterTest {
 
@@ -53,7 +68,211 @@ public class ConvertLineDelemiterTest {
 		test(delim -> "line1" + delim + "line2" + delim + delim + "line3");
 	}
 
+	@Test
+	public void testWithDelimnAtEndInParallel() throws Exception {
+		test(delim -> delim + "line1" + delim + "line2" + delim + delim + "line3" + delim, 4);
+	}
+
+	@Test
+	public void testWithoutDelimnAtEndInParallel() throws Exception {
+		test(delim -> "line1" + delim + "line2" + delim + delim + "line3", 4);
+	}
+
+	/*
+	 * More files than are computed and applied in two batches, some of them requesting a
+	 * synchronization context.
+	 */
+	@Test
+	public void testManyFilesInParallel() throws Exception {
+		IProject p= createProject();
+		try {
+			IFile[] files= createFiles(300);
+			ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+			IPath[] synchronizedPaths= new IPath[] { files[0].getFullPath(), files[100].getFullPath(), files[299].getFullPath() };
+			for (IPath path : synchronizedPaths) {
+				manager.connect(path, LocationKind.IFILE, null);
+				manager.getTextFileBuffer(path, LocationKind.IFILE).requestSynchronizationContext();
+			}
+			try {
+				FileBufferOperationRunner runner= new FileBufferOperationRunner(manager, null);
+				runner.setParallelism(4);
+				runner.execute(getPaths(files), new ConvertLineDelimitersOperation("\r\n"), null);
+			} finally {
+				for (IPath path : synchronizedPaths) {
+					ITextFileBuffer fileBuffer= manager.getTextFileBuffer(path, LocationKind.IFILE);
+					fileBuffer.releaseSynchronizationContext();
+					manager.disconnect(path, LocationKind.IFILE, null);
+				}
+			}
+			for (int i= 0; i < files.length; i++)
+				assertEquals(readable(getContent(i, "\r\n")), readable(Files.readString(files[i].getLocation().toFile().toPath())));
+			assertReleased(files);
+		} finally {
+			p.delete(true, null);
+		}
+	}
+
+	/*
+	 * Cancels the operation while the edits are computed in parallel.
+	 */
+	@Test
+	public void testCancelInParallel() throws Exception {
+		IProject p= createProject();
+		try {
+			IFile[] files= createFiles(300);
+			IProgressMonitor monitor= new NullProgressMonitor();
+			AtomicInteger computed= new AtomicInteger();
+			ConvertLineDelimitersOperation operation= new ConvertLineDelimitersOperation("\r\n") {
+				@Override
+				protected MultiTextEditWithProgress computeTextEdit(ITextFileBuffer fileBuffer, IProgressMonitor progressMonitor) throws CoreException {
+					if (computed.incrementAndGet() == 100)
+						monitor.setCanceled(true);
+					return super.computeTextEdit(fileBuffer, progressMonitor);
+				}
+
+				@Override
+				protected boolean supportsParallelComputation() {
+					return true;
+				}
+			};
+			FileBufferOperationRunner runner= new FileBufferOperationRunner(FileBuffers.getTextFileBufferManager(), null);
+			runner.setParallelism(4);
+			try {
+				runner.execute(getPaths(files), operation, monitor);
+				fail();
+			} catch (OperationCanceledException x) {
+				// expected
+			}
+			// nothing has been saved
+			for (int i= 0; i < files.length; i++)
+				assertEquals(readable(getContent(i, "\n")), readable(Files.readString(files[i].getLocation().toFile().toPath())));
+			assertReleased(files);
+		} finally {
+			p.delete(true, null);
+		}
+	}
+
+	/*
+	 * Fails to compute the edit for one of the files while the edits are computed in parallel.
+	 */
+	@Test
+	public void testFailureInParallel() throws Exception {
+		IProject p= createProject();
+		try {
+			IFile[] files= createFiles(300);
+			IPath failing= files[150].getFullPath();
+			ConvertLineDelimitersOperation operation= new ConvertLineDelimitersOperation("\r\n") {
+				@Override
+				protected MultiTextEditWithProgress computeTextEdit(ITextFileBuffer fileBuffer, IProgressMonitor progressMonitor) throws CoreException {
+					if (failing.equals(fileBuffer.getLocation()))
+						throw new CoreException(new Status(IStatus.ERROR, "org.eclipse.core.filebuffers.tests", "failure"));
+					return super.computeTextEdit(fileBuffer, progressMonitor);
+				}
+
+				@Override
+				protected boolean supportsParallelComputation() {
+					return true;
+				}
+			};
+			FileBufferOperationRunner runner= new FileBufferOperationRunner(FileBuffers.getTextFileBufferManager(), null);
+			runner.setParallelism(4);
+			try {
+				runner.execute(getPaths(files), operation, null);
+				fail();
+			} catch (CoreException x) {
+				assertEquals("failure", x.getStatus().getMessage());
+			}
+			// nothing has been saved
+			for (int i= 0; i < files.length; i++)
+				assertEquals(readable(getContent(i, "\n")), readable(Files.readString(files[i].getLocation().toFile().toPath())));
+			assertReleased(files);
+		} finally {
+			p.delete(true, null);
+		}
+	}
+
+	/*
+	 * Modifies a document after its edit has been computed in parallel and before it is applied.
+	 */
+	@Test
+	public void testModificationInParallel() throws Exception {
+		IProject p= createProject();
+		try {
+			IFile[] files= createFiles(300);
+			IPath modified= files[150].getFullPath();
+			AtomicInteger computed= new AtomicInteger();
+			ConvertLineDelimitersOperation operation= new ConvertLineDelimitersOperation("\r\n") {
+				@Override
+				protected MultiTextEditWithProgress computeTextEdit(ITextFileBuffer fileBuffer, IProgressMonitor progressMonitor) throws CoreException {
+					MultiTextEditWithProgress edit= super.computeTextEdit(fileBuffer, progressMonitor);
+					if (modified.equals(fileBuffer.getLocation()) && computed.incrementAndGet() == 1) {
+						try {
+							fileBuffer.getDocument().replace(0, 0, "line0\n");
+						} catch (BadLocationException x) {
+							fail();
+						}
+					}
+					return edit;
+				}
+
+				@Override
+				protected boolean supportsParallelComputation() {
+					return true;
+				}
+			};
+			FileBufferOperationRunner runner= new FileBufferOperationRunner(FileBuffers.getTextFileBufferManager(), null);
+			runner.setParallelism(4);
+			runner.execute(getPaths(files), operation, null);
+
+			// the edit of the modified document has been computed again
+			assertEquals(2, computed.get());
+			for (int i= 0; i < files.length; i++) {
+				String expected= getContent(i, "\r\n");
+				if (modified.equals(files[i].getFullPath()))
+					expected= "line0\r\n" + expected;
+				assertEquals(readable(expected), readable(Files.readString(files[i].getLocation().toFile().toPath())));
+			}
+			assertReleased(files);
+		} finally {
+			p.delete(true, null);
+		}
+	}
+
+	private static IProject createProject() throws CoreException {
+		IProject p= ResourcesPlugin.getWorkspace().getRoot().getProject("ConvertLineDelemiterTest");
+		p.create(null);
+		p.open(null);
+		return p;
+	}
+
+	private static IFile[] createFiles(int count) throws CoreException {
+		IFile[] files= new IFile[count];
+		for (int i= 0; i < count; i++) {
+			IFile file= ResourcesPlugin.getWorkspace().getRoot().getFile(new Path("/ConvertLineDelemiterTest/test" + i + ".txt"));
+			file.create(new ByteArrayInputStream(getContent(i, "\n").getBytes()), true, null);
+			files[i]= file;
+		}
+		return files;
+	}
+
+	private static String getContent(int index, String delim) {
+		return "line1" + delim + "line2" + delim + index + delim;
+	}
+
+	private static IPath[] getPaths(IFile[] files) {
+		return Arrays.stream(files).map(f -> f.getFullPath()).toArray(IPath[]::new);
+	}
+
+	private static void assertReleased(IFile[] files) {
+		for (IFile file : files)
+			assertNull(FileBuffers.getTextFileBufferManager().getTextFileBuffer(file.getFullPath(), LocationKind.IFILE));
+	}
+
 	void test(Function<String, String> testFile) throws Exception {
+		test(testFile, 1);
+	}
+
+	void test(Function<String, String> testFile, int parallelism) throws Exception {
 		IProject p= ResourcesPlugin.getWorkspace().getRoot().getProject("ConvertLineDelemiterTest");
 		p.create(null);
 		p.open(null);
@@ -69,6 +288,7 @@ public class ConvertLineDelemiterTest {
 					files[i++]= file;
 				}
 				FileBufferOperationRunner runner= new FileBufferOperationRunner(FileBuffers.getTextFileBufferManager(), null);
+				runner.setParallelism(parallelism);
 				ConvertLineDelimitersOperation op= new ConvertLineDelimitersOperation(outputDelim);
 				runner.execute(Arrays.stream(files).map(f -> f.getFullPath()).toArray(IPath[]::new), op, null);
 				for (IFile file : files) {
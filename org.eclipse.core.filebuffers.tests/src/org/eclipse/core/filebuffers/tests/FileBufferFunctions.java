@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,12 +17,15 @@ package org.eclipse.core.filebuffers.tests;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.PrintStream;
 import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Collections;
 
 import org.junit.After;
 import org.junit.Before;
@@ -35,6 +38,7 @@ import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileInfo;
 import org.eclipse.core.filesystem.IFileStore;
 
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.ILog;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
@@ -46,6 +50,7 @@ import org.eclipse.core.resources.IProject;
 
 import org.eclipse.core.filebuffers.FileBuffers;
 import org.eclipse.core.filebuffers.IFileBuffer;
+import org.eclipse.core.filebuffers.IFileBufferStatusCodes;
 import org.eclipse.core.filebuffers.ITextFileBuffer;
 import org.eclipse.core.filebuffers.ITextFileBufferManager;
 import org.eclipse.core.filebuffers.LocationKind;
@@ -1264,6 +1269,121 @@ public abstract class FileBufferFunctions {
 		assertEquals(2, notifyCounter2.notifyCount);
 	}
 
+	/*
+	 * Test commit of a document that is encoded in several chunks.
+	 */
+	@Test
+	public void testCommitLargeDocument() throws Exception {
+		StringBuilder buffer= new StringBuilder();
+		for (int i= 0; buffer.length() < 100000; i++)
+			buffer.append("line ").append(i).append(" \u00e4\u20ac\ud83d\ude00\n");
+		String content= buffer.toString();
+
+		fManager.connect(fPath, LocationKind.NORMALIZE, null);
+		try {
+			ITextFileBuffer fileBuffer= fManager.getTextFileBuffer(fPath, LocationKind.NORMALIZE);
+			fileBuffer.setEncoding("UTF-8");
+			fileBuffer.getDocument().set(content);
+			fileBuffer.commit(null, true);
+			assertFalse(fileBuffer.isDirty());
+			// revert to see the content is persistent
+			fileBuffer.getDocument().set("");
+			fileBuffer.revert(null);
+			assertEquals(content, fileBuffer.getDocument().get());
+		} finally {
+			fManager.disconnect(fPath, LocationKind.NORMALIZE, null);
+		}
+	}
+
+	/*
+	 * Test commit of a document with a character the encoding cannot map.
+	 */
+	@Test
+	public void testCommitUnmappableCharacter() throws Exception {
+		StringBuilder buffer= new StringBuilder();
+		while (buffer.length() < 100000)
+			buffer.append("ascii only\n");
+		buffer.append("\u20ac");
+
+		fManager.connect(fPath, LocationKind.NORMALIZE, null);
+		try {
+			ITextFileBuffer fileBuffer= fManager.getTextFileBuffer(fPath, LocationKind.NORMALIZE);
+			String originalContent= fileBuffer.getDocument().get();
+			fileBuffer.setEncoding("US-ASCII");
+			fileBuffer.getDocument().set(buffer.toString());
+			try {
+				fileBuffer.commit(null, true);
+				fail("commit must fail for unmappable characters");
+			} catch (CoreException x) {
+				assertEquals(IFileBufferStatusCodes.CHARSET_MAPPING_FAILED, x.getStatus().getCode());
+			}
+			assertTrue(fileBuffer.isDirty());
+			// nothing must have been written
+			fileBuffer.revert(null);
+			assertEquals(originalContent, fileBuffer.getDocument().get());
+		} finally {
+			fManager.disconnect(fPath, LocationKind.NORMALIZE, null);
+		}
+	}
+
+	/*
+	 * Test ITextFileBufferManager#connectAll and ITextFileBufferManager#disconnectAll
+	 */
+	@Test
+	public void testConnectAll() throws Exception {
+		String originalContent;
+		fManager.connect(fPath, LocationKind.NORMALIZE, null);
+		try {
+			originalContent= fManager.getTextFileBuffer(fPath, LocationKind.NORMALIZE).getDocument().get();
+		} finally {
+			fManager.disconnect(fPath, LocationKind.NORMALIZE, null);
+		}
+
+		class Listener extends FileBufferListener {
+
+			public int count;
+
+			@Override
+			public void bufferCreated(IFileBuffer buf) {
+				++count;
+			}
+
+			@Override
+			public void bufferDisposed(IFileBuffer buf) {
+				--count;
+			}
+		}
+
+		Listener listener= new Listener();
+		fManager.addFileBufferListener(listener);
+		try {
+			fManager.connectAll(Arrays.asList(fPath, fPath), LocationKind.NORMALIZE, null);
+			assertEquals(1, listener.count);
+			ITextFileBuffer fileBuffer= fManager.getTextFileBuffer(fPath, LocationKind.NORMALIZE);
+			assertNotNull(fileBuffer);
+			assertEquals(originalContent, fileBuffer.getDocument().get());
+			assertFalse(fileBuffer.isDirty());
+			assertEquals(1, fManager.getFileBuffers().length);
+
+			// connected twice
+			fManager.disconnectAll(Collections.singletonList(fPath), LocationKind.NORMALIZE, null);
+			assertSame(fileBuffer, fManager.getTextFileBuffer(fPath, LocationKind.NORMALIZE));
+			assertEquals(1, listener.count);
+
+			fManager.disconnectAll(Collections.singletonList(fPath), LocationKind.NORMALIZE, null);
+			assertNull(fManager.getTextFileBuffer(fPath, LocationKind.NORMALIZE));
+			assertEquals(0, listener.count);
+
+		} finally {
+			try {
+				while (fManager.getTextFileBuffer(fPath, LocationKind.NORMALIZE) != null)
+					fManager.disconnect(fPath, LocationKind.NORMALIZE, null);
+			} finally {
+				fManager.removeFileBufferListener(listener);
+			}
+		}
+	}
+
 	@Test
 	public void testGetBufferForDocument() throws Exception {
 		fManager.connect(fPath, LocationKind.NORMALIZE, null);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -112,4 +112,16 @@ public class FileBuffersForNonAccessibleWorkspaceFiles extends FileBufferFunctio
 		// disable because it might create a file outside the closed project
 	}
 
+	@Override
+	@Test
+	public void testCommitLargeDocument() throws Exception {
+		// disable because it might create a file outside the closed project
+	}
+
+	@Override
+	@Test
+	public void testCommitUnmappableCharacter() throws Exception {
+		// disable because it might create a file outside the closed project
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,11 +13,19 @@
  *******************************************************************************/
 package org.eclipse.core.filebuffers.tests;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
 
 import org.osgi.framework.Bundle;
 
@@ -25,6 +33,7 @@ import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileInfo;
 import org.eclipse.core.filesystem.IFileStore;
 
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Platform;
@@ -36,6 +45,9 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourceAttributes;
 
 import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.IFileBuffer;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.LocationKind;
 
 import org.eclipse.jface.text.source.IAnnotationModel;
 
@@ -112,4 +124,117 @@ public class FileBuffersForWorkspaceFiles extends FileBufferFunctions {
 		Bundle bundle= Platform.getBundle("org.eclipse.ui.editors");
 		return bundle != null ? IAnnotationModel.class : null;
 	}
+
+	/*
+	 * Tests ITextFileBufferManager#connectAll with more files than are set up in one batch and
+	 * with a file that is already connected.
+	 */
+	@Test
+	public void testConnectAllManyFiles() throws Exception {
+		List<IPath> paths= createFiles(150, "");
+		fManager.connect(getPath(), LocationKind.NORMALIZE, null);
+		ITextFileBuffer existing= fManager.getTextFileBuffer(getPath(), LocationKind.NORMALIZE);
+
+		BufferCounter counter= new BufferCounter();
+		fManager.addFileBufferListener(counter);
+		try {
+			List<IPath> locations= new ArrayList<>(paths);
+			locations.add(getPath());
+			fManager.connectAll(locations, LocationKind.NORMALIZE, null);
+			assertEquals(paths.size(), counter.fCreated);
+			assertSame(existing, fManager.getTextFileBuffer(getPath(), LocationKind.NORMALIZE));
+			for (int i= 0; i < paths.size(); i++)
+				assertEquals("content " + i, fManager.getTextFileBuffer(paths.get(i), LocationKind.NORMALIZE).getDocument().get());
+
+			fManager.disconnectAll(locations, LocationKind.NORMALIZE, null);
+			assertEquals(paths.size(), counter.fDisposed);
+			for (IPath path : paths)
+				assertNull(fManager.getTextFileBuffer(path, LocationKind.NORMALIZE));
+			assertSame(existing, fManager.getTextFileBuffer(getPath(), LocationKind.NORMALIZE));
+		} finally {
+			fManager.removeFileBufferListener(counter);
+			fManager.disconnect(getPath(), LocationKind.NORMALIZE, null);
+		}
+	}
+
+	/*
+	 * Tests that ITextFileBufferManager#connectAll disconnects the files it connected when one
+	 * file cannot be connected.
+	 */
+	@Test
+	public void testConnectAllFailure() throws Exception {
+		List<IPath> paths= createFiles(100, "");
+		fManager.connect(getPath(), LocationKind.IFILE, null);
+		ITextFileBuffer existing= fManager.getTextFileBuffer(getPath(), LocationKind.IFILE);
+
+		BufferCounter counter= new BufferCounter();
+		fManager.addFileBufferListener(counter);
+		try {
+			List<IPath> locations= new ArrayList<>(paths);
+			locations.add(getPath());
+			// the location of a file in a project that does not exist cannot be determined
+			locations.add(new Path("/missingProject/MissingFile"));
+			try {
+				fManager.connectAll(locations, LocationKind.IFILE, null);
+				fail();
+			} catch (CoreException x) {
+				// expected
+			}
+			assertEquals(counter.fCreated, counter.fDisposed);
+			for (IPath path : paths)
+				assertNull(fManager.getTextFileBuffer(path, LocationKind.IFILE));
+
+			// the file connected before is still connected once
+			assertSame(existing, fManager.getTextFileBuffer(getPath(), LocationKind.IFILE));
+			fManager.disconnect(getPath(), LocationKind.IFILE, null);
+			assertNull(fManager.getTextFileBuffer(getPath(), LocationKind.IFILE));
+		} finally {
+			fManager.removeFileBufferListener(counter);
+			while (fManager.getTextFileBuffer(getPath(), LocationKind.IFILE) != null)
+				fManager.disconnect(getPath(), LocationKind.IFILE, null);
+		}
+	}
+
+	/*
+	 * Tests that ITextFileBufferManager#connectAll runs the document setup participants before the
+	 * content of the documents is set, as ITextFileBufferManager#connect does.
+	 */
+	@Test
+	public void testConnectAllWithSetupParticipants() throws Exception {
+		List<IPath> paths= createFiles(150, ".111foo");
+		fManager.connectAll(paths, LocationKind.IFILE, null);
+		try {
+			for (int i= 0; i < paths.size(); i++) {
+				ITextFileBuffer buffer= fManager.getTextFileBuffer(paths.get(i), LocationKind.IFILE);
+				assertEquals("content " + i, buffer.getDocument().get());
+				assertFalse(buffer.isDirty());
+			}
+		} finally {
+			fManager.disconnectAll(paths, LocationKind.IFILE, null);
+		}
+	}
+
+	private List<IPath> createFiles(int count, String extension) throws CoreException {
+		IFolder folder= ResourceHelper.createFolder("project/folderA/folderC/");
+		List<IPath> paths= new ArrayList<>(count);
+		for (int i= 0; i < count; i++)
+			paths.add(ResourceHelper.createFile(folder, "File" + i + extension, "content " + i).getFullPath());
+		return paths;
+	}
+
+	private static class BufferCounter extends FileBufferListener {
+
+		int fCreated;
+		int fDisposed;
+
+		@Override
+		public void bufferCreated(IFileBuffer buffer) {
+			++fCreated;
+		}
+
+		@Override
+		public void bufferDisposed(IFileBuffer buffer) {
+			++fDisposed;
+		}
+	}
 }
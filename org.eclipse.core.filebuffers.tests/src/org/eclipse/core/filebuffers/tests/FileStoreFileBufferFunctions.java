@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.PrintStream;
 import java.io.PrintWriter;
@@ -31,12 +32,14 @@ import org.eclipse.core.filesystem.IFileInfo;
 import org.eclipse.core.filesystem.IFileStore;
 import org.eclipse.core.filesystem.URIUtil;
 
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 
 import org.eclipse.core.resources.IProject;
 
 import org.eclipse.core.filebuffers.FileBuffers;
 import org.eclipse.core.filebuffers.IFileBuffer;
+import org.eclipse.core.filebuffers.IFileBufferStatusCodes;
 import org.eclipse.core.filebuffers.ITextFileBuffer;
 import org.eclipse.core.filebuffers.ITextFileBufferManager;
 
@@ -1220,6 +1223,63 @@ public abstract class FileStoreFileBufferFunctions {
 		assertEquals(2, notifyCounter2.notifyCount);
 	}
 
+	/*
+	 * Test commit of a document that is encoded in several chunks.
+	 */
+	@Test
+	public void testCommitLargeDocument() throws Exception {
+		StringBuilder buffer= new StringBuilder();
+		for (int i= 0; buffer.length() < 100000; i++)
+			buffer.append("line ").append(i).append(" \u00e4\u20ac\ud83d\ude00\n");
+		String content= buffer.toString();
+
+		fManager.connectFileStore(fFileStore, null);
+		try {
+			ITextFileBuffer fileBuffer= fManager.getFileStoreTextFileBuffer(fFileStore);
+			fileBuffer.setEncoding("UTF-8");
+			fileBuffer.getDocument().set(content);
+			fileBuffer.commit(null, true);
+			assertFalse(fileBuffer.isDirty());
+			// revert to see the content is persistent
+			fileBuffer.getDocument().set("");
+			fileBuffer.revert(null);
+			assertEquals(content, fileBuffer.getDocument().get());
+		} finally {
+			fManager.disconnectFileStore(fFileStore, null);
+		}
+	}
+
+	/*
+	 * Test commit of a document with a character the encoding cannot map.
+	 */
+	@Test
+	public void testCommitUnmappableCharacter() throws Exception {
+		StringBuilder buffer= new StringBuilder();
+		while (buffer.length() < 100000)
+			buffer.append("ascii only\n");
+		buffer.append("\u20ac");
+
+		fManager.connectFileStore(fFileStore, null);
+		try {
+			ITextFileBuffer fileBuffer= fManager.getFileStoreTextFileBuffer(fFileStore);
+			String originalContent= fileBuffer.getDocument().get();
+			fileBuffer.setEncoding("US-ASCII");
+			fileBuffer.getDocument().set(buffer.toString());
+			try {
+				fileBuffer.commit(null, true);
+				fail("commit must fail for unmappable characters");
+			} catch (CoreException x) {
+				assertEquals(IFileBufferStatusCodes.CHARSET_MAPPING_FAILED, x.getStatus().getCode());
+			}
+			assertTrue(fileBuffer.isDirty());
+			// nothing must have been written
+			fileBuffer.revert(null);
+			assertEquals(originalContent, fileBuffer.getDocument().get());
+		} finally {
+			fManager.disconnectFileStore(fFileStore, null);
+		}
+	}
+
 	@Test
 	public void testGetBufferForDocument() throws Exception {
 		fManager.connectFileStore(fFileStore, null);
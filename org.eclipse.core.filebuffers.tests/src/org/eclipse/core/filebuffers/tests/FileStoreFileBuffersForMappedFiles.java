@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.filebuffers.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileInfo;
+import org.eclipse.core.filesystem.IFileStore;
+
+import org.eclipse.core.runtime.Path;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+
+/**
+ * Tests file buffers for files which are mapped into memory.
+ */
+public class FileStoreFileBuffersForMappedFiles {
+
+	private static final String THRESHOLD_PROPERTY= "org.eclipse.core.filebuffers.mappedFileThreshold";
+
+	private ITextFileBufferManager fManager;
+	private File fFile;
+	private IFileStore fFileStore;
+	private String fContent;
+
+	@Before
+	public void setUp() throws Exception {
+		fManager= FileBuffers.getTextFileBufferManager();
+		fFile= FileTool.createTempFileInPlugin(FileBuffersTestPlugin.getDefault(), new Path("mappedResources/MappedFile.666foo"));
+		fFile.getParentFile().mkdirs();
+		StringBuilder buffer= new StringBuilder();
+		for (int i= 0; i < 10000; i++)
+			buffer.append("line ").append(i).append('\n');
+		fContent= buffer.toString();
+		Files.writeString(fFile.toPath(), fContent, StandardCharsets.UTF_8);
+		fFileStore= EFS.getLocalFileSystem().fromLocalFile(fFile);
+		System.setProperty(THRESHOLD_PROPERTY, "1024");
+	}
+
+	@After
+	public void tearDown() {
+		System.clearProperty(THRESHOLD_PROPERTY);
+		assertTrue(fManager.getFileStoreTextFileBuffer(fFileStore) == null);
+		FileTool.delete(fFile);
+		FileTool.delete(fFile.getParentFile());
+	}
+
+	private ITextFileBuffer connect() throws Exception {
+		fManager.connectFileStore(fFileStore, null);
+		ITextFileBuffer fileBuffer= fManager.getFileStoreTextFileBuffer(fFileStore);
+		fileBuffer.setEncoding("UTF-8");
+		return fileBuffer;
+	}
+
+	/*
+	 * Tests that files are only mapped if the threshold property is set.
+	 */
+	@Test
+	public void testNotMappedByDefault() throws Exception {
+		System.clearProperty(THRESHOLD_PROPERTY);
+		ITextFileBuffer fileBuffer= connect();
+		try {
+			assertFalse(fileBuffer.isMapped());
+			assertEquals(fContent, fileBuffer.getDocument().get());
+		} finally {
+			fManager.disconnectFileStore(fFileStore, null);
+		}
+	}
+
+	/*
+	 * Tests that files at least as large as the threshold are mapped.
+	 */
+	@Test
+	public void testMapped() throws Exception {
+		ITextFileBuffer fileBuffer= connect();
+		try {
+			assertTrue(fileBuffer.isMapped());
+			IDocument document= fileBuffer.getDocument();
+			assertEquals(fContent, document.get());
+			assertEquals(10001, document.getNumberOfLines());
+			assertFalse(fileBuffer.isDirty());
+		} finally {
+			fManager.disconnectFileStore(fFileStore, null);
+		}
+	}
+
+	/*
+	 * Tests that the document setup participants run for mapped documents.
+	 */
+	@Test
+	public void testSetupParticipants() throws Exception {
+		ITextFileBuffer fileBuffer= connect();
+		try {
+			assertTrue(fileBuffer.isMapped());
+			assertTrue(fileBuffer.getDocument().containsPositionCategory(MockDocumentSetupParticipants.TestDSP10.CATEGORY));
+		} finally {
+			fManager.disconnectFileStore(fFileStore, null);
+		}
+	}
+
+	/*
+	 * Tests that empty replacements are reported to the listeners without loading the content.
+	 */
+	@Test
+	public void testEmptyReplace() throws Exception {
+		ITextFileBuffer fileBuffer= connect();
+		try {
+			IDocument document= fileBuffer.getDocument();
+			List<DocumentEvent> events= new ArrayList<>();
+			document.addDocumentListener(new IDocumentListener() {
+				@Override
+				public void documentAboutToBeChanged(DocumentEvent event) {
+				}
+
+				@Override
+				public void documentChanged(DocumentEvent event) {
+					events.add(event);
+				}
+			});
+			document.replace(5, 0, "");
+			assertTrue(fileBuffer.isMapped());
+			assertEquals(1, events.size());
+			assertEquals(5, events.get(0).getOffset());
+			assertEquals(fContent, document.get());
+
+			try {
+				document.replace(fContent.length() + 1, 0, "");
+				fail();
+			} catch (BadLocationException e) {
+				// expected
+			}
+		} finally {
+			fManager.disconnectFileStore(fFileStore, null);
+		}
+	}
+
+	/*
+	 * Tests that changing a mapped document loads its content and that it can be committed.
+	 */
+	@Test
+	public void testChange() throws Exception {
+		ITextFileBuffer fileBuffer= connect();
+		try {
+			IDocument document= fileBuffer.getDocument();
+			document.replace(5, 1, "ONE");
+			assertFalse(fileBuffer.isMapped());
+			String expected= fContent.substring(0, 5) + "ONE" + fContent.substring(6);
+			assertEquals(expected, document.get());
+			assertTrue(fileBuffer.isDirty());
+
+			fileBuffer.commit(null, true);
+			assertFalse(fileBuffer.isDirty());
+			assertEquals(expected, Files.readString(fFile.toPath(), StandardCharsets.UTF_8));
+		} finally {
+			fManager.disconnectFileStore(fFileStore, null);
+		}
+	}
+
+	/*
+	 * Tests that reverting after the file has been changed replaces the mapped document content.
+	 */
+	@Test
+	public void testRevertAfterExternalChange() throws Exception {
+		ITextFileBuffer fileBuffer= connect();
+		try {
+			assertTrue(fileBuffer.isMapped());
+			IDocument document= fileBuffer.getDocument();
+
+			String newContent= "changed\n";
+			Files.writeString(fFile.toPath(), newContent, StandardCharsets.UTF_8);
+			IFileInfo info= fFileStore.fetchInfo();
+			info.setLastModified(info.getLastModified() + 10000);
+			fFileStore.putInfo(info, EFS.SET_LAST_MODIFIED, null);
+			assertFalse(fileBuffer.isSynchronized());
+
+			fileBuffer.revert(null);
+			assertFalse(fileBuffer.isMapped());
+			assertTrue(fileBuffer.isSynchronized());
+			assertEquals(newContent, document.get());
+			assertFalse(fileBuffer.isDirty());
+		} finally {
+			fManager.disconnectFileStore(fFileStore, null);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008 Symbian Software Systems, IBM Corporation and others.
+ * Copyright (c) 2008, 2026 Symbian Software Systems, IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -81,6 +81,19 @@ public class MockDocumentSetupParticipants {
 		}
 	}
 
+	/**
+	 * An {@link IDocumentSetupParticipant} which leaves the content untouched and only adds the
+	 * {@link #CATEGORY} position category.
+	 */
+	public static class TestDSP10 implements IDocumentSetupParticipant {
+		public static final String CATEGORY= TestDSP10.class.getName();
+
+		@Override
+		public void setup(IDocument document) {
+			document.addPositionCategory(CATEGORY);
+		}
+	}
+
 	private static void append(IDocument document, String string) {
 		try {
 			document.replace(document.getLength(), 0, string);
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.filebuffers.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.eclipse.core.internal.filebuffers.SynchronizableDocument;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.AnnotationModel;
+
+
+/**
+ * Tests the position handling of {@link SynchronizableDocument}.
+ */
+public class SynchronizableDocumentTest {
+
+	private static final class CountingModel extends AnnotationModel {
+		private final boolean fBulk;
+		int fAddPositionCalls;
+
+		CountingModel(boolean bulk) {
+			fBulk= bulk;
+		}
+
+		@Override
+		protected void addPosition(IDocument document, Position position) throws BadLocationException {
+			fAddPositionCalls++;
+			super.addPosition(document, position);
+		}
+
+		@Override
+		protected boolean supportsBulkPositionUpdate() {
+			return fBulk;
+		}
+	}
+
+	@Test
+	public void testSupportsBulkPositionUpdate() {
+		assertTrue(new SynchronizableDocument().supportsBulkPositionUpdate());
+	}
+
+	@Test
+	public void testReplaceAnnotationsInBulk() throws Exception {
+		CountingModel model= new CountingModel(true);
+		replaceAnnotations(model, new Object());
+		assertEquals(0, model.fAddPositionCalls);
+
+		model= new CountingModel(true);
+		replaceAnnotations(model, null);
+		assertEquals(0, model.fAddPositionCalls);
+	}
+
+	@Test
+	public void testReplaceAnnotationsWithoutBulkSupport() throws Exception {
+		CountingModel model= new CountingModel(false);
+		replaceAnnotations(model, new Object());
+		assertEquals(3, model.fAddPositionCalls);
+	}
+
+	private static void replaceAnnotations(CountingModel model, Object lockObject) throws Exception {
+		SynchronizableDocument document= new SynchronizableDocument();
+		document.set("0123456789\n0123456789\n0123456789\n");
+		document.setLockObject(lockObject);
+		model.connect(document);
+		try {
+			Annotation existing= new Annotation(false);
+			Position existingPosition= new Position(2, 3);
+			model.addAnnotation(existing, existingPosition);
+			model.fAddPositionCalls= 0;
+
+			Map<Annotation, Position> toAdd= new HashMap<>();
+			for (int i= 0; i < 3; i++)
+				toAdd.put(new Annotation(false), new Position(i * 11, 5));
+			model.replaceAnnotations(new Annotation[] { existing }, toAdd);
+
+			assertEquals(null, model.getPosition(existing));
+			Position[] positions= document.getPositions(IDocument.DEFAULT_CATEGORY);
+			assertEquals(3, positions.length);
+			for (Map.Entry<Annotation, Position> entry : toAdd.entrySet()) {
+				assertSame(entry.getValue(), model.getPosition(entry.getKey()));
+				assertTrue(document.containsPosition(IDocument.DEFAULT_CATEGORY, entry.getValue().getOffset(), entry.getValue().getLength()));
+			}
+
+			document.replace(0, 0, "ab");
+			for (Position position : toAdd.values())
+				assertEquals(2, position.getOffset() % 11);
+		} finally {
+			model.disconnect(document);
+		}
+	}
+}
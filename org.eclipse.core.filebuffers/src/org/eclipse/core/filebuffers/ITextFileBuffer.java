@@ -68,4 +68,22 @@ public interface ITextFileBuffer extends IFileBuffer {
 	 * @return the annotation model of this text file buffer, might be <code>null</code> if called when disconnected
 	 */
 	IAnnotationModel getAnnotationModel();
+
+	/**
+	 * Tells whether the document of this text file buffer is a view of the memory-mapped
+	 * underlying file.
+	 * <p>
+	 * Local files at least as large as the value of the
+	 * <code>org.eclipse.core.filebuffers.mappedFileThreshold</code> system property are mapped
+	 * instead of being read into memory. Files are not mapped if the property is not set. The
+	 * content of a mapped document is decoded on demand. The first change of the document loads
+	 * its content into memory and the document stops being mapped; the same happens when the
+	 * buffer is reverted after the file has been changed. The underlying file must not be
+	 * truncated by others while it is mapped.
+	 * </p>
+	 *
+	 * @return <code>true</code> if the document is a view of the mapped file
+	 * @since 3.8
+	 */
+	boolean isMapped();
 }
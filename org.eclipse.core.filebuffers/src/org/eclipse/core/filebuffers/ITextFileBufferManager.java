@@ -14,10 +14,14 @@
 package org.eclipse.core.filebuffers;
 
 
+import java.util.Collection;
+
 import org.eclipse.core.filesystem.IFileStore;
 import org.eclipse.core.internal.filebuffers.FileBuffersPlugin;
 
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
 
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.source.IAnnotationModel;
@@ -225,4 +229,42 @@ public interface ITextFileBufferManager extends IFileBufferManager {
 	 * @since 3.2
 	 */
 	boolean isTextFileLocation(IPath location, boolean strict);
+
+	/**
+	 * Connects the files at the given locations to this manager. The effect is the same as
+	 * calling {@link #connect(IPath, LocationKind, IProgressMonitor)} for each location, but the
+	 * files are read and decoded in parallel. For each batch of files whose content has been read,
+	 * the documents are created and set up together in the calling thread, the document setup
+	 * participants being run for all documents of the batch before their content is set, and the
+	 * new file buffers are registered at once.
+	 * <p>
+	 * If one of the files could not successfully be connected, the files connected by this call
+	 * are disconnected again before the exception is thrown.
+	 * </p>
+	 *
+	 * @param locations the locations of the files to be connected
+	 * @param locationKind the kind of the given locations
+	 * @param monitor the progress monitor, or <code>null</code> if progress reporting is not desired
+	 * @throws CoreException if a file could not successfully be connected
+	 * @see LocationKind
+	 * @since 3.8
+	 */
+	void connectAll(Collection<IPath> locations, LocationKind locationKind, IProgressMonitor monitor) throws CoreException;
+
+	/**
+	 * Disconnects the files at the given locations from this manager. The effect is the same as
+	 * calling {@link #disconnect(IPath, LocationKind, IProgressMonitor)} for each location.
+	 * <p>
+	 * If one of the files could not successfully be disconnected, the other files are still
+	 * disconnected and the first exception is thrown afterwards.
+	 * </p>
+	 *
+	 * @param locations the locations of the files to be disconnected
+	 * @param locationKind the kind of the given locations
+	 * @param monitor the progress monitor, or <code>null</code> if progress reporting is not desired
+	 * @throws CoreException if a file could not successfully be disconnected
+	 * @see LocationKind
+	 * @since 3.8
+	 */
+	void disconnectAll(Collection<IPath> locations, LocationKind locationKind, IProgressMonitor monitor) throws CoreException;
 }
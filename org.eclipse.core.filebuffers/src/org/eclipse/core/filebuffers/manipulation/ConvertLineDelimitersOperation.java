@@ -77,6 +77,20 @@ public class ConvertLineDelimitersOperation extends TextFileBufferOperation {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Returns <code>true</code> for instances of this class, whose text edits only depend on the
+	 * document of the file buffer.
+	 * </p>
+	 *
+	 * @since 3.8
+	 */
+	@Override
+	protected boolean supportsParallelComputation() {
+		return getClass() == ConvertLineDelimitersOperation.class;
+	}
+
 	@Override
 	protected DocumentRewriteSessionType getDocumentRewriteSessionType() {
 		return DocumentRewriteSessionType.SEQUENTIAL;
@@ -14,9 +14,18 @@
 package org.eclipse.core.filebuffers.manipulation;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.core.internal.filebuffers.FileBuffersPlugin;
 
+import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -40,6 +49,9 @@ import org.eclipse.core.filebuffers.ITextFileBuffer;
 import org.eclipse.core.filebuffers.ITextFileBufferManager;
 import org.eclipse.core.filebuffers.LocationKind;
 
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+
 
 /**
  * A <code>GenericFileBufferOperationRunner</code> executes
@@ -55,6 +67,24 @@ import org.eclipse.core.filebuffers.LocationKind;
  */
 public class GenericFileBufferOperationRunner {
 
+	/**
+	 * A text edit computed by a worker thread, with the modification stamp of the document it
+	 * has been computed for.
+	 */
+	private static final class ComputedEdit {
+		final MultiTextEditWithProgress fEdit;
+		final long fModificationStamp;
+
+		ComputedEdit(MultiTextEditWithProgress edit, long modificationStamp) {
+			fEdit= edit;
+			fModificationStamp= modificationStamp;
+		}
+	}
+
+	/**
+	 * The number of file buffers whose text edits are applied under one scheduling rule.
+	 */
+	private static final int BATCH_SIZE= 64;
 	/** The validation context */
 	private final Object fValidationContext;
 	/** The file buffer manager */
@@ -66,6 +96,10 @@ public class GenericFileBufferOperationRunner {
 	private transient boolean fIsCompleted;
 	/** The exception thrown during the computation in the UI thread. */
 	private transient Throwable fThrowable;
+	/**
+	 * The number of threads which compute text edits.
+	 */
+	private int fParallelism= 1;
 
 
 	/**
@@ -79,6 +113,40 @@ public class GenericFileBufferOperationRunner {
 		fValidationContext= validationContext;
 	}
 
+	/**
+	 * Sets the number of threads which compute the text edits of a
+	 * {@link TextFileBufferOperation}. The default is <code>1</code>, which executes
+	 * operations sequentially.
+	 * <p>
+	 * With a higher parallelism, the text edits for the file buffers which do not request a
+	 * synchronization context are computed concurrently. The edits are then applied in the
+	 * calling thread, in batches under a common scheduling rule. The edits of the other file
+	 * buffers are computed and applied sequentially, as are all other operations. Only operations
+	 * which opt in through {@link TextFileBufferOperation#supportsParallelComputation()} are
+	 * executed this way, all others are always executed sequentially. If the file buffer manager is an
+	 * {@link ITextFileBufferManager}, the files are connected with
+	 * {@link ITextFileBufferManager#connectAll(java.util.Collection, LocationKind, IProgressMonitor)}.
+	 * </p>
+	 *
+	 * @param parallelism the number of threads, at least <code>1</code>
+	 * @since 3.8
+	 */
+	public void setParallelism(int parallelism) {
+		Assert.isLegal(parallelism > 0);
+		fParallelism= parallelism;
+	}
+
+	/**
+	 * Returns the number of threads which compute the text edits of a
+	 * {@link TextFileBufferOperation}.
+	 *
+	 * @return the parallelism
+	 * @since 3.8
+	 */
+	public int getParallelism() {
+		return fParallelism;
+	}
+
 	/**
 	 * Executes the given operation for all file buffers specified by the given locations.
 	 *
@@ -102,7 +170,10 @@ public class GenericFileBufferOperationRunner {
 			}
 
 			IFileBuffer[] unsynchronizedFileBuffers= findUnsynchronizedFileBuffers(fileBuffers);
-			performOperation(unsynchronizedFileBuffers, operation, subMonitor.split(size * 40));
+			if (isParallel(operation))
+				performOperationInParallel(unsynchronizedFileBuffers, (TextFileBufferOperation) operation, subMonitor.split(size * 40));
+			else
+				performOperation(unsynchronizedFileBuffers, operation, subMonitor.split(size * 40));
 
 			final IFileBuffer[] synchronizedFileBuffers= findSynchronizedFileBuffers(fileBuffers);
 			fIsCompleted= false;
@@ -147,7 +218,8 @@ public class GenericFileBufferOperationRunner {
 			commit(fileBuffers2Save, subMonitor.split(size * 80));
 
 		} finally {
-			releaseFileBuffers(locations, subMonitor.split(size * 10));
+			// the file buffers are released even if the operation has been canceled
+			releaseFileBuffers(locations, subMonitor.newChild(size * 10));
 		}
 	}
 
@@ -169,6 +241,148 @@ public class GenericFileBufferOperationRunner {
 		}
 	}
 
+	private boolean isParallel(IFileBufferOperation operation) {
+		return fParallelism > 1 && operation instanceof TextFileBufferOperation && ((TextFileBufferOperation) operation).supportsParallelComputation();
+	}
+
+	/**
+	 * Computes the text edits of the given operation for the given file buffers concurrently and
+	 * applies them in the calling thread. The workers compute the edits without holding a
+	 * scheduling rule, so an edit is computed again under the rule if the document has been
+	 * modified in the meantime.
+	 *
+	 * @param fileBuffers the file buffers
+	 * @param operation the operation
+	 * @param progressMonitor the progress monitor
+	 * @throws CoreException if an edit cannot be computed or applied
+	 * @throws OperationCanceledException if the progress monitor has been canceled
+	 */
+	private void performOperationInParallel(IFileBuffer[] fileBuffers, TextFileBufferOperation operation, IProgressMonitor progressMonitor) throws CoreException, OperationCanceledException {
+		SubMonitor subMonitor= SubMonitor.convert(progressMonitor, fileBuffers.length);
+		if (fileBuffers.length == 0)
+			return;
+
+		// the workers are canceled through their own monitor, which is not shared with the caller
+		IProgressMonitor computeMonitor= new NullProgressMonitor();
+		ExecutorService executor= Executors.newFixedThreadPool(Math.min(fParallelism, fileBuffers.length), runnable -> {
+			Thread thread= new Thread(runnable, operation.getOperationName());
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<ComputedEdit>> edits= new ArrayList<>(fileBuffers.length);
+			for (int start= 0; start < fileBuffers.length; start+= BATCH_SIZE) {
+				int end= Math.min(start + BATCH_SIZE, fileBuffers.length);
+
+				// compute the edits of this and the next batch while this batch is applied
+				for (int i= edits.size(); i < Math.min(end + BATCH_SIZE, fileBuffers.length); i++) {
+					IFileBuffer fileBuffer= fileBuffers[i];
+					edits.add(executor.submit(() -> computeTextEdit(fileBuffer, operation, computeMonitor)));
+				}
+
+				ComputedEdit[] batch= new ComputedEdit[end - start];
+				for (int i= start; i < end; i++) {
+					batch[i - start]= getComputedEdit(edits.get(i), subMonitor);
+					edits.set(i, null);
+				}
+
+				IFileBuffer[] batchFileBuffers= Arrays.copyOfRange(fileBuffers, start, end);
+				ISchedulingRule rule= computeCommitRule(batchFileBuffers);
+				IJobManager manager= Job.getJobManager();
+				manager.beginRule(rule, null);
+				try {
+					for (int i= 0; i < batch.length; i++) {
+						if (batch[i] == null) {
+							subMonitor.split(1);
+							continue;
+						}
+						ITextFileBuffer fileBuffer= (ITextFileBuffer) batchFileBuffers[i];
+						subMonitor.setTaskName(fileBuffer.getLocation().lastSegment());
+						SubMonitor fileMonitor= subMonitor.split(1).setWorkRemaining(100);
+						// the document may have been modified since the edit was computed without the rule
+						MultiTextEditWithProgress edit= batch[i].fEdit;
+						long stamp= getModificationStamp(fileBuffer);
+						if (stamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP || stamp != batch[i].fModificationStamp)
+							edit= operation.computeTextEdit(fileBuffer, fileMonitor.split(10));
+						fileMonitor.setWorkRemaining(90);
+						if (edit != null)
+							operation.performTextEdit(fileBuffer, edit, fileMonitor.split(90));
+					}
+				} finally {
+					manager.endRule(rule);
+				}
+			}
+		} finally {
+			computeMonitor.setCanceled(true);
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Computes the text edit of the given operation for the given file buffer and records the
+	 * modification stamp of its document before the computation.
+	 *
+	 * @param fileBuffer the file buffer
+	 * @param operation the operation
+	 * @param monitor the progress monitor
+	 * @return the computed edit or <code>null</code> if the file buffer is no text file buffer
+	 * @throws CoreException if the edit could not be computed
+	 * @throws OperationCanceledException if the progress monitor has been canceled
+	 */
+	private static ComputedEdit computeTextEdit(IFileBuffer fileBuffer, TextFileBufferOperation operation, IProgressMonitor monitor) throws CoreException, OperationCanceledException {
+		if (!(fileBuffer instanceof ITextFileBuffer))
+			return null;
+		ITextFileBuffer textFileBuffer= (ITextFileBuffer) fileBuffer;
+		long stamp= getModificationStamp(textFileBuffer);
+		return new ComputedEdit(operation.computeTextEdit(textFileBuffer, monitor), stamp);
+	}
+
+	/**
+	 * Returns the modification stamp of the document of the given text file buffer.
+	 *
+	 * @param fileBuffer the text file buffer
+	 * @return the modification stamp or {@link IDocumentExtension4#UNKNOWN_MODIFICATION_STAMP}
+	 */
+	private static long getModificationStamp(ITextFileBuffer fileBuffer) {
+		IDocument document= fileBuffer.getDocument();
+		if (document instanceof IDocumentExtension4)
+			return ((IDocumentExtension4) document).getModificationStamp();
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
+	/**
+	 * Waits for the given computation of a text edit and returns its result.
+	 *
+	 * @param edit the computation of the text edit
+	 * @param monitor the progress monitor of the caller, checked for cancellation while waiting
+	 * @return the computed edit or <code>null</code> if the file buffer is no text file buffer
+	 * @throws CoreException if the edit could not be computed
+	 * @throws OperationCanceledException if the progress monitor has been canceled
+	 */
+	private static ComputedEdit getComputedEdit(Future<ComputedEdit> edit, IProgressMonitor monitor) throws CoreException, OperationCanceledException {
+		while (true) {
+			if (monitor.isCanceled())
+				throw new OperationCanceledException();
+			try {
+				return edit.get(100, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException x) {
+				// check for cancellation again
+			} catch (InterruptedException x) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (ExecutionException x) {
+				Throwable cause= x.getCause();
+				if (cause instanceof CoreException)
+					throw (CoreException) cause;
+				if (cause instanceof RuntimeException)
+					throw (RuntimeException) cause;
+				if (cause instanceof Error)
+					throw (Error) cause;
+				throw new CoreException(new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IFileBufferStatusCodes.CONTENT_CHANGE_FAILED, cause.getLocalizedMessage(), cause));
+			}
+		}
+	}
+
 	private void executeInContext(Runnable runnable) {
 		ITextFileBufferManager fileBufferManager= FileBuffers.getTextFileBufferManager();
 		fileBufferManager.execute(runnable);
@@ -196,6 +410,15 @@ public class GenericFileBufferOperationRunner {
 	private IFileBuffer[] createFileBuffers(IPath[] locations, IProgressMonitor progressMonitor) throws CoreException {
 
 		SubMonitor subMonitor= SubMonitor.convert(progressMonitor, FileBuffersMessages.FileBufferOperationRunner_task_connecting, locations.length);
+		if (fParallelism > 1 && fFileBufferManager instanceof ITextFileBufferManager) {
+			// reads the files in parallel and disconnects them again if one cannot be connected
+			((ITextFileBufferManager) fFileBufferManager).connectAll(Arrays.asList(locations), LocationKind.NORMALIZE, subMonitor);
+			IFileBuffer[] fileBuffers= new ITextFileBuffer[locations.length];
+			for (int i= 0; i < locations.length; i++)
+				fileBuffers[i]= fFileBufferManager.getFileBuffer(locations[i], LocationKind.NORMALIZE);
+			return fileBuffers;
+		}
+
 		try {
 			IFileBuffer[] fileBuffers= new ITextFileBuffer[locations.length];
 			for (int i= 0; i < locations.length; i++) {
@@ -216,8 +439,12 @@ public class GenericFileBufferOperationRunner {
 	private void releaseFileBuffers(IPath[] locations, IProgressMonitor progressMonitor) throws CoreException {
 		SubMonitor subMonitor= SubMonitor.convert(progressMonitor, FileBuffersMessages.FileBufferOperationRunner_task_disconnecting, locations.length);
 		final ITextFileBufferManager fileBufferManager= FileBuffers.getTextFileBufferManager();
+		if (fParallelism > 1) {
+			fileBufferManager.disconnectAll(Arrays.asList(locations), LocationKind.NORMALIZE, subMonitor);
+			return;
+		}
 		for (IPath location : locations) {
-			fileBufferManager.disconnect(location, LocationKind.NORMALIZE, subMonitor.split(1));
+			fileBufferManager.disconnect(location, LocationKind.NORMALIZE, subMonitor.newChild(1));
 		}
 	}
 
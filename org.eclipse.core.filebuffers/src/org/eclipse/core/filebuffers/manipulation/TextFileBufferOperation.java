@@ -94,14 +94,48 @@ public abstract class TextFileBufferOperation implements IFileBufferOperation {
 			String taskName= path == null ? getOperationName() : path.lastSegment();
 			SubMonitor subMonitor= SubMonitor.convert(progressMonitor, taskName, 100);
 			MultiTextEditWithProgress edit= computeTextEdit(textFileBuffer, subMonitor.split(10));
-			if (edit != null) {
-				Map<String, IDocumentPartitioner> stateData= startRewriteSession(textFileBuffer);
-				try {
-					applyTextEdit(textFileBuffer, edit, subMonitor.split(90));
-				} finally {
-					stopRewriteSession(textFileBuffer, stateData);
-				}
-			}
+			if (edit != null)
+				performTextEdit(textFileBuffer, edit, subMonitor.split(90));
+		}
+	}
+
+	/**
+	 * Tells whether a {@link GenericFileBufferOperationRunner} with a parallelism greater than
+	 * <code>1</code> may compute the text edits of this operation concurrently. If so, the runner
+	 * calls {@link #computeTextEdit(ITextFileBuffer, IProgressMonitor)} for different file buffers
+	 * from several threads and applies the edits itself instead of calling
+	 * {@link #run(IFileBuffer, IProgressMonitor)}.
+	 * <p>
+	 * The default implementation returns <code>false</code>. Subclasses whose
+	 * <code>computeTextEdit</code> supports concurrent calls and which do not rely on
+	 * <code>run</code> being called may override and return <code>true</code>.
+	 * </p>
+	 *
+	 * @return <code>true</code> if the text edits may be computed concurrently
+	 * @since 3.8
+	 */
+	protected boolean supportsParallelComputation() {
+		return false;
+	}
+
+	/**
+	 * Applies the given text edit, which has been computed by
+	 * {@link #computeTextEdit(ITextFileBuffer, IProgressMonitor)}, to the document of the given
+	 * text file buffer in a rewrite session.
+	 *
+	 * @param textFileBuffer the text file buffer to manipulate
+	 * @param edit the text edit
+	 * @param progressMonitor the progress monitor
+	 * @throws CoreException in case the edit could not be applied
+	 * @throws OperationCanceledException in case the progress monitor has been set to canceled
+	 * @since 3.8
+	 */
+	void performTextEdit(ITextFileBuffer textFileBuffer, MultiTextEditWithProgress edit, IProgressMonitor progressMonitor) throws CoreException, OperationCanceledException {
+		Map<String, IDocumentPartitioner> stateData= startRewriteSession(textFileBuffer);
+		try {
+			applyTextEdit(textFileBuffer, edit, progressMonitor);
+		} finally {
+			stopRewriteSession(textFileBuffer, stateData);
 		}
 	}
 
@@ -48,6 +48,38 @@ public abstract class AbstractFileBuffer implements IFileBuffer, IStateValidatio
 
 	public abstract void create(IPath location, IProgressMonitor monitor) throws CoreException;
 
+	/**
+	 * Reads the content of the file at the given location ahead of
+	 * {@link #create(IPath, IProgressMonitor)}, which must be called next with the same location.
+	 * Unlike <code>create</code>, this method does not run client code such as document setup
+	 * participants and may be called concurrently for different file buffers. Problems are not
+	 * reported here, <code>create</code> encounters and reports them again.
+	 * <p>
+	 * This implementation does nothing. Subclasses may override.
+	 * </p>
+	 *
+	 * @param location the location of the file to be read
+	 * @since 3.8
+	 */
+	public void prefetch(IPath location) {
+		// do nothing
+	}
+
+	/**
+	 * Creates the empty document of this file buffer if {@link #prefetch(IPath)} has read the
+	 * content of the file. This runs the document setup participants. The document is used by
+	 * {@link #create(IPath, IProgressMonitor)}, which must be called next with the same location.
+	 * <p>
+	 * This implementation does nothing. Subclasses may override.
+	 * </p>
+	 *
+	 * @param location the location of the file
+	 * @since 3.8
+	 */
+	public void prepareDocument(IPath location) {
+		// do nothing
+	}
+
 	public abstract void connect();
 
 	public abstract void disconnect() throws CoreException;
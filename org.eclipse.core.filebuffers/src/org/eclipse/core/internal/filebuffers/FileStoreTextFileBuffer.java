@@ -14,16 +14,17 @@
  *******************************************************************************/
 package org.eclipse.core.internal.filebuffers;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.SequenceInputStream;
 import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetEncoder;
@@ -32,12 +33,16 @@ import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.StandardCharsets;
 import java.nio.charset.UnmappableCharacterException;
 import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.osgi.util.NLS;
 
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileInfo;
 import org.eclipse.core.filesystem.IFileStore;
+import org.eclipse.core.filesystem.URIUtil;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -61,6 +66,7 @@ import org.eclipse.core.filebuffers.LocationKind;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.MappedTextStore;
 import org.eclipse.jface.text.source.IAnnotationModel;
 
 /**
@@ -84,14 +90,6 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 		}
 	}
 
-	/**
-	 * Reader chunk size.
-	 */
-	private static final int READER_CHUNK_SIZE= 2048;
-	/**
-	 * Buffer size.
-	 */
-	private static final int BUFFER_SIZE= 8 * READER_CHUNK_SIZE;
 	/**
 	 * Constant for representing the error status. This is considered a value object.
 	 */
@@ -102,6 +100,17 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 	 * @since 3.1
 	 */
 	private static final QualifiedName[] NO_PROPERTIES= new QualifiedName[0];
+	/**
+	 * The system property with the size in bytes from which on local files are mapped into memory
+	 * instead of being read. Files are only mapped if this property is set.
+	 * @since 3.8
+	 */
+	private static final String MAPPED_FILE_THRESHOLD_PROPERTY= "org.eclipse.core.filebuffers.mappedFileThreshold"; //$NON-NLS-1$
+	/**
+	 * The maximum number of bytes mapped at once. Files larger than {@link Integer#MAX_VALUE}
+	 * bytes are mapped in several windows of this size.
+	 */
+	private static final int MAPPED_WINDOW_SIZE= 1 << 30;
 
 
 	/** The element's document */
@@ -126,6 +135,18 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 	 * @since 3.2
 	 */
 	private boolean fIsCacheUpdated= false;
+	/**
+	 * The content read by {@link #prefetch(IPath)} or <code>null</code>.
+	 */
+	private String fPrefetchedContent;
+	/**
+	 * The modification stamp of the file before the content was prefetched.
+	 */
+	private long fPrefetchedStamp;
+	/**
+	 * The empty document created by {@link #prepareDocument(IPath)} or <code>null</code>.
+	 */
+	private IDocument fPreparedDocument;
 
 
 	public FileStoreTextFileBuffer(TextFileBufferManager manager) {
@@ -149,6 +170,16 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 		return fAnnotationModel;
 	}
 
+	@Override
+	public boolean isMapped() {
+		return fDocument instanceof MappedDocument && ((MappedDocument) fDocument).isMapped();
+	}
+
+	@Override
+	public boolean isCommitable() {
+		return !isMapped() && super.isCommitable();
+	}
+
 	@Override
 	public String getEncoding() {
 		if (!fIsCacheUpdated)
@@ -216,6 +247,10 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 		if (isDisconnected())
 			return;
 
+		// a mapped document is unchanged, there is nothing to revert unless the file has changed
+		if (isMapped() && isSynchronized())
+			return;
+
 		IDocument original= null;
 		fStatus= null;
 
@@ -230,8 +265,8 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 		if (original == null)
 			return;
 
-		String originalContents= original.get();
-		boolean replaceContents= !originalContents.equals(fDocument.get());
+		// the mapped file may have been truncated, don't read it
+		boolean replaceContents= isMapped() || !original.get().equals(fDocument.get());
 
 		if (!replaceContents && !fCanBeSaved)
 			return;
@@ -313,18 +348,66 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 			fDocument.removeDocumentListener(fDocumentListener);
 	}
 
+	@Override
+	public void prefetch(IPath location) {
+		try {
+			fFileStore= EFS.getStore(URIUtil.toURI(location));
+			IFileInfo info= fFileStore.fetchInfo();
+			if (!info.exists() || info.getLength() >= getMappedFileThreshold())
+				return;
+
+			// the stamp is taken first, a change while reading is detected by initializeFileBufferContent
+			fPrefetchedStamp= info.getLastModified();
+			cacheEncodingState();
+			fPrefetchedContent= readContent(fFileStore, fEncoding, fHasBOM);
+		} catch (CoreException x) {
+			// create reads the file again and reports the problem
+		}
+	}
+
+	@Override
+	public void prepareDocument(IPath location) {
+		// create sets the location only later
+		if (fPrefetchedContent != null)
+			fPreparedDocument= fManager.createEmptyDocument(location, LocationKind.LOCATION);
+	}
+
 	@Override
 	protected void initializeFileBufferContent(IProgressMonitor monitor) throws CoreException {
 		try {
-			fDocument= fManager.createEmptyDocument(getLocationOrName(), LocationKind.LOCATION);
+			if (fPrefetchedContent != null && fFileStore.fetchInfo().getLastModified() == fPrefetchedStamp) {
+				fDocument= createEmptyDocument();
+				fDocument.set(fPrefetchedContent);
+				return;
+			}
+
 			cacheEncodingState();
-			setDocumentContent(fDocument, fFileStore, fEncoding, fHasBOM, monitor);
+			fDocument= createMappedDocument(fFileStore, fEncoding, fHasBOM);
+			if (fDocument == null) {
+				fDocument= createEmptyDocument();
+				setDocumentContent(fDocument, fFileStore, fEncoding, fHasBOM, monitor);
+			}
 		} catch (CoreException x) {
-			fDocument= fManager.createEmptyDocument(getLocationOrName(), LocationKind.LOCATION);
+			fDocument= createEmptyDocument();
 			fStatus= x.getStatus();
+		} finally {
+			fPrefetchedContent= null;
+			fPreparedDocument= null;
 		}
 	}
 
+	/**
+	 * Returns the document prepared by {@link #prepareDocument(IPath)} or creates a new empty
+	 * document.
+	 *
+	 * @return the empty document for this file buffer
+	 */
+	private IDocument createEmptyDocument() {
+		if (fPreparedDocument != null)
+			return fPreparedDocument;
+		return fManager.createEmptyDocument(getLocationOrName(), LocationKind.LOCATION);
+	}
+
 	@Override
 	protected void connected() {
 		super.connected();
@@ -391,23 +474,16 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 		encoder.onMalformedInput(CodingErrorAction.REPLACE);
 		encoder.onUnmappableCharacter(CodingErrorAction.REPORT);
 
-		byte[] bytes;
-		int bytesLength;
-
 		try {
-			ByteBuffer byteBuffer= encoder.encode(CharBuffer.wrap(fDocument.get()));
-			bytesLength= byteBuffer.limit();
-			if (byteBuffer.hasArray())
-				bytes= byteBuffer.array();
-			else {
-				bytes= new byte[bytesLength];
-				byteBuffer.get(bytes);
-			}
+			TextFileContentStream.checkEncoding(fDocument, encoder);
 		} catch (CharacterCodingException ex) {
 			Assert.isTrue(ex instanceof UnmappableCharacterException);
 			String message= NLSUtility.format(FileBuffersMessages.ResourceTextFileBuffer_error_charset_mapping_failed_message_arg, encoding);
 			IStatus s= new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IFileBufferStatusCodes.CHARSET_MAPPING_FAILED, message, null);
 			throw new CoreException(s);
+		} catch (IOException ex) {
+			IStatus s= new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IStatus.OK, ex.getLocalizedMessage(), ex);
+			throw new CoreException(s);
 		}
 
 		IFileInfo fileInfo= fFileStore.fetchInfo();
@@ -416,7 +492,7 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 			if (!overwrite)
 				checkSynchronizationState();
 
-			InputStream stream= new ByteArrayInputStream(bytes, 0, bytesLength);
+			InputStream stream= new TextFileContentStream(fDocument, encoder);
 
 			/*
 			 * XXX:
@@ -450,7 +526,9 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 				if (fHasBOM && StandardCharsets.UTF_8.name().equals(encoding))
 					out.write(IContentDescription.BOM_UTF_8);
 
-				out.write(bytes, 0, bytesLength);
+				try (InputStream stream= new TextFileContentStream(fDocument, encoder)) {
+					stream.transferTo(out);
+				}
 				out.flush();
 				out.close();
 			} catch (IOException x) {
@@ -505,11 +583,26 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 	 * @exception CoreException if the given stream can not be read
 	 */
 	private void setDocumentContent(IDocument document, IFileStore file, String encoding, boolean hasBOM, IProgressMonitor monitor) throws CoreException {
+		String content= readContent(file, encoding, hasBOM);
+		if (content != null)
+			document.set(content);
+	}
+
+	/**
+	 * Reads the given file's content using the given encoding.
+	 *
+	 * @param file the file which delivers the content
+	 * @param encoding the character encoding for reading the given stream
+	 * @param hasBOM tell whether the given file has a BOM
+	 * @return the content or <code>null</code> if the file does not exist
+	 * @exception CoreException if the given stream can not be read
+	 * @since 3.8
+	 */
+	private String readContent(IFileStore file, String encoding, boolean hasBOM) throws CoreException {
 		InputStream contentStream= getFileContents(file);
 		if (contentStream == null)
-			return;
+			return null;
 
-		Reader in= null;
 		try {
 
 			if (encoding == null)
@@ -530,38 +623,114 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 				} while (n < IContentDescription.BOM_UTF_8.length);
 			}
 
-			in= new BufferedReader(new InputStreamReader(contentStream, encoding), BUFFER_SIZE);
-			StringBuilder buffer= new StringBuilder(BUFFER_SIZE);
-			char[] readBuffer= new char[READER_CHUNK_SIZE];
-			int n= in.read(readBuffer);
 			try {
-				while (n > 0) {
-					buffer.append(readBuffer, 0, n);
-					n= in.read(readBuffer);
-				}
+				return TextFileContentReader.read(contentStream, encoding, file.fetchInfo().getLength());
 			} catch (OutOfMemoryError e) {
-				// give the JVM a hint that it can free the big buffer right away
-				buffer= null;
 				throw new IOException(NLS.bind(FileBuffersMessages.ResourceTextFileBuffer_oom_on_file_read, file.toURI()), e);
 			}
 
-			document.set(buffer.toString());
-
 		} catch (IOException x) {
 			String msg= x.getMessage() == null ? "" : x.getMessage(); //$NON-NLS-1$
 			IStatus s= new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IStatus.OK, msg, x);
 			throw new CoreException(s);
 		} finally {
 			try {
-				if (in != null)
-					in.close();
-				else
-					contentStream.close();
+				contentStream.close();
 			} catch (IOException x) {
 			}
 		}
 	}
 
+	/**
+	 * Creates a read-only document for the given file by mapping it into memory, if the file is a
+	 * large local file using an encoding which can be decoded on demand.
+	 * <p>
+	 * A document holds at most {@link Integer#MAX_VALUE} characters. Files larger than
+	 * {@link Integer#MAX_VALUE} bytes, like a 2&nbsp;GB log file, are therefore only mapped if they
+	 * are UTF-8 encoded and contain few enough characters. They are mapped in several windows
+	 * and their content is indexed right away to find out whether it fits.
+	 * </p>
+	 *
+	 * @param file the file which delivers the document content
+	 * @param encoding the character encoding of the file
+	 * @param hasBOM tell whether the given file has a BOM
+	 * @return the mapped document or <code>null</code> if the file is not mapped
+	 * @exception CoreException if the file can not be mapped
+	 * @since 3.8
+	 */
+	private IDocument createMappedDocument(IFileStore file, String encoding, boolean hasBOM) throws CoreException {
+		IFileInfo info= file.fetchInfo();
+		if (!info.exists() || info.getLength() < getMappedFileThreshold())
+			return null;
+
+		Charset charset;
+		try {
+			charset= Charset.forName(encoding);
+		} catch (IllegalArgumentException ex) {
+			return null;
+		}
+		if (!MappedTextStore.isSupported(charset))
+			return null;
+
+		File localFile= file.toLocalFile(EFS.NONE, null);
+		if (localFile == null)
+			return null;
+
+		try (FileChannel channel= FileChannel.open(localFile.toPath(), StandardOpenOption.READ)) {
+			long size= channel.size();
+			long start= hasBOM && StandardCharsets.UTF_8.equals(charset) && size >= IContentDescription.BOM_UTF_8.length ? IContentDescription.BOM_UTF_8.length : 0;
+			boolean windowed= size - start > Integer.MAX_VALUE;
+			if (windowed && !StandardCharsets.UTF_8.equals(charset))
+				return null;
+
+			// the mappings stay valid after the channel has been closed
+			List<ByteBuffer> buffers= new ArrayList<>();
+			if (!windowed) {
+				buffers.add(channel.map(MapMode.READ_ONLY, start, size - start));
+			} else {
+				for (long position= start; position < size;) {
+					long length= Math.min(size - position, MAPPED_WINDOW_SIZE + 3L);
+					MappedByteBuffer buffer= channel.map(MapMode.READ_ONLY, position, length);
+					int end= (int) Math.min(length, MAPPED_WINDOW_SIZE);
+					// end the window at a character boundary, UTF-8 continuation bytes look like 10xxxxxx
+					while (end < length && end > 0 && (buffer.get(end) & 0xc0) == 0x80)
+						--end;
+					buffer.limit(end);
+					buffers.add(buffer);
+					position += end;
+				}
+			}
+
+			MappedTextStore store= new MappedTextStore(buffers.toArray(new ByteBuffer[buffers.size()]), charset, localFile.toPath());
+			if (windowed) {
+				try {
+					store.getLength();
+				} catch (IllegalStateException ex) {
+					// more characters than a document can hold
+					return null;
+				}
+			}
+			IDocument document= new MappedDocument(store);
+			fManager.setUpDocument(document, getLocationOrName(), LocationKind.LOCATION);
+			return document;
+		} catch (IOException x) {
+			String msg= x.getMessage() == null ? "" : x.getMessage(); //$NON-NLS-1$
+			IStatus s= new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IStatus.OK, msg, x);
+			throw new CoreException(s);
+		}
+	}
+
+	/**
+	 * Returns the size in bytes from which on local files are mapped into memory.
+	 *
+	 * @return the size from which on files are mapped, {@link Long#MAX_VALUE} if files are not
+	 *         mapped
+	 * @since 3.8
+	 */
+	private static long getMappedFileThreshold() {
+		return Long.getLong(MAPPED_FILE_THRESHOLD_PROPERTY, Long.MAX_VALUE).longValue();
+	}
+
 	/**
 	 * Checks whether the given file is synchronized with the local file system.
 	 * If the file has been changed, a <code>CoreException</code> is thrown.
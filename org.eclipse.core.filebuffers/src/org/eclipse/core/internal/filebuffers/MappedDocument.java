@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.filebuffers;
+
+import org.eclipse.jface.text.CopyOnWriteTextStore;
+import org.eclipse.jface.text.DefaultLineTracker;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.GapTextStore;
+import org.eclipse.jface.text.ILineTracker;
+import org.eclipse.jface.text.ITextStore;
+import org.eclipse.jface.text.MappedLineTracker;
+import org.eclipse.jface.text.MappedTextStore;
+
+
+/**
+ * Document whose content is decoded on demand from a memory-mapped file until it is changed.
+ * <p>
+ * The first change loads the content into memory and the document behaves like a
+ * {@link SynchronizableDocument} from then on. Replacing the whole content with
+ * {@link #set(String)} does not read the mapped file. Empty replacements are reported to the
+ * document listeners like for any other document but do not load the content.
+ * </p>
+ *
+ * @since 3.8
+ */
+public class MappedDocument extends SynchronizableDocument {
+
+	/** Tells whether the content is still read from the mapped file. */
+	private volatile boolean fMapped= true;
+	/** Tells whether the content is being replaced by {@link #set(String, long)}. */
+	private boolean fSetting;
+
+	/**
+	 * Creates a new document for the given store.
+	 *
+	 * @param store the content of the document
+	 */
+	public MappedDocument(MappedTextStore store) {
+		setTextStore(store);
+		setLineTracker(new MappedLineTracker(store));
+	}
+
+	/**
+	 * Tells whether the content of this document is still read from the mapped file.
+	 *
+	 * @return <code>true</code> if the content is read from the mapped file, <code>false</code>
+	 *         if it has been loaded into memory
+	 */
+	public boolean isMapped() {
+		return fMapped;
+	}
+
+	@Override
+	public void set(String text, long modificationStamp) {
+		Object lockObject= getLockObject();
+		if (lockObject == null) {
+			setContent(text, modificationStamp);
+			return;
+		}
+		synchronized (lockObject) {
+			setContent(text, modificationStamp);
+		}
+	}
+
+	@Override
+	public void repairLineInformation() {
+		if (!fMapped)
+			super.repairLineInformation();
+	}
+
+	/**
+	 * Replaces the whole content, remembering that the current content need not be loaded.
+	 *
+	 * @param text the new content
+	 * @param modificationStamp the new modification stamp
+	 */
+	private void setContent(String text, long modificationStamp) {
+		fSetting= true;
+		try {
+			super.set(text, modificationStamp);
+		} finally {
+			fSetting= false;
+		}
+	}
+
+	@Override
+	protected void fireDocumentAboutToBeChanged(DocumentEvent event) {
+		super.fireDocumentAboutToBeChanged(event);
+		// the listeners have seen the mapped content, the change itself needs a modifiable store
+		if (fMapped && (fSetting || event.getLength() > 0 || event.getText() != null && !event.getText().isEmpty()))
+			load(!fSetting);
+	}
+
+	/**
+	 * Replaces the mapped store and line tracker with regular, modifiable ones.
+	 *
+	 * @param keepContent <code>true</code> to copy the mapped content into the new store,
+	 *            <code>false</code> if the content is replaced completely anyway
+	 */
+	private void load(boolean keepContent) {
+		ITextStore store= new CopyOnWriteTextStore(new GapTextStore());
+		ILineTracker tracker= new DefaultLineTracker();
+		if (keepContent) {
+			String content= get();
+			store.set(content);
+			tracker.set(content);
+		}
+		setTextStore(store);
+		setLineTracker(tracker);
+		fMapped= false;
+	}
+}
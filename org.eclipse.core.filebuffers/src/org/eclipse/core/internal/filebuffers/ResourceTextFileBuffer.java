@@ -13,15 +13,11 @@
  *******************************************************************************/
 package org.eclipse.core.internal.filebuffers;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.SequenceInputStream;
-import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetEncoder;
@@ -30,11 +26,13 @@ import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.StandardCharsets;
 import java.nio.charset.UnmappableCharacterException;
 import java.nio.charset.UnsupportedCharsetException;
+import java.util.Objects;
 
 import org.eclipse.osgi.util.NLS;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
@@ -46,6 +44,7 @@ import org.eclipse.core.runtime.content.IContentType;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResourceStatus;
+import org.eclipse.core.resources.ResourcesPlugin;
 
 import org.eclipse.core.filebuffers.IFileBufferStatusCodes;
 import org.eclipse.core.filebuffers.IPersistableAnnotationModel;
@@ -84,14 +83,6 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 		}
 	}
 
-	/**
-	 * Reader chunk size.
-	 */
-	static final private int READER_CHUNK_SIZE= 2048;
-	/**
-	 * Buffer size.
-	 */
-	static final private int BUFFER_SIZE= 8 * READER_CHUNK_SIZE;
 	/**
 	 * Qualified name for the encoding key.
 	 */
@@ -125,6 +116,18 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 	 * @since 3.2
 	 */
 	private final Object fAnnotationModelCreationLock= new Object();
+	/**
+	 * The content read by {@link #prefetch(IPath)} or <code>null</code>.
+	 */
+	private String fPrefetchedContent;
+	/**
+	 * The modification stamp of the file before the content was prefetched.
+	 */
+	private long fPrefetchedStamp;
+	/**
+	 * The empty document created by {@link #prepareDocument(IPath)} or <code>null</code>.
+	 */
+	private IDocument fPreparedDocument;
 
 
 	public ResourceTextFileBuffer(ResourceTextFileBufferManager manager) {
@@ -136,6 +139,11 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 		return fDocument;
 	}
 
+	@Override
+	public boolean isMapped() {
+		return false;
+	}
+
 	@Override
 	public IAnnotationModel getAnnotationModel() {
 		synchronized (fAnnotationModelCreationLock) {
@@ -219,9 +227,39 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 			fDocument.removeDocumentListener(fDocumentListener);
 	}
 
+	@Override
+	public void prefetch(IPath location) {
+		IFile file= ResourcesPlugin.getWorkspace().getRoot().getFile(location);
+		try {
+			// an old encoding property is migrated by create
+			if (file.getLocationURI() == null || file.getPersistentProperty(ENCODING_KEY) != null)
+				return;
+
+			fFile= file;
+			// the stamp is taken first, a change while reading is detected by initializeFileBufferContent
+			fPrefetchedStamp= file.getModificationStamp();
+			cacheEncodingState();
+			fPrefetchedContent= readContent(file, fEncoding);
+		} catch (CoreException x) {
+			// create reads the file again and reports the problem
+		}
+	}
+
+	@Override
+	public void prepareDocument(IPath location) {
+		if (fPrefetchedContent != null)
+			fPreparedDocument= getManager().createEmptyDocument(fFile);
+	}
+
 	@Override
 	protected void initializeFileBufferContent(IProgressMonitor monitor) throws CoreException {
 		try {
+			if (fPrefetchedContent != null && fFile.getModificationStamp() == fPrefetchedStamp && isPrefetchedEncodingCurrent()) {
+				fDocument= createEmptyDocument();
+				setDocumentContent(fDocument, fPrefetchedContent);
+				return;
+			}
+
 			fEncoding= null;
 			fExplicitEncoding= null;
 			try {
@@ -246,15 +284,44 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 			}
 
 
-			fDocument= getManager().createEmptyDocument(fFile);
+			fDocument= createEmptyDocument();
 			setDocumentContent(fDocument, fFile, fEncoding);
 
 		} catch (CoreException x) {
-			fDocument= getManager().createEmptyDocument(fFile);
+			fDocument= createEmptyDocument();
 			fStatus= x.getStatus();
+		} finally {
+			fPrefetchedContent= null;
+			fPreparedDocument= null;
 		}
 	}
 
+	/**
+	 * Returns the document prepared by {@link #prepareDocument(IPath)} or creates a new empty
+	 * document.
+	 *
+	 * @return the empty document for this file buffer
+	 */
+	private IDocument createEmptyDocument() {
+		if (fPreparedDocument != null)
+			return fPreparedDocument;
+		return getManager().createEmptyDocument(fFile);
+	}
+
+	/**
+	 * Tells whether the file still has the encoding with which its content was prefetched. The
+	 * encoding may change without the file being modified, e.g. if the encoding of its folder is
+	 * changed.
+	 *
+	 * @return <code>true</code> if the prefetched content has been decoded with the current encoding
+	 * @throws CoreException if the encoding of the file cannot be determined
+	 */
+	private boolean isPrefetchedEncodingCurrent() throws CoreException {
+		String explicitEncoding= fFile.getCharset(false);
+		String encoding= explicitEncoding != null ? explicitEncoding : fFile.getCharset();
+		return Objects.equals(explicitEncoding, fExplicitEncoding) && Objects.equals(encoding, fEncoding);
+	}
+
 	/**
 	 * Caches the BOM of the underlying file.
 	 *
@@ -323,20 +390,16 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 		InputStream stream;
 
 		try {
-			byte[] bytes;
-			ByteBuffer byteBuffer= encoder.encode(CharBuffer.wrap(fDocument.get()));
-			if (byteBuffer.hasArray())
-				bytes= byteBuffer.array();
-			else {
-				bytes= new byte[byteBuffer.limit()];
-				byteBuffer.get(bytes);
-			}
-			stream= new ByteArrayInputStream(bytes, 0, byteBuffer.limit());
+			TextFileContentStream.checkEncoding(fDocument, encoder);
+			stream= new TextFileContentStream(fDocument, encoder);
 		} catch (CharacterCodingException ex) {
 			Assert.isTrue(ex instanceof UnmappableCharacterException);
 			String message= NLSUtility.format(FileBuffersMessages.ResourceTextFileBuffer_error_charset_mapping_failed_message_arg, new Object[] {encoding,getLocation().toString()});
 			IStatus s= new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IFileBufferStatusCodes.CHARSET_MAPPING_FAILED, message, ex);
 			throw new CoreException(s);
+		} catch (IOException ex) {
+			IStatus s= new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IStatus.OK, ex.getLocalizedMessage(), ex);
+			throw new CoreException(s);
 		}
 
 		/*
@@ -490,8 +553,34 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 	 * @exception CoreException if the given stream can not be read
 	 */
 	private void setDocumentContent(IDocument document, IFile file, String encoding) throws CoreException {
+		setDocumentContent(document, readContent(file, encoding));
+	}
+
+	/**
+	 * Initializes the given document with the given content.
+	 *
+	 * @param document the document to be initialized
+	 * @param content the content of the file
+	 * @since 3.8
+	 */
+	private void setDocumentContent(IDocument document, String content) {
+		if (document instanceof IDocumentExtension4)
+			((IDocumentExtension4)document).set(content, fFile.getModificationStamp());
+		else
+			document.set(content);
+	}
+
+	/**
+	 * Reads the given file's content using the given encoding.
+	 *
+	 * @param file the file which delivers the content
+	 * @param encoding the character encoding for reading the given stream
+	 * @return the content
+	 * @exception CoreException if the given stream can not be read
+	 * @since 3.8
+	 */
+	private String readContent(IFile file, String encoding) throws CoreException {
 		InputStream contentStream= file.getContents();
-		Reader in= null;
 		try {
 
 			if (encoding == null)
@@ -512,36 +601,20 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 				} while (n < IContentDescription.BOM_UTF_8.length);
 			}
 
-			in= new BufferedReader(new InputStreamReader(contentStream, encoding), BUFFER_SIZE);
-			StringBuilder buffer= new StringBuilder(BUFFER_SIZE);
-			char[] readBuffer= new char[READER_CHUNK_SIZE];
-			int n= in.read(readBuffer);
 			try {
-				while (n > 0) {
-					buffer.append(readBuffer, 0, n);
-					n= in.read(readBuffer);
-				}
+				IPath location= file.getLocation();
+				return TextFileContentReader.read(contentStream, encoding, location != null ? location.toFile().length() : -1);
 			} catch (OutOfMemoryError e) {
-				// give the JVM a hint that it can free the big buffer right away
-				buffer= null;
 				throw new IOException(NLS.bind(FileBuffersMessages.ResourceTextFileBuffer_oom_on_file_read, file.getLocationURI()), e);
 			}
 
-			if (document instanceof IDocumentExtension4)
-				((IDocumentExtension4)document).set(buffer.toString(), fFile.getModificationStamp());
-			else
-				document.set(buffer.toString());
-
 		} catch (IOException x) {
 			String message= (x.getMessage() != null ? x.getMessage() : ""); //$NON-NLS-1$
 			IStatus s= new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IStatus.OK, message, x);
 			throw new CoreException(s);
 		} finally {
 			try {
-				if (in != null)
-					in.close();
-				else
-					contentStream.close();
+				contentStream.close();
 			} catch (IOException x) {
 			}
 		}
@@ -43,7 +43,6 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.filebuffers.FileBuffers;
 import org.eclipse.core.filebuffers.IAnnotationModelFactory;
 import org.eclipse.core.filebuffers.IDocumentSetupParticipant;
-import org.eclipse.core.filebuffers.IDocumentSetupParticipantExtension;
 import org.eclipse.core.filebuffers.IFileBuffer;
 import org.eclipse.core.filebuffers.IStateValidationSupport;
 import org.eclipse.core.filebuffers.LocationKind;
@@ -138,32 +137,8 @@ public class ResourceTextFileBufferManager extends TextFileBufferManager {
 				((IDocumentExtension4)document).setInitialLineDelimiter(initalLineDelimiter);
 		}
 
-		final IDocumentSetupParticipant[] participants= ((ResourceExtensionRegistry)fRegistry).getDocumentSetupParticipants(file);
-		if (participants != null) {
-			for (final IDocumentSetupParticipant participant : participants) {
-				ISafeRunnable runnable= new ISafeRunnable() {
-					@Override
-					public void run() throws Exception {
-						if (participant instanceof IDocumentSetupParticipantExtension)
-							((IDocumentSetupParticipantExtension)participant).setup(document, file.getFullPath(), LocationKind.IFILE);
-						else
-							participant.setup(document);
-
-						if (document.getDocumentPartitioner() != null) {
-							String message= NLSUtility.format(FileBuffersMessages.TextFileBufferManager_warning_documentSetupInstallsDefaultPartitioner, participant.getClass());
-							IStatus status= new Status(IStatus.WARNING, FileBuffersPlugin.PLUGIN_ID, IStatus.OK, message, null);
-							Platform.getLog(ResourceTextFileBufferManager.class).log(status);
-						}
-					}
-					@Override
-					public void handleException(Throwable t) {
-						IStatus status= new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IStatus.OK, FileBuffersMessages.TextFileBufferManager_error_documentSetupFailed, t);
-						Platform.getLog(ResourceTextFileBufferManager.class).log(status);
-					}
-				};
-				SafeRunner.run(runnable);
-			}
-		}
+		IDocumentSetupParticipant[] participants= ((ResourceExtensionRegistry)fRegistry).getDocumentSetupParticipants(file);
+		setUpDocument(document, participants, file.getFullPath(), LocationKind.IFILE);
 
 		return document;
 	}
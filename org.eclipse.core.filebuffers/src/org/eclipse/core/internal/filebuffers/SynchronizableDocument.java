@@ -225,6 +225,29 @@ public class SynchronizableDocument extends Document implements ISynchronizable
 		}
 	}
 
+	@Override
+	public void replacePositions(String category, Position[] positionsToRemove, Position[] positionsToAdd) throws BadLocationException, BadPositionCategoryException {
+		Object lockObject= getLockObject();
+		if (lockObject == null) {
+			super.replacePositions(category, positionsToRemove, positionsToAdd);
+			return;
+		}
+		synchronized (lockObject) {
+			super.replacePositions(category, positionsToRemove, positionsToAdd);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Positions are replaced under the same lock as they are added and removed.
+	 * </p>
+	 */
+	@Override
+	public boolean supportsBulkPositionUpdate() {
+		return true;
+	}
+
 	@Override
 	public Position[] getPositions(String category) throws BadPositionCategoryException {
 		Object lockObject= getLockObject();
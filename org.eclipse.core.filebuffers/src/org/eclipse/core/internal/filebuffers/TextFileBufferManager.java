@@ -20,8 +20,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileInfo;
@@ -34,9 +40,11 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.content.IContentDescription;
 import org.eclipse.core.runtime.content.IContentType;
 import org.eclipse.core.runtime.content.IContentTypeManager;
@@ -71,11 +79,49 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 
 	protected static final IContentType TEXT_CONTENT_TYPE= Platform.getContentTypeManager().getContentType(IContentTypeManager.CT_TEXT);
 
+	/**
+	 * A document and the setup participants which have yet to be run on it.
+	 */
+	private static final class DocumentSetup {
+		final IDocument fDocument;
+		final IDocumentSetupParticipant[] fParticipants;
+		final IPath fLocation;
+		final LocationKind fLocationKind;
+
+		DocumentSetup(IDocument document, IDocumentSetupParticipant[] participants, IPath location, LocationKind locationKind) {
+			fDocument= document;
+			fParticipants= participants;
+			fLocation= location;
+			fLocationKind= locationKind;
+		}
+	}
+
+	/**
+	 * The maximal number of threads which read files in {@link #connectAll(Collection, LocationKind, IProgressMonitor)}.
+	 */
+	private static final int CONNECT_THREADS= Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors()));
+	/**
+	 * The number of file buffers which {@link #connectAll(Collection, LocationKind, IProgressMonitor)} sets up
+	 * before it registers them.
+	 */
+	private static final int CONNECT_BATCH_SIZE= 64;
+	/**
+	 * The threads which read files in {@link #connectAll(Collection, LocationKind, IProgressMonitor)}. They
+	 * are shared by all managers and terminate when they have been idle for a while.
+	 */
+	private static final ThreadPoolExecutor CONNECT_EXECUTOR= createConnectExecutor();
+
 	private Map<IPath, AbstractFileBuffer> fFilesBuffers= new HashMap<>();
 	private Map<IFileStore, FileStoreFileBuffer> fFileStoreFileBuffers= new HashMap<>();
 	private List<IFileBufferListener> fFileBufferListeners= new ArrayList<>();
 	protected ExtensionsRegistry fRegistry;
 	private ISynchronizationContext fSynchronizationContext;
+	/**
+	 * The setups of the documents created by the current batch of
+	 * {@link #connectAll(Collection, LocationKind, IProgressMonitor)} in this thread, or
+	 * <code>null</code> if setup participants are run right away.
+	 */
+	private final ThreadLocal<List<DocumentSetup>> fDeferredSetups= new ThreadLocal<>();
 
 
 	public TextFileBufferManager()  {
@@ -229,6 +275,229 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 		fileBuffer.dispose();
 	}
 
+	@Override
+	public void connectAll(Collection<IPath> locations, LocationKind locationKind, IProgressMonitor monitor) throws CoreException {
+		Assert.isNotNull(locations);
+		SubMonitor subMonitor= SubMonitor.convert(monitor, locations.size());
+
+		// how often each location is to be connected
+		Map<IPath, Integer> connections= new LinkedHashMap<>();
+		for (IPath location : locations) {
+			Assert.isNotNull(location);
+			if (locationKind == LocationKind.NORMALIZE)
+				location= normalizeLocation(location);
+			connections.merge(location, Integer.valueOf(1), (a, b) -> Integer.valueOf(a.intValue() + b.intValue()));
+		}
+
+		List<IPath> connected= new ArrayList<>(locations.size());
+		// the buffers of the current batch which have been created but not yet registered
+		List<AbstractFileBuffer> created= new ArrayList<>(CONNECT_BATCH_SIZE);
+		List<IPath> newLocations= new ArrayList<>();
+		synchronized (fFilesBuffers) {
+			for (Map.Entry<IPath, Integer> entry : connections.entrySet()) {
+				AbstractFileBuffer fileBuffer= internalGetFileBuffer(entry.getKey());
+				if (fileBuffer == null) {
+					newLocations.add(entry.getKey());
+					continue;
+				}
+				for (int i= 0; i < entry.getValue().intValue(); i++) {
+					fileBuffer.connect();
+					connected.add(entry.getKey());
+				}
+			}
+		}
+		subMonitor.worked(connected.size());
+		if (newLocations.isEmpty())
+			return;
+
+		// the files are read in parallel, in the order in which they are set up
+		List<Future<AbstractFileBuffer>> prefetched= new ArrayList<>(newLocations.size());
+		try {
+			for (int start= 0; start < newLocations.size(); start+= CONNECT_BATCH_SIZE) {
+				int end= Math.min(start + CONNECT_BATCH_SIZE, newLocations.size());
+
+				// read at most one batch ahead, so that the content of all files is not held at once
+				int readAhead= Math.min(end + CONNECT_BATCH_SIZE, newLocations.size());
+				for (int i= prefetched.size(); i < readAhead; i++) {
+					IPath location= newLocations.get(i);
+					prefetched.add(CONNECT_EXECUTOR.submit(() -> {
+						AbstractFileBuffer fileBuffer= createFileBuffer(location, locationKind);
+						if (fileBuffer != null)
+							fileBuffer.prefetch(location);
+						return fileBuffer;
+					}));
+				}
+
+				AbstractFileBuffer[] batch= new AbstractFileBuffer[end - start];
+				for (int i= start; i < end; i++) {
+					AbstractFileBuffer fileBuffer= getPrefetchedFileBuffer(prefetched.get(i));
+					if (fileBuffer == null)
+						throw new CoreException(new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IFileBufferStatusCodes.CREATION_FAILED, FileBuffersMessages.FileBufferManager_error_canNotCreateFilebuffer, null));
+					batch[i - start]= fileBuffer;
+				}
+
+				// create the empty documents of the batch first and run their setup participants together
+				List<DocumentSetup> setups= new ArrayList<>(end - start);
+				fDeferredSetups.set(setups);
+				try {
+					for (int i= start; i < end; i++)
+						batch[i - start].prepareDocument(newLocations.get(i));
+				} finally {
+					fDeferredSetups.remove();
+				}
+				runSetupParticipants(setups);
+
+				for (int i= start; i < end; i++) {
+					IPath location= newLocations.get(i);
+					AbstractFileBuffer fileBuffer= batch[i - start];
+					fileBuffer.create(location, subMonitor.split(connections.get(location).intValue()));
+					created.add(fileBuffer);
+				}
+
+				List<AbstractFileBuffer> added= new ArrayList<>(batch.length);
+				synchronized (fFilesBuffers) {
+					for (int i= start; i < end; i++) {
+						IPath location= newLocations.get(i);
+						AbstractFileBuffer fileBuffer= batch[i - start];
+						AbstractFileBuffer oldFileBuffer= internalGetFileBuffer(location);
+						if (oldFileBuffer != null) {
+							fileBuffer.disconnect();
+							fileBuffer.dispose();
+							fileBuffer= oldFileBuffer;
+						} else {
+							fFilesBuffers.put(location, fileBuffer);
+							added.add(fileBuffer);
+						}
+						for (int j= 0; j < connections.get(location).intValue(); j++) {
+							fileBuffer.connect();
+							connected.add(location);
+						}
+					}
+					created.clear();
+				}
+
+				// Do notification outside synchronized block
+				for (AbstractFileBuffer fileBuffer : added)
+					fireBufferCreated(fileBuffer);
+			}
+
+		} catch (CoreException | RuntimeException | Error x) {
+			for (AbstractFileBuffer fileBuffer : created) {
+				try {
+					fileBuffer.disconnect();
+				} catch (CoreException e) {
+					// report the original problem
+				}
+				fileBuffer.dispose();
+			}
+			try {
+				disconnectAll(connected);
+			} catch (CoreException e) {
+				// report the original problem
+			}
+			throw x;
+		} finally {
+			for (Future<AbstractFileBuffer> future : prefetched)
+				future.cancel(true);
+		}
+	}
+
+	private static ThreadPoolExecutor createConnectExecutor() {
+		ThreadPoolExecutor executor= new ThreadPoolExecutor(CONNECT_THREADS, CONNECT_THREADS, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+			Thread thread= new Thread(runnable, "File Buffer Connector"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Runs the setup participants of the given documents. The participants are run in turns: each
+	 * turn runs the next participant of every document, so that one participant is run for many
+	 * documents in a row while each document still sees its participants in order.
+	 *
+	 * @param setups the documents and their setup participants
+	 */
+	private void runSetupParticipants(List<DocumentSetup> setups) {
+		for (int turn= 0; !setups.isEmpty(); turn++) {
+			List<DocumentSetup> remaining= new ArrayList<>(setups.size());
+			for (DocumentSetup setup : setups) {
+				runSetupParticipant(setup.fParticipants[turn], setup.fDocument, setup.fLocation, setup.fLocationKind);
+				if (turn + 1 < setup.fParticipants.length)
+					remaining.add(setup);
+			}
+			setups= remaining;
+		}
+	}
+
+	private static AbstractFileBuffer getPrefetchedFileBuffer(Future<AbstractFileBuffer> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException x) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException x) {
+			Throwable cause= x.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	@Override
+	public void disconnectAll(Collection<IPath> locations, LocationKind locationKind, IProgressMonitor monitor) throws CoreException {
+		Assert.isNotNull(locations);
+		List<IPath> normalized= new ArrayList<>(locations.size());
+		for (IPath location : locations) {
+			Assert.isNotNull(location);
+			normalized.add(locationKind == LocationKind.NORMALIZE ? normalizeLocation(location) : location);
+		}
+		disconnectAll(normalized);
+	}
+
+	/**
+	 * Disconnects the files at the given normalized locations.
+	 *
+	 * @param locations the locations of the files to be disconnected
+	 * @throws CoreException if a file could not successfully be disconnected
+	 * @since 3.8
+	 */
+	private void disconnectAll(List<IPath> locations) throws CoreException {
+		CoreException exception= null;
+		List<AbstractFileBuffer> disconnected= new ArrayList<>();
+		synchronized (fFilesBuffers) {
+			for (IPath location : locations) {
+				AbstractFileBuffer fileBuffer= internalGetFileBuffer(location);
+				if (fileBuffer == null)
+					continue;
+
+				try {
+					fileBuffer.disconnect();
+				} catch (CoreException x) {
+					if (exception == null)
+						exception= x;
+					continue;
+				}
+				if (fileBuffer.isDisconnected()) {
+					fFilesBuffers.remove(location);
+					disconnected.add(fileBuffer);
+				}
+			}
+		}
+
+		// Do notification outside synchronized block
+		for (AbstractFileBuffer fileBuffer : disconnected) {
+			fireBufferDisposed(fileBuffer);
+			fileBuffer.dispose();
+		}
+
+		if (exception != null)
+			throw exception;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 *
@@ -442,6 +711,20 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 		if (location == null)
 			return document;
 
+		setUpDocument(document, location, locationKind);
+		return document;
+	}
+
+	/**
+	 * Sets up the given document for the given location: sets the initial line delimiter and runs
+	 * the document setup participants registered for the location.
+	 *
+	 * @param document the document to set up
+	 * @param location the location of the file
+	 * @param locationKind the kind of the given location
+	 * @since 3.8
+	 */
+	void setUpDocument(IDocument document, IPath location, LocationKind locationKind) {
 		// Set the initial line delimiter
 		if (document instanceof IDocumentExtension4) {
 			String initalLineDelimiter= getLineDelimiterPreference(location, locationKind);
@@ -449,34 +732,57 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 				((IDocumentExtension4)document).setInitialLineDelimiter(initalLineDelimiter);
 		}
 
-		final IDocumentSetupParticipant[] participants= fRegistry.getDocumentSetupParticipants(location, locationKind);
-		if (participants != null) {
-			for (final IDocumentSetupParticipant participant : participants) {
-				ISafeRunnable runnable= new ISafeRunnable() {
-					@Override
-					public void run() throws Exception {
-						if (participant instanceof IDocumentSetupParticipantExtension)
-							((IDocumentSetupParticipantExtension)participant).setup(document, location, locationKind);
-						else
-							participant.setup(document);
-
-						if (document.getDocumentPartitioner() != null) {
-							String message= NLSUtility.format(FileBuffersMessages.TextFileBufferManager_warning_documentSetupInstallsDefaultPartitioner, participant.getClass());
-							IStatus status= new Status(IStatus.WARNING, FileBuffersPlugin.PLUGIN_ID, IStatus.OK, message, null);
-							Platform.getLog(ResourceTextFileBufferManager.class).log(status);
-						}
-					}
-					@Override
-					public void handleException(Throwable t) {
-						IStatus status= new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IStatus.OK, FileBuffersMessages.TextFileBufferManager_error_documentSetupFailed, t);
-						Platform.getLog(ResourceTextFileBufferManager.class).log(status);
-					}
-				};
-				SafeRunner.run(runnable);
-			}
+		setUpDocument(document, fRegistry.getDocumentSetupParticipants(location, locationKind), location, locationKind);
+	}
+
+	/**
+	 * Runs the given setup participants on the given document. While
+	 * {@link #connectAll(Collection, LocationKind, IProgressMonitor)} prepares the documents of a
+	 * batch of file buffers in this thread, the participants are run after all these documents have
+	 * been created.
+	 *
+	 * @param document the document to set up
+	 * @param participants the setup participants or <code>null</code> if there are none
+	 * @param location the location of the file
+	 * @param locationKind the kind of the given location
+	 * @since 3.8
+	 */
+	void setUpDocument(IDocument document, IDocumentSetupParticipant[] participants, IPath location, LocationKind locationKind) {
+		if (participants == null || participants.length == 0)
+			return;
+
+		List<DocumentSetup> deferredSetups= fDeferredSetups.get();
+		if (deferredSetups != null) {
+			deferredSetups.add(new DocumentSetup(document, participants, location, locationKind));
+			return;
 		}
 
-		return document;
+		for (IDocumentSetupParticipant participant : participants)
+			runSetupParticipant(participant, document, location, locationKind);
+	}
+
+	private void runSetupParticipant(final IDocumentSetupParticipant participant, final IDocument document, final IPath location, final LocationKind locationKind) {
+		ISafeRunnable runnable= new ISafeRunnable() {
+			@Override
+			public void run() throws Exception {
+				if (participant instanceof IDocumentSetupParticipantExtension)
+					((IDocumentSetupParticipantExtension)participant).setup(document, location, locationKind);
+				else
+					participant.setup(document);
+
+				if (document.getDocumentPartitioner() != null) {
+					String message= NLSUtility.format(FileBuffersMessages.TextFileBufferManager_warning_documentSetupInstallsDefaultPartitioner, participant.getClass());
+					IStatus status= new Status(IStatus.WARNING, FileBuffersPlugin.PLUGIN_ID, IStatus.OK, message, null);
+					Platform.getLog(ResourceTextFileBufferManager.class).log(status);
+				}
+			}
+			@Override
+			public void handleException(Throwable t) {
+				IStatus status= new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IStatus.OK, FileBuffersMessages.TextFileBufferManager_error_documentSetupFailed, t);
+				Platform.getLog(ResourceTextFileBufferManager.class).log(status);
+			}
+		};
+		SafeRunner.run(runnable);
 	}
 
 	/**
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.filebuffers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+
+/**
+ * Reads the content of a text file into a string.
+ * <p>
+ * The bytes of the file are read into a single array, sized from the file length when it is
+ * known, and decoded into the string in one step. This avoids the intermediate character buffers
+ * of a <code>Reader</code> and the copies made while a <code>StringBuilder</code> grows. As
+ * documents keep the string of {@link org.eclipse.jface.text.IDocument#set(String)} until their
+ * first modification, the content is not copied again when the document is set.
+ * </p>
+ *
+ * @since 3.8
+ */
+final class TextFileContentReader {
+
+	/** The size of the buffer used when the file length is not known */
+	private static final int CHUNK_SIZE= 64 * 1024;
+	/** The largest array size that can be allocated */
+	private static final int MAX_ARRAY_SIZE= Integer.MAX_VALUE - 8;
+
+	private TextFileContentReader() {
+		// not instantiable
+	}
+
+	/**
+	 * Reads the remaining content of the given stream and decodes it with the given encoding.
+	 * Malformed input is replaced like an {@link java.io.InputStreamReader} does. The stream is
+	 * not closed.
+	 *
+	 * @param stream the stream to read
+	 * @param encoding the name of the character encoding
+	 * @param lengthHint the expected number of bytes, <code>-1</code> or <code>0</code> if unknown
+	 * @return the decoded content
+	 * @throws IOException if the stream cannot be read or the encoding is not supported
+	 */
+	static String read(InputStream stream, String encoding, long lengthHint) throws IOException {
+		int capacity= lengthHint > 0 ? (int) Math.min(lengthHint, MAX_ARRAY_SIZE) : CHUNK_SIZE;
+		byte[] bytes= new byte[capacity];
+		int count= 0;
+		while (true) {
+			if (count == bytes.length) {
+				// the file grew or its length was not known, check before growing
+				int b= stream.read();
+				if (b == -1)
+					break;
+				if (bytes.length == MAX_ARRAY_SIZE)
+					throw new OutOfMemoryError();
+				bytes= Arrays.copyOf(bytes, (int) Math.min(MAX_ARRAY_SIZE, bytes.length + (long) Math.max(bytes.length >> 1, CHUNK_SIZE)));
+				bytes[count++]= (byte) b;
+			}
+			int n= stream.read(bytes, count, bytes.length - count);
+			if (n == -1)
+				break;
+			count+= n;
+		}
+		return new String(bytes, 0, count, encoding);
+	}
+}
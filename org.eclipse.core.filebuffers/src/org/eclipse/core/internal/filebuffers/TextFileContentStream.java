@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.filebuffers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.ISynchronizable;
+
+
+/**
+ * An input stream that provides the content of a document encoded with a given encoder.
+ * <p>
+ * The document is read and encoded in chunks while the stream is read, so that saving a document
+ * does not need a copy of its whole content, neither as string nor as bytes. The document must
+ * not be changed while the stream is read. Each chunk is read while holding the lock object of
+ * an {@link ISynchronizable} document, and if the modification stamp or, for documents without
+ * one, the length of the document has changed since the stream was created, reading fails with
+ * an {@link IOException}.
+ * </p>
+ * <p>
+ * The stream reports errors of the encoder as {@link CharacterCodingException}. As the bytes
+ * encoded so far may already have been written when such an error occurs, clients that have to
+ * reject unmappable content before writing use {@link #checkEncoding(IDocument, CharsetEncoder)}
+ * first.
+ * </p>
+ *
+ * @since 3.8
+ */
+final class TextFileContentStream extends InputStream {
+
+	/** The number of characters read from the document at once */
+	private static final int CHUNK_SIZE= 8 * 1024;
+
+	/** The stream encodes the content of the document */
+	private static final int ENCODING= 0;
+	/** The stream flushes the encoder */
+	private static final int FLUSHING= 1;
+	/** The stream has provided all bytes */
+	private static final int DONE= 2;
+
+	/** The document to encode */
+	private final IDocument fDocument;
+	/** The encoder */
+	private final CharsetEncoder fEncoder;
+	/** The length of the document */
+	private final int fLength;
+	/** The modification stamp of the document */
+	private final long fModificationStamp;
+	/** The offset of the next chunk of the document */
+	private int fOffset;
+	/** The characters read from the document but not yet encoded, in read mode */
+	private final CharBuffer fChars;
+	/** The bytes encoded but not yet read, in read mode */
+	private final ByteBuffer fBytes;
+	/** The state of this stream */
+	private int fState= ENCODING;
+
+
+	/**
+	 * Creates a new stream for the content of the given document. The encoder is reset and must
+	 * not be used by others while the stream is read.
+	 *
+	 * @param document the document
+	 * @param encoder the encoder
+	 */
+	TextFileContentStream(IDocument document, CharsetEncoder encoder) {
+		fDocument= document;
+		fEncoder= encoder;
+		fEncoder.reset();
+		fLength= document.getLength();
+		fModificationStamp= getModificationStamp(document);
+		fChars= CharBuffer.allocate(CHUNK_SIZE);
+		fChars.flip();
+		fBytes= ByteBuffer.allocate((int) Math.ceil(CHUNK_SIZE * encoder.maxBytesPerChar()));
+		fBytes.flip();
+	}
+
+	/**
+	 * Checks whether the content of the given document can be encoded with the given encoder. The
+	 * content is encoded in chunks and the encoded bytes are discarded. For the Unicode encodings,
+	 * which can encode all characters, nothing is checked. The encoder is reset.
+	 *
+	 * @param document the document
+	 * @param encoder the encoder
+	 * @throws CharacterCodingException if the encoder reports an error
+	 * @throws IOException if the document is changed while it is checked
+	 */
+	static void checkEncoding(IDocument document, CharsetEncoder encoder) throws IOException {
+		if (!encoder.charset().name().startsWith("UTF-")) { //$NON-NLS-1$
+			TextFileContentStream stream= new TextFileContentStream(document, encoder);
+			while (stream.fill()) {
+				stream.fBytes.position(stream.fBytes.limit());
+			}
+		}
+		encoder.reset();
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (!fBytes.hasRemaining() && !fill())
+			return -1;
+		return fBytes.get() & 0xff;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0)
+			return 0;
+		if (!fBytes.hasRemaining() && !fill())
+			return -1;
+		int n= Math.min(len, fBytes.remaining());
+		fBytes.get(b, off, n);
+		return n;
+	}
+
+	@Override
+	public int available() {
+		return fBytes.remaining();
+	}
+
+	/**
+	 * Encodes the next bytes of the content.
+	 *
+	 * @return <code>true</code> if bytes are available, <code>false</code> at the end of the
+	 *         content
+	 * @throws CharacterCodingException if the encoder reports an error
+	 * @throws IOException if the document has been changed
+	 */
+	private boolean fill() throws IOException {
+		fBytes.clear();
+		while (fBytes.position() == 0 && fState != DONE) {
+			if (fState == ENCODING) {
+				// a single remaining character may be the first half of a surrogate pair
+				if (fChars.remaining() <= 1 && fOffset < fLength)
+					readChars();
+				boolean endOfInput= fOffset == fLength;
+				check(fEncoder.encode(fChars, fBytes, endOfInput));
+				if (endOfInput && !fChars.hasRemaining())
+					fState= FLUSHING;
+			} else if (check(fEncoder.flush(fBytes)).isUnderflow()) {
+				fState= DONE;
+			}
+		}
+		fBytes.flip();
+		return fBytes.hasRemaining();
+	}
+
+	/**
+	 * Appends the next chunk of the document to the characters to encode.
+	 *
+	 * @throws IOException if the document has been changed
+	 */
+	private void readChars() throws IOException {
+		fChars.compact();
+		int length= Math.min(fChars.remaining(), fLength - fOffset);
+		Object lockObject= fDocument instanceof ISynchronizable ? ((ISynchronizable) fDocument).getLockObject() : null;
+		if (lockObject == null) {
+			fChars.put(getChars(length));
+		} else {
+			synchronized (lockObject) {
+				fChars.put(getChars(length));
+			}
+		}
+		fOffset+= length;
+		fChars.flip();
+	}
+
+	/**
+	 * Returns the next chunk of the document if the document has not been changed.
+	 *
+	 * @param length the length of the chunk
+	 * @return the chunk
+	 * @throws IOException if the document has been changed
+	 */
+	private String getChars(int length) throws IOException {
+		if (getModificationStamp(fDocument) != fModificationStamp || fDocument.getLength() != fLength)
+			throw new IOException(FileBuffersMessages.TextFileContentStream_error_documentChanged);
+		try {
+			return fDocument.get(fOffset, length);
+		} catch (BadLocationException x) {
+			throw new IOException(FileBuffersMessages.TextFileContentStream_error_documentChanged, x);
+		}
+	}
+
+	private static long getModificationStamp(IDocument document) {
+		if (document instanceof IDocumentExtension4)
+			return ((IDocumentExtension4) document).getModificationStamp();
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
+	private static CoderResult check(CoderResult result) throws CharacterCodingException {
+		if (result.isError())
+			result.throwException();
+		return result;
+	}
+}
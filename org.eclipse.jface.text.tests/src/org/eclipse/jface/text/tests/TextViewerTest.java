@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2019 Google, Inc and others.
+ * Copyright (c) 2014, 2026 Google, Inc and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -55,6 +55,9 @@ import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentAdapter;
 import org.eclipse.jface.text.IDocumentExtension3;
+import org.eclipse.jface.text.IFindReplaceTarget;
+import org.eclipse.jface.text.IFindReplaceTargetExtension;
+import org.eclipse.jface.text.IFindReplaceTargetExtension5;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextOperationTarget;
 import org.eclipse.jface.text.ITextSelection;
@@ -62,6 +65,7 @@ import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextSelection;
 import org.eclipse.jface.text.TextViewer;
+import org.eclipse.jface.text.TextViewerUndoManager;
 import org.eclipse.jface.text.hyperlink.IHyperlink;
 import org.eclipse.jface.text.hyperlink.URLHyperlink;
 import org.eclipse.jface.text.hyperlink.URLHyperlinkDetector;
@@ -427,6 +431,32 @@ public class TextViewerTest {
 		assertEquals("bb", textViewer.getTextWidget().getText());
 	}
 
+	@Test
+	public void testReplaceAll() {
+		fShell= new Shell();
+		TextViewer textViewer= new TextViewer(fShell, SWT.NONE);
+		Document document= new Document("line\nline\nline");
+		textViewer.setDocument(document);
+		TextViewerUndoManager undoManager= new TextViewerUndoManager(10);
+		undoManager.connect(textViewer);
+		textViewer.setUndoManager(undoManager);
+
+		IFindReplaceTarget target= textViewer.getFindReplaceTarget();
+		assertTrue(target instanceof IFindReplaceTargetExtension5);
+		IFindReplaceTargetExtension5 extension= (IFindReplaceTargetExtension5) target;
+		assertEquals(3, extension.replaceAll("LINE", "row", false, false, false));
+		assertEquals("row\nrow\nrow", document.get());
+		undoManager.undo();
+		assertEquals("line\nline\nline", document.get());
+
+		IFindReplaceTargetExtension scopeExtension= (IFindReplaceTargetExtension) target;
+		scopeExtension.beginSession();
+		scopeExtension.setScope(new Region(4, 6));
+		assertEquals(1, extension.replaceAll("l(i)ne", "$1", true, false, true));
+		assertEquals("line\ni\nline", document.get());
+		scopeExtension.endSession();
+	}
+
 	@Test
 	public void testSetSelectionNoDoc() {
 		fShell= new Shell();
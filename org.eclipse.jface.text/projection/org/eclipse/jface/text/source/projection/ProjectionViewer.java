@@ -660,6 +660,70 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 		}
 	}
 
+	/**
+	 * Adds the given master ranges to the given projection document at once. While the
+	 * modification is processed, the viewer no longer handles projection changes, as it is
+	 * causing them.
+	 *
+	 * @param projection the projection document
+	 * @param ranges the ranges in the master document
+	 * @throws BadLocationException in case one of the specified ranges is invalid
+	 *
+	 * @see ProjectionDocument#addMasterDocumentRanges(IRegion[])
+	 * @since 3.23
+	 */
+	private void addMasterDocumentRanges(ProjectionDocument projection, IRegion[] ranges) throws BadLocationException {
+		try {
+			fHandleProjectionChanges= false;
+			projection.addMasterDocumentRanges(toLineBasedRanges(projection.getMasterDocument(), ranges));
+		} finally {
+			fHandleProjectionChanges= true;
+		}
+	}
+
+	/**
+	 * Removes the given master ranges from the given projection document at once. While the
+	 * modification is processed, the viewer no longer handles projection changes, as it is
+	 * causing them.
+	 *
+	 * @param projection the projection document
+	 * @param ranges the ranges in the master document
+	 * @throws BadLocationException in case one of the specified ranges is invalid
+	 *
+	 * @see ProjectionDocument#removeMasterDocumentRanges(IRegion[])
+	 * @since 3.23
+	 */
+	private void removeMasterDocumentRanges(ProjectionDocument projection, IRegion[] ranges) throws BadLocationException {
+		try {
+			fHandleProjectionChanges= false;
+			projection.removeMasterDocumentRanges(toLineBasedRanges(projection.getMasterDocument(), ranges));
+		} finally {
+			fHandleProjectionChanges= true;
+		}
+	}
+
+	/**
+	 * Extends the given ranges to line boundaries like
+	 * {@link #addMasterDocumentRange(ProjectionDocument, int, int)} and
+	 * {@link #removeMasterDocumentRange(ProjectionDocument, int, int)} do.
+	 *
+	 * @param document the master document
+	 * @param ranges the ranges in the master document
+	 * @return the line based ranges
+	 * @throws BadLocationException in case one of the ranges is invalid
+	 * @since 3.23
+	 */
+	private IRegion[] toLineBasedRanges(IDocument document, IRegion[] ranges) throws BadLocationException {
+		// https://bugs.eclipse.org/bugs/show_bug.cgi?id=108258
+		IRegion[] result= new IRegion[ranges.length];
+		for (int i= 0; i < ranges.length; i++) {
+			int end= ranges[i].getOffset() + ranges[i].getLength();
+			int offset= toLineStart(document, ranges[i].getOffset(), false);
+			result[i]= new Region(offset, toLineStart(document, end, true) - offset);
+		}
+		return result;
+	}
+
 	/**
 	 * Returns the first line offset &lt;= <code>offset</code>. If <code>testLastLine</code>
 	 * is <code>true</code> and the offset is on last line then <code>offset</code> is returned.
@@ -992,27 +1056,61 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 
 	private void executeProjectionCommands(ProjectionCommandQueue commandQueue, boolean fireRedraw) throws BadLocationException {
 
+		// consecutive additions or removals are applied to the projection document at once
 		ProjectionCommand command;
+		ProjectionCommand first= null;
+		List<IRegion> ranges= new ArrayList<>();
 		Iterator<ProjectionCommand> e= commandQueue.iterator();
 		while (e.hasNext()) {
 			command= e.next();
-			switch (command.fType) {
-				case ProjectionCommand.ADD:
-					addMasterDocumentRange(command.fProjection, command.fOffset, command.fLength);
-					break;
-				case ProjectionCommand.REMOVE:
-					removeMasterDocumentRange(command.fProjection, command.fOffset, command.fLength);
-					break;
-				case ProjectionCommand.INVALIDATE_PRESENTATION:
-					if (fireRedraw)
-						invalidateTextPresentation(command.fOffset, command.fLength);
-					break;
+			if (command.fType == ProjectionCommand.INVALIDATE_PRESENTATION)
+				continue;
+			if (first != null && (command.fType != first.fType || command.fProjection != first.fProjection)) {
+				executeProjectionCommands(first, ranges);
+				ranges.clear();
+			}
+			if (ranges.isEmpty())
+				first= command;
+			ranges.add(new Region(command.fOffset, command.fLength));
+		}
+		if (first != null)
+			executeProjectionCommands(first, ranges);
+
+		if (fireRedraw) {
+			e= commandQueue.iterator();
+			while (e.hasNext()) {
+				command= e.next();
+				if (command.fType == ProjectionCommand.INVALIDATE_PRESENTATION)
+					invalidateTextPresentation(command.fOffset, command.fLength);
 			}
 		}
 
 		commandQueue.clear();
 	}
 
+	/**
+	 * Applies the given ranges of a sequence of commands of the same type and projection.
+	 *
+	 * @param first the first command of the sequence
+	 * @param ranges the ranges of all commands of the sequence
+	 * @throws BadLocationException in case one of the ranges is invalid
+	 * @since 3.23
+	 */
+	private void executeProjectionCommands(ProjectionCommand first, List<IRegion> ranges) throws BadLocationException {
+		if (ranges.size() == 1) {
+			if (first.fType == ProjectionCommand.ADD)
+				addMasterDocumentRange(first.fProjection, first.fOffset, first.fLength);
+			else
+				removeMasterDocumentRange(first.fProjection, first.fOffset, first.fLength);
+		} else {
+			IRegion[] regions= ranges.toArray(new IRegion[ranges.size()]);
+			if (first.fType == ProjectionCommand.ADD)
+				addMasterDocumentRanges(first.fProjection, regions);
+			else
+				removeMasterDocumentRanges(first.fProjection, regions);
+		}
+	}
+
 	private ProjectionAnnotation[] computeCollapsedNestedAnnotations(int offset, int length) {
 		List<ProjectionAnnotation> annotations= new ArrayList<>(5);
 		Iterator<Annotation> e= fProjectionAnnotationModel.getAnnotationIterator(offset, length, false, false);
@@ -1201,6 +1299,7 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 		}
 
 		if (projection != null) {
+			List<IRegion> collapsed= new ArrayList<>();
 			Iterator<Annotation> e= fProjectionAnnotationModel.getAnnotationIterator();
 			while (e.hasNext()) {
 				ProjectionAnnotation annotation= (ProjectionAnnotation) e.next();
@@ -1210,12 +1309,14 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 						IRegion[] regions= computeCollapsedRegions(position);
 						if (regions != null)
 							for (IRegion region : regions) {
-								removeMasterDocumentRange(projection, region.getOffset(), region.getLength());
+								collapsed.add(region);
 						}
 					}
 				}
 			}
 
+			if (!collapsed.isEmpty())
+				removeMasterDocumentRanges(projection, collapsed.toArray(new IRegion[collapsed.size()]));
 		}
 
 		replaceVisibleDocument(projection);
@@ -1697,6 +1798,28 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 		return -1;
 	}
 
+	@Override
+	protected int replaceAll(String findString, String replaceString, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IRegion scope) {
+
+		if (!isProjectionMode())
+			return super.replaceAll(findString, replaceString, caseSensitive, wholeWord, regExSearch, scope);
+
+		if (getTextWidget() == null)
+			return -1;
+
+		try {
+
+			FindReplaceDocumentAdapter adapter= getFindReplaceDocumentAdapter();
+			if (scope == null)
+				return adapter.replaceAll(findString, replaceString, caseSensitive, wholeWord, regExSearch);
+			return adapter.replaceAll(scope.getOffset(), scope.getLength(), findString, replaceString, caseSensitive, wholeWord, regExSearch);
+
+		} catch (BadLocationException x) {
+		}
+
+		return -1;
+	}
+
 	@Override
 	protected int findAndSelectInRange(int startPosition, String findString, boolean forwardSearch, boolean caseSensitive, boolean wholeWord, int rangeOffset, int rangeLength, boolean regExSearch) {
 
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Extension interface for {@link org.eclipse.jface.text.IFindReplaceTarget} providing a method
+ * to replace all matches of a string at once.
+ *
+ * @since 3.24
+ */
+public interface IFindReplaceTargetExtension5 {
+
+	/**
+	 * Replaces all matches of the given string inside the scope of this target, or in the whole
+	 * text if no scope is set. The matches are the same as when each match is found with
+	 * {@link IFindReplaceTargetExtension3#findAndSelect(int, String, boolean, boolean, boolean, boolean)}
+	 * and replaced with {@link IFindReplaceTargetExtension3#replaceSelection(String, boolean)} in
+	 * turn, see {@link FindReplaceDocumentAdapter#replaceAll(int, int, String, String, boolean, boolean, boolean)}.
+	 * <p>
+	 * If the target cannot replace all matches at once in its current state, nothing is changed
+	 * and <code>-1</code> is returned. Clients then have to find and replace each match in turn.
+	 * </p>
+	 *
+	 * @param findString the string to find
+	 * @param replaceString the substitution text
+	 * @param caseSensitive <code>true</code> if case sensitive, <code>false</code> otherwise
+	 * @param wholeWord <code>true</code> if matches must be whole words, <code>false</code>
+	 *            otherwise. Must not be used in combination with <code>regExSearch</code>.
+	 * @param regExSearch <code>true</code> if <code>findString</code> is a regular expression and
+	 *            <code>replaceString</code> a replace pattern
+	 * @return the number of replaced matches or <code>-1</code> if the matches have to be replaced
+	 *         one by one
+	 * @throws PatternSyntaxException if a regular expression or the replace pattern has invalid
+	 *             syntax, in which case nothing is changed
+	 */
+	int replaceAll(String findString, String replaceString, boolean caseSensitive, boolean wholeWord, boolean regExSearch);
+}
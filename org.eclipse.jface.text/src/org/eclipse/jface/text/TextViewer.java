@@ -765,7 +765,7 @@ public class TextViewer extends Viewer implements
 	/**
 	 * This viewer's find/replace target.
 	 */
-	class FindReplaceTarget implements IFindReplaceTarget, IFindReplaceTargetExtension, IFindReplaceTargetExtension3, IFindReplaceTargetExtension4 {
+	class FindReplaceTarget implements IFindReplaceTarget, IFindReplaceTargetExtension, IFindReplaceTargetExtension3, IFindReplaceTargetExtension4, IFindReplaceTargetExtension5 {
 
 		/** The range for this target. */
 		private FindReplaceRange fRange;
@@ -851,6 +851,12 @@ public class TextViewer extends Viewer implements
 			return widgetOffset;
 		}
 
+		@Override
+		public int replaceAll(String findString, String replaceString, boolean caseSensitive, boolean wholeWord, boolean regExSearch) {
+			IRegion scope= fRange == null ? null : fRange.getRange();
+			return TextViewer.this.replaceAll(findString, replaceString, caseSensitive, wholeWord, regExSearch, scope);
+		}
+
 		@Override
 		public boolean canPerformFind() {
 			return TextViewer.this.canPerformFind();
@@ -4622,6 +4628,41 @@ public class TextViewer extends Viewer implements
 		return -1;
 	}
 
+	/**
+	 * Adheres to the contract of {@link org.eclipse.jface.text.IFindReplaceTargetExtension5#replaceAll(String, String, boolean, boolean, boolean)}.
+	 *
+	 * @param findString the find string specification
+	 * @param replaceString the substitution text
+	 * @param caseSensitive <code>true</code> if case sensitive, <code>false</code> otherwise
+	 * @param wholeWord <code>true</code> if matches must be whole words, <code>false</code> otherwise
+	 * @param regExSearch <code>true</code> if <code>findString</code> is a regular expression, <code>false</code> otherwise
+	 * @param scope the model range of the search scope or <code>null</code> to search the whole visible text
+	 * @return the number of replaced matches or <code>-1</code> if the matches have to be replaced one by one
+	 * @since 3.24
+	 */
+	protected int replaceAll(String findString, String replaceString, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IRegion scope) {
+		if (fTextWidget == null)
+			return -1;
+
+		try {
+
+			FindReplaceDocumentAdapter adapter= getFindReplaceDocumentAdapter();
+			if (scope == null)
+				return adapter.replaceAll(findString, replaceString, caseSensitive, wholeWord, regExSearch);
+
+			IRegion widgetScope= modelRange2WidgetRange(scope);
+			if (widgetScope == null)
+				return 0;
+			return adapter.replaceAll(widgetScope.getOffset(), widgetScope.getLength(), findString, replaceString, caseSensitive, wholeWord, regExSearch);
+
+		} catch (BadLocationException x) {
+			if (TRACE_ERRORS)
+				System.out.println(JFaceTextMessages.getString("TextViewer.error.bad_location.replaceAll")); //$NON-NLS-1$
+		}
+
+		return -1;
+	}
+
 	/**
 	 * Adheres to the contract of {@link org.eclipse.jface.text.IFindReplaceTargetExtension3#findAndSelect(int, String, boolean, boolean, boolean, boolean)}.
 	 *
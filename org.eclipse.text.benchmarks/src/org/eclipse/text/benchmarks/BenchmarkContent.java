@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Creates the text and the edit offsets used by the benchmarks.
+ */
+final class BenchmarkContent {
+
+	/** The seed of all random numbers, so that every run performs the same edits */
+	static final long SEED= 4711;
+
+	private static final String[] LINES= {
+			"\tpublic void run() {", //$NON-NLS-1$
+			"\t\tint count= computeCount(fElements, offset + length);", //$NON-NLS-1$
+			"\t\tif (count > 0)", //$NON-NLS-1$
+			"\t\t\treturn;", //$NON-NLS-1$
+			"", //$NON-NLS-1$
+			"\t\t// the elements are processed in order", //$NON-NLS-1$
+			"\t}" //$NON-NLS-1$
+	};
+
+	private BenchmarkContent() {
+		// not instantiable
+	}
+
+	/**
+	 * Returns source-like text with "\n" delimiters and the given length.
+	 *
+	 * @param length the length of the text
+	 * @return the text
+	 */
+	static String createText(int length) {
+		StringBuilder buffer= new StringBuilder(length + 100);
+		Random random= new Random(SEED);
+		while (buffer.length() < length)
+			buffer.append(LINES[random.nextInt(LINES.length)]).append('\n');
+		buffer.setLength(length);
+		return buffer.toString();
+	}
+
+	/**
+	 * Returns the given number of random offsets in the range <code>[0, bound)</code>.
+	 *
+	 * @param count the number of offsets
+	 * @param bound the exclusive upper bound of the offsets
+	 * @return the offsets
+	 */
+	static int[] createOffsets(int count, int bound) {
+		Random random= new Random(SEED);
+		int[] offsets= new int[count];
+		for (int i= 0; i < count; i++)
+			offsets[i]= random.nextInt(bound);
+		return offsets;
+	}
+}
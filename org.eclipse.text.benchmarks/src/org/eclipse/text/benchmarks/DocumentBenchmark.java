@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.Position;
+
+/**
+ * Measures {@link Document#replace(int, int, String)} including the update of the document's
+ * positions by the {@link org.eclipse.jface.text.DefaultPositionUpdater} and the notification of
+ * document listeners.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations= 5, time= 1)
+@Measurement(iterations= 5, time= 1)
+public class DocumentBenchmark {
+
+	/** The length of the document */
+	@Param({ "10000", "1000000" })
+	public int size;
+
+	/** The number of positions in the default category, spread evenly over the document */
+	@Param({ "0", "1000", "100000" })
+	public int positions;
+
+	/** The number of registered document listeners */
+	@Param({ "0", "10" })
+	public int listeners;
+
+	private Document fDocument;
+	private int[] fOffsets;
+	private int fNext;
+
+	@Setup
+	public void setUp() throws BadLocationException {
+		fDocument= new Document(BenchmarkContent.createText(size));
+		int[] offsets= BenchmarkContent.createOffsets(positions, size - 20);
+		for (int offset : offsets)
+			fDocument.addPosition(new Position(offset, 20));
+		for (int i= 0; i < listeners; i++) {
+			fDocument.addDocumentListener(new IDocumentListener() {
+				@Override
+				public void documentAboutToBeChanged(DocumentEvent event) {
+				}
+
+				@Override
+				public void documentChanged(DocumentEvent event) {
+				}
+			});
+		}
+		fOffsets= BenchmarkContent.createOffsets(1024, size - 1);
+	}
+
+	/**
+	 * Replaces a single character at a random offset.
+	 *
+	 * @return the document
+	 * @throws BadLocationException never
+	 */
+	@Benchmark
+	public Document replace() throws BadLocationException {
+		fDocument.replace(fOffsets[fNext++ & 1023], 1, "y"); //$NON-NLS-1$
+		return fDocument;
+	}
+
+	/**
+	 * Inserts a line at a random offset and removes it again.
+	 *
+	 * @return the document
+	 * @throws BadLocationException never
+	 */
+	@Benchmark
+	public Document insertAndRemoveLine() throws BadLocationException {
+		int offset= fOffsets[fNext++ & 1023];
+		fDocument.replace(offset, 0, "\t\tcount++;\n"); //$NON-NLS-1$
+		fDocument.replace(offset, 11, ""); //$NON-NLS-1$
+		return fDocument;
+	}
+}
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.ConfigurableLineTracker;
+import org.eclipse.jface.text.DefaultLineTracker;
+import org.eclipse.jface.text.ILineTracker;
+
+/**
+ * Measures building, querying and updating the line structure of a text.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations= 5, time= 1)
+@Measurement(iterations= 5, time= 1)
+public class LineTrackerBenchmark {
+
+	/**
+	 * The line tracker: "default" recognizes "\r", "\n" and "\r\n", "configurable" is configured
+	 * with the same delimiters.
+	 */
+	@Param({ "default", "configurable" })
+	public String tracker;
+
+	/** The length of the text */
+	@Param({ "10000", "1000000" })
+	public int size;
+
+	private String fText;
+	private ILineTracker fTracker;
+	private int[] fOffsets;
+	private int fNext;
+
+	@Setup
+	public void setUp() {
+		fText= BenchmarkContent.createText(size);
+		fTracker= createTracker();
+		fTracker.set(fText);
+		fOffsets= BenchmarkContent.createOffsets(1024, size - 1);
+	}
+
+	private ILineTracker createTracker() {
+		if ("default".equals(tracker)) //$NON-NLS-1$
+			return new DefaultLineTracker();
+		return new ConfigurableLineTracker(DefaultLineTracker.DELIMITERS);
+	}
+
+	@Benchmark
+	public ILineTracker set() {
+		ILineTracker lineTracker= createTracker();
+		lineTracker.set(fText);
+		return lineTracker;
+	}
+
+	@Benchmark
+	public int computeNumberOfLines() {
+		return fTracker.computeNumberOfLines(fText);
+	}
+
+	@Benchmark
+	public int getLineNumberOfOffset() throws BadLocationException {
+		return fTracker.getLineNumberOfOffset(fOffsets[fNext++ & 1023]);
+	}
+
+	/**
+	 * Inserts a line break at a random offset and removes it again.
+	 *
+	 * @return the tracker
+	 * @throws BadLocationException never
+	 */
+	@Benchmark
+	public ILineTracker replace() throws BadLocationException {
+		int offset= fOffsets[fNext++ & 1023];
+		fTracker.replace(offset, 0, "\n"); //$NON-NLS-1$
+		fTracker.replace(offset, 1, ""); //$NON-NLS-1$
+		return fTracker;
+	}
+}
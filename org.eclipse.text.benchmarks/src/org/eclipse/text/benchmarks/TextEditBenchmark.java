@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+
+import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.UndoEdit;
+
+/**
+ * Measures applying a tree of edits to a document with the
+ * <code>org.eclipse.text.edits.TextEditProcessor</code>, as done by refactorings and formatters.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations= 5, time= 1)
+@Measurement(iterations= 5, time= 1)
+public class TextEditBenchmark {
+
+	/** The length of the document */
+	@Param({ "100000", "1000000" })
+	public int size;
+
+	/** The number of replace edits, spread evenly over the document */
+	@Param({ "100", "10000" })
+	public int edits;
+
+	private Document fDocument;
+
+	@Setup
+	public void setUp() {
+		fDocument= new Document(BenchmarkContent.createText(size));
+	}
+
+	/**
+	 * Applies the edits and then their undo edit, which restores the document.
+	 *
+	 * @return the undo edit of the undo
+	 * @throws BadLocationException never
+	 * @throws MalformedTreeException never
+	 */
+	@Benchmark
+	public UndoEdit applyAndUndo() throws MalformedTreeException, BadLocationException {
+		MultiTextEdit root= new MultiTextEdit();
+		int step= size / edits;
+		for (int i= 0; i < edits; i++)
+			root.addChild(new ReplaceEdit(i * step, 2, "abc")); //$NON-NLS-1$
+		UndoEdit undo= root.apply(fDocument);
+		return undo.apply(fDocument);
+	}
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.eclipse.jface.text.CompactTextStore;
+import org.eclipse.jface.text.GapTextStore;
+import org.eclipse.jface.text.ITextStore;
+import org.eclipse.jface.text.RopeTextStore;
+
+/**
+ * Measures single edits and reads on the {@link ITextStore} implementations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations= 5, time= 1)
+@Measurement(iterations= 5, time= 1)
+public class TextStoreBenchmark {
+
+	/** The text store implementation */
+	@Param({ "gap", "compact", "rope" })
+	public String store;
+
+	/** The length of the text */
+	@Param({ "10000", "1000000" })
+	public int size;
+
+	/**
+	 * The edit pattern: "typing" inserts characters one after the other at the same location and
+	 * removes them again after every 64 characters, "random" replaces single characters at random
+	 * offsets.
+	 */
+	@Param({ "typing", "random" })
+	public String pattern;
+
+	private ITextStore fStore;
+	private int[] fOffsets;
+	private int fNext;
+	private int fCaret;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		switch (store) {
+			case "gap": //$NON-NLS-1$
+				fStore= new GapTextStore();
+				break;
+			case "compact": //$NON-NLS-1$
+				fStore= new CompactTextStore();
+				break;
+			case "rope": //$NON-NLS-1$
+				fStore= new RopeTextStore();
+				break;
+			default:
+				throw new IllegalArgumentException(store);
+		}
+		fStore.set(BenchmarkContent.createText(size));
+		fOffsets= BenchmarkContent.createOffsets(1024, size);
+		fNext= 0;
+		fCaret= size / 2;
+	}
+
+	@Benchmark
+	public ITextStore replace() {
+		if ("typing".equals(pattern)) { //$NON-NLS-1$
+			if ((++fNext & 63) == 0) {
+				fCaret-= 63;
+				fStore.replace(fCaret, 63, ""); //$NON-NLS-1$
+			} else {
+				fStore.replace(fCaret++, 0, "x"); //$NON-NLS-1$
+			}
+		} else {
+			fStore.replace(fOffsets[fNext++ & 1023], 1, "y"); //$NON-NLS-1$
+		}
+		return fStore;
+	}
+
+	@Benchmark
+	public String getLine() {
+		return fStore.get(fOffsets[fNext++ & 1023] / 2, 80);
+	}
+}
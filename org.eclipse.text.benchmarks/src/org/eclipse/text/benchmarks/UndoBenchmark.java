@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.eclipse.core.commands.ExecutionException;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+
+import org.eclipse.text.undo.DocumentUndoManager;
+
+/**
+ * Measures recording changes in a {@link DocumentUndoManager} and undoing them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations= 5, time= 1)
+@Measurement(iterations= 5, time= 1)
+public class UndoBenchmark {
+
+	/** The number of changes, each typing a single character */
+	@Param({ "100", "1000" })
+	public int changes;
+
+	/**
+	 * The edit pattern: "typing" inserts the characters one after the other so that they are
+	 * merged into few undoable changes, "random" inserts them at random offsets.
+	 */
+	@Param({ "typing", "random" })
+	public String pattern;
+
+	private String fText;
+	private int[] fOffsets;
+
+	@Setup
+	public void setUp() {
+		fText= BenchmarkContent.createText(100000);
+		fOffsets= BenchmarkContent.createOffsets(changes, fText.length());
+	}
+
+	/**
+	 * Performs the changes on a new document and undoes all of them.
+	 *
+	 * @return the document
+	 * @throws BadLocationException never
+	 * @throws ExecutionException never
+	 */
+	@Benchmark
+	public Document changeAndUndo() throws BadLocationException, ExecutionException {
+		Document document= new Document(fText);
+		DocumentUndoManager manager= new DocumentUndoManager(document);
+		manager.connect(this);
+		manager.setMaximalUndoLevel(changes);
+
+		boolean typing= "typing".equals(pattern); //$NON-NLS-1$
+		for (int i= 0; i < changes; i++)
+			document.replace(typing ? 50000 + i : fOffsets[i], 0, "x"); //$NON-NLS-1$
+		manager.commit();
+		while (manager.undoable())
+			manager.undo();
+
+		manager.disconnect(this);
+		return document;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -1646,6 +1647,35 @@ public class ProjectionDocumentTest {
 			assertEquals(received[i], expected[i]);
 	}
 
+	@Test
+	public void test21_b() {
+		// test removing ranges from the slave document at the start of the first and the end of the last segment
+
+		createProjectionA();
+
+		try {
+			fSlaveDocument.removeMasterDocumentRange(0, 10);
+			fSlaveDocument.removeMasterDocumentRange(170, 10);
+		} catch (BadLocationException e) {
+			assertTrue(false);
+		}
+
+		Position[] expected= {
+			new Position(10, 10),
+			new Position(40, 20),
+			new Position(80, 20),
+			new Position(120, 20),
+			new Position(160, 10),
+			new Position(180, 0)
+		};
+		assertFragmentation(expected);
+
+		StringBuilder buffer= new StringBuilder(getProjectionASlaveContents());
+		buffer.delete(90, 100);
+		buffer.delete(0, 10);
+		assertSlaveContents(buffer.toString());
+	}
+
 	@Test
 	public void test22() {
 		// test document events sent out by the slave document when adding segments
@@ -2651,4 +2681,180 @@ public class ProjectionDocumentTest {
 			assertTrue(false);
 		}
 	}
+
+	@Test
+	public void test30_1() {
+		// test removing several master document ranges at once
+
+		final List<DocumentEvent> receivedEvents= new ArrayList<>();
+
+		IDocumentListener listener= new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {}
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				receivedEvents.add(event);
+			}
+		};
+
+		createIdenticalProjection();
+
+		fSlaveDocument.addDocumentListener(listener);
+		try {
+			IRegion[] ranges= {
+				new Region(100, 20),
+				new Region(20, 20),
+				new Region(140, 20),
+				new Region(60, 20)
+			};
+			fSlaveDocument.removeMasterDocumentRanges(ranges);
+		} catch (BadLocationException e) {
+			assertTrue(false);
+		}
+
+		assertSlaveContents(getProjectionASlaveContents());
+		Position[] expectedFragmentation= new Position[] {
+			new Position(0, 20),
+			new Position(40, 20),
+			new Position(80, 20),
+			new Position(120, 20),
+			new Position(160, 20)
+		};
+		assertFragmentation(expectedFragmentation);
+
+		DocumentEvent[] actual= new DocumentEvent[receivedEvents.size()];
+		receivedEvents.toArray(actual);
+		StringBuilder buffer= new StringBuilder(getOriginalMasterContents());
+		DocumentEvent[] expected= new DocumentEvent[] {
+			new DocumentEvent(fSlaveDocument, 20, 140, buffer.substring(40, 60) + buffer.substring(80, 100) + buffer.substring(120, 140))
+		};
+		assertSlaveEvents(expected, actual);
+	}
+
+	@Test
+	public void test30_2() {
+		// test adding several master document ranges at once
+
+		final List<DocumentEvent> receivedEvents= new ArrayList<>();
+
+		IDocumentListener listener= new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {}
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				receivedEvents.add(event);
+			}
+		};
+
+		createProjectionA();
+
+		fSlaveDocument.addDocumentListener(listener);
+		try {
+			IRegion[] ranges= {
+				new Region(25, 10),
+				new Region(60, 25),
+				new Region(30, 15)
+			};
+			fSlaveDocument.addMasterDocumentRanges(ranges);
+		} catch (BadLocationException e) {
+			assertTrue(false);
+		}
+
+		Position[] expectedFragmentation= new Position[] {
+			new Position(0, 20),
+			new Position(25, 75),
+			new Position(120, 20),
+			new Position(160, 20)
+		};
+		assertFragmentation(expectedFragmentation);
+		StringBuilder buffer= new StringBuilder(getOriginalMasterContents());
+		assertSlaveContents(buffer.substring(0, 20) + buffer.substring(25, 100) + buffer.substring(120, 140) + buffer.substring(160, 180));
+
+		DocumentEvent[] actual= new DocumentEvent[receivedEvents.size()];
+		receivedEvents.toArray(actual);
+		DocumentEvent[] expected= new DocumentEvent[] {
+			new DocumentEvent(fSlaveDocument, 20, 25, buffer.substring(25, 85))
+		};
+		assertSlaveEvents(expected, actual);
+	}
+
+	@Test
+	public void test30_3() {
+		// test removing and adding all master document ranges at once
+
+		createProjectionA();
+		try {
+			fSlaveDocument.removeMasterDocumentRanges(new IRegion[] { new Region(0, 180) });
+			assertSlaveContents("");
+			Assert.assertEquals(1, fSlaveDocument.getFragments2().length);
+
+			fSlaveDocument.addMasterDocumentRanges(new IRegion[] { new Region(0, 180) });
+			assertSlaveContents(getOriginalMasterContents());
+			assertFragmentation(new Position[] { new Position(0, 180) });
+
+			// nothing to remove
+			fSlaveDocument.removeMasterDocumentRanges(new IRegion[0]);
+			assertSlaveContents(getOriginalMasterContents());
+		} catch (BadLocationException e) {
+			assertTrue(false);
+		}
+	}
+
+	@Test
+	public void test30_4() throws Exception {
+		// test that adding and removing several ranges at once is equivalent to doing it range by range
+
+		Random random= new Random(30);
+		for (int run= 0; run < 50; run++) {
+			IDocument master= new Document(getOriginalMasterContents());
+			ProjectionDocument bulk= new ProjectionDocument(master);
+			ProjectionDocument sequential= new ProjectionDocument(master);
+			bulk.addMasterDocumentRange(0, master.getLength());
+			sequential.addMasterDocumentRange(0, master.getLength());
+
+			for (int step= 0; step < 10; step++) {
+				IRegion[] ranges= new IRegion[random.nextInt(5)];
+				for (int i= 0; i < ranges.length; i++) {
+					int offset= random.nextInt(master.getLength());
+					ranges[i]= new Region(offset, 1 + random.nextInt(master.getLength() - offset));
+				}
+
+				boolean add= random.nextBoolean();
+				if (add) {
+					bulk.addMasterDocumentRanges(ranges);
+					for (IRegion range : ranges)
+						sequential.addMasterDocumentRange(range.getOffset(), range.getLength());
+				} else {
+					bulk.removeMasterDocumentRanges(ranges);
+					for (IRegion range : ranges)
+						sequential.removeMasterDocumentRange(range.getOffset(), range.getLength());
+				}
+
+				Assert.assertEquals(sequential.get(), bulk.get());
+				assertLineInformationConsistency(bulk);
+				Position[] actual= bulk.getFragments2();
+				if (sequential.getLength() > 0) {
+					// removing range by range may leave an empty fragment at the end
+					List<Position> expected= new ArrayList<>();
+					for (Position fragment : sequential.getFragments2()) {
+						if (fragment.getLength() > 0)
+							expected.add(fragment);
+					}
+					Assert.assertEquals(expected.size(), actual.length);
+					for (int i= 0; i < actual.length; i++)
+						Assert.assertEquals(print(actual[i]) + " != " + print(expected.get(i)), expected.get(i), actual[i]);
+				}
+				Position[] segments= bulk.getSegments2();
+				Assert.assertEquals(actual.length, segments.length);
+				for (int i= 0, offset= 0; i < segments.length; i++) {
+					Assert.assertEquals(offset, segments[i].getOffset());
+					Assert.assertEquals(actual[i].getLength(), segments[i].getLength());
+					offset+= segments[i].getLength();
+				}
+			}
+
+			bulk.dispose();
+			sequential.dispose();
+		}
+	}
 }
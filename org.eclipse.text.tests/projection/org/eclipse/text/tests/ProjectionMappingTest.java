@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -107,6 +107,21 @@ public class ProjectionMappingTest {
 		addProjection(70, 30, 10);
 	}
 
+	private void createProjection(int[] fragments) {
+		String masterContent= getOriginalMasterContent();
+		StringBuilder slaveContent= new StringBuilder();
+		for (int i= 0; i < fragments.length; i += 2)
+			slaveContent.append(masterContent, fragments[i], fragments[i] + fragments[i + 1]);
+
+		fMasterDocument.set(masterContent);
+		fSlaveDocument.set(slaveContent.toString());
+		int segmentOffset= 0;
+		for (int i= 0; i < fragments.length; i += 2) {
+			addProjection(fragments[i], segmentOffset, fragments[i + 1]);
+			segmentOffset += fragments[i + 1];
+		}
+	}
+
 	@Before
 	public void setUp() {
 		fMasterDocument= new Document();
@@ -1018,4 +1033,81 @@ public class ProjectionMappingTest {
 		createLineWrappingProjection();
 		assertEquals(fSlaveDocument.getLength(), fProjectionMapping.getImageLength());
 	}
+
+	@Test
+	public void test13e() throws BadLocationException {
+		// test getImageLength
+		// the cached length is discarded on projection changes
+		createStandardProjection();
+		assertEquals(40, fProjectionMapping.getImageLength());
+
+		fSlaveDocument.replace(fSlaveDocument.getLength(), 0, getOriginalMasterContent().substring(120, 140));
+		addProjection(120, 40, 20);
+		fProjectionMapping.projectionChanged();
+		assertEquals(60, fProjectionMapping.getImageLength());
+		assertEquals(45, fProjectionMapping.toImageOffset(125));
+		assertEquals(125, fProjectionMapping.toOriginOffset(45));
+		assertEquals(new Region(40, 20), fProjectionMapping.toImageRegion(new Region(100, 40)));
+	}
+
+	@Test
+	public void test14() throws BadLocationException {
+		// test toOriginLine, toImageLine and toClosestImageLine
+		// fragments starting or ending at line boundaries
+		int[][] projections= {
+			{ 20, 20, 60, 20 },
+			{ 20, 19, 60, 19 },
+			{ 19, 21, 59, 22 },
+			{ 0, 10, 30, 20, 70, 10 },
+			{ 40, 20, 60, 20 },
+			{ 0, 1, 160, 20 },
+			{ 39, 1, 79, 1 },
+			{ 100, 25 }
+		};
+		int[][] originLines= {
+			{ 1, 3, 4 },
+			{ -1 },
+			{ 0, 1, 2, 3, 4 },
+			{ -1, -1, 4 },
+			{ 2, 3, 4 },
+			{ -1 },
+			{ 1, 3, 4 },
+			{ 5, 6 }
+		};
+		int[][] imageLines= {
+			{ -1, 0, -1, 1, 2, -1, -1, -1, -1 },
+			{ -1, 0, -1, 0, -1, -1, -1, -1, -1 },
+			{ -1, 1, -1, 3, 4, -1, -1, -1, -1 },
+			{ 0, 0, 1, 1, 2, -1, -1, -1, -1 },
+			{ -1, -1, 0, 1, 2, -1, -1, -1, -1 },
+			{ 0, -1, -1, -1, -1, -1, -1, -1, 0 },
+			{ -1, -1, -1, -1, 2, -1, -1, -1, -1 },
+			{ -1, -1, -1, -1, -1, 0, 1, -1, -1 }
+		};
+		int[][] closestImageLines= {
+			{ 0, 0, 0, 1, 2, 2, 2, 2, 2 },
+			{ 0, 0, 0, 0, 0, 0, 0, 0, 0 },
+			{ -1, 1, 1, 3, 4, 4, 4, 4, 4 },
+			{ 0, 0, 1, 1, 2, 2, 2, 2, 2 },
+			{ 0, 0, 0, 1, 2, 2, 2, 2, 2 },
+			{ 0, 0, 0, 0, 0, 0, 0, 0, 0 },
+			{ -1, -1, -1, -1, 2, 2, 2, 2, 2 },
+			{ 0, 0, 0, 0, 0, 0, 1, 1, 1 }
+		};
+
+		for (int i= 0; i < projections.length; i++) {
+			setUp();
+			createProjection(projections[i]);
+
+			assertEquals(originLines[i].length, fSlaveDocument.getNumberOfLines());
+			for (int line= 0; line < originLines[i].length; line++)
+				assertEquals("projection " + i + ", image line " + line, originLines[i][line], fProjectionMapping.toOriginLine(line));
+
+			assertEquals(imageLines[i].length, fMasterDocument.getNumberOfLines());
+			for (int line= 0; line < imageLines[i].length; line++) {
+				assertEquals("projection " + i + ", origin line " + line, imageLines[i][line], fProjectionMapping.toImageLine(line));
+				assertEquals("projection " + i + ", origin line " + line, closestImageLines[i][line], fProjectionMapping.toClosestImageLine(line));
+			}
+		}
+	}
 }
@@ -15,6 +15,10 @@ package org.eclipse.text.tests;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.ILineTracker;
 import org.eclipse.jface.text.IRegion;
@@ -52,4 +56,59 @@ public abstract class AbstractLineTrackerTest {
 		fTracker.set(string);
 	}
 
+	/**
+	 * Creates a random text of the given length made of the given characters.
+	 *
+	 * @param random the random generator
+	 * @param length the length of the text
+	 * @param chars the characters of the text
+	 * @return the text
+	 */
+	protected static String createText(Random random, int length, String chars) {
+		char[] text= new char[length];
+		for (int i= 0; i < length; i++)
+			text[i]= chars.charAt(random.nextInt(chars.length()));
+		return new String(text);
+	}
+
+	/**
+	 * Checks the lines of a tracker which has been set to the given text against the leftmost
+	 * longest matches of the given delimiters. Then checks that the lines are still correct after
+	 * an insertion at the start of the text.
+	 *
+	 * @param tracker the tracker
+	 * @param text the text the tracker has been set to
+	 * @param delimiters the legal line delimiters
+	 * @throws BadLocationException if the tracker fails
+	 */
+	protected static void checkLargeText(ILineTracker tracker, String text, String[] delimiters) throws BadLocationException {
+		List<Integer> offsets= new ArrayList<>();
+		List<String> lineDelimiters= new ArrayList<>();
+		offsets.add(Integer.valueOf(0));
+		for (int i= 0; i < text.length();) {
+			String match= null;
+			for (String delimiter : delimiters) {
+				if (text.startsWith(delimiter, i) && (match == null || delimiter.length() > match.length()))
+					match= delimiter;
+			}
+			if (match == null) {
+				i++;
+			} else {
+				i += match.length();
+				offsets.add(Integer.valueOf(i));
+				lineDelimiters.add(match);
+			}
+		}
+		lineDelimiters.add(null);
+
+		for (int delta= 0; delta < 2; delta++) {
+			assertEquals(offsets.size(), tracker.getNumberOfLines());
+			for (int line= 0; line < offsets.size(); line++) {
+				assertEquals(line == 0 ? 0 : offsets.get(line).intValue() + delta, tracker.getLineOffset(line));
+				assertEquals(lineDelimiters.get(line), tracker.getLineDelimiter(line));
+			}
+			tracker.replace(0, 0, "x");
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,18 +15,23 @@ package org.eclipse.text.tests;
 
 import static org.junit.Assert.assertTrue;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Random;
 
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.source.Annotation;
 import org.eclipse.jface.text.source.AnnotationModel;
@@ -276,4 +281,161 @@ public class AnnotationModelExtension2Test {
 		assertPermutations(true, true, expected);
 	}
 
+	@Test
+	public void testDisconnected() throws Exception {
+		fAnnotationModel.disconnect(fDocument);
+		try {
+			assertPermutations(false, false, new Annotation[] { fInside, fInsideIn });
+			assertPermutations(true, false, new Annotation[] { fInside, fInsideIn, fBefore, fBeforeIn });
+			assertPermutations(false, true, new Annotation[] { fInside, fInsideIn, fAfter, fAfterIn });
+			assertPermutations(true, true, new Annotation[] { fInside, fInsideIn, fInsideOut, fAfter, fAfterIn, fBefore, fBeforeIn });
+		} finally {
+			fAnnotationModel.connect(fDocument);
+		}
+	}
+
+	@Test
+	public void testDisconnectedRandomRegions() throws Exception {
+		Random random= new Random(42);
+		AnnotationModel model= new AnnotationModel();
+		for (int round= 0; round < 20; round++) {
+			for (int i= 0; i < 50; i++) {
+				int offset= random.nextInt(1000);
+				int length= random.nextInt(4) == 0 ? 0 : random.nextInt(100);
+				model.addAnnotation(new Annotation(false), new Position(offset, length));
+			}
+			Iterator<Annotation> iterator= model.getAnnotationIterator();
+			for (int i= 0; i < 10 && iterator.hasNext(); i++)
+				model.removeAnnotation(iterator.next());
+
+			for (int i= 0; i < 20; i++)
+				assertRegionQueries(model, new Position(random.nextInt(1000), random.nextInt(4) == 0 ? 0 : random.nextInt(100)));
+		}
+	}
+
+	@Test
+	public void testIndexedRandomRegions() throws Exception {
+		Random random= new Random(42);
+		IDocument document= createDocumentWithoutPositions(new Document(createString(1100)));
+		AnnotationModel model= new AnnotationModel();
+		model.connect(document);
+		try {
+			for (int round= 0; round < 20; round++) {
+				for (int i= 0; i < 50; i++) {
+					int offset= random.nextInt(1000);
+					int length= random.nextInt(4) == 0 ? 0 : random.nextInt(100);
+					model.addAnnotation(new Annotation(false), new Position(offset, length));
+				}
+				Iterator<Annotation> iterator= model.getAnnotationIterator();
+				for (int i= 0; i < 10 && iterator.hasNext(); i++)
+					model.removeAnnotation(iterator.next());
+
+				for (int i= 0; i < 20; i++) {
+					assertRegionQueries(model, new Position(random.nextInt(1000), random.nextInt(4) == 0 ? 0 : random.nextInt(100)));
+					// the positions are updated by document changes
+					if (i % 5 == 4)
+						document.replace(random.nextInt(1000), random.nextInt(20), createString(random.nextInt(20)));
+				}
+			}
+		} finally {
+			model.disconnect(document);
+		}
+	}
+
+	@Test
+	public void testDisconnectedPositionChanged() throws Exception {
+		AnnotationModel model= new AnnotationModel();
+		Annotation annotation= new Annotation(false);
+		Position position= new Position(10, 5);
+		model.addAnnotation(annotation, position);
+		for (int i= 0; i < 5; i++)
+			assertRegionQueries(model, new Position(0, 20));
+
+		position.setOffset(30);
+		assertRegionQueries(model, new Position(0, 20));
+		assertRegionQueries(model, new Position(25, 20));
+	}
+
+	@Test
+	public void testReconnectedPositionChanged() throws Exception {
+		IDocument document= createDocumentWithoutPositions(new Document(createString(100)));
+		AnnotationModel model= new AnnotationModel();
+		Annotation annotation= new Annotation(false);
+		Position position= new Position(10, 5);
+		model.addAnnotation(annotation, position);
+		model.connect(document);
+		for (int i= 0; i < 5; i++)
+			assertRegionQueries(model, new Position(0, 20));
+		model.disconnect(document);
+
+		position.setOffset(30);
+		model.connect(document);
+		try {
+			assertRegionQueries(model, new Position(0, 20));
+			assertRegionQueries(model, new Position(25, 20));
+		} finally {
+			model.disconnect(document);
+		}
+	}
+
+	/**
+	 * Compares the annotations which the given model reports inside the given region with the
+	 * result of filtering all annotations of the model.
+	 *
+	 * @param model the model
+	 * @param region the region
+	 */
+	private static void assertRegionQueries(AnnotationModel model, Position region) {
+		for (int flags= 0; flags < 4; flags++) {
+			boolean canStartBefore= (flags & 1) != 0;
+			boolean canEndAfter= (flags & 2) != 0;
+			HashSet<Annotation> expected= new HashSet<>();
+			for (Iterator<Annotation> all= model.getAnnotationIterator(); all.hasNext();) {
+				Annotation annotation= all.next();
+				Position position= model.getPosition(annotation);
+				int start= position.getOffset();
+				int last= start + position.getLength() - (position.getLength() > 0 ? 1 : 0);
+				boolean inside;
+				if (canStartBefore && canEndAfter)
+					inside= region.overlapsWith(start, position.getLength());
+				else if (canStartBefore)
+					inside= region.includes(last);
+				else if (canEndAfter)
+					inside= region.includes(start);
+				else
+					inside= region.includes(start) && region.includes(last);
+				if (inside)
+					expected.add(annotation);
+			}
+			HashSet<Annotation> actual= new HashSet<>();
+			model.getAnnotationIterator(region.getOffset(), region.getLength(), canStartBefore, canEndAfter).forEachRemaining(actual::add);
+			Assert.assertEquals(expected, actual);
+		}
+	}
+
+	/**
+	 * Returns a document which delegates to the given document but is no
+	 * {@link org.eclipse.jface.text.AbstractDocument}, so that an annotation model cannot query
+	 * the positions of the document.
+	 *
+	 * @param document the document to delegate to
+	 * @return the delegating document
+	 */
+	private static IDocument createDocumentWithoutPositions(IDocument document) {
+		return (IDocument) Proxy.newProxyInstance(AnnotationModelExtension2Test.class.getClassLoader(), new Class<?>[] { IDocument.class, IDocumentExtension4.class }, (proxy, method, args) -> {
+			try {
+				return method.invoke(document, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		});
+	}
+
+	private static String createString(int length) {
+		StringBuilder buffer= new StringBuilder(length);
+		for (int i= 0; i < length; i++)
+			buffer.append((char) ('a' + i % 26));
+		return buffer.toString();
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,18 +18,28 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.BadPositionCategoryException;
 import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.source.Annotation;
 import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.AnnotationModelEvent;
 import org.eclipse.jface.text.source.IAnnotationModel;
+import org.eclipse.jface.text.source.IAnnotationModelListener;
+import org.eclipse.jface.text.source.IAnnotationModelListenerExtension;
 
 /**
  * @since 3.4
@@ -1474,4 +1484,186 @@ public class AnnotationModelStressTest {
 		}
 	}
 
+	/**
+	 * Replaces many annotations at once in a model which updates the document positions in bulk
+	 * and in a model which adds and removes them one by one, and compares the outcome.
+	 */
+	@Test
+	public void testReplaceAnnotationsInBulk() throws Exception {
+		Document bulkDocument= new Document(RANDOM_CONTENT);
+		AnnotationModel bulkModel= new AnnotationModel();
+		bulkModel.connect(bulkDocument);
+
+		Document sequentialDocument= new Document(RANDOM_CONTENT);
+		AnnotationModel sequentialModel= new AnnotationModel() {
+			@Override
+			protected void addPosition(IDocument document, Position position) throws BadLocationException {
+				super.addPosition(document, position);
+			}
+		};
+		sequentialModel.connect(sequentialDocument);
+
+		// each listener is notified once when it is added
+		int[] events= new int[2];
+		bulkModel.addAnnotationModelListener(new EventCounter(events, 0));
+		sequentialModel.addAnnotationModelListener(new EventCounter(events, 1));
+
+		Random random= new Random(4711);
+		List<Annotation> annotations= new ArrayList<>();
+		for (int round= 0; round < 50; round++) {
+			List<Annotation> toRemove= new ArrayList<>();
+			for (Annotation annotation : annotations) {
+				if (random.nextInt(3) == 0)
+					toRemove.add(annotation);
+			}
+			int length= bulkDocument.getLength();
+			Map<Annotation, Position> bulkToAdd= new HashMap<>();
+			Map<Annotation, Position> sequentialToAdd= new HashMap<>();
+			int count= random.nextInt(200);
+			for (int i= 0; i < count; i++) {
+				Annotation annotation= random.nextInt(10) == 0 && !toRemove.isEmpty() ? toRemove.get(random.nextInt(toRemove.size())) : new Annotation(false);
+				int offset= random.nextInt(20) * (length / 20);
+				int positionLength= random.nextInt(Math.min(100, length - offset + 1));
+				bulkToAdd.put(annotation, new Position(offset, positionLength));
+				sequentialToAdd.put(annotation, new Position(offset, positionLength));
+			}
+			Annotation[] removed= toRemove.toArray(new Annotation[toRemove.size()]);
+			bulkModel.replaceAnnotations(removed, bulkToAdd);
+			sequentialModel.replaceAnnotations(removed, sequentialToAdd);
+			assertEquals(round + 2, events[0]);
+			assertEquals(round + 2, events[1]);
+
+			annotations.removeAll(toRemove);
+			for (Annotation annotation : bulkToAdd.keySet()) {
+				if (!annotations.contains(annotation))
+					annotations.add(annotation);
+			}
+
+			String text= "abc\n";
+			int offset= random.nextInt(length - 2);
+			int replaced= random.nextInt(3);
+			bulkDocument.replace(offset, replaced, text);
+			sequentialDocument.replace(offset, replaced, text);
+
+			assertSamePositions(bulkModel, bulkDocument, sequentialModel, sequentialDocument);
+		}
+
+		bulkModel.disconnect(bulkDocument);
+		sequentialModel.disconnect(sequentialDocument);
+	}
+
+	/**
+	 * Tests that the positions of replaced annotations are only updated in bulk if both the model
+	 * and the document support it.
+	 */
+	@Test
+	public void testReplaceAnnotationsBulkUpdateHook() throws Exception {
+		int[] modelCalls= new int[1];
+		int[] documentCalls= new int[1];
+		Document document= new Document(RANDOM_CONTENT);
+		Document subclassDocument= new Document(RANDOM_CONTENT) {
+			@Override
+			public void addPosition(String category, Position position) throws BadLocationException, BadPositionCategoryException {
+				documentCalls[0]++;
+				super.addPosition(category, position);
+			}
+		};
+		Document bulkSubclassDocument= new Document(RANDOM_CONTENT) {
+			@Override
+			public boolean supportsBulkPositionUpdate() {
+				return true;
+			}
+		};
+
+		class CountingModel extends AnnotationModel {
+			private final boolean fBulk;
+
+			CountingModel(boolean bulk) {
+				fBulk= bulk;
+			}
+
+			@Override
+			protected void addPosition(IDocument doc, Position position) throws BadLocationException {
+				modelCalls[0]++;
+				super.addPosition(doc, position);
+			}
+
+			@Override
+			protected boolean supportsBulkPositionUpdate() {
+				return fBulk;
+			}
+		}
+
+		assertReplaceAnnotations(new CountingModel(true), document);
+		assertEquals(0, modelCalls[0]);
+
+		assertReplaceAnnotations(new CountingModel(false), document);
+		assertEquals(3, modelCalls[0]);
+
+		assertReplaceAnnotations(new CountingModel(true), subclassDocument);
+		assertEquals(6, modelCalls[0]);
+		assertEquals(3, documentCalls[0]);
+
+		assertReplaceAnnotations(new CountingModel(true), bulkSubclassDocument);
+		assertEquals(6, modelCalls[0]);
+	}
+
+	private static void assertReplaceAnnotations(AnnotationModel model, IDocument document) {
+		model.connect(document);
+		try {
+			Map<Annotation, Position> toAdd= new HashMap<>();
+			for (int i= 0; i < 3; i++)
+				toAdd.put(new Annotation(false), new Position(i * 10, 5));
+			model.replaceAnnotations(null, toAdd);
+			for (Map.Entry<Annotation, Position> entry : toAdd.entrySet()) {
+				assertTrue(model.getPosition(entry.getKey()) == entry.getValue());
+				assertTrue(document.containsPosition(IDocument.DEFAULT_CATEGORY, entry.getValue().getOffset(), entry.getValue().getLength()));
+			}
+		} finally {
+			model.disconnect(document);
+		}
+	}
+
+	private static void assertSamePositions(AnnotationModel model1, IDocument document1, AnnotationModel model2, IDocument document2) throws BadPositionCategoryException {
+		Map<Position, Annotation> annotations1= new IdentityHashMap<>();
+		Iterator<Annotation> iterator= model1.getAnnotationIterator();
+		while (iterator.hasNext()) {
+			Annotation annotation= iterator.next();
+			annotations1.put(model1.getPosition(annotation), annotation);
+		}
+		Map<Position, Annotation> annotations2= new IdentityHashMap<>();
+		iterator= model2.getAnnotationIterator();
+		while (iterator.hasNext()) {
+			Annotation annotation= iterator.next();
+			annotations2.put(model2.getPosition(annotation), annotation);
+		}
+
+		Position[] positions1= document1.getPositions(IDocument.DEFAULT_CATEGORY);
+		Position[] positions2= document2.getPositions(IDocument.DEFAULT_CATEGORY);
+		assertEquals(positions2.length, positions1.length);
+		assertEquals(annotations2.size(), annotations1.size());
+		for (int i= 0; i < positions1.length; i++) {
+			assertEquals(positions2[i], positions1[i]);
+			assertTrue(annotations1.get(positions1[i]) == annotations2.get(positions2[i]));
+		}
+	}
+
+	private static final class EventCounter implements IAnnotationModelListener, IAnnotationModelListenerExtension {
+		private final int[] fCounts;
+		private final int fIndex;
+
+		EventCounter(int[] counts, int index) {
+			fCounts= counts;
+			fIndex= index;
+		}
+
+		@Override
+		public void modelChanged(IAnnotationModel model) {
+		}
+
+		@Override
+		public void modelChanged(AnnotationModelEvent event) {
+			fCounts[fIndex]++;
+		}
+	}
 }
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.CompactTextStore;
+import org.eclipse.jface.text.ITextStore;
+
+public class CompactTextStoreTest extends TextStoreTest {
+
+	@Override
+	protected ITextStore createTextStore() {
+		return new CompactTextStore(256, 4096, 0.1f);
+	}
+
+	@Test
+	public void testLatin1StaysCompact() {
+		CompactTextStore store= new CompactTextStore();
+		store.set("caf\u00e9 na\u00efve");
+		store.replace(0, 0, "\u00ff");
+		assertTrue(store.isCompact());
+		assertEquals("\u00ffcaf\u00e9 na\u00efve", store.get(0, store.getLength()));
+		assertEquals('\u00e9', store.get(4));
+	}
+
+	@Test
+	public void testInflate() {
+		CompactTextStore store= new CompactTextStore();
+		store.set("abcdef");
+		store.replace(2, 2, "\u20ac");
+		assertFalse(store.isCompact());
+		assertEquals("ab\u20acef", store.get(0, store.getLength()));
+
+		store.replace(0, 1, "x");
+		assertEquals("xb\u20acef", store.get(0, store.getLength()));
+		assertEquals(5, store.getLength());
+
+		store.set("plain");
+		assertTrue(store.isCompact());
+		assertEquals("plain", store.get(0, store.getLength()));
+
+		store.set("\u3042");
+		assertFalse(store.isCompact());
+		assertEquals("\u3042", store.get(0, 1));
+	}
+
+	@Test
+	public void testInflateAtGap() {
+		CompactTextStore store= new CompactTextStore(4, 8, 0.5f);
+		store.set("0123456789");
+		store.replace(3, 0, "abc");
+		store.replace(8, 0, "x");
+		// the gap is now behind "x", replace a range that spans it
+		store.replace(6, 4, "\u20ac\u20ac");
+		assertFalse(store.isCompact());
+		assertEquals("012abc\u20ac\u20ac6789", store.get(0, store.getLength()));
+		assertEquals(12, store.getLength());
+	}
+}
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.text.tests;
 
+import java.util.Random;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -93,4 +95,13 @@ public class ConfigurableLineTrackerTest extends AbstractLineTrackerTest {
 		lineEndLengths = new int[] { 9 };
 		checkLines(new int[] { 6, 44 });
 	}
+
+	@Test
+	public void testLargeText() throws Exception {
+		String[] delimiters= { "\r\n", "\r", "\n", "<br>", "<br/>" };
+		setLegalDelimiters(delimiters);
+		String text= createText(new Random(4711), 3_000_000, "ab\r\n<br/>");
+		set(text);
+		checkLargeText(fTracker, text, delimiters);
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,10 +14,15 @@
 package org.eclipse.text.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.lang.ref.WeakReference;
+import java.util.Random;
 
 import org.junit.Test;
 
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DefaultLineTracker;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
 
@@ -37,4 +42,100 @@ public class DefaultLineTrackerTest {
 		assertEquals(document.getLineDelimiter(2), null);
 
 	}
+
+	@Test
+	public void testLargeText() throws BadLocationException {
+		// many "\r\n" are split by the boundaries of the chunks scanned in parallel
+		Random random= new Random(4711);
+		String[] tokens= { "\r\n", "\r\n", "\r\n", "a", "\r", "\n" };
+		StringBuilder buffer= new StringBuilder();
+		while (buffer.length() < 3_000_000)
+			buffer.append(tokens[random.nextInt(tokens.length)]);
+		String text= buffer.toString();
+		DefaultLineTracker tracker= new DefaultLineTracker();
+		tracker.set(text);
+		AbstractLineTrackerTest.checkLargeText(tracker, text, DefaultLineTracker.DELIMITERS);
+	}
+
+	@Test
+	public void testMixedDelimiters() throws BadLocationException {
+		Random random= new Random(4711);
+		String[] tokens= { "\r\n", "a", "bc", "\r", "\n", "\n\r" };
+		ScanningLineTracker tracker= new ScanningLineTracker();
+		for (int round= 0; round < 200; round++) {
+			StringBuilder buffer= new StringBuilder();
+			int count= random.nextInt(40);
+			for (int i= 0; i < count; i++)
+				buffer.append(tokens[random.nextInt(tokens.length)]);
+			String text= buffer.toString();
+
+			// the same text is scanned repeatedly, also from offsets before the previous scan
+			int expected= countLines(text);
+			assertEquals(expected, tracker.computeNumberOfLines(text));
+			assertEquals(expected, tracker.computeNumberOfLines(text));
+			int offset= random.nextInt(text.length() + 1);
+			assertEquals(countLines(text.substring(offset)), tracker.computeNumberOfLines(text.substring(offset)));
+
+			// a scan may stop before the end of the text and start again at its beginning
+			if (expected > 1) {
+				int first= tracker.nextDelimiterIndex(text, 0);
+				tracker.nextDelimiterIndex(text, text.length() - 1);
+				assertEquals(first, tracker.nextDelimiterIndex(text, 0));
+			}
+
+			tracker.set(text);
+			assertEquals(expected + 1, tracker.getNumberOfLines());
+			int lineStart= 0;
+			for (int line= 0; line < expected; line++) {
+				String delimiter= tracker.getLineDelimiter(line);
+				int lineEnd= lineStart + tracker.getLineLength(line);
+				assertEquals(delimiter, text.substring(lineEnd - delimiter.length(), lineEnd));
+				assertEquals(-1, indexOfDelimiter(text, lineStart, lineEnd - delimiter.length()));
+				lineStart= lineEnd;
+			}
+			assertEquals(null, tracker.getLineDelimiter(expected));
+		}
+	}
+
+	@Test
+	public void testScanStoppedEarly() throws InterruptedException {
+		ScanningLineTracker tracker= new ScanningLineTracker();
+		String text= "a\nb\n".repeat(1000);
+		assertEquals(1, tracker.nextDelimiterIndex(text, 0));
+
+		// the tracker must not keep the text of a scan which did not reach its end
+		WeakReference<String> reference= new WeakReference<>(text);
+		text= null;
+		for (int i= 0; i < 20 && reference.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertNull(reference.get());
+		assertEquals(1, tracker.nextDelimiterIndex("x\r\n", 0));
+	}
+
+	private static final class ScanningLineTracker extends DefaultLineTracker {
+		int nextDelimiterIndex(String text, int offset) {
+			DelimiterInfo info= nextDelimiterInfo(text, offset);
+			return info == null ? -1 : info.delimiterIndex;
+		}
+	}
+
+	private static int countLines(String text) {
+		int count= 0;
+		for (int i= 0; i < text.length(); i++) {
+			char c= text.charAt(i);
+			if (c == '\n' || c == '\r' && (i + 1 == text.length() || text.charAt(i + 1) != '\n'))
+				count++;
+		}
+		return count;
+	}
+
+	private static int indexOfDelimiter(String text, int from, int to) {
+		for (int i= from; i < to; i++) {
+			if (text.charAt(i) == '\r' || text.charAt(i) == '\n')
+				return i;
+		}
+		return -1;
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.text.tests;
 
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
@@ -23,10 +24,16 @@ import org.junit.Test;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentBatchEvent;
 import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.DocumentRewriteSession;
+import org.eclipse.jface.text.DocumentRewriteSessionType;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentExtension;
 import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IDocumentListenerExtension;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.projection.ChildDocument;
 import org.eclipse.jface.text.projection.ChildDocumentManager;
 
@@ -152,6 +159,123 @@ public class DocumentExtensionTest {
 
 	}
 
+	static class CountingListener implements IDocumentListener {
+
+		int fAboutToBeChanged;
+		int fChanged;
+
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+			++ fAboutToBeChanged;
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			++ fChanged;
+		}
+	}
+
+	static class BatchListener extends CountingListener implements IDocumentListenerExtension {
+
+		List<DocumentBatchEvent> fBatches= new ArrayList<>();
+
+		@Override
+		public void documentBatchChanged(DocumentBatchEvent event) {
+			fBatches.add(event);
+		}
+	}
+
+	@Test
+	public void testBatchListener() throws Exception {
+		Document document= new Document("0123456789abcdefghij");
+		BatchListener batchListener= new BatchListener();
+		CountingListener plainListener= new CountingListener();
+		document.addDocumentListener(batchListener);
+		document.addDocumentListener(plainListener);
+
+		DocumentRewriteSession session= document.startRewriteSession(DocumentRewriteSessionType.UNRESTRICTED);
+		document.replace(15, 2, "xyz");
+		document.replace(5, 0, "++");
+		document.replace(3, 1, "");
+		document.stopRewriteSession(session);
+
+		assertEquals(3, plainListener.fAboutToBeChanged);
+		assertEquals(3, plainListener.fChanged);
+		assertEquals(0, batchListener.fAboutToBeChanged);
+		assertEquals(0, batchListener.fChanged);
+		assertEquals(1, batchListener.fBatches.size());
+
+		DocumentBatchEvent batch= batchListener.fBatches.get(0);
+		assertTrue(batch.getDocument() == document);
+		assertTrue(batch.getSession() == session);
+		assertEquals(3, batch.getEvents().size());
+		assertEquals(15, batch.getEvents().get(0).getOffset());
+		assertEquals(3, batch.getEvents().get(2).getOffset());
+		IRegion region= batch.getAffectedRegion();
+		assertEquals("0124++56789abcdexyzhij", document.get());
+		assertEquals(3, region.getOffset());
+		assertEquals(19, region.getOffset() + region.getLength());
+
+		// outside of sessions the listener is informed about each change
+		document.replace(0, 1, "");
+		assertEquals(1, batchListener.fAboutToBeChanged);
+		assertEquals(1, batchListener.fChanged);
+		assertEquals(1, batchListener.fBatches.size());
+
+		// sessions without changes send no batch
+		document.stopRewriteSession(document.startRewriteSession(DocumentRewriteSessionType.SEQUENTIAL));
+		assertEquals(1, batchListener.fBatches.size());
+	}
+
+	@Test
+	public void testAppendRewriteSession() throws Exception {
+		Document document= new Document("header\n");
+		Document expected= new Document("header\n");
+		Position position= new Position(0, 6);
+		document.addPosition(position);
+		CountingListener listener= new CountingListener();
+		document.addDocumentListener(listener);
+
+		DocumentRewriteSession session= document.startRewriteSession(DocumentRewriteSessionType.APPEND);
+		StringBuilder longLine= new StringBuilder();
+		for (int i= 0; i < 40000; i++)
+			longLine.append((char) ('a' + i % 26));
+		for (int i= 0; i < 2000; i++) {
+			String text= i % 500 == 0 ? longLine.toString() + "\r\n" : "line " + i + "\n";
+			document.replace(document.getLength(), 0, text);
+			expected.replace(expected.getLength(), 0, text);
+		}
+		assertEquals(expected.getLength(), document.getLength());
+		assertEquals(expected.get(), document.get());
+		assertEquals(expected.get(5, 50000), document.get(5, 50000));
+		assertEquals(expected.getChar(expected.getLength() - 3), document.getChar(document.getLength() - 3));
+
+		// line information and changes elsewhere than at the end are available during the session
+		assertEquals(expected.getNumberOfLines(), document.getNumberOfLines());
+		document.replace(2, 3, "AD");
+		expected.replace(2, 3, "AD");
+		document.replace(document.getLength(), 0, "tail");
+		expected.replace(expected.getLength(), 0, "tail");
+		document.stopRewriteSession(session);
+
+		assertEquals(2002, listener.fChanged);
+		assertEquals(expected.get(), document.get());
+		assertEquals(expected.getNumberOfLines(), document.getNumberOfLines());
+		for (int line= 0; line < expected.getNumberOfLines(); line++)
+			assertEquals(expected.getLineInformation(line), document.getLineInformation(line));
+		assertEquals(new Position(0, 5), position);
+
+		session= document.startRewriteSession(DocumentRewriteSessionType.APPEND);
+		for (int i= 0; i < 100; i++) {
+			document.replace(document.getLength(), 0, "\nmore " + i);
+			expected.replace(expected.getLength(), 0, "\nmore " + i);
+		}
+		document.stopRewriteSession(session);
+		assertEquals(expected.get(), document.get());
+		assertEquals(expected.getNumberOfLines(), document.getNumberOfLines());
+		assertEquals(expected.getLineInformation(expected.getNumberOfLines() - 50), document.getLineInformation(document.getNumberOfLines() - 50));
+	}
+
 	@Test
 	public void testAppend() {
 		Listener listener= new Listener() {
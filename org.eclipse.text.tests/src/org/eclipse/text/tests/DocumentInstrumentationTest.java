@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DefaultPositionUpdater;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.DocumentInstrumentation;
+import org.eclipse.jface.text.DocumentInstrumentation.Activity;
+import org.eclipse.jface.text.DocumentInstrumentation.Statistics;
+import org.eclipse.jface.text.IDocumentListener;
+
+public class DocumentInstrumentationTest {
+
+	private static final class SlowListener implements IDocumentListener {
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			try {
+				Thread.sleep(2);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private Document fDocument;
+
+	@Before
+	public void setUp() {
+		DocumentInstrumentation.reset();
+		fDocument= new Document("0123456789");
+		fDocument.addDocumentListener(new SlowListener());
+	}
+
+	@After
+	public void tearDown() {
+		DocumentInstrumentation.setEnabled(false);
+		DocumentInstrumentation.reset();
+	}
+
+	private static Statistics getStatistics(Class<?> participantClass, Activity activity) {
+		for (Statistics statistics : DocumentInstrumentation.getStatistics()) {
+			if (statistics.getParticipantClass() == participantClass && statistics.getActivity() == activity)
+				return statistics;
+		}
+		return null;
+	}
+
+	@Test
+	public void testDisabled() throws BadLocationException {
+		fDocument.replace(0, 1, "a");
+		assertTrue(DocumentInstrumentation.getStatistics().isEmpty());
+	}
+
+	@Test
+	public void testParticipants() throws BadLocationException {
+		DocumentInstrumentation.setEnabled(true);
+		for (int i= 0; i < 5; i++)
+			fDocument.replace(i, 1, "a");
+
+		Statistics changed= getStatistics(SlowListener.class, Activity.LISTENER_CHANGED);
+		assertNotNull(changed);
+		assertEquals(5, changed.getCount());
+		assertTrue(changed.getMaxTime() >= 2_000_000);
+		assertTrue(changed.getTotalTime() >= 10_000_000);
+		assertTrue(changed.getPercentile(50) >= 1_000_000);
+		assertTrue(changed.getPercentile(100) <= changed.getMaxTime());
+		assertEquals(5, Arrays.stream(changed.getHistogram()).sum());
+
+		Statistics aboutToBeChanged= getStatistics(SlowListener.class, Activity.LISTENER_ABOUT_TO_BE_CHANGED);
+		assertNotNull(aboutToBeChanged);
+		assertEquals(5, aboutToBeChanged.getCount());
+
+		// the document's own position updater
+		Statistics updater= getStatistics(DefaultPositionUpdater.class, Activity.POSITION_UPDATER);
+		assertNotNull(updater);
+		assertEquals(5, updater.getCount());
+
+		// the slowest participant comes first
+		assertTrue(DocumentInstrumentation.getStatistics().get(0) == changed);
+
+		DocumentInstrumentation.setEnabled(false);
+		fDocument.replace(0, 1, "b");
+		assertEquals(5, changed.getCount());
+
+		DocumentInstrumentation.reset();
+		assertNull(getStatistics(SlowListener.class, Activity.LISTENER_CHANGED));
+	}
+}
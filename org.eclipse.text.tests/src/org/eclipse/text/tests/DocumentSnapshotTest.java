@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.AbstractDocument;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.ConfigurableLineTracker;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentRewriteSession;
+import org.eclipse.jface.text.DocumentRewriteSessionType;
+import org.eclipse.jface.text.IDocumentSnapshot;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.RopeTextStore;
+
+public class DocumentSnapshotTest {
+
+	private static final class ConfigurableDocument extends AbstractDocument {
+		ConfigurableDocument() {
+			setTextStore(new RopeTextStore());
+			setLineTracker(new ConfigurableLineTracker(new String[] { "\n", "<br>" }));
+			completeInitialization();
+		}
+	}
+
+	@Test
+	public void testSnapshotIsImmutable() throws Exception {
+		Document document= new Document(new RopeTextStore());
+		document.set("first\nsecond\n");
+		IDocumentSnapshot snapshot= document.getSnapshot();
+		long stamp= document.getModificationStamp();
+
+		document.replace(0, 5, "1st");
+		document.replace(document.getLength(), 0, "third");
+
+		assertEquals("first\nsecond\n", snapshot.get());
+		assertEquals(stamp, snapshot.getModificationStamp());
+		assertEquals(3, snapshot.getNumberOfLines());
+		assertEquals(6, snapshot.getLineOffset(1));
+		assertEquals("1st\nsecond\nthird", document.getSnapshot().get());
+	}
+
+	@Test
+	public void testSnapshotIsShared() throws Exception {
+		Document document= new Document(new RopeTextStore());
+		document.set("abc");
+		IDocumentSnapshot snapshot= document.getSnapshot();
+		assertSame(snapshot, document.getSnapshot());
+		document.replace(1, 1, "x");
+		assertNotSame(snapshot, document.getSnapshot());
+		assertEquals("abc", snapshot.get());
+		assertEquals("axc", document.getSnapshot().get());
+	}
+
+	@Test
+	public void testSnapshotInAppendSession() throws Exception {
+		Document document= new Document(new RopeTextStore());
+		document.set("first\n");
+		DocumentRewriteSession session= document.startRewriteSession(DocumentRewriteSessionType.APPEND);
+		document.replace(document.getLength(), 0, "second\n");
+
+		IDocumentSnapshot snapshot= document.getSnapshot();
+		assertEquals("first\nsecond\n", snapshot.get());
+		assertEquals(3, snapshot.getNumberOfLines());
+
+		document.replace(document.getLength(), 0, "third");
+		assertEquals("first\nsecond\n", snapshot.get());
+		assertEquals("first\nsecond\nthird", document.getSnapshot().get());
+
+		document.stopRewriteSession(session);
+		assertEquals("first\nsecond\nthird", document.getSnapshot().get());
+		assertEquals("first\nsecond\nthird", document.get());
+	}
+
+	@Test
+	public void testLineInformation() throws Exception {
+		Random random= new Random(17);
+		String[] pieces= { "a", "bc", "\n", "\r", "\r\n", "" };
+		for (int run= 0; run < 50; run++) {
+			Document document= new Document(new RopeTextStore(16));
+			StringBuilder content= new StringBuilder();
+			for (int i= random.nextInt(200); i > 0; i--)
+				content.append(pieces[random.nextInt(pieces.length)]);
+			document.set(content.toString());
+			for (int i= 0; i < 20 && document.getLength() > 0; i++) {
+				int offset= random.nextInt(document.getLength());
+				int length= random.nextInt(document.getLength() - offset + 1);
+				document.replace(offset, length, pieces[random.nextInt(pieces.length)]);
+			}
+			// the document's line information might need repair after the edits, compare with a fresh document
+			assertSameLineInformation(new Document(document.get()), document.getSnapshot());
+		}
+	}
+
+	@Test
+	public void testLineInformationWithMixedDelimiters() throws Exception {
+		Document document= new Document(new RopeTextStore());
+		document.set("a\r\nb\rc\nd\n");
+		assertSameLineInformation(document, document.getSnapshot());
+	}
+
+	@Test
+	public void testNoSnapshotWithoutRope() throws Exception {
+		Document document= new Document("abc");
+		assertNull(document.getSnapshot());
+		document.replace(1, 1, "x");
+		assertNull(document.getSnapshot());
+	}
+
+	@Test
+	public void testCustomLineDelimiters() throws Exception {
+		ConfigurableDocument document= new ConfigurableDocument();
+		document.set("one<br>two\nthree\r\nfour");
+		assertSameLineInformation(document, document.getSnapshot());
+	}
+
+	@Test
+	public void testBadLocations() {
+		Document document= new Document(new RopeTextStore());
+		document.set("abc\ndef");
+		IDocumentSnapshot snapshot= document.getSnapshot();
+		try {
+			snapshot.getChar(7);
+			fail();
+		} catch (BadLocationException e) {
+		}
+		try {
+			snapshot.get(5, 3);
+			fail();
+		} catch (BadLocationException e) {
+		}
+		try {
+			snapshot.getLineOffset(2);
+			fail();
+		} catch (BadLocationException e) {
+		}
+		try {
+			snapshot.getLineOfOffset(8);
+			fail();
+		} catch (BadLocationException e) {
+		}
+	}
+
+	private static void assertSameLineInformation(AbstractDocument document, IDocumentSnapshot snapshot) throws BadLocationException {
+		assertEquals(document.get(), snapshot.get());
+		assertEquals(document.getLength(), snapshot.getLength());
+		for (int i= 0; i < document.getLength(); i++)
+			assertEquals(document.getChar(i), snapshot.getChar(i));
+
+		assertEquals(document.getNumberOfLines(), snapshot.getNumberOfLines());
+		for (int line= 0; line < document.getNumberOfLines(); line++) {
+			assertEquals(document.getLineOffset(line), snapshot.getLineOffset(line));
+			assertSameRegion(document.getLineInformation(line), snapshot.getLineInformation(line));
+		}
+		for (int offset= 0; offset <= document.getLength(); offset++) {
+			assertEquals(document.getLineOfOffset(offset), snapshot.getLineOfOffset(offset));
+			assertSameRegion(document.getLineInformationOfOffset(offset), snapshot.getLineInformationOfOffset(offset));
+		}
+	}
+
+	private static void assertSameRegion(IRegion expected, IRegion actual) {
+		assertEquals(expected.getOffset(), actual.getOffset());
+		assertEquals(expected.getLength(), actual.getLength());
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,10 @@ package org.eclipse.text.tests;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -23,7 +27,9 @@ import org.junit.Test;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.BadPositionCategoryException;
 import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IPositionUpdater;
 import org.eclipse.jface.text.Position;
 
 
@@ -471,4 +477,126 @@ public class DocumentTest {
 
 		checkPositions(positions);
 	}
+
+	@Test
+	public void testRegionQueries() throws Exception {
+		Random random= new Random(4711);
+		fDocument.set("x".repeat(2000));
+
+		for (int i= 0; i < 500; i++) {
+			int offset= random.nextInt(fDocument.getLength() + 1);
+			int length= random.nextInt(Math.min(fDocument.getLength() - offset, 300) + 1);
+			fDocument.addPosition(new Position(offset, length));
+		}
+
+		for (int i= 0; i < 300; i++) {
+			int length= fDocument.getLength();
+			int offset= random.nextInt(length + 1);
+			switch (random.nextInt(4)) {
+				case 0:
+					fDocument.replace(offset, random.nextInt(Math.min(length - offset, 100) + 1), "");
+					break;
+				case 1:
+					fDocument.replace(offset, 0, "y".repeat(random.nextInt(100)));
+					break;
+				case 2:
+					fDocument.replace(offset, random.nextInt(Math.min(length - offset, 100) + 1), "z".repeat(random.nextInt(100)));
+					break;
+				default:
+					Position[] all= fDocument.getPositions(IDocument.DEFAULT_CATEGORY);
+					if (all.length > 0)
+						fDocument.removePosition(all[random.nextInt(all.length)]);
+					fDocument.addPosition(new Position(offset, random.nextInt(Math.min(length - offset, 300) + 1)));
+			}
+
+			for (int j= 0; j < 10; j++) {
+				int queryOffset= random.nextInt(fDocument.getLength() + 1);
+				int queryLength= random.nextInt(fDocument.getLength() - queryOffset + 1);
+				for (int k= 0; k < 4; k++)
+					checkRegionQuery(queryOffset, queryLength, (k & 1) != 0, (k & 2) != 0);
+			}
+		}
+	}
+
+	@Test
+	public void testRegionQueryAfterSetLength() throws Exception {
+		Position first= new Position(0, 1);
+		fDocument.addPosition(first);
+		for (int i= 10; i < 140; i+= 10)
+			fDocument.addPosition(new Position(i, 1));
+		checkRegionQuery(120, 5, true, true);
+
+		first.setLength(125);
+		checkRegionQuery(120, 5, true, true);
+		checkRegionQuery(120, 5, true, false);
+		assertTrue(contains(fDocument.getPositions(IDocument.DEFAULT_CATEGORY, 120, 5, true, true), first));
+	}
+
+	@Test
+	public void testRegionQueryAfterSetOffset() throws Exception {
+		Position last= new Position(140, 5);
+		fDocument.addPosition(last);
+		for (int i= 0; i < 130; i+= 10)
+			fDocument.addPosition(new Position(i, 1));
+		checkRegionQuery(30, 5, true, true);
+
+		fDocument.removePosition(last);
+		last.setOffset(0);
+		last.setLength(40);
+		fDocument.addPosition(last);
+		checkRegionQuery(30, 5, true, true);
+		assertTrue(contains(fDocument.getPositions(IDocument.DEFAULT_CATEGORY, 30, 5, true, true), last));
+	}
+
+	@Test
+	public void testRegionQueryWithCustomUpdater() throws Exception {
+		Position first= new Position(0, 1);
+		fDocument.addPosition(first);
+		for (int i= 10; i < 140; i+= 10)
+			fDocument.addPosition(new Position(i, 1));
+		fDocument.addPositionUpdater(new IPositionUpdater() {
+			@Override
+			public void update(DocumentEvent event) {
+				// position updaters may change any position
+				first.length= event.getDocument().getLength();
+			}
+		});
+		checkRegionQuery(120, 5, true, true);
+
+		fDocument.replace(fDocument.getLength(), 0, "x");
+		checkRegionQuery(120, 5, true, true);
+		assertTrue(contains(fDocument.getPositions(IDocument.DEFAULT_CATEGORY, 120, 5, true, true), first));
+	}
+
+	private static boolean contains(Position[] positions, Position position) {
+		for (Position p : positions) {
+			if (p == position)
+				return true;
+		}
+		return false;
+	}
+
+	private void checkRegionQuery(int offset, int length, boolean canStartBefore, boolean canEndAfter) throws BadPositionCategoryException {
+		Position region= new Position(offset, length);
+		List<Position> expected= new ArrayList<>();
+		for (Position p : fDocument.getPositions(IDocument.DEFAULT_CATEGORY)) {
+			int end= p.length == 0 ? p.offset : p.offset + p.length - 1;
+			boolean inside;
+			if (canStartBefore && canEndAfter)
+				inside= region.overlapsWith(p.offset, p.length);
+			else if (canStartBefore)
+				inside= region.includes(end);
+			else if (canEndAfter)
+				inside= region.includes(p.offset);
+			else
+				inside= region.includes(p.offset) && region.includes(p.offset + p.length - 1);
+			if (inside)
+				expected.add(p);
+		}
+
+		Position[] actual= fDocument.getPositions(IDocument.DEFAULT_CATEGORY, offset, length, canStartBefore, canEndAfter);
+		assertEquals(expected.size(), actual.length);
+		for (int i= 0; i < actual.length; i++)
+			assertTrue(expected.get(i) == actual[i]);
+	}
 }
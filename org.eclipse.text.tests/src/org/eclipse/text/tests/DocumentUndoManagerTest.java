@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2010 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,12 +23,20 @@ import org.junit.Before;
 import org.junit.Test;
 
 import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.commands.operations.AbstractOperation;
+import org.eclipse.core.commands.operations.IOperationHistory;
+import org.eclipse.core.commands.operations.OperationHistoryFactory;
+import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 
 import org.eclipse.text.edits.DeleteEdit;
 import org.eclipse.text.edits.MultiTextEdit;
 import org.eclipse.text.edits.TextEdit;
 import org.eclipse.text.undo.DocumentUndoManager;
 import org.eclipse.text.undo.IDocumentUndoManager;
+import org.eclipse.text.undo.IDocumentUndoManagerExtension;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
@@ -384,6 +392,169 @@ public class DocumentUndoManagerTest {
 
 	}
 
+	@Test
+	public void testMemoryLimitCompressesHistory() throws ExecutionException, BadLocationException {
+		final int LINE_COUNT = 1000;
+		final int CHANGE_COUNT = 5;
+
+		final String original = createRepeatedString("abcdefghijklmnopqrst\n", LINE_COUNT);
+		final IDocument document = new Document(original);
+		createUndoManager(document);
+		((IDocumentUndoManagerExtension) fUndoManager).setMaximalUndoMemory(128 * 1024);
+
+		fUndoManager.beginCompoundChange();
+		for (int i = 0; i < LINE_COUNT; i++)
+			document.replace(i * 21, 20, "ABCDEFGHIJKLMNOPQRST");
+		fUndoManager.endCompoundChange();
+
+		for (int i = 0; i < CHANGE_COUNT; i++)
+			document.replace(0, document.getLength(), createRepeatedString(i + "\n", 5 * LINE_COUNT));
+
+		// the history would exceed the limit without compression
+		int undoCount = 0;
+		while (fUndoManager.undoable()) {
+			fUndoManager.undo();
+			undoCount++;
+		}
+		assertEquals(CHANGE_COUNT + 1, undoCount);
+		assertEquals(original, document.get());
+
+		while (fUndoManager.redoable())
+			fUndoManager.redo();
+		assertEquals(createRepeatedString(CHANGE_COUNT - 1 + "\n", 5 * LINE_COUNT), document.get());
+	}
+
+	@Test
+	public void testMemoryLimitRemovesOldestChanges() throws ExecutionException, BadLocationException {
+		final int CHANGE_COUNT = 10;
+
+		final IDocument document = new Document(createRandomString(2000));
+		createUndoManager(document);
+		((IDocumentUndoManagerExtension) fUndoManager).setMaximalUndoMemory(8 * 1024);
+
+		String[] states = new String[CHANGE_COUNT + 1];
+		states[0] = document.get();
+		for (int i = 1; i <= CHANGE_COUNT; i++) {
+			document.replace(0, document.getLength(), createRandomString(2000));
+			states[i] = document.get();
+		}
+
+		int undoCount = 0;
+		while (fUndoManager.undoable()) {
+			fUndoManager.undo();
+			undoCount++;
+		}
+		assertTrue(undoCount >= 1);
+		assertTrue(undoCount < CHANGE_COUNT);
+		assertEquals(states[CHANGE_COUNT - undoCount], document.get());
+	}
+
+	@Test
+	public void testMemoryLimitKeepsRedoHistory() throws ExecutionException, BadLocationException {
+		final int CHANGE_COUNT = 10;
+		final int UNDO_COUNT = 8;
+
+		final IDocument document = new Document(createRandomString(2000));
+		createUndoManager(document);
+
+		String[] states = new String[CHANGE_COUNT + 1];
+		states[0] = document.get();
+		for (int i = 1; i <= CHANGE_COUNT; i++) {
+			document.replace(0, document.getLength(), createRandomString(2000));
+			states[i] = document.get();
+		}
+		for (int i = 0; i < UNDO_COUNT; i++)
+			fUndoManager.undo();
+
+		((IDocumentUndoManagerExtension) fUndoManager).setMaximalUndoMemory(9000);
+
+		// the redo history and the most recent undoable change survive
+		int redoCount = 0;
+		while (fUndoManager.redoable()) {
+			fUndoManager.redo();
+			redoCount++;
+			assertEquals(states[CHANGE_COUNT - UNDO_COUNT + redoCount], document.get());
+		}
+		assertEquals(UNDO_COUNT, redoCount);
+
+		int undoCount = 0;
+		while (fUndoManager.undoable()) {
+			fUndoManager.undo();
+			undoCount++;
+			assertEquals(states[CHANGE_COUNT - undoCount], document.get());
+		}
+		assertTrue(undoCount >= UNDO_COUNT + 1);
+	}
+
+	@Test
+	public void testMemoryLimitForgetsFlushedRedoHistory() throws ExecutionException, BadLocationException {
+		final IDocument document = new Document(createRandomString(2000));
+		createUndoManager(document);
+		((IDocumentUndoManagerExtension) fUndoManager).setMaximalUndoMemory(20000);
+
+		for (int i = 0; i < 2; i++)
+			document.replace(0, document.getLength(), createRandomString(2000));
+		fUndoManager.undo();
+		fUndoManager.undo();
+
+		// the new changes flush the redo history, which no longer counts
+		String[] states = new String[3];
+		states[0] = document.get();
+		for (int i = 1; i <= 2; i++) {
+			document.replace(0, document.getLength(), createRandomString(2000));
+			states[i] = document.get();
+		}
+
+		int undoCount = 0;
+		while (fUndoManager.undoable()) {
+			fUndoManager.undo();
+			undoCount++;
+			assertEquals(states[2 - undoCount], document.get());
+		}
+		assertEquals(2, undoCount);
+	}
+
+	@Test
+	public void testMemoryLimitKeepsOtherOperations() throws ExecutionException, BadLocationException {
+		final int CHANGE_COUNT = 10;
+
+		final IDocument document = new Document(createRandomString(2000));
+		createUndoManager(document);
+
+		IOperationHistory history = OperationHistoryFactory.getOperationHistory();
+		AbstractOperation operation = new AbstractOperation("test") { //$NON-NLS-1$
+			@Override
+			public IStatus execute(IProgressMonitor monitor, IAdaptable info) {
+				return Status.OK_STATUS;
+			}
+
+			@Override
+			public IStatus redo(IProgressMonitor monitor, IAdaptable info) {
+				return Status.OK_STATUS;
+			}
+
+			@Override
+			public IStatus undo(IProgressMonitor monitor, IAdaptable info) {
+				return Status.OK_STATUS;
+			}
+		};
+		operation.addContext(fUndoManager.getUndoContext());
+		history.add(operation);
+
+		for (int i = 0; i < CHANGE_COUNT; i++)
+			document.replace(0, document.getLength(), createRandomString(2000));
+		((IDocumentUndoManagerExtension) fUndoManager).setMaximalUndoMemory(8 * 1024);
+
+		assertEquals(operation, history.getUndoHistory(fUndoManager.getUndoContext())[0]);
+	}
+
+	private static String createRepeatedString(String string, int count) {
+		final StringBuilder buffer = new StringBuilder();
+		for (int i = 0; i < count; i++)
+			buffer.append(string);
+		return buffer.toString();
+	}
+
 	private static String createRandomString(int length) {
 		final StringBuilder buffer = new StringBuilder();
 
@@ -35,16 +35,21 @@ import org.eclipse.text.tests.templates.TemplatesTestSuite;
 		DocumentExtensionTest.class,
 		LineTrackerTest3.class,
 		DocumentTest.class,
+		DocumentSnapshotTest.class,
+		DocumentInstrumentationTest.class,
 		FindReplaceDocumentAdapterTest.class,
 		PositionUpdatingCornerCasesTest.class,
 		ExclusivePositionUpdaterTest.class,
 		TextEditTests.class,
 		GapTextTest.class,
 		GapTextStoreTest.class,
+		CompactTextStoreTest.class,
+		MappedTextStoreTest.class,
 		ChildDocumentTest.class,
 		ProjectionTestSuite.class,
 		LinkTestSuite.class,
 		CopyOnWriteTextStoreTest.class,
+		RopeTextStoreTest.class,
 		TextUtilitiesTest.class,
 		AnnotationModelStressTest.class,
 		AnnotationModelExtension2Test.class,
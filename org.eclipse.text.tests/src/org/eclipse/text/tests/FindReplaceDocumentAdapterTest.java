@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ import static org.junit.Assert.*;
 
 import java.util.Arrays;
 import java.util.Locale;
+import java.util.Random;
 import java.util.regex.PatternSyntaxException;
 
 import org.junit.After;
@@ -27,8 +28,12 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import org.eclipse.text.undo.DocumentUndoManagerRegistry;
+import org.eclipse.text.undo.IDocumentUndoManager;
+
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentRewriteSessionEvent;
 import org.eclipse.jface.text.FindReplaceDocumentAdapter;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Region;
@@ -480,6 +485,187 @@ public class FindReplaceDocumentAdapterTest {
 		}
 	}
 
+	@Test
+	public void testLiteralFind() throws Exception {
+		// mixed case letters, special case mappings and word separators
+		char[] alphabet= "aAbB\u00DF\u1E9E\u017F\u0130\u0131iIsS\u212Ak_1 .".toCharArray();
+		Random random= new Random(42);
+		char[] chars= new char[100000];
+		for (int i= 0; i < chars.length; i++)
+			chars[i]= alphabet[random.nextInt(alphabet.length)];
+		fDocument.set(new String(chars));
+		FindReplaceDocumentAdapter literal= new FindReplaceDocumentAdapter(fDocument);
+		FindReplaceDocumentAdapter regex= new FindReplaceDocumentAdapter(fDocument);
+
+		for (int i= 0; i < 500; i++) {
+			int offset= random.nextInt(chars.length - 4);
+			String findString= new String(chars, offset, 1 + random.nextInt(4));
+			if (random.nextBoolean())
+				findString= findString.toUpperCase(Locale.ENGLISH);
+			int startOffset= random.nextInt(chars.length + 1);
+			boolean forward= random.nextBoolean();
+			boolean caseSensitive= random.nextBoolean();
+			boolean wholeWord= random.nextBoolean();
+
+			String pattern= FindReplaceDocumentAdapter.escapeForRegExPattern(findString);
+			if (wholeWord)
+				pattern= "\\b" + pattern + "\\b";
+			if (!caseSensitive)
+				pattern= "(?iu)" + pattern;
+			String message= findString + " " + startOffset + " " + forward + " " + caseSensitive + " " + wholeWord;
+			IRegion expected= regex.find(startOffset, pattern, forward, true, false, true);
+			assertEquals(message, expected, literal.find(startOffset, findString, forward, caseSensitive, wholeWord, false));
+		}
+	}
+
+	@Test
+	public void testLiteralFindLargeDocument() throws Exception {
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+		// a single sharp s has no distinct case folding, unlike a sequence of them
+		fDocument.set("\u1E9E\u1E9E\u00DF");
+		assertEquals(new Region(2, 1), adapter.find(0, "\u00DF", true, false, false, false));
+		assertEquals(new Region(0, 2), adapter.find(0, "\u00DF\u00DF", true, false, false, false));
+
+		char[] chars= new char[100000];
+		for (int offset : new int[] { 0, 32760, 32766, 32767, 32768, 65530, 67230, 67231, 67232, 99997 }) {
+			Arrays.fill(chars, 'a');
+			chars[offset]= 'x';
+			chars[offset + 1]= 'y';
+			chars[offset + 2]= 'z';
+			fDocument.set(new String(chars));
+			assertEquals(new Region(offset, 3), adapter.find(0, "XYZ", true, false, false, false));
+			assertEquals(new Region(offset, 3), adapter.find(-1, "xyz", false, true, false, false));
+			assertNull(adapter.find(-1, "yz", false, true, true, false));
+		}
+	}
+
+	@Test
+	public void testLiteralFindRegexReplace() throws Exception {
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+		IRegion result= adapter.find(0, "testpackage", true, false, true, false);
+		assertEquals(new Region(8, 11), result);
+		result= adapter.replace("[$0]", true);
+		assertEquals(new Region(8, 13), result);
+		assertEquals("package [TestPackage];", fDocument.get(0, 22));
+
+		result= adapter.find(fDocument.getLength(), "COMMENT", false, false, false, false);
+		assertEquals(new Region(fDocument.get().lastIndexOf("comment"), 7), result);
+		adapter.replace("remark", false);
+		assertEquals(-1, fDocument.get().indexOf("comment2"));
+	}
+
+	@Test
+	public void testReplaceAll() throws Exception {
+		char[] alphabet= "aAbB\u00DFc_ .\n".toCharArray();
+		Random random= new Random(7);
+		char[] chars= new char[20000];
+		for (int i= 0; i < chars.length; i++)
+			chars[i]= alphabet[random.nextInt(alphabet.length)];
+		String text= new String(chars);
+		String[][] cases= { { "ab", "x", "false" }, { "Ab", "abab", "false" }, { "\u00DF", "ss", "false" }, { "b c", "", "false" },
+				{ "(a|b)+", "<$0>", "true" }, { "([ab])c", "$1\\C$1", "true" }, { "\\R", "\\n", "true" } };
+		for (String[] c : cases) {
+			boolean regExSearch= Boolean.parseBoolean(c[2]);
+			for (boolean caseSensitive : new boolean[] { true, false }) {
+				Document expected= new Document(text);
+				FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(expected);
+				int count= 0;
+				IRegion region= adapter.find(0, c[0], true, caseSensitive, false, regExSearch);
+				while (region != null) {
+					region= adapter.replace(c[1], regExSearch);
+					count++;
+					region= adapter.find(region.getOffset() + region.getLength(), c[0], true, caseSensitive, false, regExSearch);
+				}
+
+				fDocument.set(text);
+				adapter= new FindReplaceDocumentAdapter(fDocument);
+				String message= c[0] + " " + caseSensitive;
+				assertEquals(message, count, adapter.replaceAll(c[0], c[1], caseSensitive, false, regExSearch));
+				assertEquals(message, expected.get(), fDocument.get());
+			}
+		}
+	}
+
+	@Test
+	public void testReplaceAllLargeDocument() throws Exception {
+		char[] chars= new char[100000];
+		Arrays.fill(chars, 'a');
+		for (int offset : new int[] { 0, 32766, 32767, 65534, 65535, 99998 })
+			chars[offset]= chars[offset + 1]= 'b';
+		String text= new String(chars);
+		fDocument.set(text);
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+		assertEquals(49994, adapter.replaceAll("aa", "a", true, false, false));
+		assertEquals(text.replace("aa", "a"), fDocument.get());
+		assertEquals(4, adapter.replaceAll("BB", "c", false, false, false));
+		assertEquals(0, adapter.replaceAll("c", "d", true, true, false));
+		assertEquals(text.replace("aa", "a").replace("bb", "c"), fDocument.get());
+		assertEquals(fDocument.getLength(), adapter.replaceAll("[^x]", "", true, false, true));
+		assertEquals("", fDocument.get());
+		assertEquals(0, adapter.replaceAll("a", "b", true, false, false));
+	}
+
+	@Test
+	public void testReplaceAllInRange() throws Exception {
+		String text= "ab ab ab\nab ab ab\n";
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+		fDocument.set(text);
+		assertEquals(2, adapter.replaceAll(2, 6, "ab", "x", true, false, false));
+		assertEquals("ab x x\nab ab ab\n", fDocument.get());
+
+		fDocument.set(text);
+		assertEquals(0, adapter.replaceAll(1, 2, "ab", "x", true, false, false));
+		assertEquals(1, adapter.replaceAll(1, 3, "b", "x", true, false, false));
+		assertEquals("ax ab ab\nab ab ab\n", fDocument.get());
+
+		// the text around the range is seen by boundaries and anchors
+		fDocument.set(text);
+		assertEquals(0, adapter.replaceAll(1, 4, "b", "x", true, true, false));
+		assertEquals(1, adapter.replaceAll(7, 6, "^ab", "x", true, false, true));
+		assertEquals(0, adapter.replaceAll(6, 1, "a$", "x", true, false, true));
+		assertEquals(1, adapter.replaceAll(3, 2, "ab", "x", true, true, false));
+		assertEquals("ab x ab\nx ab ab\n", fDocument.get());
+
+		try {
+			adapter.replaceAll(fDocument.getLength(), 1, "ab", "x", true, false, false);
+			fail();
+		} catch (BadLocationException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testReplaceAllSingleUndo() throws Exception {
+		String text= fDocument.get();
+		DocumentUndoManagerRegistry.connect(fDocument);
+		try {
+			IDocumentUndoManager undoManager= DocumentUndoManagerRegistry.getDocumentUndoManager(fDocument);
+			undoManager.connect(this);
+			int[] sessions= new int[1];
+			fDocument.addDocumentRewriteSessionListener(event -> {
+				if (event.getChangeType() == DocumentRewriteSessionEvent.SESSION_START)
+					sessions[0]++;
+			});
+			FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+			assertEquals(3, adapter.replaceAll("COMMENT", "remark", false, false, false));
+			assertEquals(1, sessions[0]);
+			assertEquals(-1, fDocument.get().indexOf("comment"));
+			try {
+				adapter.replace("x", false);
+				fail();
+			} catch (IllegalStateException e) {
+				// expected
+			}
+
+			undoManager.undo();
+			assertEquals(text, fDocument.get());
+			assertFalse(undoManager.undoable());
+			undoManager.disconnect(this);
+		} finally {
+			DocumentUndoManagerRegistry.disconnect(fDocument);
+		}
+	}
+
 	@Test
 	public void testRegexFindStackOverflow_fail() throws Exception {
 		// test for https://bugs.eclipse.org/bugs/show_bug.cgi?id=102699
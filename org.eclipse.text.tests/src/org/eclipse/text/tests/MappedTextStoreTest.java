@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DefaultLineTracker;
+import org.eclipse.jface.text.ILineTracker;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.MappedLineTracker;
+import org.eclipse.jface.text.MappedTextStore;
+
+public class MappedTextStoreTest {
+
+	private static final char[] CHARS= { 'a', 'b', ' ', '\r', '\n', '\u00e9', '\u20ac', '\ud83d', '\ude00' };
+
+	private static String randomText(Random random, int length, boolean latin1) {
+		StringBuilder buffer= new StringBuilder(length);
+		while (buffer.length() < length) {
+			char c= CHARS[random.nextInt(latin1 ? 6 : CHARS.length)];
+			if (c == '\ud83d')
+				buffer.append(c).append('\ude00');
+			else if (c != '\ude00')
+				buffer.append(c);
+		}
+		return buffer.toString();
+	}
+
+	private static MappedTextStore createStore(String text, Charset charset) {
+		return new MappedTextStore(ByteBuffer.wrap(text.getBytes(charset)), charset);
+	}
+
+	private static void assertContent(String expected, MappedTextStore store, Random random) {
+		assertEquals(expected.length(), store.getLength());
+		assertEquals(expected, store.get(0, store.getLength()));
+		for (int i= 0; i < 200; i++) {
+			int offset= random.nextInt(expected.length() + 1);
+			int length= random.nextInt(expected.length() - offset + 1);
+			assertEquals(expected.substring(offset, offset + length), store.get(offset, length));
+			if (offset < expected.length())
+				assertEquals(expected.charAt(offset), store.get(offset));
+		}
+	}
+
+	@Test
+	public void testUTF8() {
+		Random random= new Random(4711);
+		String text= randomText(random, 100000, false);
+		assertContent(text, createStore(text, StandardCharsets.UTF_8), random);
+	}
+
+	@Test
+	public void testSingleByte() {
+		Random random= new Random(4712);
+		String text= randomText(random, 100000, true);
+		assertContent(text, createStore(text, StandardCharsets.ISO_8859_1), random);
+	}
+
+	@Test
+	public void testEmpty() {
+		MappedTextStore store= createStore("", StandardCharsets.UTF_8); //$NON-NLS-1$
+		assertEquals(0, store.getLength());
+		assertEquals("", store.get(0, 0)); //$NON-NLS-1$
+		assertEquals(1, new MappedLineTracker(store).getNumberOfLines());
+	}
+
+	@Test
+	public void testMalformedInput() {
+		byte[] bytes= { 'a', (byte) 0xc3, 'b' };
+		MappedTextStore store= new MappedTextStore(ByteBuffer.wrap(bytes), StandardCharsets.UTF_8);
+		assertEquals("a\ufffdb", store.get(0, store.getLength())); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testReadOnly() {
+		MappedTextStore store= createStore("abc", StandardCharsets.UTF_8); //$NON-NLS-1$
+		try {
+			store.replace(0, 1, "x"); //$NON-NLS-1$
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		assertEquals("abc", store.get(0, 3)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testEmptyReplace() throws BadLocationException {
+		MappedTextStore store= createStore("abc", StandardCharsets.UTF_8); //$NON-NLS-1$
+		MappedLineTracker tracker= new MappedLineTracker(store);
+		store.replace(1, 0, ""); //$NON-NLS-1$
+		store.replace(1, 0, null);
+		tracker.replace(1, 0, ""); //$NON-NLS-1$
+		assertEquals("abc", store.get(0, 3)); //$NON-NLS-1$
+		assertEquals(1, tracker.getNumberOfLines());
+	}
+
+	@Test
+	public void testSeveralBuffers() {
+		Random random= new Random(4714);
+		for (Charset charset : new Charset[] { StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1 }) {
+			String text= randomText(random, 100000, charset != StandardCharsets.UTF_8);
+			ByteBuffer[] buffers= new ByteBuffer[5];
+			int start= 0;
+			for (int i= 0; i < buffers.length; i++) {
+				// split at character boundaries, in the middle of a block
+				int end= i + 1 == buffers.length ? text.length() : start + 1000 + random.nextInt(20000);
+				if (end < text.length() && Character.isLowSurrogate(text.charAt(end)))
+					++end;
+				buffers[i]= ByteBuffer.wrap(text.substring(start, end).getBytes(charset));
+				start= end;
+			}
+			MappedTextStore store= new MappedTextStore(buffers, charset, null);
+			assertContent(text, store, random);
+
+			ILineTracker expected= new DefaultLineTracker();
+			expected.set(text);
+			assertEquals(expected.getNumberOfLines(), new MappedLineTracker(store).getNumberOfLines());
+		}
+	}
+
+	@Test
+	public void testTruncatedFile() throws Exception {
+		File file= File.createTempFile("mapped", ".txt"); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			Files.write(file.toPath(), randomText(new Random(4715), 100000, false).getBytes(StandardCharsets.UTF_8));
+			MappedTextStore store;
+			try (FileChannel channel= FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				MappedByteBuffer buffer= channel.map(MapMode.READ_ONLY, 0, channel.size());
+				store= new MappedTextStore(new ByteBuffer[] { buffer }, StandardCharsets.UTF_8, file.toPath());
+				channel.truncate(10);
+			}
+			try {
+				store.get(0);
+				fail();
+			} catch (IllegalStateException e) {
+				// expected
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testSupportedCharsets() {
+		assertTrue(MappedTextStore.isSupported(StandardCharsets.UTF_8));
+		assertTrue(MappedTextStore.isSupported(StandardCharsets.US_ASCII));
+		assertTrue(MappedTextStore.isSupported(StandardCharsets.ISO_8859_1));
+		assertFalse(MappedTextStore.isSupported(StandardCharsets.UTF_16));
+	}
+
+	@Test
+	public void testLineTracker() throws BadLocationException {
+		Random random= new Random(4713);
+		String[] texts= { "", "a", "\r", "\n", "\r\n", "a\r\nb\rc\nd", "\n\n\r\r", randomText(random, 60000, false) }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+		for (String text : texts) {
+			ILineTracker expected= new DefaultLineTracker();
+			expected.set(text);
+			ILineTracker tracker= new MappedLineTracker(createStore(text, StandardCharsets.UTF_8));
+
+			assertEquals(expected.getNumberOfLines(), tracker.getNumberOfLines());
+			for (int line= 0; line < expected.getNumberOfLines(); line++) {
+				assertEquals(expected.getLineOffset(line), tracker.getLineOffset(line));
+				assertEquals(expected.getLineLength(line), tracker.getLineLength(line));
+				assertEquals(expected.getLineDelimiter(line), tracker.getLineDelimiter(line));
+				assertSameRegion(expected.getLineInformation(line), tracker.getLineInformation(line));
+			}
+			for (int offset= 0; offset <= text.length(); offset += 1 + random.nextInt(50)) {
+				assertEquals(expected.getLineNumberOfOffset(offset), tracker.getLineNumberOfOffset(offset));
+				assertSameRegion(expected.getLineInformationOfOffset(offset), tracker.getLineInformationOfOffset(offset));
+				int length= random.nextInt(Math.min(text.length() - offset, 500) + 1);
+				assertEquals(expected.getNumberOfLines(offset, length), tracker.getNumberOfLines(offset, length));
+			}
+		}
+	}
+
+	private static void assertSameRegion(IRegion expected, IRegion actual) {
+		assertEquals(expected.getOffset(), actual.getOffset());
+		assertEquals(expected.getLength(), actual.getLength());
+	}
+}
@@ -15,8 +15,11 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.Test;
 
@@ -474,6 +477,112 @@ public class MultiStringMatcherTest {
 		assertEquals("Scanned too far", 5, text.getLastIndex());
 	}
 
+	@Test
+	public void ignoreCase001() throws Exception {
+		MultiStringMatcher m = MultiStringMatcher.builder(MultiStringMatcher.IGNORE_CASE).add("he", "She", "HIS", "hers").build();
+		testList(m.find("uSHErs", 0), "[[She, 1], [he, 2], [hers, 2]]");
+		test(m.indexOf("dddHiSheddd", 0), "HIS", 3);
+		test(m.indexOf("x h\u0131s", 0), "HIS", 2);
+	}
+
+	@Test
+	public void wholeWord001() throws Exception {
+		MultiStringMatcher m = MultiStringMatcher.builder(MultiStringMatcher.WHOLE_WORD).add("he", "she", "hers", "-").build();
+		testList(m.find("ushers she-he_ he", 0), "[[she, 7], [-, 10], [he, 15]]");
+		test(m.indexOf("ushers hers", 0), "hers", 7);
+		test(m.indexOf("hershe he", 1), "he", 7);
+		assertNull(m.indexOf("shes", 0));
+	}
+
+	@Test
+	public void consumer001() throws Exception {
+		MultiStringMatcher m = MultiStringMatcher.create("he", "she", "his", "hers");
+		StringBuilder result = new StringBuilder();
+		m.find("ushers his", 1, 6, (searchString, offset) -> {
+			result.append(searchString).append(offset);
+			return !searchString.equals("he");
+		});
+		assertEquals("she1he2", result.toString());
+		result.setLength(0);
+		m.find("ushers his", 2, 6, (searchString, offset) -> result.append(searchString).append(offset) != null);
+		assertEquals("he2hers2", result.toString());
+	}
+
+	@Test
+	public void random001() throws Exception {
+		Random random = new Random(3);
+		String alphabet = "aAbB_ \u00E4\u00C4\u0131I";
+		for (int run = 0; run < 200; run++) {
+			// large sets of search strings exceed the dense transition table
+			String[] needles = new String[run % 10 == 0 ? 1000 : 1 + random.nextInt(8)];
+			for (int i = 0; i < needles.length; i++) {
+				needles[i] = randomString(random, alphabet, 1 + random.nextInt(run % 10 == 0 ? 10 : 4));
+			}
+			String text = randomString(random, alphabet, 200);
+			int options = run % 4;
+			int offset = random.nextInt(10);
+			MultiStringMatcher m = MultiStringMatcher.builder(options).add(needles).build();
+
+			List<String> expected = new ArrayList<>();
+			for (int i = offset; i < text.length(); i++) {
+				for (String needle : needles) {
+					int end = i + needle.length();
+					if (text.regionMatches((options & MultiStringMatcher.IGNORE_CASE) != 0, i, needle, 0, needle.length())
+							&& ((options & MultiStringMatcher.WHOLE_WORD) == 0 || isBoundary(text, i) && isBoundary(text, end))) {
+						String match = "[" + i + ", " + end + "]";
+						if (!expected.contains(match)) {
+							expected.add(match);
+						}
+					}
+				}
+			}
+			List<String> actual = new ArrayList<>();
+			for (Match match : m.find(text, offset)) {
+				actual.add("[" + match.getOffset() + ", " + (match.getOffset() + match.getText().length()) + "]");
+			}
+			Collections.sort(expected);
+			Collections.sort(actual);
+			String message = options + " " + Arrays.toString(needles) + " " + text;
+			assertEquals(message, expected, actual);
+
+			Match match = m.indexOf(text, offset);
+			String leftmostLongest = null;
+			for (String e : expected) {
+				if (leftmostLongest == null || compareLeftmostLongest(e, leftmostLongest) < 0) {
+					leftmostLongest = e;
+				}
+			}
+			assertEquals(message, leftmostLongest, match == null ? null : "[" + match.getOffset() + ", " + (match.getOffset() + match.getText().length()) + "]");
+		}
+	}
+
+	private static String randomString(Random random, String alphabet, int length) {
+		char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+		}
+		return new String(chars);
+	}
+
+	private static boolean isBoundary(String text, int index) {
+		return index == 0 || index == text.length() || !isWordPart(text.charAt(index - 1)) || !isWordPart(text.charAt(index));
+	}
+
+	private static boolean isWordPart(char c) {
+		return c == '_' || Character.isLetterOrDigit(c);
+	}
+
+	private static int compareLeftmostLongest(String a, String b) {
+		int[] x = parseRange(a);
+		int[] y = parseRange(b);
+		return x[0] != y[0] ? Integer.compare(x[0], y[0]) : Integer.compare(y[1], x[1]);
+	}
+
+	private static int[] parseRange(String range) {
+		String[] parts = range.substring(1, range.length() - 1).split(", ");
+		return new int[] { Integer.parseInt(parts[0]), Integer.parseInt(parts[1]) };
+	}
+
 	private static class TestCharSequence implements CharSequence {
 
 		private final String value;
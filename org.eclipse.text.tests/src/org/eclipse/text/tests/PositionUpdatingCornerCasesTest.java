@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,10 +16,13 @@ package org.eclipse.text.tests;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Random;
+
 import org.junit.After;
 import org.junit.Test;
 
 import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.DefaultPositionUpdater;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.Position;
@@ -93,4 +96,159 @@ public class PositionUpdatingCornerCasesTest {
 		checkPositions(positions);
 
 	}
+
+	@Test
+	public void testReplaceAtSharedOffset() throws Exception {
+		// the replace breaks the offset order of the positions, the next change must not rely on it
+		fDocument= new Document("x-x-x-x-x");
+		fDocument.addPosition(new Position(2, 1));
+		fDocument.addPosition(new Position(2, 0));
+		fDocument.addPosition(new Position(2, 2));
+
+		fDocument.replace(2, 1, "xyz");
+		fDocument.replace(1, 2, "xy");
+
+		Position[] positions= new Position[] {
+				new Position(3, 3),
+				new Position(5, 0),
+				new Position(3, 2)
+		};
+
+		checkPositions(positions);
+	}
+
+	@Test
+	public void testDeleteAroundPositions() throws Exception {
+		fDocument= new Document("x".repeat(20));
+		Position deleted= new Position(6, 1);
+		fDocument.addPosition(new Position(0, 1));
+		fDocument.addPosition(new Position(2, 3));
+		fDocument.addPosition(new Position(4, 6));
+		fDocument.addPosition(new Position(5, 0));
+		fDocument.addPosition(new Position(5, 2));
+		fDocument.addPosition(deleted);
+		fDocument.addPosition(new Position(7, 3));
+		fDocument.addPosition(new Position(8, 2));
+		fDocument.addPosition(new Position(12, 2));
+
+		fDocument.replace(5, 3, "");
+
+		Position[] positions= new Position[] {
+				new Position(0, 1),
+				new Position(2, 3),
+				new Position(4, 3),
+				new Position(5, 0),
+				new Position(5, 0),
+				new Position(5, 2),
+				new Position(5, 2),
+				new Position(9, 2)
+		};
+
+		checkPositions(positions);
+		assertTrue(deleted.isDeleted());
+	}
+
+	@Test
+	public void testInsertAtPositionEnds() throws Exception {
+		fDocument= new Document("x".repeat(20));
+		fDocument.addPosition(new Position(2, 3));
+		fDocument.addPosition(new Position(4, 1));
+		fDocument.addPosition(new Position(4, 6));
+		fDocument.addPosition(new Position(5, 0));
+		fDocument.addPosition(new Position(5, 2));
+		fDocument.addPosition(new Position(8, 2));
+
+		fDocument.replace(5, 0, "yy");
+
+		Position[] positions= new Position[] {
+				new Position(2, 3),
+				new Position(4, 8),
+				new Position(4, 1),
+				new Position(7, 2),
+				new Position(7, 0),
+				new Position(10, 2)
+		};
+
+		checkPositions(positions);
+	}
+
+	@Test
+	public void testReplaceAcrossPositions() throws Exception {
+		fDocument= new Document("x".repeat(20));
+		fDocument.addPosition(new Position(2, 4));
+		fDocument.addPosition(new Position(4, 4));
+		fDocument.addPosition(new Position(6, 0));
+		fDocument.addPosition(new Position(7, 5));
+		fDocument.addPosition(new Position(10, 1));
+
+		fDocument.replace(4, 6, "yyy");
+
+		Position[] positions= new Position[] {
+				new Position(2, 2),
+				new Position(7, 0),
+				new Position(7, 2),
+				new Position(7, 1)
+		};
+
+		checkPositions(positions);
+	}
+
+	@Test
+	public void testRandomChanges() throws Exception {
+		// a subclass of the default updater investigates every position of its category
+		String category= "all";
+		fDocument= new Document("x".repeat(1000));
+		fDocument.addPositionCategory(category);
+		fDocument.addPositionUpdater(new DefaultPositionUpdater(category) {});
+
+		Random random= new Random(4711);
+		for (int i= 0; i < 300; i++) {
+			// few distinct offsets, so that many positions share their offset
+			int offset= random.nextInt(50) * 20;
+			int length= random.nextInt(3) == 0 ? 0 : random.nextInt(Math.min(fDocument.getLength() - offset, 50) + 1);
+			fDocument.addPosition(new Position(offset, length));
+			fDocument.addPosition(category, new Position(offset, length));
+		}
+
+		for (int i= 0; i < 500; i++) {
+			int offset= random.nextInt(fDocument.getLength() + 1);
+			int length= random.nextInt(Math.min(fDocument.getLength() - offset, 60) + 1);
+			fDocument.replace(offset, random.nextBoolean() ? length : 0, "y".repeat(random.nextInt(3) == 0 ? 0 : random.nextInt(60)));
+
+			Position[] expected= fDocument.getPositions(category);
+			checkPositions(expected);
+		}
+	}
+
+	@Test
+	public void testRandomChangesAtSharedOffsets() throws Exception {
+		// replacing at the offset of several positions may break their order
+		String category= "all";
+		fDocument= new Document("x".repeat(1000));
+		fDocument.addPositionCategory(category);
+		fDocument.addPositionUpdater(new DefaultPositionUpdater(category) {});
+
+		Random random= new Random(815);
+		for (int i= 0; i < 300; i++) {
+			int offset= random.nextInt(50) * 20;
+			int length= random.nextInt(3) == 0 ? 0 : random.nextInt(Math.min(fDocument.getLength() - offset, 50) + 1);
+			fDocument.addPosition(new Position(offset, length));
+			fDocument.addPosition(category, new Position(offset, length));
+		}
+
+		for (int i= 0; i < 500; i++) {
+			Position[] all= fDocument.getPositions(category);
+			int offset= all[random.nextInt(all.length)].getOffset();
+			int length= random.nextInt(Math.min(fDocument.getLength() - offset, 10) + 1);
+			fDocument.replace(offset, length, "y".repeat(random.nextInt(5)));
+			if (random.nextInt(10) == 0) {
+				offset= random.nextInt(fDocument.getLength() + 1);
+				fDocument.addPosition(new Position(offset, 0));
+				fDocument.addPosition(category, new Position(offset, 0));
+			}
+
+			Position[] expected= fDocument.getPositions(category);
+			checkPositions(expected);
+		}
+	}
 }
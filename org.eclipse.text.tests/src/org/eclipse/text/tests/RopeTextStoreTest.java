@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.GapTextStore;
+import org.eclipse.jface.text.ITextStore;
+import org.eclipse.jface.text.RopeTextStore;
+
+public class RopeTextStoreTest extends TextStoreTest {
+
+	@Override
+	protected ITextStore createTextStore() {
+		// use the smallest chunk size to exercise the tree structure
+		return new RopeTextStore(16);
+	}
+
+	@Test
+	public void testRandomEdits() {
+		Random random= new Random(4711);
+		ITextStore store= createTextStore();
+		StringBuilder expected= new StringBuilder();
+		for (int i= 0; i < 2000; i++) {
+			int offset= random.nextInt(expected.length() + 1);
+			int length= random.nextInt(Math.min(expected.length() - offset, 100) + 1);
+			String text= randomText(random, random.nextInt(random.nextInt(4) == 0 ? 200 : 5));
+			store.replace(offset, length, text);
+			expected.replace(offset, offset + length, text);
+			assertEquals(expected.length(), store.getLength());
+		}
+		assertEquals(expected.toString(), store.get(0, store.getLength()));
+		for (int i= 0; i < expected.length(); i++)
+			assertEquals(expected.charAt(i), store.get(i));
+		for (int i= 0; i < 100; i++) {
+			int offset= random.nextInt(expected.length() + 1);
+			int length= random.nextInt(expected.length() - offset + 1);
+			assertEquals(expected.substring(offset, offset + length), store.get(offset, length));
+		}
+	}
+
+	@Test
+	public void testLargeContent() {
+		Random random= new Random(42);
+		ITextStore store= new RopeTextStore();
+		String content= randomText(random, 100000);
+		store.set(content);
+		assertEquals(content, store.get(0, store.getLength()));
+
+		store.replace(50000, 20000, null);
+		store.replace(10, 0, content);
+		String expected= content.substring(0, 10) + content + content.substring(10, 50000) + content.substring(70000);
+		assertEquals(expected, store.get(0, store.getLength()));
+	}
+
+	@Test
+	public void testEditsLikeGapTextStore() {
+		Random random= new Random(1234);
+		String content= randomText(random, 50000);
+		ITextStore rope= new RopeTextStore(64);
+		ITextStore gap= new GapTextStore();
+		rope.set(content);
+		gap.set(content);
+		int offset= content.length() / 2;
+		for (int i= 0; i < 2000; i++) {
+			// alternate between typing at a moving caret and editing at random places
+			if (i % 200 < 100)
+				offset= Math.min(offset + 1, gap.getLength());
+			else
+				offset= random.nextInt(gap.getLength());
+			int length= Math.min(random.nextInt(3), gap.getLength() - offset);
+			rope.replace(offset, length, "xy");
+			gap.replace(offset, length, "xy");
+			int from= random.nextInt(gap.getLength() - 80);
+			assertEquals(gap.get(from, 80), rope.get(from, 80));
+			assertEquals(gap.get(offset), rope.get(offset));
+		}
+		assertEquals(gap.getLength(), rope.getLength());
+		assertEquals(gap.get(0, gap.getLength()), rope.get(0, rope.getLength()));
+	}
+
+	@Test
+	public void testDocument() throws Exception {
+		Document document= new Document(new RopeTextStore());
+		document.set("x\nx\nx\n");
+		document.replace(2, 1, "yy");
+		assertEquals("x\nyy\nx\n", document.get());
+		assertEquals(4, document.getNumberOfLines());
+		assertEquals(2, document.getLineOffset(1));
+	}
+
+	private static String randomText(Random random, int length) {
+		StringBuilder buffer= new StringBuilder(length);
+		for (int i= 0; i < length; i++)
+			buffer.append(random.nextInt(10) == 0 ? '\n' : (char) ('a' + random.nextInt(26)));
+		return buffer.toString();
+	}
+}
@@ -41,7 +41,9 @@ import org.eclipse.text.edits.TextEditCopier;
 import org.eclipse.text.edits.UndoEdit;
 
 import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IRegion;
 
 public class TextEditTests {
@@ -1385,6 +1387,70 @@ public class TextEditTests {
 		assertEquals(result, 2, 1);
 	}
 
+	@Test
+	public void testSingleReplace() throws Exception {
+		fRoot.addChild(new InsertEdit(0, "a"));
+		fRoot.addChild(new InsertEdit(0, "b"));
+		fRoot.addChild(new ReplaceEdit(1, 2, "xyz"));
+		RangeMarker marker= new RangeMarker(4, 4);
+		marker.addChild(new DeleteEdit(4, 1));
+		marker.addChild(new RangeMarker(6, 1));
+		marker.addChild(new ReplaceEdit(7, 1, "7"));
+		fRoot.addChild(marker);
+		fRoot.addChild(new InsertEdit(10, "c"));
+		MultiTextEdit copy= (MultiTextEdit) fRoot.copy();
+
+		IDocument expected= new Document(fDocument.get());
+		UndoEdit expectedUndo= copy.apply(expected);
+		final int[] changes= new int[1];
+		fDocument.addDocumentListener(new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {
+			}
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				changes[0]++;
+			}
+		});
+		UndoEdit undo= fRoot.apply(fDocument, TextEdit.CREATE_UNDO | TextEdit.UPDATE_REGIONS | TextEdit.SINGLE_REPLACE);
+		Assert.assertEquals("Changes", 1, changes[0]);
+		Assert.assertEquals("Buffer content", "ab0xyz356789c", fDocument.get());
+		Assert.assertEquals("Buffer content", expected.get(), fDocument.get());
+
+		TextEdit[] edits= fRoot.getChildren();
+		TextEdit[] expectedEdits= copy.getChildren();
+		Assert.assertEquals(expectedEdits.length, edits.length);
+		for (int i= 0; i < edits.length; i++)
+			assertEquals(edits[i], expectedEdits[i].getOffset(), expectedEdits[i].getLength());
+		TextEdit[] markerEdits= marker.getChildren();
+		TextEdit[] expectedMarkerEdits= expectedEdits[3].getChildren();
+		for (int i= 0; i < markerEdits.length; i++)
+			assertEquals(markerEdits[i], expectedMarkerEdits[i].getOffset(), expectedMarkerEdits[i].getLength());
+		assertEquals(fRoot, copy.getOffset(), copy.getLength());
+
+		assertEquals(undo, expectedUndo.getOffset(), expectedUndo.getLength());
+		TextEdit[] undos= undo.getChildren();
+		TextEdit[] expectedUndos= expectedUndo.getChildren();
+		Assert.assertEquals(expectedUndos.length, undos.length);
+		for (int i= 0; i < undos.length; i++) {
+			assertEquals(undos[i], expectedUndos[i].getOffset(), expectedUndos[i].getLength());
+			Assert.assertEquals(((ReplaceEdit) expectedUndos[i]).getText(), ((ReplaceEdit) undos[i]).getText());
+		}
+		doUndoRedo(undo, "ab0xyz356789c");
+	}
+
+	@Test
+	public void testSingleReplaceWithMove() throws Exception {
+		MoveSourceEdit s1= new MoveSourceEdit(2, 2);
+		MoveTargetEdit t1= new MoveTargetEdit(7, s1);
+		fRoot.addChild(s1);
+		fRoot.addChild(t1);
+		fRoot.addChild(new ReplaceEdit(8, 1, "x"));
+		UndoEdit undo= fRoot.apply(fDocument, TextEdit.CREATE_UNDO | TextEdit.SINGLE_REPLACE);
+		Assert.assertEquals("Buffer content", "01456237x9", fDocument.get());
+		doUndoRedo(undo, "01456237x9");
+	}
+
 	private void doUndoRedo(UndoEdit undo, String redoResult) throws Exception {
 		UndoEdit redo= undo.apply(fDocument);
 		assertBufferContent();
@@ -15,6 +15,8 @@
 package org.eclipse.jface.text.projection;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 
 import org.eclipse.jface.text.AbstractDocument;
@@ -366,12 +368,16 @@ public class ProjectionDocument extends AbstractDocument {
 	 * @param offsetInMaster the offset of the range in the master document
 	 * @param lengthInMaster the length of the range in the master document
 	 * @return the fragment representing the given master document range
+	 * @throws BadLocationException if the given range is invalid in the master document
+	 * @throws BadPositionCategoryException if the fragment category is invalid
 	 */
-	private Fragment findFragment(int offsetInMaster, int lengthInMaster) {
+	private Fragment findFragment(int offsetInMaster, int lengthInMaster) throws BadLocationException, BadPositionCategoryException {
 		Position[] fragments= getFragments();
-		for (Position fragment : fragments) {
-			Fragment f = (Fragment) fragment;
-			if (f.getOffset() <= offsetInMaster && offsetInMaster + lengthInMaster <= f.getOffset() + f.getLength())
+		// only the fragment left of the index and those starting at the offset can contain the range
+		int index= fMasterDocument.computeIndexInCategory(fFragmentsCategory, offsetInMaster);
+		for (int i= Math.max(index - 1, 0); i < fragments.length && fragments[i].getOffset() <= offsetInMaster; i++) {
+			Fragment f= (Fragment) fragments[i];
+			if (offsetInMaster + lengthInMaster <= f.getOffset() + f.getLength())
 				return f;
 		}
 		return null;
@@ -594,6 +600,192 @@ public class ProjectionDocument extends AbstractDocument {
 		}
 	}
 
+	/**
+	 * Ensures that the given ranges of the master document are part of this
+	 * projection document. Unlike calling
+	 * {@link #addMasterDocumentRange(int, int)} for each range, the fragments
+	 * and segments are rebuilt in a single pass and only one projection
+	 * document event is sent out.
+	 *
+	 * @param ranges the master document ranges, they may overlap and do not
+	 *            have to be sorted
+	 * @throws BadLocationException in case one of the ranges is invalid in the
+	 *             master document
+	 * @since 3.13
+	 */
+	public void addMasterDocumentRanges(IRegion[] ranges) throws BadLocationException {
+		internalChangeMasterDocumentRanges(ranges, true);
+	}
+
+	/**
+	 * Ensures that the given ranges of the master document are not part of
+	 * this projection document. Unlike calling
+	 * {@link #removeMasterDocumentRange(int, int)} for each range, the
+	 * fragments and segments are rebuilt in a single pass and only one
+	 * projection document event is sent out.
+	 *
+	 * @param ranges the master document ranges, they may overlap and do not
+	 *            have to be sorted
+	 * @throws BadLocationException in case one of the ranges is invalid in the
+	 *             master document
+	 * @since 3.13
+	 */
+	public void removeMasterDocumentRanges(IRegion[] ranges) throws BadLocationException {
+		internalChangeMasterDocumentRanges(ranges, false);
+	}
+
+	/**
+	 * Adds the given ranges of the master document to or removes them from
+	 * this projection document. The new fragments are computed by merging the
+	 * sorted ranges with the current fragments. All fragments and segments
+	 * are then replaced at once and a single projection document event is
+	 * sent out, which covers the master document range from the start of the
+	 * first to the end of the last given range.
+	 *
+	 * @param ranges the master document ranges
+	 * @param add <code>true</code> if the ranges are to be added,
+	 *            <code>false</code> if they are to be removed
+	 * @throws BadLocationException in case one of the ranges is invalid in the
+	 *             master document
+	 * @since 3.13
+	 */
+	private void internalChangeMasterDocumentRanges(IRegion[] ranges, boolean add) throws BadLocationException {
+		int masterLength= fMasterDocument.getLength();
+
+		IRegion[] sorted= ranges.clone();
+		Arrays.sort(sorted, Comparator.comparingInt(IRegion::getOffset));
+		int[] starts= new int[sorted.length];
+		int[] ends= new int[sorted.length];
+		int count= 0;
+		for (IRegion range : sorted) {
+			int start= range.getOffset();
+			int end= start + range.getLength();
+			if (start < 0 || start > end || end > masterLength)
+				throw new BadLocationException();
+			if (start == end)
+				continue;
+			if (count > 0 && start <= ends[count - 1]) {
+				ends[count - 1]= Math.max(ends[count - 1], end);
+			} else {
+				starts[count]= start;
+				ends[count++]= end;
+			}
+		}
+		if (count == 0)
+			return;
+
+		Position[] fragments= getFragments();
+		int[] oldStarts= new int[fragments.length];
+		int[] oldEnds= new int[fragments.length];
+		int oldCount= 0;
+		for (Position fragment : fragments) {
+			if (fragment.getLength() > 0) {
+				oldStarts[oldCount]= fragment.getOffset();
+				oldEnds[oldCount++]= fragment.getOffset() + fragment.getLength();
+			}
+		}
+
+		int[] newStarts= new int[oldCount + count];
+		int[] newEnds= new int[oldCount + count];
+		int newCount= 0;
+		if (add) {
+			// union, adjacent fragments are joined
+			for (int i= 0, j= 0; i < oldCount || j < count;) {
+				int start, end;
+				if (j == count || i < oldCount && oldStarts[i] < starts[j]) {
+					start= oldStarts[i];
+					end= oldEnds[i++];
+				} else {
+					start= starts[j];
+					end= ends[j++];
+				}
+				if (newCount > 0 && start <= newEnds[newCount - 1]) {
+					newEnds[newCount - 1]= Math.max(newEnds[newCount - 1], end);
+				} else {
+					newStarts[newCount]= start;
+					newEnds[newCount++]= end;
+				}
+			}
+		} else {
+			// difference, each fragment is split by the ranges inside of it
+			int j= 0;
+			for (int i= 0; i < oldCount; i++) {
+				int start= oldStarts[i];
+				int end= oldEnds[i];
+				while (j < count && ends[j] <= start)
+					j++;
+				for (int k= j; k < count && starts[k] < end; k++) {
+					if (start < starts[k]) {
+						newStarts[newCount]= start;
+						newEnds[newCount++]= starts[k];
+					}
+					start= Math.max(start, ends[k]);
+				}
+				if (start < end) {
+					newStarts[newCount]= start;
+					newEnds[newCount++]= end;
+				}
+			}
+		}
+
+		if (newCount == oldCount && Arrays.equals(newStarts, 0, newCount, oldStarts, 0, oldCount) && Arrays.equals(newEnds, 0, newCount, oldEnds, 0, oldCount))
+			return;
+
+		// the fragments outside of [lo, hi) do not change
+		int lo= starts[0];
+		int hi= ends[count - 1];
+		int offsetInSlave= 0;
+		int lengthInSlave= 0;
+		for (int i= 0; i < oldCount; i++) {
+			offsetInSlave+= Math.max(0, Math.min(oldEnds[i], lo) - oldStarts[i]);
+			lengthInSlave+= Math.max(0, Math.min(oldEnds[i], hi) - Math.max(oldStarts[i], lo));
+		}
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < newCount; i++) {
+			int start= Math.max(newStarts[i], lo);
+			int end= Math.min(newEnds[i], hi);
+			if (start < end)
+				text.append(fMasterDocument.get(start, end - start));
+		}
+
+		try {
+
+			ProjectionDocumentEvent event= new ProjectionDocumentEvent(this, offsetInSlave, lengthInSlave, text.toString(), lo, hi - lo);
+			super.fireDocumentAboutToBeChanged(event);
+
+			for (Position fragment : fragments)
+				fMasterDocument.removePosition(fFragmentsCategory, fragment);
+			// the new segments are only valid after the change, so bypass the range check of addPosition
+			List<Position> segments= getDocumentManagedPositions().get(fSegmentsCategory);
+			segments.clear();
+
+			if (newCount == 0) {
+				// keep an empty fragment, as removing the last fragment range by range would do
+				newStarts[0]= newEnds[0]= oldEnds[oldCount - 1];
+				newCount= 1;
+			}
+
+			int offset= 0;
+			for (int i= 0; i < newCount; i++) {
+				Fragment fragment= new Fragment(newStarts[i], newEnds[i] - newStarts[i]);
+				Segment segment= new Segment(offset, fragment.getLength());
+				segment.fragment= fragment;
+				fragment.segment= segment;
+				fMasterDocument.addPosition(fFragmentsCategory, fragment);
+				segments.add(segment);
+				offset+= fragment.getLength();
+			}
+			fMapping.projectionChanged();
+
+			getTracker().replace(event.getOffset(), event.getLength(), event.getText());
+			fSegmentUpdater.skipUpdate(event);
+			super.fireDocumentChanged(event);
+
+		} catch (BadPositionCategoryException x) {
+			internalError();
+		}
+	}
+
 	/**
 	 * Returns the sequence of all master document regions with are contained in the given master document
 	 * range and which are part of this projection document. May return <code>null</code> if no such
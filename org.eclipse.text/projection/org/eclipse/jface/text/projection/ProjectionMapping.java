@@ -54,6 +54,11 @@ public class ProjectionMapping implements IDocumentInformationMapping , IDocumen
 	private Position[] fCachedSegments;
 	/** Cached fragments */
 	private Position[] fCachedFragments;
+	/**
+	 * Cached length of the image, i.e. the sum of the segment lengths, <code>-1</code> if unknown.
+	 * @since 3.13
+	 */
+	private int fCachedImageLength= -1;
 
 	/**
 	 * Creates a new mapping between the given parent document and the given projection document.
@@ -76,6 +81,7 @@ public class ProjectionMapping implements IDocumentInformationMapping , IDocumen
 	public void projectionChanged() {
 		fCachedSegments= null;
 		fCachedFragments= null;
+		fCachedImageLength= -1;
 	}
 
 	private Position[] getSegments() {
@@ -126,24 +132,6 @@ public class ProjectionMapping implements IDocumentInformationMapping , IDocumen
 		}
 	}
 
-	private Segment findSegment(int offset) throws BadLocationException {
-
-		checkImageOffset(offset);
-
-		int index= findSegmentIndex(offset);
-		if (index == -1) {
-
-			Segment s= new Segment(0, 0);
-			Fragment f= new Fragment(0, 0);
-			s.fragment= f;
-			f.segment= s;
-			return s;
-		}
-
-		Position[] segments= getSegments();
-		return (Segment) segments[index];
-	}
-
 	/**
 	 * Computes the fragment index given an origin offset. Returns the index of
 	 * the fragment that contains <code>offset</code>, or <code>-1</code>
@@ -371,7 +359,13 @@ public class ProjectionMapping implements IDocumentInformationMapping , IDocumen
 
 	@Override
 	public int toOriginOffset(int imageOffset) throws BadLocationException {
-		Segment segment= findSegment(imageOffset);
+		checkImageOffset(imageOffset);
+
+		int index= findSegmentIndex(imageOffset);
+		if (index == -1)
+			return imageOffset;
+
+		Segment segment= (Segment) getSegments()[index];
 		int relative= imageOffset - segment.offset;
 		return segment.fragment.offset + relative;
 	}
@@ -382,11 +376,8 @@ public class ProjectionMapping implements IDocumentInformationMapping , IDocumen
 		int imageLength= imageRegion.getLength();
 
 		if (imageLength == 0) {
-			if (imageOffset == 0) {
-				Position[] fragments= getFragments();
-				if (fragments.length == 0 || (fragments.length == 1 && fragments[0].getOffset() == 0 && fragments[0].getLength() == 0))
-					return new Region(0, fMasterDocument.getLength());
-			}
+			if (imageOffset == 0 && isEmptyProjection())
+				return new Region(0, fMasterDocument.getLength());
 			return new Region(toOriginOffset(imageOffset), 0);
 		}
 
@@ -412,8 +403,24 @@ public class ProjectionMapping implements IDocumentInformationMapping , IDocumen
 
 	@Override
 	public int toOriginLine(int imageLine) throws BadLocationException {
-		IRegion lines= toOriginLines(imageLine);
-		return (lines.getLength() > 1 ? -1 : lines.getOffset());
+		// same as toOriginLines(imageLine) but without creating intermediate regions
+		IRegion imageRegion= fSlaveDocument.getLineInformation(imageLine);
+		int imageOffset= imageRegion.getOffset();
+		int imageLength= imageRegion.getLength();
+
+		if (imageLength == 0) {
+			if (imageOffset == 0 && isEmptyProjection()) {
+				int masterLength= fMasterDocument.getLength();
+				if (masterLength == 0 || fMasterDocument.getLineOfOffset(masterLength - 1) == 0)
+					return 0;
+				return -1;
+			}
+			return fMasterDocument.getLineOfOffset(toOriginOffset(imageOffset));
+		}
+
+		int originStartLine= fMasterDocument.getLineOfOffset(toOriginOffset(imageOffset));
+		int originEndLine= fMasterDocument.getLineOfOffset(toOriginOffset(imageOffset + imageLength - 1));
+		return originStartLine == originEndLine ? originStartLine : -1;
 	}
 
 	@Override
@@ -444,20 +451,35 @@ public class ProjectionMapping implements IDocumentInformationMapping , IDocumen
 	@Override
 	public int toImageLine(int originLine) throws BadLocationException {
 		IRegion originRegion= fMasterDocument.getLineInformation(originLine);
-		IRegion imageRegion= toImageRegion(originRegion);
-		if (imageRegion == null) {
-			int imageOffset= toImageOffset(originRegion.getOffset());
-			if (imageOffset > -1)
-				imageRegion= new Region(imageOffset, 0);
-			else
+		int originOffset= originRegion.getOffset();
+		int originLength= originRegion.getLength();
+
+		// same as toImageRegion(originRegion) but without creating intermediate regions
+		int imageOffset= -1;
+		int imageEndOffset= -1;
+		if (originLength > 0) {
+			int startIndex= findFragmentIndex(originOffset, RIGHT);
+			int endIndex= findFragmentIndex(originOffset + originLength - 1, LEFT);
+			if (startIndex != -1 && startIndex <= endIndex) {
+				Position[] fragments= getFragments();
+				Fragment start= (Fragment) fragments[startIndex];
+				imageOffset= start.segment.getOffset() + Math.max(originOffset - start.getOffset(), 0);
+				Fragment end= (Fragment) fragments[endIndex];
+				imageEndOffset= end.segment.getOffset() + Math.min(originOffset + originLength - end.getOffset(), end.getLength());
+			}
+		}
+		if (imageOffset == -1) {
+			imageOffset= toImageOffset(originOffset);
+			if (imageOffset == -1)
 				return -1;
+			imageEndOffset= imageOffset;
 		}
 
-		int startLine= fSlaveDocument.getLineOfOffset(imageRegion.getOffset());
-		if (imageRegion.getLength() == 0)
+		int startLine= fSlaveDocument.getLineOfOffset(imageOffset);
+		if (imageEndOffset == imageOffset)
 			return startLine;
 
-		int endLine= fSlaveDocument.getLineOfOffset(imageRegion.getOffset() + imageRegion.getLength());
+		int endLine= fSlaveDocument.getLineOfOffset(imageEndOffset);
 		if (endLine != startLine)
 			throw new IllegalStateException("startLine (" + startLine + ") does not match endLine (" + endLine + ")"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 
@@ -546,12 +568,15 @@ public class ProjectionMapping implements IDocumentInformationMapping , IDocumen
 
 	@Override
 	public int getImageLength() {
-		Position[] segments= getSegments();
-		int length= 0;
-		for (Position segment : segments) {
-			length += segment.length;
+		if (fCachedImageLength == -1) {
+			Position[] segments= getSegments();
+			int length= 0;
+			for (Position segment : segments) {
+				length += segment.length;
+			}
+			fCachedImageLength= length;
 		}
-		return length;
+		return fCachedImageLength;
 	}
 
 	@Override
@@ -660,6 +685,18 @@ public class ProjectionMapping implements IDocumentInformationMapping , IDocumen
 			throw new BadLocationException();
 	}
 
+	/**
+	 * Tells whether the projection is empty, i.e. has no fragment or a single empty fragment at the
+	 * beginning of the master document.
+	 *
+	 * @return <code>true</code> if the projection is empty
+	 * @since 3.13
+	 */
+	private boolean isEmptyProjection() {
+		Position[] fragments= getFragments();
+		return fragments.length == 0 || (fragments.length == 1 && fragments[0].getOffset() == 0 && fragments[0].getLength() == 0);
+	}
+
 	private final int exclusiveEnd(Position position) {
 		return position.offset + position.length;
 	}
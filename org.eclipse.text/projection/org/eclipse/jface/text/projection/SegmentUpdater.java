@@ -35,6 +35,8 @@ class SegmentUpdater extends DefaultPositionUpdater {
 
 	private Segment fNextSegment= null;
 	private boolean fIsProjectionChange= false;
+	/** The event for which the segments have already been set up, <code>null</code> if none */
+	private DocumentEvent fSkippedEvent= null;
 
 	/**
 	 * Creates the segment updater for the given category.
@@ -45,10 +47,25 @@ class SegmentUpdater extends DefaultPositionUpdater {
 		super(segmentCategory);
 	}
 
+	/**
+	 * Tells this updater that the segments already describe the state after
+	 * the given event, so that they are left untouched when it is applied.
+	 *
+	 * @param event the event to skip
+	 * @since 3.13
+	 */
+	void skipUpdate(DocumentEvent event) {
+		fSkippedEvent= event;
+	}
+
 	@Override
 	public void update(DocumentEvent event) {
 
 		Assert.isTrue(event instanceof ProjectionDocumentEvent);
+		if (event == fSkippedEvent) {
+			fSkippedEvent= null;
+			return;
+		}
 		fIsProjectionChange= ((ProjectionDocumentEvent) event).getChangeType() == ProjectionDocumentEvent.PROJECTION_CHANGE;
 
 		try {
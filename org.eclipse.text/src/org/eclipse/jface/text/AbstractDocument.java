@@ -18,6 +18,7 @@ package org.eclipse.jface.text;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -30,13 +31,16 @@ import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.ListenerList;
 import org.eclipse.core.runtime.SafeRunner;
 
+import org.eclipse.jface.text.DocumentInstrumentation.Activity;
+
 
 /**
  * Abstract default implementation of <code>IDocument</code> and its extension
  * interfaces {@link org.eclipse.jface.text.IDocumentExtension},
  * {@link org.eclipse.jface.text.IDocumentExtension2},
  * {@link org.eclipse.jface.text.IDocumentExtension3},
- * {@link org.eclipse.jface.text.IDocumentExtension4}, as well as
+ * {@link org.eclipse.jface.text.IDocumentExtension4},
+ * {@link org.eclipse.jface.text.IDocumentExtension5}, as well as
  * {@link org.eclipse.jface.text.IRepairableDocument}.
  * <p>
  *
@@ -59,7 +63,7 @@ import org.eclipse.core.runtime.SafeRunner;
  * @see org.eclipse.jface.text.ITextStore
  * @see org.eclipse.jface.text.ILineTracker
  */
-public abstract class AbstractDocument implements IDocument, IDocumentExtension, IDocumentExtension2, IDocumentExtension3, IDocumentExtension4, IRepairableDocument, IRepairableDocumentExtension {
+public abstract class AbstractDocument implements IDocument, IDocumentExtension, IDocumentExtension2, IDocumentExtension3, IDocumentExtension4, IDocumentExtension5, IRepairableDocument, IRepairableDocumentExtension {
 
 	/**
 	 * Tells whether this class is in debug mode.
@@ -102,13 +106,11 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	private ListenerList<IDocumentListener> fPrenotifiedDocumentListeners;
 	/** The registered document partitioning listeners */
 	private ListenerList<IDocumentPartitioningListener> fDocumentPartitioningListeners;
-	/** All positions managed by the document ordered by their start positions. */
-	private Map<String, List<Position>> fPositions;
 	/**
-	 * All positions managed by the document ordered by their end positions.
-	 * @since 3.4
+	 * All positions managed by the document ordered by their start positions. Since 3.13 the
+	 * positions of each category are kept in a {@link PositionTree}.
 	 */
-	private Map<String, List<Position>> fEndPositions;
+	private Map<String, List<Position>> fPositions;
 	/** All registered document position updaters */
 	private List<IPositionUpdater> fPositionUpdaters;
 	/**
@@ -161,6 +163,12 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	 * @since 3.1
 	 */
 	private DocumentRewriteSession fDocumentRewriteSession;
+	/**
+	 * The changes performed in the active rewrite session, <code>null</code> if none.
+	 *
+	 * @since 3.13
+	 */
+	private DocumentBatchEvent fDocumentBatchEvent;
 	/**
 	 * The registered document rewrite session listeners.
 	 * @since 3.1
@@ -181,6 +189,12 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	 * @since 3.1
 	 */
 	private String fInitialLineDelimiter;
+	/**
+	 * The snapshot of the current content or <code>null</code> if none has been taken since
+	 * the last change.
+	 * @since 3.13
+	 */
+	private IDocumentSnapshot fSnapshot;
 
 
 	/**
@@ -263,11 +277,16 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	/**
 	 * Sets the document's text store.
 	 * Must be called at the beginning of the constructor.
+	 * <p>
+	 * Any {@link ITextStore} can be used; for very large documents
+	 * a {@link RopeTextStore} avoids copying the content on changes.
+	 * </p>
 	 *
 	 * @param store the document's text store
 	 */
 	protected void setTextStore(ITextStore store) {
 		fStore= store;
+		fSnapshot= null;
 	}
 
 	/**
@@ -293,7 +312,6 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	protected void completeInitialization() {
 
 		fPositions= new HashMap<>();
-		fEndPositions= new HashMap<>();
 		fPositionUpdaters= new CopyOnWriteArrayList<>();
 		fDocumentListeners= new ListenerList<>(ListenerList.IDENTITY);
 		fPrenotifiedDocumentListeners= new ListenerList<>(ListenerList.IDENTITY);
@@ -356,11 +374,6 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		if (list == null)
 			throw new BadPositionCategoryException();
 		list.add(computeIndexInPositionList(list, position.offset), position);
-
-		List<Position> endPositions= fEndPositions.get(category);
-		if (endPositions == null)
-			throw new BadPositionCategoryException();
-		endPositions.add(computeIndexInPositionList(endPositions, position.offset + position.length - 1, false), position);
 	}
 
 	@Override
@@ -378,8 +391,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 			return;
 
 		if (!containsPositionCategory(category)) {
-			fPositions.put(category, new ArrayList<>());
-			fEndPositions.put(category, new ArrayList<>());
+			fPositions.put(category, new PositionTree());
 		}
 	}
 
@@ -453,6 +465,9 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	 * @since 3.4
 	 */
 	protected int computeIndexInPositionList(List<? extends Position> positions, int offset, boolean orderedByOffset) {
+		if (orderedByOffset && positions instanceof PositionTree)
+			return ((PositionTree) positions).computeIndex(offset);
+
 		if (positions.isEmpty())
 			return 0;
 
@@ -615,6 +630,11 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		if (fReentranceCount == 0)
 			flushPostNotificationChanges();
 
+		for (List<Position> positions : fPositions.values()) {
+			if (positions instanceof PositionTree)
+				((PositionTree) positions).markAffected(event.getOffset(), event.getLength());
+		}
+
 		if (fDocumentPartitioners != null) {
 			Iterator<IDocumentPartitioner> e= fDocumentPartitioners.values().iterator();
 			while (e.hasNext()) {
@@ -624,28 +644,38 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 					if (extension.getActiveRewriteSession() != null)
 						continue;
 				}
+				long start= DocumentInstrumentation.start();
 				try {
 					p.documentAboutToBeChanged(event);
 				} catch (Exception ex) {
 					log(ex);
 				}
+				DocumentInstrumentation.stop(Activity.PARTITIONER_ABOUT_TO_BE_CHANGED, p, start);
 			}
 		}
 
 		for (IDocumentListener listener : fPrenotifiedDocumentListeners) {
+			if (isBatchListener(listener))
+				continue;
+			long start= DocumentInstrumentation.start();
 			try {
 				listener.documentAboutToBeChanged(event);
 			} catch (Exception ex) {
 				log(ex);
 			}
+			DocumentInstrumentation.stop(Activity.LISTENER_ABOUT_TO_BE_CHANGED, listener, start);
 		}
 
 		for (IDocumentListener listener : fDocumentListeners) {
+			if (isBatchListener(listener))
+				continue;
+			long start= DocumentInstrumentation.start();
 			try {
 				listener.documentAboutToBeChanged(event);
 			} catch (Exception ex) {
 				log(ex);
 			}
+			DocumentInstrumentation.stop(Activity.LISTENER_ABOUT_TO_BE_CHANGED, listener, start);
 		}
 
 	}
@@ -671,6 +701,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 						continue;
 				}
 
+				long start= DocumentInstrumentation.start();
 				if (partitioner instanceof IDocumentPartitionerExtension) {
 					IDocumentPartitionerExtension extension= (IDocumentPartitionerExtension) partitioner;
 					IRegion r= extension.documentChanged2(event);
@@ -680,11 +711,65 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 					if (partitioner.documentChanged(event))
 						fDocumentPartitioningChangedEvent.setPartitionChange(partitioning, 0, event.getDocument().getLength());
 				}
+				DocumentInstrumentation.stop(Activity.PARTITIONER_CHANGED, partitioner, start);
 			}
 		}
 
-		if (!fPositions.isEmpty())
+		if (!fPositions.isEmpty()) {
 			updatePositions(event);
+
+			for (List<Position> positions : fPositions.values()) {
+				if (positions instanceof PositionTree)
+					((PositionTree) positions).repair();
+			}
+			invalidatePositionTrees();
+		}
+	}
+
+	/**
+	 * Returns the position tree of the given category if only the position updaters of this
+	 * category may change its positions, and if all of them only change the positions overlapping
+	 * or touching a change and shift the positions behind it.
+	 *
+	 * @param category the position category
+	 * @return the position tree of the category, or <code>null</code>
+	 */
+	PositionTree getPositionTree(String category) {
+		List<Position> positions= fPositions.get(category);
+		if (!(positions instanceof PositionTree))
+			return null;
+
+		for (IPositionUpdater updater : fPositionUpdaters) {
+			if (!(updater instanceof DefaultPositionUpdater))
+				return null;
+			DefaultPositionUpdater defaultUpdater= (DefaultPositionUpdater) updater;
+			if (!defaultUpdater.updatesOnlyAffectedPositions() && category.equals(defaultUpdater.getCategory()))
+				return null;
+		}
+		return (PositionTree) positions;
+	}
+
+	/**
+	 * Invalidates the position trees whose positions may have been changed by position updaters
+	 * beyond the range marked before the change.
+	 */
+	private void invalidatePositionTrees() {
+		for (IPositionUpdater updater : fPositionUpdaters) {
+			if (updater instanceof DefaultPositionUpdater && ((DefaultPositionUpdater) updater).updatesOnlyAffectedPositions())
+				continue;
+
+			if (updater instanceof DefaultPositionUpdater) {
+				List<Position> positions= fPositions.get(((DefaultPositionUpdater) updater).getCategory());
+				if (positions instanceof PositionTree)
+					((PositionTree) positions).invalidate();
+			} else {
+				for (List<Position> positions : fPositions.values()) {
+					if (positions instanceof PositionTree)
+						((PositionTree) positions).invalidate();
+				}
+				return;
+			}
+		}
 	}
 
 	/**
@@ -735,20 +820,39 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		if (p != null && !p.isEmpty())
 			fireDocumentPartitioningChanged(p);
 
+		boolean batched= false;
 		for (IDocumentListener listener : fPrenotifiedDocumentListeners) {
+			if (isBatchListener(listener)) {
+				batched= true;
+				continue;
+			}
+			long start= DocumentInstrumentation.start();
 			try {
 				listener.documentChanged(event);
 			} catch (Exception ex) {
 				log(ex);
 			}
+			DocumentInstrumentation.stop(Activity.LISTENER_CHANGED, listener, start);
 		}
 
 		for (IDocumentListener listener : fDocumentListeners) {
+			if (isBatchListener(listener)) {
+				batched= true;
+				continue;
+			}
+			long start= DocumentInstrumentation.start();
 			try {
 				listener.documentChanged(event);
 			} catch (Exception ex) {
 				log(ex);
 			}
+			DocumentInstrumentation.stop(Activity.LISTENER_CHANGED, listener, start);
+		}
+
+		if (batched) {
+			if (fDocumentBatchEvent == null)
+				fDocumentBatchEvent= new DocumentBatchEvent(this, fDocumentRewriteSession);
+			fDocumentBatchEvent.addEvent(event);
 		}
 
 		// IDocumentExtension
@@ -761,6 +865,47 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		}
 	}
 
+	/**
+	 * Tells whether the given listener is informed about the changes performed in the active
+	 * rewrite session by a single batch event.
+	 *
+	 * @param listener the document listener
+	 * @return <code>true</code> if the listener is not informed about individual changes
+	 * @since 3.13
+	 */
+	private boolean isBatchListener(IDocumentListener listener) {
+		return fDocumentRewriteSession != null && listener instanceof IDocumentListenerExtension;
+	}
+
+	/**
+	 * Informs all document listeners implementing {@link IDocumentListenerExtension} about the
+	 * changes performed in a rewrite session. Uses a robust iterator.
+	 *
+	 * @param event the batch event to be sent out
+	 * @since 3.13
+	 */
+	protected void fireDocumentBatchChanged(DocumentBatchEvent event) {
+		for (IDocumentListener listener : fPrenotifiedDocumentListeners) {
+			if (listener instanceof IDocumentListenerExtension) {
+				try {
+					((IDocumentListenerExtension) listener).documentBatchChanged(event);
+				} catch (Exception ex) {
+					log(ex);
+				}
+			}
+		}
+
+		for (IDocumentListener listener : fDocumentListeners) {
+			if (listener instanceof IDocumentListenerExtension) {
+				try {
+					((IDocumentListenerExtension) listener).documentBatchChanged(event);
+				} catch (Exception ex) {
+					log(ex);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Updates the internal document structures and informs all document listeners
 	 * if listener notification has been enabled. Otherwise it remembers the event
@@ -769,6 +914,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	 * @param event the document event to be sent out
 	 */
 	protected void fireDocumentChanged(DocumentEvent event) {
+		fSnapshot= null;
 		updateDocumentStructures(event);
 
 		if (fStoppedListenerNotification == 0)
@@ -991,11 +1137,101 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		if (c == null)
 			throw new BadPositionCategoryException();
 		removeFromPositionsList(c, position, true);
+	}
+
+	/**
+	 * Tells whether clients which would otherwise add and remove many positions one by one may
+	 * use {@link #replacePositions(String, Position[], Position[])} instead. That method does not
+	 * call {@link #addPosition(String, Position)} or {@link #removePosition(String, Position)}.
+	 * <p>
+	 * The default implementation returns <code>true</code> only for instances of {@link Document}
+	 * itself. Subclasses which do not rely on these methods being called for every position, or
+	 * which override <code>replacePositions</code> accordingly, may override and return
+	 * <code>true</code>.
+	 * </p>
+	 *
+	 * @return <code>true</code> if positions may be replaced in bulk
+	 * @since 3.13
+	 */
+	public boolean supportsBulkPositionUpdate() {
+		return getClass() == Document.class;
+	}
+
+	/**
+	 * Removes the given positions from the given category and then adds the given positions to
+	 * it. The outcome is the same as calling {@link #removePosition(String, Position)} for each
+	 * position to remove followed by {@link #addPosition(String, Position)} for each position to
+	 * add, but when many positions change the category is rebuilt in a single pass instead of
+	 * being updated position by position.
+	 * <p>
+	 * All positions to add are checked before the category is modified. If one of them is not a
+	 * valid document range, nothing is changed.
+	 * </p>
+	 *
+	 * @param category the position category
+	 * @param positionsToRemove the positions to remove, positions which are not in the category
+	 *            are ignored
+	 * @param positionsToAdd the positions to add
+	 * @throws BadLocationException if one of the positions to add is not a valid document range
+	 * @throws BadPositionCategoryException if the category is undefined in this document
+	 * @since 3.13
+	 */
+	public void replacePositions(String category, Position[] positionsToRemove, Position[] positionsToAdd) throws BadLocationException, BadPositionCategoryException {
+		if (category == null)
+			throw new BadPositionCategoryException();
 
-		List<Position> endPositions= fEndPositions.get(category);
-		if (endPositions == null)
+		List<Position> list= fPositions.get(category);
+		if (list == null)
 			throw new BadPositionCategoryException();
-		removeFromPositionsList(endPositions, position, false);
+
+		int length= getLength();
+		for (Position position : positionsToAdd) {
+			if ((0 > position.offset) || (0 > position.length) || (position.offset + position.length > length))
+				throw new BadLocationException();
+		}
+
+		int size= list.size();
+		if (!(list instanceof PositionTree) || (positionsToRemove.length + positionsToAdd.length) * 8 < size) {
+			for (Position position : positionsToRemove)
+				removeFromPositionsList(list, position, true);
+			for (Position position : positionsToAdd)
+				list.add(computeIndexInPositionList(list, position.offset), position);
+			return;
+		}
+
+		// each position to remove takes away one occurrence of it
+		Map<Position, int[]> removals= new IdentityHashMap<>(positionsToRemove.length);
+		for (Position position : positionsToRemove)
+			removals.computeIfAbsent(position, p -> new int[1])[0]++;
+
+		// sort by offset, a position added later becomes the first of all positions with the same offset
+		int addCount= positionsToAdd.length;
+		long[] keys= new long[addCount];
+		for (int i= 0; i < addCount; i++)
+			keys[i]= ((long) positionsToAdd[i].offset << 32) | (addCount - 1 - i);
+		Arrays.sort(keys);
+		Position[] added= new Position[addCount];
+		for (int i= 0; i < addCount; i++)
+			added[i]= positionsToAdd[addCount - 1 - (int) keys[i]];
+
+		Position[] existing= list.toArray(new Position[size]);
+		Position[] result= new Position[size + added.length];
+		int count= 0;
+		int next= 0;
+		for (Position position : existing) {
+			int[] removal= removals.get(position);
+			if (removal != null && removal[0] > 0) {
+				removal[0]--;
+				continue;
+			}
+			while (next < added.length && added[next].offset <= position.offset)
+				result[count++]= added[next++];
+			result[count++]= position;
+		}
+		while (next < added.length)
+			result[count++]= added[next++];
+
+		((PositionTree) list).setAll(result, count);
 	}
 
 	/**
@@ -1007,6 +1243,11 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	 * @since 3.4
 	 */
 	private void removeFromPositionsList(List<Position> positions, Position position, boolean orderedByOffset) {
+		if (orderedByOffset && positions instanceof PositionTree) {
+			((PositionTree) positions).removePosition(position);
+			return;
+		}
+
 		int size= positions.size();
 
 		//Assume position is somewhere near it was before
@@ -1055,7 +1296,6 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 			throw new BadPositionCategoryException();
 
 		fPositions.remove(category);
-		fEndPositions.remove(category);
 	}
 
 	@Override
@@ -1150,7 +1390,9 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	 */
 	protected void updatePositions(DocumentEvent event) {
 		for(IPositionUpdater u: fPositionUpdaters) {
+			long start= DocumentInstrumentation.start();
 			u.update(event);
+			DocumentInstrumentation.stop(Activity.POSITION_UPDATER, u, start);
 		}
 	}
 
@@ -1218,6 +1460,34 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Snapshots are only supported if the document's text store is a {@link RopeTextStore}.
+	 * Taking a snapshot then performs in constant time and shares the content with the text
+	 * store. For any other text store this method returns <code>null</code>. During a
+	 * {@link DocumentRewriteSessionType#APPEND} session, the text appended so far is first added
+	 * to the rope.
+	 * </p>
+	 *
+	 * @since 3.13
+	 */
+	@Override
+	public IDocumentSnapshot getSnapshot() {
+		IDocumentSnapshot snapshot= fSnapshot;
+		if (snapshot == null) {
+			ITextStore store= getStore();
+			// during an append rewrite session, the snapshot includes the text appended so far
+			if (store instanceof AppendRewriteTextStore)
+				store= ((AppendRewriteTextStore) store).getSourceStore();
+			if (!(store instanceof RopeTextStore))
+				return null;
+			snapshot= new DocumentSnapshot(((RopeTextStore) store).getRoot(), getModificationStamp(), getLegalLineDelimiters());
+			fSnapshot= snapshot;
+		}
+		return snapshot;
+	}
+
 	@Override
 	public void acceptPostNotificationReplaces() {
 		fAcceptPostNotificationReplaces= true;
@@ -1463,7 +1733,9 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 			extension.startRewriteSession(fDocumentRewriteSession);
 		}
 
-		if (DocumentRewriteSessionType.SEQUENTIAL == sessionType)
+		if (DocumentRewriteSessionType.APPEND == sessionType)
+			setTextStore(new AppendRewriteTextStore(getStore()));
+		else if (DocumentRewriteSessionType.SEQUENTIAL == sessionType)
 			startSequentialRewrite(false);
 		else if (DocumentRewriteSessionType.STRICTLY_SEQUENTIAL == sessionType)
 			startSequentialRewrite(true);
@@ -1498,7 +1770,10 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 				System.out.println("AbstractDocument: Stopping rewrite session: " + session); //$NON-NLS-1$
 
 			DocumentRewriteSessionType sessionType= session.getSessionType();
-			if (DocumentRewriteSessionType.SEQUENTIAL == sessionType || DocumentRewriteSessionType.STRICTLY_SEQUENTIAL == sessionType)
+			if (DocumentRewriteSessionType.APPEND == sessionType) {
+				if (fStore instanceof AppendRewriteTextStore)
+					setTextStore(((AppendRewriteTextStore) fStore).getSourceStore());
+			} else if (DocumentRewriteSessionType.SEQUENTIAL == sessionType || DocumentRewriteSessionType.STRICTLY_SEQUENTIAL == sessionType)
 				stopSequentialRewrite();
 
 			ILineTracker tracker= getTracker();
@@ -1510,6 +1785,12 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 			stopRewriteSessionOnPartitioners(fDocumentRewriteSession);
 
 			fDocumentRewriteSession= null;
+
+			DocumentBatchEvent batchEvent= fDocumentBatchEvent;
+			fDocumentBatchEvent= null;
+			if (batchEvent != null)
+				fireDocumentBatchChanged(batchEvent);
+
 			fireRewriteSessionChanged(new DocumentRewriteSessionEvent(this, session, DocumentRewriteSessionEvent.SESSION_STOP));
 		}
 	}
@@ -1591,44 +1872,32 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	 * @since 3.4
 	 */
 	public Position[] getPositions(String category, int offset, int length, boolean canStartBefore, boolean canEndAfter) throws BadPositionCategoryException {
-		if (canStartBefore && canEndAfter || (!canStartBefore && !canEndAfter)) {
-			List<Position> documentPositions;
-			if (canStartBefore && canEndAfter) {
-				if (offset < getLength() / 2) {
-					documentPositions= getStartingPositions(category, 0, offset + length);
-				} else {
-					documentPositions= getEndingPositions(category, offset, getLength() - offset + 1);
-				}
-			} else {
-				documentPositions= getStartingPositions(category, offset, length);
-			}
-
-			ArrayList<Position> list= new ArrayList<>(documentPositions.size());
-
-			Position region= new Position(offset, length);
-
-			for (Position position : documentPositions) {
-				if (isWithinRegion(region, position, canStartBefore, canEndAfter)) {
-					list.add(position);
-				}
-			}
-
-			Position[] positions= new Position[list.size()];
-			list.toArray(positions);
-			return positions;
-		} else if (canStartBefore) {
-			List<Position> list= getEndingPositions(category, offset, length);
-			Position[] positions= new Position[list.size()];
-			list.toArray(positions);
-			return positions;
-		} else {
-			Assert.isLegal(canEndAfter && !canStartBefore);
-
+		if (canEndAfter && !canStartBefore) {
 			List<Position> list= getStartingPositions(category, offset, length);
 			Position[] positions= new Position[list.size()];
 			list.toArray(positions);
 			return positions;
 		}
+
+		List<Position> documentPositions;
+		if (canStartBefore)
+			documentPositions= getOverlappingPositions(category, offset, length);
+		else
+			documentPositions= getStartingPositions(category, offset, length);
+
+		ArrayList<Position> list= new ArrayList<>(documentPositions.size());
+
+		Position region= new Position(offset, length);
+
+		for (Position position : documentPositions) {
+			if (isWithinRegion(region, position, canStartBefore, canEndAfter)) {
+				list.add(position);
+			}
+		}
+
+		Position[] positions= new Position[list.size()];
+		list.toArray(positions);
+		return positions;
 	}
 
 	/*
@@ -1638,7 +1907,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		if (canStartBefore && canEndAfter) {
 			return region.overlapsWith(position.getOffset(), position.getLength());
 		} else if (canStartBefore) {
-			return region.includes(position.getOffset() + position.getLength() - 1);
+			return region.includes(getOffset(false, position));
 		} else if (canEndAfter) {
 			return region.includes(position.getOffset());
 		} else {
@@ -1649,7 +1918,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 
 	/**
 	 * A list of positions in the given category with an offset inside the given
-	 * region. The order of the positions is arbitrary.
+	 * region, ordered by offset.
 	 *
 	 * @param category the position category
 	 * @param offset the offset of the region
@@ -1666,29 +1935,37 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		int indexStart= computeIndexInPositionList(positions, offset, true);
 		int indexEnd= computeIndexInPositionList(positions, offset + length, true);
 
+		if (positions instanceof PositionTree) {
+			List<Position> list= new ArrayList<>(indexEnd - indexStart);
+			((PositionTree) positions).collect(indexStart, indexEnd, list);
+			return list;
+		}
 		return positions.subList(indexStart, indexEnd);
 	}
 
 	/**
-	 * A list of positions in the given category with an end position inside
-	 * the given region. The order of the positions is arbitrary.
+	 * A list of positions in the given category which start at or before the end of the given
+	 * region and end at or after its start, ordered by offset. The list may contain further
+	 * positions which start before the end of the region.
 	 *
 	 * @param category the position category
 	 * @param offset the offset of the region
 	 * @param length the length of the region
-	 * @return a list of the positions in the region
+	 * @return a list containing the positions overlapping or touching the region
 	 * @throws BadPositionCategoryException if category is undefined in this document
-	 * @since 3.4
+	 * @since 3.13
 	 */
-	private List<Position> getEndingPositions(String category, int offset, int length) throws BadPositionCategoryException {
-		List<Position> positions= fEndPositions.get(category);
+	private List<Position> getOverlappingPositions(String category, int offset, int length) throws BadPositionCategoryException {
+		List<Position> positions= fPositions.get(category);
 		if (positions == null)
 			throw new BadPositionCategoryException();
 
-		int indexStart= computeIndexInPositionList(positions, offset, false);
-		int indexEnd= computeIndexInPositionList(positions, offset + length, false);
-
-		return positions.subList(indexStart, indexEnd);
+		if (positions instanceof PositionTree) {
+			List<Position> list= new ArrayList<>();
+			((PositionTree) positions).collectOverlapping(offset, offset + length, list);
+			return list;
+		}
+		return positions.subList(0, computeIndexInPositionList(positions, offset + length + 1, true));
 	}
 
 	/**
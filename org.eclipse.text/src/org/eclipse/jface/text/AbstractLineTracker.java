@@ -188,17 +188,7 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 	 *
 	 * @since 3.2
 	 */
-	private volatile ILineTracker fDelegate= new ListLineTracker() {
-		@Override
-		public String[] getLegalLineDelimiters() {
-			return AbstractLineTracker.this.getLegalLineDelimiters();
-		}
-
-		@Override
-		protected DelimiterInfo nextDelimiterInfo(String text, int offset) {
-			return AbstractLineTracker.this.nextDelimiterInfo(text, offset);
-		}
-	};
+	private volatile ILineTracker fDelegate= createListLineTracker();
 	/**
 	 * Whether the delegate needs conversion when the line structure is modified.
 	 */
@@ -275,6 +265,12 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 			return;
 		}
 
+		List<Line> lines= ParallelLineScanner.computeLines(text, this);
+		if (lines != null) {
+			setLines(lines, text.length());
+			return;
+		}
+
 		fDelegate.set(text);
 	}
 
@@ -290,6 +286,40 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 		fDelegate.replace(offset, length, text);
 	}
 
+	/**
+	 * Replaces the implementation by a {@link ListLineTracker} with the given lines.
+	 *
+	 * @param lines the lines of the text
+	 * @param textLength the length of the text
+	 * @since 3.13
+	 */
+	private synchronized void setLines(List<Line> lines, int textLength) {
+		ListLineTracker tracker= createListLineTracker();
+		tracker.set(lines, textLength);
+		fDelegate= tracker;
+		fNeedsConversion= true;
+	}
+
+	/**
+	 * Creates an empty list line tracker using the delimiters of this tracker.
+	 *
+	 * @return the new list line tracker
+	 * @since 3.13
+	 */
+	private ListLineTracker createListLineTracker() {
+		return new ListLineTracker() {
+			@Override
+			public String[] getLegalLineDelimiters() {
+				return AbstractLineTracker.this.getLegalLineDelimiters();
+			}
+
+			@Override
+			protected DelimiterInfo nextDelimiterInfo(String text, int offset) {
+				return AbstractLineTracker.this.nextDelimiterInfo(text, offset);
+			}
+		};
+	}
+
 	/**
 	 * Converts the implementation to be a {@link TreeLineTracker} if it isn't yet.
 	 *
@@ -322,6 +352,19 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 	 */
 	protected abstract DelimiterInfo nextDelimiterInfo(String text, int offset);
 
+	/**
+	 * Returns a new tracker whose {@link #nextDelimiterInfo(String, int)} finds the same
+	 * delimiters as this tracker's and can be called concurrently with it. Large texts passed to
+	 * {@link #set(String)} are scanned in parallel by such trackers.
+	 *
+	 * @return a tracker for scanning parts of a text, or <code>null</code> if texts must only be
+	 *         scanned by this tracker
+	 * @since 3.13
+	 */
+	AbstractLineTracker createScanner() {
+		return null;
+	}
+
 	@Override
 	public final void startRewriteSession(DocumentRewriteSession session) {
 		synchronized (sessionLock) {
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * A text store that optimizes a given source text store for appending text at its end. While
+ * rewritten, appended text is collected in fixed-size chunks and the source store is left
+ * untouched. The collected text is added to the source store with a single replace when the
+ * rewrite ends or when the text is changed anywhere else than at its end.
+ *
+ * @see DocumentRewriteSessionType#APPEND
+ * @since 3.13
+ */
+final class AppendRewriteTextStore implements ITextStore {
+
+	/** The number of characters per chunk */
+	private static final int CHUNK_SIZE= 16 * 1024;
+
+	/** The source text store */
+	private final ITextStore fSource;
+	/** The chunks of appended text, all but the last one are full */
+	private final List<char[]> fChunks= new ArrayList<>();
+	/** The number of appended characters */
+	private int fAppendedLength;
+
+
+	/**
+	 * Creates a new append rewrite store for the given source store.
+	 *
+	 * @param source the source text store
+	 */
+	AppendRewriteTextStore(ITextStore source) {
+		fSource= source;
+	}
+
+	/**
+	 * Adds all appended text to the source store and returns it.
+	 *
+	 * @return the source store of this rewrite store
+	 */
+	ITextStore getSourceStore() {
+		commit();
+		return fSource;
+	}
+
+	@Override
+	public void replace(int offset, int length, String text) {
+		if (text == null || text.isEmpty()) {
+			if (length == 0)
+				return;
+		} else if (length == 0 && offset == getLength()) {
+			append(text);
+			return;
+		}
+
+		commit();
+		fSource.replace(offset, length, text);
+	}
+
+	@Override
+	public void set(String text) {
+		fChunks.clear();
+		fAppendedLength= 0;
+		fSource.set(text);
+	}
+
+	@Override
+	public char get(int offset) {
+		int sourceLength= fSource.getLength();
+		if (offset < sourceLength)
+			return fSource.get(offset);
+
+		int index= offset - sourceLength;
+		return fChunks.get(index / CHUNK_SIZE)[index % CHUNK_SIZE];
+	}
+
+	@Override
+	public String get(int offset, int length) {
+		int sourceLength= fSource.getLength();
+		if (offset + length <= sourceLength)
+			return fSource.get(offset, length);
+
+		char[] result= new char[length];
+		int count= 0;
+		if (offset < sourceLength) {
+			String head= fSource.get(offset, sourceLength - offset);
+			head.getChars(0, head.length(), result, 0);
+			count= head.length();
+		}
+		int index= offset + count - sourceLength;
+		while (count < length) {
+			char[] chunk= fChunks.get(index / CHUNK_SIZE);
+			int start= index % CHUNK_SIZE;
+			int n= Math.min(CHUNK_SIZE - start, length - count);
+			System.arraycopy(chunk, start, result, count, n);
+			count += n;
+			index += n;
+		}
+		return new String(result);
+	}
+
+	@Override
+	public int getLength() {
+		return fSource.getLength() + fAppendedLength;
+	}
+
+	/**
+	 * Appends the given text to the collected text.
+	 *
+	 * @param text the text to append
+	 */
+	private void append(String text) {
+		int length= text.length();
+		int done= 0;
+		while (done < length) {
+			int start= fAppendedLength % CHUNK_SIZE;
+			if (start == 0)
+				fChunks.add(new char[CHUNK_SIZE]);
+			char[] chunk= fChunks.get(fChunks.size() - 1);
+			int n= Math.min(CHUNK_SIZE - start, length - done);
+			text.getChars(done, done + n, chunk, start);
+			done += n;
+			fAppendedLength += n;
+		}
+	}
+
+	/**
+	 * Adds the collected text to the source store.
+	 */
+	private void commit() {
+		if (fAppendedLength == 0)
+			return;
+
+		String text= get(fSource.getLength(), fAppendedLength);
+		fChunks.clear();
+		fAppendedLength= 0;
+		fSource.replace(fSource.getLength(), 0, text);
+	}
+}
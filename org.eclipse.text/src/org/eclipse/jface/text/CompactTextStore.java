@@ -0,0 +1,367 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.core.runtime.Assert;
+
+/**
+ * A gap managing text store that stores its content with one byte per character as long as all
+ * characters are in the Latin-1 range (U+0000 to U+00FF). This halves the memory needed for ASCII
+ * dominated text compared to {@link GapTextStore}.
+ * <p>
+ * Upon the first change introducing a character outside of the Latin-1 range the content is
+ * transparently inflated into a {@link GapTextStore}. Setting new content that is entirely
+ * Latin-1 again switches back to the compact representation.
+ * </p>
+ * <p>
+ * <strong>Performance:</strong> As long as the content is compact, the algorithmic behavior is
+ * the same as the one of {@link GapTextStore}. Inflating performs in <i>O(n)</i> and happens at
+ * most once per {@link #set(String)}.
+ * </p>
+ * <p>
+ * This class is not intended to be subclassed. It is not used by default, clients opt in by
+ * passing it to {@link Document#Document(ITextStore)} or {@link AbstractDocument#setTextStore(ITextStore)},
+ * typically wrapped in a {@link CopyOnWriteTextStore}.
+ * </p>
+ *
+ * @see GapTextStore
+ * @since 3.13
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public class CompactTextStore implements ITextStore {
+
+	/** The minimum gap size allocated when re-allocation occurs. */
+	private final int fMinGapSize;
+	/** The maximum gap size allocated when re-allocation occurs. */
+	private final int fMaxGapSize;
+	/** The maximum fraction of the array that is occupied by the gap, used when inflating. */
+	private final float fMaxGapFactor;
+	/**
+	 * The multiplier to compute the array size from the content length
+	 * (1&nbsp;&lt;=&nbsp;fSizeMultiplier&nbsp;&lt;=&nbsp;2).
+	 */
+	private final float fSizeMultiplier;
+
+	/** The store's compact content, unused once the content has been inflated. */
+	private byte[] fContent= new byte[0];
+	/** Starting index of the gap */
+	private int fGapStart= 0;
+	/** End index of the gap */
+	private int fGapEnd= 0;
+	/**
+	 * The current high water mark. If a change would cause the gap to grow larger than this, the
+	 * array is re-allocated.
+	 */
+	private int fThreshold= 0;
+
+	/** The store holding the inflated content or <code>null</code> if the content is compact. */
+	private GapTextStore fInflated;
+
+	/**
+	 * Equivalent to
+	 * {@linkplain CompactTextStore#CompactTextStore(int, int, float) new CompactTextStore(256, 4096, 0.1f)}.
+	 */
+	public CompactTextStore() {
+		this(256, 4096, 0.1f);
+	}
+
+	/**
+	 * Creates an empty text store that uses re-allocation thresholds relative to the content
+	 * length. The parameters have the same meaning as the ones of
+	 * {@link GapTextStore#GapTextStore(int, int, float)} and are also used for the
+	 * {@link GapTextStore} created when the content is inflated.
+	 *
+	 * @param minSize the minimum gap size to allocate (&gt;=&nbsp;0; use 0 for no minimum)
+	 * @param maxSize the maximum gap size to allocate (&gt;=&nbsp;minSize; use
+	 *        {@link Integer#MAX_VALUE} for no maximum)
+	 * @param maxGapFactor is the maximum fraction of the array that is occupied by the gap (<code>0&nbsp;&lt;=&nbsp;maxGapFactor&nbsp;&lt;=&nbsp;1</code>)
+	 */
+	public CompactTextStore(int minSize, int maxSize, float maxGapFactor) {
+		Assert.isLegal(0f <= maxGapFactor && maxGapFactor <= 1f);
+		Assert.isLegal(0 <= minSize && minSize <= maxSize);
+		fMinGapSize= minSize;
+		fMaxGapSize= maxSize;
+		fMaxGapFactor= maxGapFactor;
+		fSizeMultiplier= 1 / (1 - maxGapFactor / 2);
+	}
+
+	@Override
+	public final char get(int offset) {
+		if (fInflated != null)
+			return fInflated.get(offset);
+
+		if (offset < fGapStart)
+			return (char) (fContent[offset] & 0xff);
+
+		return (char) (fContent[offset + gapSize()] & 0xff);
+	}
+
+	@Override
+	public final String get(int offset, int length) {
+		if (fInflated != null)
+			return fInflated.get(offset, length);
+
+		if (fGapStart <= offset)
+			return new String(fContent, offset + gapSize(), length, StandardCharsets.ISO_8859_1);
+
+		final int end= offset + length;
+
+		if (end <= fGapStart)
+			return new String(fContent, offset, length, StandardCharsets.ISO_8859_1);
+
+		byte[] bytes= new byte[length];
+		System.arraycopy(fContent, offset, bytes, 0, fGapStart - offset);
+		System.arraycopy(fContent, fGapEnd, bytes, fGapStart - offset, end - fGapStart);
+		return new String(bytes, StandardCharsets.ISO_8859_1);
+	}
+
+	@Override
+	public final int getLength() {
+		if (fInflated != null)
+			return fInflated.getLength();
+
+		return fContent.length - gapSize();
+	}
+
+	@Override
+	public final void set(String text) {
+		if (fInflated != null && (text == null || isLatin1(text))) {
+			// back to the compact representation
+			fInflated= null;
+			clear();
+		}
+		replace(0, getLength(), text);
+	}
+
+	@Override
+	public final void replace(int offset, int length, String text) {
+		if (fInflated == null && text != null && !isLatin1(text)) {
+			inflate(offset, length, text);
+			return;
+		}
+
+		if (fInflated != null) {
+			fInflated.replace(offset, length, text);
+			return;
+		}
+
+		if (text == null) {
+			adjustGap(offset, length, 0);
+		} else {
+			int textLength= text.length();
+			adjustGap(offset, length, textLength);
+			for (int i= 0; i < textLength; i++)
+				fContent[offset + i]= (byte) text.charAt(i);
+		}
+	}
+
+	/**
+	 * Tells whether the content is currently stored with one byte per character.
+	 *
+	 * @return <code>true</code> if the content is stored compact, <code>false</code> if it has
+	 *         been inflated
+	 */
+	public boolean isCompact() {
+		return fInflated == null;
+	}
+
+	/**
+	 * Tells whether all characters of the given text are in the Latin-1 range.
+	 *
+	 * @param text the text to check
+	 * @return <code>true</code> if the text can be stored compact
+	 */
+	private static boolean isLatin1(String text) {
+		for (int i= 0, length= text.length(); i < length; i++) {
+			if (text.charAt(i) > 0xff)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Moves the compact content into a {@link GapTextStore} and applies the given replacement
+	 * there.
+	 *
+	 * @param offset the offset of the range to replace
+	 * @param length the length of the range to replace
+	 * @param text the text replacing the range
+	 */
+	private void inflate(int offset, int length, String text) {
+		GapTextStore inflated= new GapTextStore(fMinGapSize, fMaxGapSize, fMaxGapFactor);
+		inflated.set(get(0, getLength()));
+		clear();
+		inflated.replace(offset, length, text);
+		fInflated= inflated;
+	}
+
+	/**
+	 * Discards the compact content and the gap and starts over with an empty array.
+	 */
+	private void clear() {
+		fContent= new byte[0];
+		fGapStart= 0;
+		fGapEnd= 0;
+		fThreshold= 0;
+	}
+
+	/**
+	 * Moves the gap to <code>offset + add</code>, moving any content after
+	 * <code>offset + remove</code> behind the gap. The gap size is kept between 0 and
+	 * {@link #fThreshold}, leading to re-allocation if needed. The content between
+	 * <code>offset</code> and <code>offset + add</code> is undefined after this operation.
+	 *
+	 * @param offset the offset at which a change happens
+	 * @param remove the number of character which are removed or overwritten at <code>offset</code>
+	 * @param add the number of character which are inserted or overwriting at <code>offset</code>
+	 * @see GapTextStore
+	 */
+	private void adjustGap(int offset, int remove, int add) {
+		final int oldGapSize= gapSize();
+		final int newGapSize= oldGapSize - add + remove;
+		final boolean reuseArray= 0 <= newGapSize && newGapSize <= fThreshold;
+
+		final int newGapStart= offset + add;
+		final int newGapEnd;
+
+		if (reuseArray)
+			newGapEnd= moveGap(offset, remove, oldGapSize, newGapSize, newGapStart);
+		else
+			newGapEnd= reallocate(offset, remove, oldGapSize, newGapSize, newGapStart);
+
+		fGapStart= newGapStart;
+		fGapEnd= newGapEnd;
+	}
+
+	/**
+	 * Moves the gap to <code>newGapStart</code>.
+	 *
+	 * @param offset the change offset
+	 * @param remove the number of removed / overwritten characters
+	 * @param oldGapSize the old gap size
+	 * @param newGapSize the gap size after the change
+	 * @param newGapStart the offset in the array to move the gap to
+	 * @return the new gap end
+	 */
+	private int moveGap(int offset, int remove, int oldGapSize, int newGapSize, int newGapStart) {
+		final int newGapEnd= newGapStart + newGapSize;
+		if (offset < fGapStart) {
+			int afterRemove= offset + remove;
+			if (afterRemove < fGapStart) {
+				final int betweenSize= fGapStart - afterRemove;
+				arrayCopy(afterRemove, fContent, newGapEnd, betweenSize);
+			}
+			// otherwise, only the gap gets enlarged
+		} else {
+			final int offsetShifted= offset + oldGapSize;
+			final int betweenSize= offsetShifted - fGapEnd; // in the typing case, betweenSize is 0
+			arrayCopy(fGapEnd, fContent, fGapStart, betweenSize);
+		}
+		return newGapEnd;
+	}
+
+	/**
+	 * Reallocates a new array and copies the data from the previous one.
+	 *
+	 * @param offset the change offset
+	 * @param remove the number of removed / overwritten characters
+	 * @param oldGapSize the old gap size
+	 * @param newGapSize the gap size after the change if no re-allocation would occur (can be negative)
+	 * @param newGapStart the offset in the array to move the gap to
+	 * @return the new gap end
+	 */
+	private int reallocate(int offset, int remove, final int oldGapSize, int newGapSize, final int newGapStart) {
+		// the new content length (without any gap)
+		final int newLength= fContent.length - newGapSize;
+		// the new array size based on the gap factor
+		int newArraySize= (int) (newLength * fSizeMultiplier);
+		newGapSize= newArraySize - newLength;
+
+		// bound the gap size within min/max
+		if (newGapSize < fMinGapSize) {
+			newGapSize= fMinGapSize;
+			newArraySize= newLength + newGapSize;
+		} else if (newGapSize > fMaxGapSize) {
+			newGapSize= fMaxGapSize;
+			newArraySize= newLength + newGapSize;
+		}
+
+		// the upper threshold is always twice the gapsize
+		fThreshold= newGapSize * 2;
+		final byte[] newContent= new byte[newArraySize];
+		final int newGapEnd= newGapStart + newGapSize;
+
+		/*
+		 * Re-allocation: The old content can be copied in at most 3 operations to the newly allocated
+		 * array. Either one of change offset and the gap may come first.
+		 * - unchanged area before the change offset / gap
+		 * - area between the change offset and the gap (either one may be first)
+		 * - rest area after the change offset / after the gap
+		 */
+		if (offset < fGapStart) {
+			// change comes before gap
+			arrayCopy(0, newContent, 0, offset);
+			int afterRemove= offset + remove;
+			if (afterRemove < fGapStart) {
+				// removal is completely before the gap
+				final int betweenSize= fGapStart - afterRemove;
+				arrayCopy(afterRemove, newContent, newGapEnd, betweenSize);
+				final int restSize= fContent.length - fGapEnd;
+				arrayCopy(fGapEnd, newContent, newGapEnd + betweenSize, restSize);
+			} else {
+				// removal encompasses the gap
+				afterRemove += oldGapSize;
+				final int restSize= fContent.length - afterRemove;
+				arrayCopy(afterRemove, newContent, newGapEnd, restSize);
+			}
+		} else {
+			// gap comes before change
+			arrayCopy(0, newContent, 0, fGapStart);
+			final int offsetShifted= offset + oldGapSize;
+			final int betweenSize= offsetShifted - fGapEnd;
+			arrayCopy(fGapEnd, newContent, fGapStart, betweenSize);
+			final int afterRemove= offsetShifted + remove;
+			final int restSize= fContent.length - afterRemove;
+			arrayCopy(afterRemove, newContent, newGapEnd, restSize);
+		}
+
+		fContent= newContent;
+		return newGapEnd;
+	}
+
+	/**
+	 * Executes System.arraycopy if length != 0. A length < 0 cannot happen -> don't hide coding
+	 * errors by checking for negative lengths.
+	 *
+	 * @param srcPos the position in the compact content
+	 * @param dest the destination array
+	 * @param destPos the position in the destination array
+	 * @param length the number of bytes to copy
+	 */
+	private void arrayCopy(int srcPos, byte[] dest, int destPos, int length) {
+		if (length != 0)
+			System.arraycopy(fContent, srcPos, dest, destPos, length);
+	}
+
+	/**
+	 * Returns the gap size.
+	 *
+	 * @return the gap size
+	 */
+	private int gapSize() {
+		return fGapEnd - fGapStart;
+	}
+}
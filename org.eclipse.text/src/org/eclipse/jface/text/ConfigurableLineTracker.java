@@ -53,6 +53,17 @@ public class ConfigurableLineTracker extends AbstractLineTracker {
 		fMatcher= legalLineDelimiters.length > 1 ? MultiStringMatcher.create(legalLineDelimiters) : null;
 	}
 
+	/**
+	 * Creates a line tracker sharing the delimiters and the matcher of the given tracker.
+	 *
+	 * @param tracker the tracker to copy
+	 * @since 3.13
+	 */
+	private ConfigurableLineTracker(ConfigurableLineTracker tracker) {
+		fDelimiters= tracker.fDelimiters;
+		fMatcher= tracker.fMatcher;
+	}
+
 	@Override
 	public String[] getLegalLineDelimiters() {
 		return TextUtilities.copy(fDelimiters);
@@ -78,4 +89,9 @@ public class ConfigurableLineTracker extends AbstractLineTracker {
 		fDelimiterInfo.delimiterLength= fDelimiterInfo.delimiter.length();
 		return fDelimiterInfo;
 	}
+
+	@Override
+	AbstractLineTracker createScanner() {
+		return new ConfigurableLineTracker(this);
+	}
 }
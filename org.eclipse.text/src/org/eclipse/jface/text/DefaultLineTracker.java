@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jface.text;
 
+import java.lang.ref.WeakReference;
 
 /**
  * Standard implementation of {@link org.eclipse.jface.text.ILineTracker}.
@@ -30,6 +31,29 @@ public class DefaultLineTracker extends AbstractLineTracker {
 	public final static String[] DELIMITERS= { "\r", "\n", "\r\n" }; //$NON-NLS-3$ //$NON-NLS-1$ //$NON-NLS-2$
 	/** A predefined delimiter information which is always reused as return value */
 	private DelimiterInfo fDelimiterInfo= new DelimiterInfo();
+	/**
+	 * The text of the last scan. It is only weakly referenced, since callers may stop scanning
+	 * before the end of the text is reached.
+	 * @since 3.13
+	 */
+	private WeakReference<String> fScannedText= new WeakReference<>(null);
+	/**
+	 * The offset of the last scan.
+	 * @since 3.13
+	 */
+	private int fScannedOffset;
+	/**
+	 * The index of the first '\r' at or after the last scan offset, <code>-1</code> if there is
+	 * none, <code>-2</code> if unknown.
+	 * @since 3.13
+	 */
+	private int fNextCR;
+	/**
+	 * The index of the first '\n' at or after the last scan offset, <code>-1</code> if there is
+	 * none, <code>-2</code> if unknown.
+	 * @since 3.13
+	 */
+	private int fNextLF;
 
 
 	/**
@@ -46,36 +70,43 @@ public class DefaultLineTracker extends AbstractLineTracker {
 	@Override
 	protected DelimiterInfo nextDelimiterInfo(String text, int offset) {
 
-		char ch;
-		int length= text.length();
-		for (int i= offset; i < length; i++) {
-
-			ch= text.charAt(i);
-			if (ch == '\r') {
+		if (text != fScannedText.get() || offset < fScannedOffset) {
+			fScannedText= new WeakReference<>(text);
+			fNextCR= -2;
+			fNextLF= -2;
+		}
+		fScannedOffset= offset;
 
-				if (i + 1 < length) {
-					if (text.charAt(i + 1) == '\n') {
-						fDelimiterInfo.delimiter= DELIMITERS[2];
-						fDelimiterInfo.delimiterIndex= i;
-						fDelimiterInfo.delimiterLength= 2;
-						return fDelimiterInfo;
-					}
-				}
+		// String.indexOf(int, int) is an intrinsic which scans wide blocks of characters at once
+		if (fNextCR != -1 && fNextCR < offset)
+			fNextCR= text.indexOf('\r', offset);
+		if (fNextLF != -1 && fNextLF < offset)
+			fNextLF= text.indexOf('\n', offset);
 
+		if (fNextCR != -1 && (fNextLF == -1 || fNextCR < fNextLF)) {
+			fDelimiterInfo.delimiterIndex= fNextCR;
+			if (fNextLF == fNextCR + 1) {
+				fDelimiterInfo.delimiter= DELIMITERS[2];
+				fDelimiterInfo.delimiterLength= 2;
+			} else {
 				fDelimiterInfo.delimiter= DELIMITERS[0];
-				fDelimiterInfo.delimiterIndex= i;
 				fDelimiterInfo.delimiterLength= 1;
-				return fDelimiterInfo;
-
-			} else if (ch == '\n') {
-
-				fDelimiterInfo.delimiter= DELIMITERS[1];
-				fDelimiterInfo.delimiterIndex= i;
-				fDelimiterInfo.delimiterLength= 1;
-				return fDelimiterInfo;
 			}
+			return fDelimiterInfo;
+		}
+
+		if (fNextLF != -1) {
+			fDelimiterInfo.delimiter= DELIMITERS[1];
+			fDelimiterInfo.delimiterIndex= fNextLF;
+			fDelimiterInfo.delimiterLength= 1;
+			return fDelimiterInfo;
 		}
 
 		return null;
 	}
+
+	@Override
+	AbstractLineTracker createScanner() {
+		return new DefaultLineTracker();
+	}
 }
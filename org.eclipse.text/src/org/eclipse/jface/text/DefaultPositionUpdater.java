@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.jface.text;
 
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Default implementation of {@link org.eclipse.jface.text.IPositionUpdater}.
@@ -41,6 +43,13 @@ package org.eclipse.jface.text;
  * This class can be used as is or be adapted by subclasses. Fields are protected to allow
  * subclasses direct access. Because of the frequency with which position updaters are used this is
  * a performance decision.
+ * <p>
+ * With these rules, a change only affects the positions overlapping or touching the replaced text,
+ * while the positions starting at or behind its end are shifted by the length delta. On an
+ * {@link AbstractDocument} whose positions are ordered by offset, this implementation therefore
+ * skips the positions before the change and shifts the positions behind it without investigating
+ * them, see {@link #updatesOnlyAffectedPositions()}.
+ * </p>
  */
 public class DefaultPositionUpdater implements IPositionUpdater {
 
@@ -80,6 +89,25 @@ public class DefaultPositionUpdater implements IPositionUpdater {
 		return fCategory;
 	}
 
+	/**
+	 * Tells whether this updater follows the rules of this class, so that a change only affects
+	 * the positions overlapping or touching the replaced text, and shifts the positions starting at
+	 * or behind its end by the length delta. If so, positions before the change are not
+	 * investigated, and positions behind it are shifted without calling
+	 * {@link #notDeleted()} and {@link #adaptToReplace()} for them.
+	 * <p>
+	 * Returns <code>true</code> for this class and <code>false</code> for subclasses, which may
+	 * adapt positions in other ways. Subclasses which keep these rules, and whose
+	 * {@link #notDeleted()} removes the positions it reports as deleted, may override this method.
+	 * </p>
+	 *
+	 * @return <code>true</code> if only the positions affected by a change have to be investigated
+	 * @since 3.13
+	 */
+	protected boolean updatesOnlyAffectedPositions() {
+		return getClass() == DefaultPositionUpdater.class;
+	}
+
 	/**
 	 * Returns whether the current event describes a well formed replace
 	 * by which the current position is directly affected.
@@ -212,6 +240,15 @@ public class DefaultPositionUpdater implements IPositionUpdater {
 			fReplaceLength= (event.getText() == null ? 0 : event.getText().length());
 			fDocument= event.getDocument();
 
+			PositionTree positions= null;
+			if (fDocument instanceof AbstractDocument && updatesOnlyAffectedPositions())
+				positions= ((AbstractDocument) fDocument).getPositionTree(fCategory);
+
+			if (positions != null && positions.isOrdered()) {
+				update(positions);
+				return;
+			}
+
 			Position[] category= fDocument.getPositions(fCategory);
 			for (Position element : category) {
 
@@ -223,10 +260,61 @@ public class DefaultPositionUpdater implements IPositionUpdater {
 					adaptToReplace();
 			}
 
+			// the positions may be ordered again
+			if (positions != null)
+				positions.invalidate();
+
 		} catch (BadPositionCategoryException x) {
 			// do nothing
 		} finally {
 			fDocument= null;
 		}
 	}
+
+	/**
+	 * Updates the positions of the given tree, which are ordered by offset. Only positions starting
+	 * before the end of the change and overlapping or touching it are investigated. All positions
+	 * starting at or behind the end of the change are shifted.
+	 *
+	 * @param positions the positions of the category
+	 */
+	private void update(PositionTree positions) {
+		int end= fOffset + fLength;
+		int startIndex= positions.computeIndex(fOffset);
+		int endIndex= positions.computeIndex(end);
+
+		List<Position> affected= new ArrayList<>();
+		positions.collectOverlapping(fOffset, end, affected);
+
+		// remove deleted positions while the order is intact
+		List<Position> remaining= new ArrayList<>(affected.size());
+		int deleted= 0;
+		for (Position position : affected) {
+			if (position.offset >= end)
+				break;
+
+			fPosition= position;
+			fOriginalPosition.offset= fPosition.offset;
+			fOriginalPosition.length= fPosition.length;
+
+			if (notDeleted())
+				remaining.add(position);
+			else
+				deleted++;
+		}
+
+		int nextIndex= endIndex - deleted;
+		positions.shift(nextIndex, fReplaceLength - fLength);
+
+		for (Position position : remaining) {
+			fPosition= position;
+			fOriginalPosition.offset= fPosition.offset;
+			fOriginalPosition.length= fPosition.length;
+			adaptToReplace();
+		}
+
+		// a replace at the offset of a position may break the order of the positions starting there
+		if (!positions.isOrdered(startIndex - 1, nextIndex + 1))
+			positions.invalidate();
+	}
 }
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jface.text;
 
+import org.eclipse.core.runtime.Assert;
 
 /**
  * Default document implementation. Uses a {@link org.eclipse.jface.text.GapTextStore} wrapped
@@ -37,11 +38,15 @@ package org.eclipse.jface.text;
  * </p>
  * <p>
  * See {@link GapTextStore} and <code>TreeLineTracker</code> for algorithmic behavior of the used
- * document structures.
+ * document structures. Documents which are expected to be very large and edited at arbitrary
+ * locations can be created with a {@link RopeTextStore} using {@link #Document(ITextStore)}, large
+ * documents with mostly Latin-1 content with a {@link CompactTextStore}.
  * </p>
  *
  * @see org.eclipse.jface.text.GapTextStore
  * @see org.eclipse.jface.text.CopyOnWriteTextStore
+ * @see org.eclipse.jface.text.RopeTextStore
+ * @see org.eclipse.jface.text.CompactTextStore
  */
 public class Document extends AbstractDocument {
 	/**
@@ -68,6 +73,20 @@ public class Document extends AbstractDocument {
 		completeInitialization();
 	}
 
+	/**
+	 * Creates a new empty document which uses the given text store instead of the default one.
+	 *
+	 * @param textStore the text store for the document's content, must be empty
+	 * @since 3.13
+	 */
+	public Document(ITextStore textStore) {
+		super();
+		Assert.isLegal(textStore.getLength() == 0);
+		setTextStore(textStore);
+		setLineTracker(new DefaultLineTracker());
+		completeInitialization();
+	}
+
 	@Override
 	public boolean isLineInformationRepairNeeded(int offset, int length, String text) throws BadLocationException {
 		if ((0 > offset) || (0 > length) || (offset + length > getLength()))
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.runtime.Assert;
+
+
+/**
+ * Describes the changes performed on a document during a rewrite session. The event holds the
+ * individual document events in the order in which they were performed, together with the region
+ * of the document that covers all of them.
+ *
+ * @see IDocumentListenerExtension
+ * @since 3.13
+ */
+public class DocumentBatchEvent {
+
+	/** The changed document */
+	private final IDocument fDocument;
+	/** The session in which the changes were performed */
+	private final DocumentRewriteSession fSession;
+	/** The document events in order */
+	private final List<DocumentEvent> fEvents= new ArrayList<>();
+	/** The offset of the affected region, <code>-1</code> if there are no events */
+	private int fOffset= -1;
+	/** The end of the affected region */
+	private int fEnd;
+
+	/**
+	 * Creates a new, empty batch event.
+	 *
+	 * @param document the changed document
+	 * @param session the session in which the changes were performed
+	 */
+	public DocumentBatchEvent(IDocument document, DocumentRewriteSession session) {
+		Assert.isNotNull(document);
+		Assert.isNotNull(session);
+		fDocument= document;
+		fSession= session;
+	}
+
+	/**
+	 * Adds the given document event, which must describe a change performed after the changes
+	 * already described by this batch event.
+	 *
+	 * @param event the document event
+	 */
+	public void addEvent(DocumentEvent event) {
+		fEvents.add(event);
+
+		int offset= event.getOffset();
+		int end= offset + event.getLength();
+		int textLength= event.getText() == null ? 0 : event.getText().length();
+		if (fOffset == -1) {
+			fOffset= offset;
+			fEnd= offset + textLength;
+		} else {
+			fOffset= Math.min(fOffset, offset);
+			if (fEnd >= end)
+				fEnd += textLength - event.getLength();
+			else if (fEnd > offset)
+				fEnd= offset + textLength;
+			fEnd= Math.max(fEnd, offset + textLength);
+		}
+	}
+
+	/**
+	 * Returns the changed document.
+	 *
+	 * @return the changed document
+	 */
+	public IDocument getDocument() {
+		return fDocument;
+	}
+
+	/**
+	 * Returns the rewrite session in which the changes were performed.
+	 *
+	 * @return the rewrite session
+	 */
+	public DocumentRewriteSession getSession() {
+		return fSession;
+	}
+
+	/**
+	 * Returns the document events in the order in which the changes were performed. The offsets of
+	 * each event refer to the document as it was before that change.
+	 *
+	 * @return an unmodifiable list of document events
+	 */
+	public List<DocumentEvent> getEvents() {
+		return Collections.unmodifiableList(fEvents);
+	}
+
+	/**
+	 * Returns the region of the document, after all changes, which covers all changed text. Text
+	 * outside of this region has not been modified by the described changes, but may have been
+	 * shifted.
+	 *
+	 * @return the affected region, <code>null</code> if this event describes no change
+	 */
+	public IRegion getAffectedRegion() {
+		if (fOffset == -1)
+			return null;
+		return new Region(fOffset, fEnd - fOffset);
+	}
+}
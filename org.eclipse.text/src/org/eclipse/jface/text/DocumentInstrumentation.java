@@ -0,0 +1,296 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Measures how long the participants of a document change take to process it. The participants
+ * are the document listeners, document partitioners and position updaters of all
+ * {@link AbstractDocument}s. This helps to find out which of them slows down typing.
+ * <p>
+ * The instrumentation is disabled by default, in which case it costs one field read per call of
+ * a participant. It is enabled with {@link #setEnabled(boolean)} or by starting with the system property
+ * <code>org.eclipse.text/instrumentation/AbstractDocument=true</code>. While enabled, the time of
+ * each call of a participant is added to a histogram kept per participant class and
+ * {@link Activity}. The histograms are updated without locking. If Java Flight Recorder is
+ * available, a <code>org.eclipse.text.DocumentParticipant</code> event is emitted for each call
+ * as well.
+ * </p>
+ * <p>
+ * This class is not intended to be instantiated or subclassed by clients.
+ * </p>
+ *
+ * @since 3.13
+ */
+public final class DocumentInstrumentation {
+
+	/**
+	 * The activities of the participants of a document change.
+	 */
+	public enum Activity {
+		/** A document listener is informed about a forthcoming change. */
+		LISTENER_ABOUT_TO_BE_CHANGED,
+		/** A document listener is informed about a performed change. */
+		LISTENER_CHANGED,
+		/** A document partitioner is informed about a forthcoming change. */
+		PARTITIONER_ABOUT_TO_BE_CHANGED,
+		/** A document partitioner updates the partitioning to a performed change. */
+		PARTITIONER_CHANGED,
+		/** A position updater updates the positions to a performed change. */
+		POSITION_UPDATER
+	}
+
+	/**
+	 * The statistics of one activity of one participant class.
+	 */
+	public static final class Statistics {
+
+		/** The number of buckets, bucket <code>i</code> holds times in <code>[2^(i-1), 2^i)</code> ns */
+		private static final int BUCKETS= 64;
+
+		private final Class<?> fParticipantClass;
+		private final Activity fActivity;
+		private final AtomicLongArray fBuckets= new AtomicLongArray(BUCKETS);
+		private final LongAdder fCount= new LongAdder();
+		private final LongAdder fTotalTime= new LongAdder();
+		private final AtomicLong fMaxTime= new AtomicLong();
+
+		private Statistics(Class<?> participantClass, Activity activity) {
+			fParticipantClass= participantClass;
+			fActivity= activity;
+		}
+
+		private void add(long time) {
+			fBuckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(time));
+			fCount.increment();
+			fTotalTime.add(time);
+			if (time > fMaxTime.get())
+				fMaxTime.accumulateAndGet(time, Math::max);
+		}
+
+		/**
+		 * Returns the class of the measured participants.
+		 *
+		 * @return the participant class
+		 */
+		public Class<?> getParticipantClass() {
+			return fParticipantClass;
+		}
+
+		/**
+		 * Returns the measured activity.
+		 *
+		 * @return the activity
+		 */
+		public Activity getActivity() {
+			return fActivity;
+		}
+
+		/**
+		 * Returns the number of measured calls.
+		 *
+		 * @return the number of calls
+		 */
+		public long getCount() {
+			return fCount.sum();
+		}
+
+		/**
+		 * Returns the sum of the times of all measured calls.
+		 *
+		 * @return the total time in nanoseconds
+		 */
+		public long getTotalTime() {
+			return fTotalTime.sum();
+		}
+
+		/**
+		 * Returns the time of the slowest measured call.
+		 *
+		 * @return the maximal time in nanoseconds
+		 */
+		public long getMaxTime() {
+			return fMaxTime.get();
+		}
+
+		/**
+		 * Returns an upper bound for the time within which the given share of all measured calls
+		 * completed. The bound is at most twice the exact value.
+		 *
+		 * @param percentile the share of calls, between <code>0</code> and <code>100</code>
+		 * @return the time in nanoseconds, <code>0</code> if no call has been measured
+		 */
+		public long getPercentile(double percentile) {
+			long[] histogram= getHistogram();
+			long count= 0;
+			for (long bucket : histogram)
+				count+= bucket;
+			if (count == 0)
+				return 0;
+
+			long threshold= (long) Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100);
+			long seen= 0;
+			for (int i= 0; i < BUCKETS; i++) {
+				seen+= histogram[i];
+				if (seen >= threshold && seen > 0)
+					return Math.min(i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1, getMaxTime());
+			}
+			return getMaxTime();
+		}
+
+		/**
+		 * Returns the histogram of the measured times. Element <code>i</code> of the returned
+		 * array holds the number of calls that took at least <code>2^(i-1)</code> and less than
+		 * <code>2^i</code> nanoseconds.
+		 *
+		 * @return a copy of the histogram
+		 */
+		public long[] getHistogram() {
+			long[] histogram= new long[BUCKETS];
+			for (int i= 0; i < BUCKETS; i++)
+				histogram[i]= fBuckets.get(i);
+			return histogram;
+		}
+
+		@Override
+		public String toString() {
+			return fParticipantClass.getName() + " " + fActivity + ": count= " + getCount() + ", total= " + getTotalTime() + " ns, max= " + getMaxTime() + " ns"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+		}
+	}
+
+	/**
+	 * The key of the statistics map.
+	 */
+	private static final class Key {
+		final Class<?> fParticipantClass;
+		final Activity fActivity;
+
+		Key(Class<?> participantClass, Activity activity) {
+			fParticipantClass= participantClass;
+			fActivity= activity;
+		}
+
+		@Override
+		public int hashCode() {
+			return fParticipantClass.hashCode() * 31 + fActivity.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other= (Key) obj;
+			return fParticipantClass == other.fParticipantClass && fActivity == other.fActivity;
+		}
+	}
+
+	/** Tells whether the instrumentation is enabled */
+	private static volatile boolean fgEnabled= Boolean.getBoolean("org.eclipse.text/instrumentation/AbstractDocument"); //$NON-NLS-1$
+	/** The statistics per participant class and activity */
+	private static final ConcurrentHashMap<Key, Statistics> fgStatistics= new ConcurrentHashMap<>();
+	/** Tells whether Java Flight Recorder events can be emitted */
+	private static final boolean JFR_AVAILABLE= isFlightRecorderAvailable();
+
+
+	private DocumentInstrumentation() {
+		// not instantiable
+	}
+
+	/**
+	 * Enables or disables the instrumentation. Disabling it keeps the statistics collected so
+	 * far.
+	 *
+	 * @param enabled <code>true</code> to measure the participants of document changes
+	 */
+	public static void setEnabled(boolean enabled) {
+		fgEnabled= enabled;
+	}
+
+	/**
+	 * Tells whether the instrumentation is enabled.
+	 *
+	 * @return <code>true</code> if the participants of document changes are measured
+	 */
+	public static boolean isEnabled() {
+		return fgEnabled;
+	}
+
+	/**
+	 * Returns the statistics collected so far, slowest participants by total time first.
+	 *
+	 * @return the statistics
+	 */
+	public static List<Statistics> getStatistics() {
+		List<Statistics> statistics= new ArrayList<>(fgStatistics.values());
+		statistics.sort((s1, s2) -> Long.compare(s2.getTotalTime(), s1.getTotalTime()));
+		return statistics;
+	}
+
+	/**
+	 * Discards all statistics collected so far.
+	 */
+	public static void reset() {
+		fgStatistics.clear();
+	}
+
+	/**
+	 * Returns the start time for a measurement.
+	 *
+	 * @return the current time or <code>0</code> if the instrumentation is disabled
+	 */
+	static long start() {
+		return fgEnabled ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Records the time a participant took since the given start time.
+	 *
+	 * @param activity the activity of the participant
+	 * @param participant the participant
+	 * @param startTime the time returned by {@link #start()}, <code>0</code> if nothing is to be
+	 *            recorded
+	 */
+	static void stop(Activity activity, Object participant, long startTime) {
+		if (startTime == 0)
+			return;
+
+		long time= Math.max(0, System.nanoTime() - startTime);
+		Class<?> participantClass= participant.getClass();
+		Key key= new Key(participantClass, activity);
+		Statistics statistics= fgStatistics.get(key);
+		if (statistics == null)
+			statistics= fgStatistics.computeIfAbsent(key, k -> new Statistics(k.fParticipantClass, k.fActivity));
+		statistics.add(time);
+
+		if (JFR_AVAILABLE)
+			DocumentParticipantEvent.emit(participantClass, activity, time);
+	}
+
+	private static boolean isFlightRecorderAvailable() {
+		try {
+			// fails if the jdk.jfr module is not available
+			Class.forName(DocumentParticipantEvent.class.getName(), true, DocumentInstrumentation.class.getClassLoader());
+			return true;
+		} catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+
+/**
+ * Java Flight Recorder event describing how long a participant of a document change took to
+ * process it. Only used if the <code>jdk.jfr</code> module is available.
+ *
+ * @see DocumentInstrumentation
+ * @since 3.13
+ */
+@Name("org.eclipse.text.DocumentParticipant") //$NON-NLS-1$
+@Label("Document Change Participant") //$NON-NLS-1$
+@Category({ "Eclipse", "Text" }) //$NON-NLS-1$ //$NON-NLS-2$
+@Description("A document listener, partitioner or position updater processed a document change") //$NON-NLS-1$
+@StackTrace(false)
+final class DocumentParticipantEvent extends Event {
+
+	@Label("Participant Class") //$NON-NLS-1$
+	Class<?> participantClass;
+
+	@Label("Activity") //$NON-NLS-1$
+	String activity;
+
+	@Label("Time") //$NON-NLS-1$
+	@Timespan(Timespan.NANOSECONDS)
+	long time;
+
+	/**
+	 * Emits an event if the event is enabled in a running recording.
+	 *
+	 * @param participantClass the class of the participant
+	 * @param activity the activity of the participant
+	 * @param time the time the participant took in nanoseconds
+	 */
+	static void emit(Class<?> participantClass, DocumentInstrumentation.Activity activity, long time) {
+		DocumentParticipantEvent event= new DocumentParticipantEvent();
+		if (event.isEnabled()) {
+			event.participantClass= participantClass;
+			event.activity= activity.name();
+			event.time= time;
+			event.commit();
+		}
+	}
+}
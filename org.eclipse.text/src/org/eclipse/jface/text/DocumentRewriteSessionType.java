@@ -24,6 +24,7 @@ package org.eclipse.jface.text;
  * 	<li>{@link DocumentRewriteSessionType#UNRESTRICTED_SMALL} (since 3.3)</li>
  * 	<li>{@link DocumentRewriteSessionType#SEQUENTIAL}</li>
  * 	<li>{@link DocumentRewriteSessionType#STRICTLY_SEQUENTIAL}</li>
+ * 	<li>{@link DocumentRewriteSessionType#APPEND} (since 3.13)</li>
  * </ul>
  *
  * @see org.eclipse.jface.text.IDocument
@@ -56,6 +57,16 @@ public class DocumentRewriteSessionType {
 	 * replace operations from the start of the document to its end.
 	 */
 	public final static DocumentRewriteSessionType STRICTLY_SEQUENTIAL= new DocumentRewriteSessionType();
+	/**
+	 * An append rewrite session is a sequence of insertions at the end of the document, as
+	 * performed by clients which generate a document from front to back. The appended text is
+	 * collected separately and only added to the document's text store, line tracker and
+	 * partitioners when the session is stopped. Other changes are allowed but end the optimization
+	 * for the text appended so far.
+	 *
+	 * @since 3.13
+	 */
+	public final static DocumentRewriteSessionType APPEND= new DocumentRewriteSessionType();
 
 
 	/**
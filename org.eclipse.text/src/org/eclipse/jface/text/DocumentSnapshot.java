@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.util.Arrays;
+
+import org.eclipse.jface.text.RopeTextStore.Node;
+
+
+/**
+ * Default implementation of {@link IDocumentSnapshot} based on the immutable tree of a
+ * {@link RopeTextStore}.
+ * <p>
+ * If the snapshot was taken from a document using the default line delimiters, the line
+ * information is computed from the line counts maintained by the rope in logarithmic time.
+ * Otherwise a line tracker for the document's delimiters is built on first access.
+ * </p>
+ *
+ * @since 3.13
+ */
+final class DocumentSnapshot implements IDocumentSnapshot {
+
+	/** The line delimiters for which the rope maintains line counts, sorted. */
+	private static final String[] ROPE_DELIMITERS= new String[] { "\n", "\r", "\r\n" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+	/** The content of this snapshot. */
+	private final Node fRoot;
+	/** The modification stamp of this snapshot. */
+	private final long fModificationStamp;
+	/**
+	 * The legal line delimiters if they differ from {@link #ROPE_DELIMITERS}, <code>null</code>
+	 * otherwise.
+	 */
+	private final String[] fLineDelimiters;
+	/** The lazily created line tracker if {@link #fLineDelimiters} is not <code>null</code>. */
+	private volatile ILineTracker fLineTracker;
+
+	/**
+	 * Creates a new snapshot.
+	 *
+	 * @param root the content of the snapshot, must never be modified
+	 * @param modificationStamp the modification stamp of the snapshot
+	 * @param lineDelimiters the legal line delimiters of the document
+	 */
+	DocumentSnapshot(Node root, long modificationStamp, String[] lineDelimiters) {
+		fRoot= root;
+		fModificationStamp= modificationStamp;
+		fLineDelimiters= isRopeDelimiters(lineDelimiters) ? null : lineDelimiters.clone();
+	}
+
+	private static boolean isRopeDelimiters(String[] delimiters) {
+		if (delimiters.length != ROPE_DELIMITERS.length)
+			return false;
+		String[] sorted= delimiters.clone();
+		Arrays.sort(sorted);
+		return Arrays.equals(sorted, ROPE_DELIMITERS);
+	}
+
+	@Override
+	public long getModificationStamp() {
+		return fModificationStamp;
+	}
+
+	@Override
+	public int getLength() {
+		return fRoot.length();
+	}
+
+	@Override
+	public char getChar(int offset) throws BadLocationException {
+		if (offset < 0 || offset >= getLength())
+			throw new BadLocationException();
+		return RopeTextStore.charAt(fRoot, offset);
+	}
+
+	@Override
+	public String get() {
+		return RopeTextStore.toString(fRoot, 0, getLength());
+	}
+
+	@Override
+	public String get(int offset, int length) throws BadLocationException {
+		if (offset < 0 || length < 0 || offset + length > getLength())
+			throw new BadLocationException();
+		return RopeTextStore.toString(fRoot, offset, length);
+	}
+
+	@Override
+	public int getNumberOfLines() {
+		if (fLineDelimiters != null)
+			return getLineTracker().getNumberOfLines();
+		return fRoot.lines() + 1;
+	}
+
+	@Override
+	public int getLineOfOffset(int offset) throws BadLocationException {
+		if (fLineDelimiters != null)
+			return getLineTracker().getLineNumberOfOffset(offset);
+		if (offset < 0 || offset > getLength())
+			throw new BadLocationException();
+		return RopeTextStore.lineOfOffset(fRoot, offset);
+	}
+
+	@Override
+	public int getLineOffset(int line) throws BadLocationException {
+		if (fLineDelimiters != null)
+			return getLineTracker().getLineOffset(line);
+		if (line < 0 || line > fRoot.lines())
+			throw new BadLocationException();
+		return RopeTextStore.lineOffset(fRoot, line);
+	}
+
+	@Override
+	public IRegion getLineInformation(int line) throws BadLocationException {
+		if (fLineDelimiters != null)
+			return getLineTracker().getLineInformation(line);
+
+		int offset= getLineOffset(line);
+		if (line == fRoot.lines())
+			return new Region(offset, getLength() - offset);
+
+		int next= RopeTextStore.lineOffset(fRoot, line + 1);
+		int delimiterLength= 1;
+		if (next - 2 >= offset && RopeTextStore.charAt(fRoot, next - 1) == '\n' && RopeTextStore.charAt(fRoot, next - 2) == '\r')
+			delimiterLength= 2;
+		return new Region(offset, next - offset - delimiterLength);
+	}
+
+	@Override
+	public IRegion getLineInformationOfOffset(int offset) throws BadLocationException {
+		if (fLineDelimiters != null)
+			return getLineTracker().getLineInformationOfOffset(offset);
+		return getLineInformation(getLineOfOffset(offset));
+	}
+
+	/**
+	 * Returns the line tracker for the non-default line delimiters, creating it if necessary.
+	 *
+	 * @return the line tracker of this snapshot
+	 */
+	private ILineTracker getLineTracker() {
+		ILineTracker tracker= fLineTracker;
+		if (tracker == null) {
+			synchronized (this) {
+				tracker= fLineTracker;
+				if (tracker == null) {
+					tracker= new ConfigurableLineTracker(fLineDelimiters);
+					tracker.set(get());
+					fLineTracker= tracker;
+				}
+			}
+		}
+		return tracker;
+	}
+}
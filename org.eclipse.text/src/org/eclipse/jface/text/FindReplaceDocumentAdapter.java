@@ -15,12 +15,19 @@
  *******************************************************************************/
 package org.eclipse.jface.text;
 
+import java.util.Arrays;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.core.runtime.Assert;
 
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.undo.DocumentUndoManagerRegistry;
+import org.eclipse.text.undo.IDocumentUndoManager;
+
 
 /**
  * Provides search and replace operations on
@@ -54,6 +61,232 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 	private static final int RC_LOWER= 2;
 	private static final int RC_FIRSTUPPER= 3;
 
+	/**
+	 * Searches a document for a literal string, without going through the regular expression
+	 * engine. The document is read in blocks, each of which is scanned with the Boyer-Moore-Horspool
+	 * algorithm. The matches are exactly those of the corresponding pattern, i.e. of the quoted
+	 * string compiled with {@link Pattern#CASE_INSENSITIVE} and {@link Pattern#UNICODE_CASE} if the
+	 * search is not case sensitive, and surrounded by <code>\b</code> if whole words are searched.
+	 *
+	 * @since 3.13
+	 */
+	private static final class LiteralSearch {
+
+		/** The number of characters read from the document at once. */
+		private static final int BLOCK_SIZE= 32 * 1024;
+		/** The pattern used to check word boundaries. */
+		private static final Pattern WORD_BOUNDARY= Pattern.compile("\\b"); //$NON-NLS-1$
+
+		/** The searched string. */
+		private final String fString;
+		/** The searched characters, case folded if the search is not case sensitive. */
+		private final char[] fChars;
+		/** The shift of the search window per hash of the character at its end. */
+		private final int[] fShift= new int[256];
+		private final boolean fCaseSensitive;
+		private final boolean fWholeWord;
+
+		/**
+		 * Tells whether the given string can be searched literally. Strings with supplementary
+		 * characters are matched by code point by the regular expression engine and are left to
+		 * it.
+		 *
+		 * @param string the string to search
+		 * @return <code>true</code> if the string can be searched literally
+		 */
+		static boolean canSearch(String string) {
+			for (int i= 0; i < string.length(); i++) {
+				if (Character.isSurrogate(string.charAt(i)))
+					return false;
+			}
+			return true;
+		}
+
+		LiteralSearch(String string, boolean caseSensitive, boolean wholeWord) {
+			fString= string;
+			fWholeWord= wholeWord;
+			// a single character without distinct case folding is matched exactly by the pattern
+			char first= string.charAt(0);
+			fCaseSensitive= caseSensitive || string.length() == 1 && Character.toUpperCase(first) == fold(first);
+
+			int length= string.length();
+			fChars= new char[length];
+			for (int i= 0; i < length; i++)
+				fChars[i]= fCaseSensitive ? string.charAt(i) : fold(string.charAt(i));
+
+			Arrays.fill(fShift, length);
+			for (int i= 0; i < length - 1; i++) {
+				fShift[fChars[i] & 0xFF]= length - 1 - i;
+				if (!fCaseSensitive)
+					fShift[fold(fChars[i]) & 0xFF]= length - 1 - i;
+			}
+		}
+
+		/**
+		 * Returns the case folding used by the regular expression engine for case insensitive
+		 * Unicode matching.
+		 *
+		 * @param c the character
+		 * @return the folded character
+		 */
+		private static char fold(char c) {
+			if (c < 128)
+				return c >= 'A' && c <= 'Z' ? (char) (c + 'a' - 'A') : c;
+			return Character.toLowerCase(Character.toUpperCase(c));
+		}
+
+		/**
+		 * Returns the length of a match.
+		 *
+		 * @return the length of the searched string
+		 */
+		int length() {
+			return fChars.length;
+		}
+
+		/**
+		 * Returns a matcher for the pattern corresponding to this search.
+		 *
+		 * @param input the input of the matcher
+		 * @return the matcher
+		 */
+		Matcher createMatcher(CharSequence input) {
+			String regex= asRegPattern(fString);
+			if (fWholeWord)
+				regex= "\\b" + regex + "\\b"; //$NON-NLS-1$ //$NON-NLS-2$
+			int flags= fCaseSensitive ? 0 : Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+			return Pattern.compile(regex, flags).matcher(input);
+		}
+
+		/**
+		 * Returns the offset of the first match which starts at or after the given offset.
+		 *
+		 * @param adapter the adapter of the searched document
+		 * @param from the offset at which the search starts
+		 * @return the offset of the match or <code>-1</code> if there is none
+		 * @throws BadLocationException if the document cannot be read
+		 */
+		int findForward(FindReplaceDocumentAdapter adapter, int from) throws BadLocationException {
+			IDocument document= adapter.fDocument;
+			int length= document.getLength();
+			int blockSize= Math.max(BLOCK_SIZE, 2 * fChars.length);
+			char[] block= new char[Math.min(blockSize, length)];
+			Matcher boundary= fWholeWord ? createBoundaryMatcher(adapter) : null;
+			for (int start= from; start <= length - fChars.length; start+= blockSize - fChars.length + 1) {
+				int end= Math.min(length, start + blockSize);
+				document.get(start, end - start).getChars(0, end - start, block, 0);
+				int index= find(block, 0, end - start, start, boundary, false);
+				if (index != -1)
+					return index;
+			}
+			return -1;
+		}
+
+		/**
+		 * Returns the offset of the last match which ends at or before the given offset.
+		 *
+		 * @param adapter the adapter of the searched document
+		 * @param to the offset at which the search ends
+		 * @return the offset of the match or <code>-1</code> if there is none
+		 * @throws BadLocationException if the document cannot be read
+		 */
+		int findBackward(FindReplaceDocumentAdapter adapter, int to) throws BadLocationException {
+			IDocument document= adapter.fDocument;
+			int blockSize= Math.max(BLOCK_SIZE, 2 * fChars.length);
+			char[] block= new char[Math.max(0, Math.min(blockSize, to))];
+			Matcher boundary= fWholeWord ? createBoundaryMatcher(adapter) : null;
+			for (int end= to; end >= fChars.length; end-= blockSize - fChars.length + 1) {
+				int start= Math.max(0, end - blockSize);
+				document.get(start, end - start).getChars(0, end - start, block, 0);
+				int index= find(block, 0, end - start, start, boundary, true);
+				if (index != -1 || start == 0)
+					return index;
+			}
+			return -1;
+		}
+
+		/**
+		 * Returns the offsets of all non-overlapping matches which lie in the given range, from its
+		 * start to its end. The search continues after the end of each match.
+		 *
+		 * @param adapter the adapter of the searched document
+		 * @param from the offset at which the search starts
+		 * @param to the offset at which the search ends
+		 * @return the ascending offsets of the matches
+		 * @throws BadLocationException if the document cannot be read
+		 */
+		int[] findAll(FindReplaceDocumentAdapter adapter, int from, int to) throws BadLocationException {
+			IDocument document= adapter.fDocument;
+			int blockSize= Math.max(BLOCK_SIZE, 2 * fChars.length);
+			char[] block= new char[Math.min(blockSize, to - from)];
+			Matcher boundary= fWholeWord ? createBoundaryMatcher(adapter) : null;
+			int[] offsets= new int[16];
+			int count= 0;
+			int next= from;
+			for (int start= from; start <= to - fChars.length; start+= blockSize - fChars.length + 1) {
+				int end= Math.min(to, start + blockSize);
+				document.get(start, end - start).getChars(0, end - start, block, 0);
+				int index= find(block, Math.max(0, next - start), end - start, start, boundary, false);
+				while (index != -1) {
+					if (count == offsets.length)
+						offsets= Arrays.copyOf(offsets, count * 2);
+					offsets[count++]= index;
+					next= index + fChars.length;
+					index= find(block, next - start, end - start, start, boundary, false);
+				}
+			}
+			return Arrays.copyOf(offsets, count);
+		}
+
+		private static Matcher createBoundaryMatcher(CharSequence input) {
+			Matcher matcher= WORD_BOUNDARY.matcher(input);
+			matcher.useTransparentBounds(true);
+			return matcher;
+		}
+
+		/**
+		 * Scans the given characters for matches.
+		 *
+		 * @param text the characters
+		 * @param from the index of the first character to scan
+		 * @param to the index after the last character to scan
+		 * @param offset the document offset of the first character
+		 * @param boundary the matcher for word boundaries or <code>null</code>
+		 * @param last <code>true</code> to return the last match, <code>false</code> for the first
+		 * @return the document offset of the match or <code>-1</code> if there is none
+		 */
+		private int find(char[] text, int from, int to, int offset, Matcher boundary, boolean last) {
+			char[] chars= fChars;
+			int[] shift= fShift;
+			boolean caseSensitive= fCaseSensitive;
+			int end= chars.length - 1;
+			int result= -1;
+			int i= from;
+			while (i < to - end) {
+				char c= text[i + end];
+				int j= end;
+				while (j >= 0 && (text[i + j] == chars[j] || !caseSensitive && fold(text[i + j]) == chars[j]))
+					j--;
+				if (j >= 0) {
+					i+= shift[(caseSensitive ? c : fold(c)) & 0xFF];
+				} else {
+					if (boundary == null || isWordBoundary(boundary, offset + i) && isWordBoundary(boundary, offset + i + end + 1)) {
+						result= offset + i;
+						if (!last)
+							break;
+					}
+					i++;
+				}
+			}
+			return result;
+		}
+
+		private static boolean isWordBoundary(Matcher boundary, int offset) {
+			boundary.region(offset, boundary.regionEnd());
+			return boundary.lookingAt();
+		}
+	}
+
 
 	/**
 	 * The adapted document.
@@ -80,6 +313,22 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 	 */
 	private int fRetainCaseMode;
 
+	/**
+	 * The literal search used by the last find operation, <code>null</code> if the last find
+	 * operation used {@link #fFindReplaceMatcher}.
+	 *
+	 * @since 3.13
+	 */
+	private LiteralSearch fLiteralSearch;
+
+	/**
+	 * The offset of the match of the last literal find operation, <code>-1</code> if there was no
+	 * match.
+	 *
+	 * @since 3.13
+	 */
+	private int fLiteralMatchOffset;
+
 	/**
 	 * Constructs a new find replace document adapter.
 	 *
@@ -149,6 +398,14 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 		if ((operationCode == REPLACE || operationCode == REPLACE_FIND_NEXT) && (fFindReplaceState != FIND_FIRST && fFindReplaceState != FIND_NEXT))
 			throw new IllegalStateException("illegal findReplace state: cannot replace without preceding find"); //$NON-NLS-1$
 
+		if (fLiteralSearch != null && operationCode != FIND_FIRST && (operationCode != REPLACE || regExSearch)) {
+			// continue with the matcher positioned at the literal match
+			fFindReplaceMatcher= fLiteralSearch.createMatcher(this);
+			if (fLiteralMatchOffset != -1)
+				fFindReplaceMatcher.find(fLiteralMatchOffset);
+			fLiteralSearch= null;
+		}
+
 		if (operationCode == FIND_FIRST) {
 			// Reset
 
@@ -159,6 +416,22 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 			if (startOffset < 0 || startOffset > length())
 				throw new BadLocationException();
 
+			fLiteralSearch= null;
+			if (!regExSearch && LiteralSearch.canSearch(findString)) {
+				fFindReplaceState= FIND_FIRST;
+				fLiteralSearch= new LiteralSearch(findString, caseSensitive, wholeWord);
+				if (forwardSearch) {
+					fFindReplaceMatchOffset= startOffset;
+					fLiteralMatchOffset= fLiteralSearch.findForward(this, startOffset);
+				} else {
+					fLiteralMatchOffset= fLiteralSearch.findBackward(this, Math.min(startOffset + 1, length()));
+					fFindReplaceMatchOffset= fLiteralMatchOffset;
+				}
+				if (fLiteralMatchOffset == -1)
+					return null;
+				return new Region(fLiteralMatchOffset, fLiteralSearch.length());
+			}
+
 			int patternFlags= 0;
 
 			if (regExSearch) {
@@ -192,27 +465,22 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 		fFindReplaceState= operationCode;
 
 		if (operationCode == REPLACE || operationCode == REPLACE_FIND_NEXT) {
-			if (regExSearch) {
-				Pattern pattern= fFindReplaceMatcher.pattern();
-				String prevMatch= fFindReplaceMatcher.group();
-				try {
-					replaceText= interpretReplaceEscapes(replaceText, prevMatch);
-					Matcher replaceTextMatcher= pattern.matcher(prevMatch);
-					replaceText= replaceTextMatcher.replaceFirst(replaceText);
-				} catch (IndexOutOfBoundsException ex) {
-					throw new PatternSyntaxException(ex.getLocalizedMessage(), replaceText, -1);
-				}
-			}
-
-			int offset= fFindReplaceMatcher.start();
-			int length= fFindReplaceMatcher.group().length();
-
-			if (fDocument instanceof IRepairableDocumentExtension
-					&& ((IRepairableDocumentExtension)fDocument).isLineInformationRepairNeeded(offset, length, replaceText)) {
-				String message= TextMessages.getString("FindReplaceDocumentAdapter.incompatibleLineDelimiter"); //$NON-NLS-1$
-				throw new PatternSyntaxException(message, replaceText, offset);
+			if (regExSearch)
+				replaceText= interpretReplaceText(fFindReplaceMatcher.pattern(), fFindReplaceMatcher.group(), replaceText);
+
+			int offset;
+			int length;
+			if (fLiteralSearch != null) {
+				if (fLiteralMatchOffset == -1)
+					throw new IllegalStateException("No match found"); //$NON-NLS-1$
+				offset= fLiteralMatchOffset;
+				length= fLiteralSearch.length();
+			} else {
+				offset= fFindReplaceMatcher.start();
+				length= fFindReplaceMatcher.group().length();
 			}
 
+			checkLineDelimiters(offset, length, replaceText);
 			fDocument.replace(offset, length, replaceText);
 
 			if (operationCode == REPLACE) {
@@ -563,7 +831,7 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 	 * @param string the non-regex pattern
 	 * @return the string converted to a regex pattern
 	 */
-	private String asRegPattern(String string) {
+	private static String asRegPattern(String string) {
 		StringBuilder out= new StringBuilder(string.length());
 		boolean quoting= false;
 
@@ -607,6 +875,175 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 		return findReplace(REPLACE, -1, null, text, false, false, false, regExReplace);
 	}
 
+	/**
+	 * Replaces all matches of the given string in this adapter's document. The document is searched
+	 * once from its start to its end and all non-overlapping matches are replaced by applying a single
+	 * {@link MultiTextEdit}, inside a rewrite session if the document supports them. If a
+	 * {@link IDocumentUndoManager} is connected to the document, the replacements are undone in a
+	 * single step.
+	 * <p>
+	 * The replacements are the same as when each match is found and replaced in turn with
+	 * {@link #find(int, String, boolean, boolean, boolean, boolean)} and
+	 * {@link #replace(String, boolean)}, except that all matches are searched in the unmodified
+	 * document. Empty matches of a regular expression are not replaced. A replace operation
+	 * following this operation must be preceded by a find operation.
+	 * </p>
+	 *
+	 * @param findString the string to find
+	 * @param replaceText the substitution text
+	 * @param caseSensitive indicates whether lower and upper case should be distinguished
+	 * @param wholeWord indicates whether the findString should be limited by white spaces as
+	 * 			defined by Character.isWhiteSpace. Must not be used in combination with <code>regExSearch</code>.
+	 * @param regExSearch if <code>true</code> findString represents a regular expression and
+	 * 			<code>replaceText</code> a replace pattern. Must not be used in combination with <code>wholeWord</code>.
+	 * @return the number of replaced matches
+	 * @throws BadLocationException if the document has been modified concurrently
+	 * @throws PatternSyntaxException if a regular expression has invalid syntax or a replacement
+	 * 			would introduce an incompatible line delimiter, in which case the document is not modified
+	 * @since 3.13
+	 */
+	public int replaceAll(String findString, String replaceText, boolean caseSensitive, boolean wholeWord, boolean regExSearch) throws BadLocationException {
+		return replaceAll(0, length(), findString, replaceText, caseSensitive, wholeWord, regExSearch);
+	}
+
+	/**
+	 * Replaces all matches of the given string which lie in the given range of this adapter's
+	 * document. Behaves like {@link #replaceAll(String, String, boolean, boolean, boolean)} except
+	 * that only the given range is searched. The text around the range is taken into account for
+	 * word boundaries and for look-behind and look-ahead constructs of regular expressions.
+	 *
+	 * @param offset the offset of the range to search
+	 * @param length the length of the range to search
+	 * @param findString the string to find
+	 * @param replaceText the substitution text
+	 * @param caseSensitive indicates whether lower and upper case should be distinguished
+	 * @param wholeWord indicates whether the findString should be limited by white spaces as
+	 * 			defined by Character.isWhiteSpace. Must not be used in combination with <code>regExSearch</code>.
+	 * @param regExSearch if <code>true</code> findString represents a regular expression and
+	 * 			<code>replaceText</code> a replace pattern. Must not be used in combination with <code>wholeWord</code>.
+	 * @return the number of replaced matches
+	 * @throws BadLocationException if the range is not a valid document range
+	 * @throws PatternSyntaxException if a regular expression has invalid syntax or a replacement
+	 * 			would introduce an incompatible line delimiter, in which case the document is not modified
+	 * @since 3.13
+	 */
+	public int replaceAll(int offset, int length, String findString, String replaceText, boolean caseSensitive, boolean wholeWord, boolean regExSearch) throws BadLocationException {
+		Assert.isTrue(!(regExSearch && wholeWord));
+		Assert.isNotNull(replaceText);
+
+		if (offset < 0 || length < 0 || offset + length > length())
+			throw new BadLocationException();
+
+		fFindReplaceState= null;
+		fLiteralSearch= null;
+		if (findString == null || findString.isEmpty())
+			return 0;
+
+		MultiTextEdit root= new MultiTextEdit();
+		if (!regExSearch && LiteralSearch.canSearch(findString)) {
+			LiteralSearch search= new LiteralSearch(findString, caseSensitive, wholeWord);
+			int matchLength= search.length();
+			for (int matchOffset : search.findAll(this, offset, offset + length)) {
+				checkLineDelimiters(matchOffset, matchLength, replaceText);
+				root.addChild(new ReplaceEdit(matchOffset, matchLength, replaceText));
+			}
+
+		} else {
+			int patternFlags= 0;
+
+			if (regExSearch) {
+				patternFlags |= Pattern.MULTILINE;
+				findString= substituteLinebreak(findString);
+			}
+
+			if (!caseSensitive)
+				patternFlags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+
+			if (!regExSearch)
+				findString= asRegPattern(findString);
+
+			if (wholeWord)
+				findString= "\\b" + findString + "\\b"; //$NON-NLS-1$ //$NON-NLS-2$
+
+			Pattern pattern= Pattern.compile(findString, patternFlags);
+			// search a copy of the text, which is faster than accessing the document per character
+			Matcher matcher= pattern.matcher(fDocument.get());
+			matcher.region(offset, offset + length);
+			matcher.useTransparentBounds(true);
+			matcher.useAnchoringBounds(false);
+			try {
+				while (matcher.find()) {
+					String match= matcher.group();
+					if (match.isEmpty())
+						continue;
+					String text= regExSearch ? interpretReplaceText(pattern, match, replaceText) : replaceText;
+					checkLineDelimiters(matcher.start(), match.length(), text);
+					root.addChild(new ReplaceEdit(matcher.start(), match.length(), text));
+				}
+			} catch (StackOverflowError e) {
+				String message= TextMessages.getString("FindReplaceDocumentAdapter.patternTooComplex"); //$NON-NLS-1$
+				throw new PatternSyntaxException(message, findString, -1);
+			}
+		}
+
+		int count= root.getChildrenSize();
+		if (count == 0)
+			return 0;
+
+		IDocumentUndoManager undoManager= DocumentUndoManagerRegistry.getDocumentUndoManager(fDocument);
+		if (undoManager != null)
+			undoManager.beginCompoundChange();
+		try {
+			if (fDocument instanceof IDocumentExtension4 && ((IDocumentExtension4) fDocument).getActiveRewriteSession() == null)
+				new RewriteSessionEditProcessor(fDocument, root, TextEdit.NONE).performEdits();
+			else
+				root.apply(fDocument, TextEdit.NONE);
+		} finally {
+			if (undoManager != null)
+				undoManager.endCompoundChange();
+		}
+		return count;
+	}
+
+	/**
+	 * Computes the replacement of the given match for a regular expression replace pattern.
+	 *
+	 * @param pattern the pattern which found the match
+	 * @param match the found text
+	 * @param replaceText the replace pattern
+	 * @return the replacement
+	 * @throws PatternSyntaxException if the replace pattern has invalid syntax
+	 * @since 3.13
+	 */
+	private String interpretReplaceText(Pattern pattern, String match, String replaceText) {
+		try {
+			replaceText= interpretReplaceEscapes(replaceText, match);
+			Matcher replaceTextMatcher= pattern.matcher(match);
+			return replaceTextMatcher.replaceFirst(replaceText);
+		} catch (IndexOutOfBoundsException ex) {
+			throw new PatternSyntaxException(ex.getLocalizedMessage(), replaceText, -1);
+		}
+	}
+
+	/**
+	 * Checks that replacing the given range with the given text keeps the line information of the
+	 * document valid.
+	 *
+	 * @param offset the offset of the replaced range
+	 * @param length the length of the replaced range
+	 * @param text the replacement
+	 * @throws BadLocationException if the range is not valid in the document
+	 * @throws PatternSyntaxException if the replacement introduces an incompatible line delimiter
+	 * @since 3.13
+	 */
+	private void checkLineDelimiters(int offset, int length, String text) throws BadLocationException {
+		if (fDocument instanceof IRepairableDocumentExtension
+				&& ((IRepairableDocumentExtension)fDocument).isLineInformationRepairNeeded(offset, length, text)) {
+			String message= TextMessages.getString("FindReplaceDocumentAdapter.incompatibleLineDelimiter"); //$NON-NLS-1$
+			throw new PatternSyntaxException(message, text, offset);
+		}
+	}
+
 	// ---------- CharSequence implementation ----------
 
 	@Override
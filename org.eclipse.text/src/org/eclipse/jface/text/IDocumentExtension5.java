@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+/**
+ * Extension interface for {@link org.eclipse.jface.text.IDocument}. It adds the
+ * following concepts:
+ * <ul>
+ *   <li>Immutable snapshots of the document's content and line information
+ *       that can be read from any thread.</li>
+ * </ul>
+ *
+ * @since 3.13
+ */
+public interface IDocumentExtension5 {
+
+	/**
+	 * Returns an immutable snapshot of the current content and line information
+	 * of this document. The snapshot is not affected by later changes to this
+	 * document and can be handed to background threads.
+	 * <p>
+	 * Documents only support snapshots if they can take them without copying
+	 * their content. Clients fall back to reading the document itself if no
+	 * snapshot is returned.
+	 * </p>
+	 * <p>
+	 * This method must be called from the thread that modifies the document or,
+	 * for documents that implement {@link ISynchronizable}, while holding the
+	 * document's lock object.
+	 * </p>
+	 *
+	 * @return a snapshot of this document or <code>null</code> if this document
+	 *         does not support snapshots
+	 */
+	IDocumentSnapshot getSnapshot();
+}
@@ -22,9 +22,18 @@ package org.eclipse.jface.text;
  * the document event passed into the listener is the same for the two
  * notifications, i.e. the two document events can be checked using object identity.
  * <p>
- * Clients may implement this interface.
+ * In order to provide backward compatibility for clients of <code>IDocumentListener</code>, extension
+ * interfaces are used to provide a means of evolution. The following extension interfaces exist:
+ * </p>
+ * <ul>
+ * <li>{@link org.eclipse.jface.text.IDocumentListenerExtension} since version 3.13 introducing
+ * a single notification about all changes performed in a document rewrite session.</li>
+ * </ul>
+ * <p>
+ * Clients may implement this interface and its extension interfaces.
  * </p>
  *
+ * @see org.eclipse.jface.text.IDocumentListenerExtension
  * @see org.eclipse.jface.text.IDocument
  */
 public interface IDocumentListener {
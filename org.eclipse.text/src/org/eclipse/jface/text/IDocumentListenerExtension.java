@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+
+/**
+ * Extension interface for {@link org.eclipse.jface.text.IDocumentListener}.
+ * <p>
+ * A document listener implementing this interface is not informed about the individual changes
+ * performed during a document rewrite session. Instead it receives a single
+ * {@link DocumentBatchEvent} describing all of them when the session is stopped. Outside of rewrite
+ * sessions the listener is informed as usual.
+ * </p>
+ * <p>
+ * This is useful for listeners whose update is expensive and which can process many changes at
+ * once, for example by recomputing the affected region. The batch event is sent after the
+ * document's line information and partitioning have been updated for the session, but before the
+ * {@link DocumentRewriteSessionEvent#SESSION_STOP} notification.
+ * </p>
+ * <p>
+ * Clients may implement this interface.
+ * </p>
+ *
+ * @see IDocumentExtension4#startRewriteSession(DocumentRewriteSessionType)
+ * @see org.eclipse.jface.text.AbstractDocument
+ * @since 3.13
+ */
+public interface IDocumentListenerExtension {
+
+	/**
+	 * The changes described by the given batch event have been performed in a rewrite session which
+	 * has just been stopped.
+	 *
+	 * @param event the batch event describing the changes performed during the session
+	 */
+	void documentBatchChanged(DocumentBatchEvent event);
+}
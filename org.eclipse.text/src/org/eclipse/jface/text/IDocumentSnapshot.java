@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+
+/**
+ * An immutable view of the content and the line information of a document at a given
+ * modification stamp. A snapshot never changes, even if the document it has been taken from is
+ * modified afterwards. Snapshots are safe to use from any thread and are intended for background
+ * jobs like reconcilers or search that need a consistent view of a document that is being edited.
+ * <p>
+ * The line information of a snapshot is based on the legal line delimiters of the document at the
+ * time the snapshot was taken.
+ * </p>
+ * <p>
+ * This interface is not intended to be implemented by clients.
+ * </p>
+ *
+ * @see IDocumentExtension5#getSnapshot()
+ * @since 3.13
+ * @noimplement This interface is not intended to be implemented by clients.
+ */
+public interface IDocumentSnapshot {
+
+	/**
+	 * Returns the modification stamp of the document at the time this snapshot was taken.
+	 *
+	 * @return the modification stamp of this snapshot
+	 * @see IDocumentExtension4#getModificationStamp()
+	 */
+	long getModificationStamp();
+
+	/**
+	 * Returns the number of characters in this snapshot.
+	 *
+	 * @return the number of characters in this snapshot
+	 */
+	int getLength();
+
+	/**
+	 * Returns the character at the given offset.
+	 *
+	 * @param offset the offset of the character
+	 * @return the character at the offset
+	 * @throws BadLocationException if the offset is invalid in this snapshot
+	 */
+	char getChar(int offset) throws BadLocationException;
+
+	/**
+	 * Returns the text of this snapshot.
+	 *
+	 * @return the text of this snapshot
+	 */
+	String get();
+
+	/**
+	 * Returns the text of the specified character range.
+	 *
+	 * @param offset the offset of the range
+	 * @param length the length of the range
+	 * @return the text of the range
+	 * @throws BadLocationException if the range is invalid in this snapshot
+	 */
+	String get(int offset, int length) throws BadLocationException;
+
+	/**
+	 * Returns the number of lines in this snapshot.
+	 *
+	 * @return the number of lines in this snapshot
+	 * @see IDocument#getNumberOfLines()
+	 */
+	int getNumberOfLines();
+
+	/**
+	 * Returns the number of the line at which the character of the specified offset is located.
+	 *
+	 * @param offset the offset, <code>0 &lt;= offset &lt;= getLength()</code>
+	 * @return the number of the line
+	 * @throws BadLocationException if the offset is invalid in this snapshot
+	 * @see IDocument#getLineOfOffset(int)
+	 */
+	int getLineOfOffset(int offset) throws BadLocationException;
+
+	/**
+	 * Returns the offset of the given line.
+	 *
+	 * @param line the line of interest
+	 * @return the offset of the line
+	 * @throws BadLocationException if the line number is invalid in this snapshot
+	 * @see IDocument#getLineOffset(int)
+	 */
+	int getLineOffset(int line) throws BadLocationException;
+
+	/**
+	 * Describes the given line's offset and length, excluding the line's delimiter.
+	 *
+	 * @param line the line of interest
+	 * @return a region describing the line
+	 * @throws BadLocationException if the line number is invalid in this snapshot
+	 * @see IDocument#getLineInformation(int)
+	 */
+	IRegion getLineInformation(int line) throws BadLocationException;
+
+	/**
+	 * Describes the line containing the given offset, excluding the line's delimiter.
+	 *
+	 * @param offset the offset whose line should be described
+	 * @return a region describing the line
+	 * @throws BadLocationException if the offset is invalid in this snapshot
+	 * @see IDocument#getLineInformationOfOffset(int)
+	 */
+	IRegion getLineInformationOfOffset(int offset) throws BadLocationException;
+}
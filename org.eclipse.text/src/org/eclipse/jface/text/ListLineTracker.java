@@ -335,6 +335,19 @@ abstract class ListLineTracker implements ILineTracker {
 		}
 	}
 
+	/**
+	 * Sets the lines of a text whose lines have been computed elsewhere.
+	 *
+	 * @param lines the lines as they would be computed by {@link #set(String)}
+	 * @param textLength the length of the text
+	 * @since 3.13
+	 */
+	final void set(List<Line> lines, int textLength) {
+		fLines.clear();
+		fLines.addAll(lines);
+		fTextLength= textLength;
+	}
+
 	/**
 	 * Returns the internal data structure, a {@link List} of {@link Line}s. Used only by
 	 * {@link TreeLineTracker#TreeLineTracker(ListLineTracker)}.
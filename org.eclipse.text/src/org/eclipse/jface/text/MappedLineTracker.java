@@ -0,0 +1,256 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.util.Arrays;
+
+import org.eclipse.jface.text.MappedTextStore.Block;
+
+
+/**
+ * A read-only line tracker for the content of a {@link MappedTextStore}. It recognizes the same
+ * line delimiters as {@link DefaultLineTracker}.
+ * <p>
+ * The line index is built on the first query by scanning the decoded blocks of the store. It is
+ * sparse: only the offset of every {@value #LINE_STEP}th line is recorded, the lines in between are
+ * found by scanning forward from the closest recorded line.
+ * </p>
+ * <p>
+ * This tracker is read-only: {@link #replace(int, int, String)} and {@link #set(String)} throw an
+ * {@link UnsupportedOperationException}, except for empty replacements which are ignored. Queries
+ * are thread-safe.
+ * </p>
+ * <p>
+ * This class is not intended to be subclassed.
+ * </p>
+ *
+ * @see MappedTextStore
+ * @since 3.13
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public class MappedLineTracker implements ILineTracker {
+
+	/** The number of lines between two recorded line offsets. */
+	static final int LINE_STEP= 32;
+
+	/** The store whose lines are tracked. */
+	private final MappedTextStore fStore;
+	/** The offsets of every {@link #LINE_STEP}th line, <code>null</code> if not yet computed. */
+	private volatile int[] fLineOffsets;
+	/** The number of line delimiters, valid once {@link #fLineOffsets} is computed. */
+	private int fDelimiterCount;
+
+	/**
+	 * Creates a line tracker for the given store.
+	 *
+	 * @param store the store whose lines are tracked
+	 */
+	public MappedLineTracker(MappedTextStore store) {
+		fStore= store;
+	}
+
+	@Override
+	public String[] getLegalLineDelimiters() {
+		return TextUtilities.copy(DefaultLineTracker.DELIMITERS);
+	}
+
+	@Override
+	public String getLineDelimiter(int line) throws BadLocationException {
+		int offset= getLineOffset(line);
+		int next= nextLineOffset(offset);
+		if (next < 0)
+			return null;
+		return fStore.get(next - 1) == '\n' && next - 2 >= offset && fStore.get(next - 2) == '\r' ? DefaultLineTracker.DELIMITERS[2] : String.valueOf(fStore.get(next - 1));
+	}
+
+	@Override
+	public int computeNumberOfLines(String text) {
+		int count= 0;
+		for (int i= 0, length= text.length(); i < length; i++) {
+			char c= text.charAt(i);
+			if (c == '\n' || c == '\r' && (i + 1 == length || text.charAt(i + 1) != '\n'))
+				++count;
+		}
+		return count;
+	}
+
+	@Override
+	public int getNumberOfLines() {
+		ensureIndex();
+		return fDelimiterCount + 1;
+	}
+
+	@Override
+	public int getNumberOfLines(int offset, int length) throws BadLocationException {
+		if (offset < 0 || length < 0 || offset + length > fStore.getLength())
+			throw new BadLocationException();
+		if (length == 0)
+			return 1;
+		return getLineNumberOfOffset(offset + length) - getLineNumberOfOffset(offset) + 1;
+	}
+
+	@Override
+	public int getLineOffset(int line) throws BadLocationException {
+		ensureIndex();
+		if (line < 0 || line > fDelimiterCount)
+			throw new BadLocationException();
+
+		int offset= fLineOffsets[line / LINE_STEP];
+		for (int i= line % LINE_STEP; i > 0; i--)
+			offset= nextLineOffset(offset);
+		return offset;
+	}
+
+	@Override
+	public int getLineLength(int line) throws BadLocationException {
+		int offset= getLineOffset(line);
+		int next= nextLineOffset(offset);
+		return (next < 0 ? fStore.getLength() : next) - offset;
+	}
+
+	@Override
+	public int getLineNumberOfOffset(int offset) throws BadLocationException {
+		ensureIndex();
+		if (offset < 0 || offset > fStore.getLength())
+			throw new BadLocationException();
+
+		int[] lineOffsets= fLineOffsets;
+		int index= Arrays.binarySearch(lineOffsets, offset);
+		if (index >= 0)
+			return index * LINE_STEP;
+
+		index= -index - 2;
+		int line= index * LINE_STEP;
+		int next= nextLineOffset(lineOffsets[index]);
+		while (next >= 0 && next <= offset) {
+			++line;
+			next= nextLineOffset(next);
+		}
+		return line;
+	}
+
+	@Override
+	public IRegion getLineInformationOfOffset(int offset) throws BadLocationException {
+		return getLineInformation(getLineNumberOfOffset(offset));
+	}
+
+	@Override
+	public IRegion getLineInformation(int line) throws BadLocationException {
+		int offset= getLineOffset(line);
+		int next= nextLineOffset(offset);
+		if (next < 0)
+			return new Region(offset, fStore.getLength() - offset);
+
+		int delimiterLength= fStore.get(next - 1) == '\n' && next - 2 >= offset && fStore.get(next - 2) == '\r' ? 2 : 1;
+		return new Region(offset, next - offset - delimiterLength);
+	}
+
+	/**
+	 * Not supported unless the replacement is empty, the tracked content is read-only.
+	 *
+	 * @throws UnsupportedOperationException if <code>length</code> is not 0 or
+	 *             <code>text</code> is not empty
+	 */
+	@Override
+	public void replace(int offset, int length, String text) throws BadLocationException {
+		if (length != 0 || text != null && !text.isEmpty())
+			throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Not supported, the tracked content is read-only.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void set(String text) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Returns the offset of the line following the line which starts at the given offset.
+	 *
+	 * @param offset the offset of a line
+	 * @return the offset of the next line or <code>-1</code> if the given line is the last one
+	 */
+	private int nextLineOffset(int offset) {
+		int length= fStore.getLength();
+		if (offset >= length)
+			return -1;
+
+		Block block= fStore.getBlock(fStore.getBlockOfOffset(offset));
+		int i= offset - block.fOffset;
+		while (true) {
+			char[] chars= block.fChars;
+			for (; i < chars.length; i++) {
+				char c= chars[i];
+				if (c == '\n')
+					return block.fOffset + i + 1;
+				if (c == '\r') {
+					int next= block.fOffset + i + 1;
+					return next < length && fStore.get(next) == '\n' ? next + 1 : next;
+				}
+			}
+			if (block.fIndex + 1 == fStore.getBlockCount())
+				return -1;
+			block= fStore.getBlock(block.fIndex + 1);
+			i= 0;
+		}
+	}
+
+	/**
+	 * Builds the sparse line index.
+	 */
+	private void ensureIndex() {
+		if (fLineOffsets != null)
+			return;
+
+		synchronized (this) {
+			if (fLineOffsets != null)
+				return;
+
+			int[] lineOffsets= new int[16];
+			int count= 1;
+			int delimiters= 0;
+			boolean afterCR= false;
+			for (int b= 0, blocks= fStore.getBlockCount(); b < blocks; b++) {
+				Block block= fStore.getBlock(b);
+				char[] chars= block.fChars;
+				for (int i= 0; i < chars.length; i++) {
+					char c= chars[i];
+					int lineStart= -1;
+					if (c == '\n')
+						lineStart= block.fOffset + i + 1;
+					else if (afterCR)
+						lineStart= block.fOffset + i;
+					afterCR= c == '\r';
+
+					if (lineStart >= 0 && ++delimiters % LINE_STEP == 0) {
+						if (count == lineOffsets.length)
+							lineOffsets= Arrays.copyOf(lineOffsets, count * 2);
+						lineOffsets[count++]= lineStart;
+					}
+				}
+			}
+			if (afterCR && ++delimiters % LINE_STEP == 0) {
+				if (count == lineOffsets.length)
+					lineOffsets= Arrays.copyOf(lineOffsets, count * 2);
+				lineOffsets[count++]= fStore.getLength();
+			}
+
+			fDelimiterCount= delimiters;
+			fLineOffsets= Arrays.copyOf(lineOffsets, count);
+		}
+	}
+}
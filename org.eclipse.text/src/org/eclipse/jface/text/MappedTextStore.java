@@ -0,0 +1,417 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+
+import org.eclipse.core.runtime.Assert;
+
+
+/**
+ * A read-only text store whose content is decoded on demand from byte buffers, typically
+ * {@link java.nio.MappedByteBuffer}s of a large file.
+ * <p>
+ * The content is decoded in blocks of a few thousand characters; only the most recently accessed
+ * block is kept on the heap. For single-byte charsets in a single buffer a character offset is
+ * also a byte offset and no index is needed. Otherwise a sparse index mapping block starts to byte
+ * offsets is built by decoding all buffers once, on the first access that needs it. The index
+ * holds three integers per block.
+ * </p>
+ * <p>
+ * A single buffer can hold at most {@link Integer#MAX_VALUE} bytes, larger files are passed as
+ * several buffers. Like any document content, the decoded content is limited to
+ * {@link Integer#MAX_VALUE} characters: a 2&nbsp;GB file of single-byte characters is too large,
+ * while a UTF-8 file of that size can be used if it contains enough multi-byte characters.
+ * </p>
+ * <p>
+ * Malformed input is replaced with the charset's default replacement. Only charsets whose
+ * decoders do not carry state across character boundaries, such as UTF-8 and all single-byte
+ * charsets, are supported; see {@link #isSupported(Charset)}.
+ * </p>
+ * <p>
+ * This store is read-only: {@link #replace(int, int, String)} and {@link #set(String)} throw an
+ * {@link UnsupportedOperationException}, except for empty replacements which are ignored. Read
+ * access is thread-safe. Use a {@link MappedLineTracker} to index its lines without copying the
+ * content.
+ * </p>
+ * <p>
+ * This class is not intended to be subclassed.
+ * </p>
+ *
+ * @see MappedLineTracker
+ * @since 3.13
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public class MappedTextStore implements ITextStore {
+
+	/** The number of characters decoded at once. */
+	static final int BLOCK_SIZE= 8 * 1024;
+
+	/**
+	 * A decoded block. Instances are immutable so that they can be published without
+	 * synchronization.
+	 */
+	static final class Block {
+		/** The index of the block. */
+		final int fIndex;
+		/** The character offset of the block. */
+		final int fOffset;
+		/** The decoded characters, must not be modified. */
+		final char[] fChars;
+
+		Block(int index, int offset, char[] chars) {
+			fIndex= index;
+			fOffset= offset;
+			fChars= chars;
+		}
+	}
+
+	/** The encoded content in consecutive buffers, each positioned at 0. */
+	private final ByteBuffer[] fBuffers;
+	/** The charset of the content. */
+	private final Charset fCharset;
+	/**
+	 * Tells whether every byte decodes to exactly one character and there is a single buffer, so
+	 * that character offsets are byte offsets.
+	 */
+	private final boolean fSingleByte;
+	/** The mapped file or <code>null</code> if the content is not checked against a file. */
+	private final Path fFile;
+	/** The size of {@link #fFile} when this store was created. */
+	private final long fFileSize;
+	/** The key of {@link #fFile} when this store was created, <code>null</code> if not known. */
+	private final Object fFileKey;
+
+	/**
+	 * The character offsets of the blocks followed by the content length, <code>null</code> if
+	 * not yet computed or not needed.
+	 */
+	private int[] fCharOffsets;
+	/** The byte offsets corresponding to {@link #fCharOffsets}, relative to their buffer. */
+	private int[] fByteOffsets;
+	/** The indices of the buffers holding the blocks of {@link #fCharOffsets}. */
+	private int[] fBufferIndices;
+	/** The number of blocks, <code>-1</code> if not yet computed. */
+	private volatile int fBlockCount= -1;
+	/** The content length in characters, valid once {@link #fBlockCount} is computed. */
+	private int fLength;
+
+	/** The most recently decoded block, <code>null</code> if none. */
+	private volatile Block fCachedBlock;
+
+	/**
+	 * Creates a new store for the remaining bytes of the given buffer. Neither the buffer's content
+	 * nor its position and limit may be changed afterwards.
+	 *
+	 * @param buffer the encoded content
+	 * @param charset the charset of the content, must be {@linkplain #isSupported(Charset) supported}
+	 */
+	public MappedTextStore(ByteBuffer buffer, Charset charset) {
+		this(new ByteBuffer[] { buffer }, charset, null);
+	}
+
+	/**
+	 * Creates a new store for the remaining bytes of the given buffers, which are concatenated.
+	 * Each buffer must end at a character boundary. Neither the buffers' content nor their
+	 * positions and limits may be changed afterwards.
+	 * <p>
+	 * If the buffers are mapped from a file, the file should be passed as well. Accessing a
+	 * mapping beyond the end of a file that has been truncated in the meantime can crash the VM,
+	 * so the store checks the size of the file before it reads from the buffers and throws an
+	 * {@link IllegalStateException} if the file has become smaller. The file is not checked while
+	 * a buffer is read, so a truncation at that time is not detected.
+	 * </p>
+	 *
+	 * @param buffers the encoded content
+	 * @param charset the charset of the content, must be {@linkplain #isSupported(Charset) supported}
+	 * @param file the file the buffers are mapped from or <code>null</code> if they do not need to
+	 *            be checked
+	 */
+	public MappedTextStore(ByteBuffer[] buffers, Charset charset, Path file) {
+		Assert.isLegal(isSupported(charset));
+		fBuffers= new ByteBuffer[buffers.length];
+		for (int i= 0; i < buffers.length; i++)
+			fBuffers[i]= buffers[i].slice();
+		fCharset= charset;
+		fSingleByte= isSingleByte(charset) && buffers.length == 1;
+
+		long fileSize= -1;
+		Object fileKey= null;
+		if (file != null) {
+			try {
+				BasicFileAttributes attributes= Files.readAttributes(file, BasicFileAttributes.class);
+				fileSize= attributes.size();
+				fileKey= attributes.fileKey();
+			} catch (IOException x) {
+				file= null;
+			}
+		}
+		fFile= file;
+		fFileSize= fileSize;
+		fFileKey= fileKey;
+	}
+
+	/**
+	 * Tells whether content in the given charset can be decoded on demand.
+	 *
+	 * @param charset the charset to check
+	 * @return <code>true</code> if the charset is supported by this store
+	 */
+	public static boolean isSupported(Charset charset) {
+		return StandardCharsets.UTF_8.equals(charset) || isSingleByte(charset);
+	}
+
+	private static boolean isSingleByte(Charset charset) {
+		if (!charset.canEncode())
+			return false;
+		CharsetDecoder decoder= charset.newDecoder();
+		return charset.newEncoder().maxBytesPerChar() == 1 && decoder.maxCharsPerByte() == 1 && decoder.averageCharsPerByte() == 1;
+	}
+
+	@Override
+	public char get(int offset) {
+		if (offset < 0 || offset >= getLength())
+			throw new IndexOutOfBoundsException();
+		Block block= getBlock(getBlockOfOffset(offset));
+		return block.fChars[offset - block.fOffset];
+	}
+
+	@Override
+	public String get(int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > getLength())
+			throw new IndexOutOfBoundsException();
+		if (length == 0)
+			return ""; //$NON-NLS-1$
+
+		Block block= getBlock(getBlockOfOffset(offset));
+		int start= offset - block.fOffset;
+		if (start + length <= block.fChars.length)
+			return new String(block.fChars, start, length);
+
+		char[] result= new char[length];
+		int copied= 0;
+		while (true) {
+			int count= Math.min(length - copied, block.fChars.length - start);
+			System.arraycopy(block.fChars, start, result, copied, count);
+			copied += count;
+			if (copied == length)
+				return new String(result);
+			block= getBlock(block.fIndex + 1);
+			start= 0;
+		}
+	}
+
+	@Override
+	public int getLength() {
+		ensureIndex();
+		return fLength;
+	}
+
+	/**
+	 * Not supported unless the replacement is empty, this store is read-only.
+	 *
+	 * @throws UnsupportedOperationException if <code>length</code> is not 0 or
+	 *             <code>text</code> is not empty
+	 */
+	@Override
+	public void replace(int offset, int length, String text) {
+		if (length != 0 || text != null && !text.isEmpty())
+			throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Not supported, this store is read-only.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void set(String text) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Returns the charset used to decode the content.
+	 *
+	 * @return the charset of this store
+	 */
+	public Charset getCharset() {
+		return fCharset;
+	}
+
+	/**
+	 * Returns the number of blocks.
+	 *
+	 * @return the number of blocks
+	 */
+	int getBlockCount() {
+		ensureIndex();
+		return fBlockCount;
+	}
+
+	/**
+	 * Returns the index of the block containing the given offset.
+	 *
+	 * @param offset the character offset, <code>0 &lt;= offset &lt; getLength()</code>
+	 * @return the index of the block
+	 */
+	int getBlockOfOffset(int offset) {
+		ensureIndex();
+		if (fSingleByte)
+			return offset / BLOCK_SIZE;
+
+		int index= Arrays.binarySearch(fCharOffsets, 0, fBlockCount, offset);
+		return index >= 0 ? index : -index - 2;
+	}
+
+	/**
+	 * Returns the given block, decoding it if necessary.
+	 *
+	 * @param index the index of the block
+	 * @return the decoded block
+	 * @throws IllegalStateException if the mapped file has been truncated
+	 */
+	Block getBlock(int index) {
+		Block block= fCachedBlock;
+		if (block != null && block.fIndex == index)
+			return block;
+
+		ensureIndex();
+		int charStart, charEnd, byteStart, byteEnd;
+		ByteBuffer buffer;
+		if (fSingleByte) {
+			charStart= byteStart= index * BLOCK_SIZE;
+			charEnd= byteEnd= Math.min(charStart + BLOCK_SIZE, fLength);
+			buffer= fBuffers[0];
+		} else {
+			charStart= fCharOffsets[index];
+			charEnd= fCharOffsets[index + 1];
+			byteStart= fByteOffsets[index];
+			buffer= fBuffers[fBufferIndices[index]];
+			// the next block either follows in the same buffer or starts the next buffer
+			byteEnd= fBufferIndices[index + 1] == fBufferIndices[index] ? fByteOffsets[index + 1] : buffer.limit();
+		}
+
+		checkFile();
+		ByteBuffer in= buffer.duplicate();
+		in.limit(byteEnd);
+		in.position(byteStart);
+		char[] chars= new char[charEnd - charStart];
+		CharBuffer out= CharBuffer.wrap(chars);
+		CharsetDecoder decoder= newDecoder();
+		decoder.decode(in, out, true);
+		decoder.flush(out);
+		Assert.isTrue(!out.hasRemaining());
+
+		block= new Block(index, charStart, chars);
+		fCachedBlock= block;
+		return block;
+	}
+
+	/**
+	 * Computes the content length and, unless character offsets are byte offsets, the block index.
+	 *
+	 * @throws IllegalStateException if the mapped file has been truncated or the content is longer
+	 *             than {@link Integer#MAX_VALUE} characters
+	 */
+	private void ensureIndex() {
+		if (fBlockCount >= 0)
+			return;
+
+		synchronized (this) {
+			if (fBlockCount >= 0)
+				return;
+
+			if (fSingleByte) {
+				fLength= fBuffers[0].remaining();
+				fBlockCount= (fLength + BLOCK_SIZE - 1) / BLOCK_SIZE;
+				return;
+			}
+
+			int[] charOffsets= new int[16];
+			int[] byteOffsets= new int[16];
+			int[] bufferIndices= new int[16];
+			int count= 0;
+			long length= 0;
+
+			CharBuffer out= CharBuffer.allocate(BLOCK_SIZE);
+			CharsetDecoder decoder= newDecoder();
+			for (int b= 0; b < fBuffers.length; b++) {
+				ByteBuffer in= fBuffers[b].duplicate();
+				while (in.hasRemaining()) {
+					if (count + 1 == charOffsets.length) {
+						charOffsets= Arrays.copyOf(charOffsets, count * 2);
+						byteOffsets= Arrays.copyOf(byteOffsets, count * 2);
+						bufferIndices= Arrays.copyOf(bufferIndices, count * 2);
+					}
+					charOffsets[count]= (int) length;
+					byteOffsets[count]= in.position();
+					bufferIndices[count]= b;
+					++count;
+
+					// the decoder only consumes complete sequences, so each block can be decoded on its own
+					checkFile();
+					out.clear();
+					decoder.reset();
+					decoder.decode(in, out, true);
+					length += out.position();
+					if (length > Integer.MAX_VALUE)
+						throw new IllegalStateException("content exceeds " + Integer.MAX_VALUE + " characters"); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			}
+			charOffsets[count]= (int) length;
+			byteOffsets[count]= 0;
+			bufferIndices[count]= fBuffers.length;
+
+			fCharOffsets= charOffsets;
+			fByteOffsets= byteOffsets;
+			fBufferIndices= bufferIndices;
+			fLength= (int) length;
+			fBlockCount= count;
+		}
+	}
+
+	/**
+	 * Checks that the mapped file, if any, has not been truncated since this store was created.
+	 * A file that has been deleted or replaced by another file is fine, its mapping stays valid.
+	 *
+	 * @throws IllegalStateException if the mapped file has been truncated
+	 */
+	private void checkFile() {
+		if (fFile == null)
+			return;
+
+		BasicFileAttributes attributes;
+		try {
+			attributes= Files.readAttributes(fFile, BasicFileAttributes.class);
+		} catch (IOException x) {
+			return;
+		}
+		if (attributes.size() < fFileSize && (fFileKey == null || fFileKey.equals(attributes.fileKey())))
+			throw new IllegalStateException("mapped file has been truncated: " + fFile); //$NON-NLS-1$
+	}
+
+	private CharsetDecoder newDecoder() {
+		return fCharset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+}
@@ -13,10 +13,11 @@
  *******************************************************************************/
 package org.eclipse.jface.text;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -24,18 +25,46 @@ import java.util.stream.Collectors;
 /**
  * Fast matcher to find the occurrences of any of a fixed set of constant strings. Supports finding
  * all (possibly overlapping) matches, or only the leftmost longest match.
+ * <p>
+ * Since 3.13, a matcher can be built to ignore case or to report only whole words, see
+ * {@link #builder(int)}.
+ * </p>
  *
  * @since 3.9
  */
 public class MultiStringMatcher {
 
-	// An implementation of the Aho-Corasick algorithm (without the DFA construction from section 6 of the
-	// paper; just the failure and output links).
+	// An implementation of the Aho-Corasick algorithm.
 	//
 	// See Aho, Alfred V.; Corasick, Margaret J.: "Efficient String Matching: An Aid to Bibliographic Search",
 	// CACM 18(6), 1975.
 	//
 	// The algorithm has been modified to support reporting either all matches or only leftmost longest matches.
+	//
+	// The trie is built from Node objects and then compiled into flat arrays. The states are numbered
+	// in breadth-first order with the children of a state in ascending character order, so the child
+	// reached by the k-th edge is state k + 1. For ASCII characters in the states nearest to the root,
+	// the transitions of the DFA from section 6 of the paper are precomputed in a dense table. Other
+	// transitions follow the failure links.
+
+	/**
+	 * Option for {@link #builder(int)}: characters are compared ignoring case, as by
+	 * {@link String#equalsIgnoreCase(String)}.
+	 *
+	 * @since 3.13
+	 */
+	public static final int IGNORE_CASE= 1 << 0;
+
+	/**
+	 * Option for {@link #builder(int)}: only whole words are matched. A match must neither start nor
+	 * end within a word, where words consist of letters, digits and underscores.
+	 *
+	 * @since 3.13
+	 */
+	public static final int WHOLE_WORD= 1 << 1;
+
+	/** The maximal number of entries of the dense transition table. */
+	private static final int MAX_DENSE_SIZE= 1 << 18;
 
 	/**
 	 * Describes a match result of {@link MultiStringMatcher#indexOf(CharSequence, int)}, giving
@@ -87,12 +116,32 @@ public class MultiStringMatcher {
 		MultiStringMatcher build();
 	}
 
+	/**
+	 * Receives the matches found by
+	 * {@link MultiStringMatcher#find(CharSequence, int, int, MatchConsumer)} without a {@link Match}
+	 * being created for each of them.
+	 *
+	 * @since 3.13
+	 */
+	@FunctionalInterface
+	public static interface MatchConsumer {
+
+		/**
+		 * Accepts a match.
+		 *
+		 * @param searchString the search string that was matched, as added to the builder
+		 * @param offset the offset the search string was matched at
+		 * @return {@code true} to continue searching, {@code false} to stop
+		 */
+		boolean accept(String searchString, int offset);
+	}
+
 	private static class BuilderImpl implements Builder {
 
 		private MultiStringMatcher m;
 
-		BuilderImpl() {
-			m= new MultiStringMatcher();
+		BuilderImpl(int options) {
+			m= new MultiStringMatcher(options);
 		}
 
 		private void check() {
@@ -115,19 +164,24 @@ public class MultiStringMatcher {
 			m= null;
 			if (!result.root.hasChildren()) {
 				// no search strings were added; return a specialized "matches nothing" matcher
-				return new MultiStringMatcher() {
+				return new MultiStringMatcher(result.options) {
 					@Override
 					public void find(CharSequence text, int offset, Consumer<Match> matches) {
 						return;
 					}
 
+					@Override
+					public void find(CharSequence text, int offset, int end, MatchConsumer consumer) {
+						return;
+					}
+
 					@Override
 					public Match indexOf(CharSequence text, int offset) {
 						return null;
 					}
 				};
 			}
-			result.buildLinks();
+			result.compile();
 			return result;
 		}
 	}
@@ -138,7 +192,19 @@ public class MultiStringMatcher {
 	 * @return the {@link Builder}
 	 */
 	public static Builder builder() {
-		return new BuilderImpl();
+		return new BuilderImpl(0);
+	}
+
+	/**
+	 * Creates an initially empty {@link Builder} for a matcher with the given options.
+	 *
+	 * @param options a bitwise combination of {@link #IGNORE_CASE} and {@link #WHOLE_WORD}, or
+	 *            {@code 0}
+	 * @return the {@link Builder}
+	 * @since 3.13
+	 */
+	public static Builder builder(int options) {
+		return new BuilderImpl(options);
 	}
 
 	private static class MatchResult implements Match {
@@ -191,20 +257,12 @@ public class MultiStringMatcher {
 
 		String match;
 
-		Node fail;
-
-		Node output;
-
 		final int depth;
 
 		Node(int depth) {
 			this.depth= depth;
 		}
 
-		Node next(Character c) {
-			return children == null ? null : children.get(c);
-		}
-
 		Node add(char c) {
 			if (children == null) {
 				children= new HashMap<>();
@@ -216,6 +274,16 @@ public class MultiStringMatcher {
 			return children != null;
 		}
 
+		char[] getSortedKeys() {
+			char[] keys= new char[children.size()];
+			int i= 0;
+			for (Character c : children.keySet()) {
+				keys[i++]= c.charValue();
+			}
+			Arrays.sort(keys);
+			return keys;
+		}
+
 		@Override
 		public String toString() {
 			return "[depth=" + depth + ", match=" + match //$NON-NLS-1$ //$NON-NLS-2$
@@ -224,69 +292,192 @@ public class MultiStringMatcher {
 		}
 	}
 
-	/** Root node of the trie. */
-	private final Node root= new Node(0) {
-		@Override
-		Node next(Character c) {
-			// Implements the sentinel loop on the root node for all non-matching characters.
-			Node child= super.next(c);
-			return child == null ? this : child;
-		}
-	};
+	/** The options of this matcher. */
+	private final int options;
+
+	/** Root node of the trie; {@code null} once the trie has been compiled. */
+	private Node root= new Node(0);
+
+	/** The length of the prefix represented by each state. */
+	private int[] depth;
+
+	/** The search string ending in each state, or {@code null}. */
+	private String[] match;
+
+	/** The failure link of each state. */
+	private int[] fail;
+
+	/** The output link of each state, i.e. the nearest state on its failure path with a match, or -1. */
+	private int[] output;
+
+	/** The index of the first edge of each state; the edges of state s end at edgeStart[s + 1]. */
+	private int[] edgeStart;
+
+	/** The characters of the edges, ascending per state. */
+	private char[] edgeChars;
+
+	/** The number of states having an entry in {@link #dense}. */
+	private int denseStates;
+
+	/**
+	 * The transitions of the states below {@link #denseStates} for ASCII characters, indexed by
+	 * {@code state << 7 | c}. Edges of the trie and the sentinel loop on the root are stored as the
+	 * target state {@code t}, transitions over failure links as {@code ~t}.
+	 */
+	private int[] dense;
 
-	private MultiStringMatcher() {
+	/** The length of the longest search string. */
+	private int maxDepth;
+
+	private MultiStringMatcher(int options) {
 		// Always use a Builder or the static helper methods to create a MultiStringMatcher
+		this.options= options;
 	}
 
 	private void add(String... searchStrings) {
 		if (searchStrings != null) {
+			boolean ignoreCase= (options & IGNORE_CASE) != 0;
 			for (String searchString : searchStrings) {
 				if (searchString == null || searchString.isEmpty()) {
 					continue;
 				}
 				Node node= root;
 				for (char c : searchString.toCharArray()) {
-					node= node.add(c);
+					node= node.add(ignoreCase ? fold(c) : c);
 				}
 				node.match= searchString;
 			}
 		}
 	}
 
-	private void buildLinks() {
-		// Build the fail and output links. See the paper referenced at the top; this
-		// is a one-to-one implementation of the original algorithm. Variable names
-		// s, r, and state are kept as in the paper.
-		List<Node> queue= new LinkedList<>();
-		for (Node s : root.children.values()) {
-			if (s.hasChildren()) {
-				// No need to queue nodes without children since we don't do anything
-				// with them anyway.
-				queue.add(s);
+	private void compile() {
+		// Number the states in breadth-first order.
+		List<Node> nodes= new ArrayList<>();
+		nodes.add(root);
+		for (int i= 0; i < nodes.size(); i++) {
+			Node node= nodes.get(i);
+			if (node.hasChildren()) {
+				for (char c : node.getSortedKeys()) {
+					nodes.add(node.children.get(Character.valueOf(c)));
+				}
 			}
-			s.fail= root;
 		}
-		while (!queue.isEmpty()) {
-			Node r= queue.remove(0);
-			for (Map.Entry<Character, Node> entry : r.children.entrySet()) {
-				Character c= entry.getKey();
-				Node s= entry.getValue();
-				if (s.hasChildren()) {
-					queue.add(s);
-				}
-				Node state= r.fail;
-				Node f;
-				while ((f= state.next(c)) == null) {
-					state= state.fail;
+
+		int n= nodes.size();
+		depth= new int[n];
+		match= new String[n];
+		fail= new int[n];
+		output= new int[n];
+		edgeStart= new int[n + 1];
+		edgeChars= new char[n - 1];
+		int edge= 0;
+		for (int s= 0; s < n; s++) {
+			Node node= nodes.get(s);
+			depth[s]= node.depth;
+			match[s]= node.match;
+			maxDepth= Math.max(maxDepth, node.depth);
+			edgeStart[s]= edge;
+			if (node.hasChildren()) {
+				for (char c : node.getSortedKeys()) {
+					edgeChars[edge++]= c;
 				}
-				s.fail= f;
-				if (f.match != null) {
-					s.output= f;
-				} else if (f.output != null) {
-					s.output= f.output;
+			}
+		}
+		edgeStart[n]= edge;
+		root= null;
+
+		// Build the fail and output links as in the paper referenced at the top. Parents are numbered
+		// before their children, and failure links always lead to states with a lower number.
+		output[0]= -1;
+		for (int r= 0; r < n; r++) {
+			for (int e= edgeStart[r]; e < edgeStart[r + 1]; e++) {
+				int s= e + 1;
+				int f= r == 0 ? 0 : next(fail[r], edgeChars[e]);
+				fail[s]= f;
+				output[s]= match[f] != null ? f : output[f];
+			}
+		}
+
+		// Precompute the transitions for ASCII characters of the states nearest to the root.
+		denseStates= Math.min(n, MAX_DENSE_SIZE >> 7);
+		int[] table= new int[denseStates << 7];
+		for (int s= 0; s < denseStates; s++) {
+			for (char c= 0; c < 128; c++) {
+				int e= findEdge(s, c);
+				if (e >= 0) {
+					table[s << 7 | c]= e + 1;
+				} else if (s != 0) {
+					int t= table[fail[s] << 7 | c];
+					table[s << 7 | c]= t < 0 ? t : ~t;
 				}
 			}
 		}
+		dense= table;
+	}
+
+	/**
+	 * Returns the edge leaving the given state with the given character.
+	 *
+	 * @param state the state
+	 * @param c the character
+	 * @return the index of the edge, or -1 if there is none
+	 */
+	private int findEdge(int state, char c) {
+		int index= Arrays.binarySearch(edgeChars, edgeStart[state], edgeStart[state + 1], c);
+		return index < 0 ? -1 : index;
+	}
+
+	/**
+	 * Returns the transition from the given state with the given character.
+	 *
+	 * @param state the state
+	 * @param c the character
+	 * @return the target state {@code t} if the transition follows an edge of the trie or the
+	 *         sentinel loop on the root, {@code ~t} if it follows failure links
+	 */
+	private int step(int state, char c) {
+		if (c < 128 && state < denseStates) {
+			return dense[state << 7 | c];
+		}
+		int e= findEdge(state, c);
+		if (e >= 0) {
+			return e + 1;
+		}
+		return state == 0 ? 0 : ~next(fail[state], c);
+	}
+
+	/**
+	 * Returns the state reached from the given state with the given character.
+	 *
+	 * @param state the state
+	 * @param c the character
+	 * @return the next state
+	 */
+	private int next(int state, char c) {
+		int t= step(state, c);
+		return t < 0 ? ~t : t;
+	}
+
+	private boolean hasChildren(int state) {
+		return edgeStart[state + 1] > edgeStart[state];
+	}
+
+	/**
+	 * Returns the case folding of the given character, such that two characters are equal ignoring
+	 * case as in {@link String#equalsIgnoreCase(String)} if and only if their foldings are equal.
+	 *
+	 * @param c the character
+	 * @return the folded character
+	 */
+	private static char fold(char c) {
+		if (c < 128) {
+			return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+		}
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	private static boolean isWordPart(char c) {
+		return c == '_' || Character.isLetterOrDigit(c);
 	}
 
 	/**
@@ -300,23 +491,43 @@ public class MultiStringMatcher {
 	 * @since 3.10
 	 */
 	public void find(CharSequence text, int offset, Consumer<Match> matches) {
+		find(text, offset, text.length(), (searchString, matchOffset) -> {
+			matches.accept(new MatchResult(searchString, matchOffset));
+			return true;
+		});
+	}
+
+	/**
+	 * Finds all occurrences of any of the search strings of the {@link MultiStringMatcher} in the
+	 * given range of the {@code text}, including overlapping occurrences. The matches are reported in
+	 * the order of their end offsets, and no objects are created per match.
+	 * <p>
+	 * For a {@link #WHOLE_WORD} matcher, the characters adjacent to the range are taken into account.
+	 * </p>
+	 *
+	 * @param text to search (not {@code null})
+	 * @param offset to start searching at
+	 * @param end to stop searching at; matches end at or before this offset
+	 * @param consumer {@link MatchConsumer} all matches are fed to, until it returns {@code false}
+	 *
+	 * @since 3.13
+	 */
+	public void find(CharSequence text, int offset, int end, MatchConsumer consumer) {
 		// Main search loop of the standard Aho-Corasick algorithm.
-		int textEnd= text.length();
-		Node node= root;
-		for (int i= offset; i < textEnd; i++) {
-			Character c= Character.valueOf(text.charAt(i));
-			Node next;
-			while ((next= node.next(c)) == null) {
-				node= node.fail;
-			}
-			node= next;
-			if (node.match != null) {
-				matches.accept(new MatchResult(node.match, i - node.depth + 1));
+		boolean ignoreCase= (options & IGNORE_CASE) != 0;
+		WordBoundaries boundaries= (options & WHOLE_WORD) != 0 ? new WordBoundaries(text, offset, maxDepth) : null;
+		int state= 0;
+		for (int i= offset; i < end; i++) {
+			char c= text.charAt(i);
+			if (boundaries != null) {
+				boundaries.add(i, c);
 			}
-			Node out= node.output;
-			while (out != null) {
-				matches.accept(new MatchResult(out.match, i - out.depth + 1));
-				out= out.output;
+			state= next(state, ignoreCase ? fold(c) : c);
+			for (int s= match[state] != null ? state : output[state]; s != -1; s= output[s]) {
+				int start= i - depth[s] + 1;
+				if ((boundaries == null || boundaries.isWholeWord(start, i)) && !consumer.accept(match[s], start)) {
+					return;
+				}
 			}
 		}
 	}
@@ -345,9 +556,12 @@ public class MultiStringMatcher {
 	 *
 	 * @param text to search (not {@code null})
 	 * @param offset to start searching at
-	 * @return the leftmost longest match found, or {@code null} if no match was found.
+	 * @return the leftmost longest match found, or {@code null} if no match was found.
 	 */
 	public Match indexOf(CharSequence text, int offset) {
+		if ((options & WHOLE_WORD) != 0) {
+			return indexOfWholeWord(text, offset);
+		}
 		// Main search loop of the Aho-Corasick algorithm, modified to stop after
 		// the leftmost longest match.
 		//
@@ -372,62 +586,140 @@ public class MultiStringMatcher {
 		// again from the top). If we have any match, we may stop and return it. If we _do_
 		// change to an alternate path but there's a sub-match with a lower offset, we also
 		// may return that. Otherwise we continue normally on the new path.
+		boolean ignoreCase= (options & IGNORE_CASE) != 0;
 		int textEnd= text.length();
-		Match primaryMatch= null;
-		Match subMatch= null;
-		Node node= root;
+		int primaryMatch= -1;
+		int primaryOffset= -1;
+		int subMatch= -1;
+		int subOffset= -1;
+		int state= 0;
 		for (int i= offset; i < textEnd; i++) {
-			Character c= Character.valueOf(text.charAt(i));
-			Node next= node.next(c);
-			if (next == null) {
+			char c= text.charAt(i);
+			int next= step(state, ignoreCase ? fold(c) : c);
+			if (next < 0) {
 				// Can't continue on this path.
-				if (primaryMatch != null) {
+				if (primaryMatch != -1) {
 					// Return primary match because any other match must have a higher offset.
-					return primaryMatch;
+					return new MatchResult(match[primaryMatch], primaryOffset);
 				}
-				// Search for another path to continue matching.
-				do {
-					node= node.fail;
-				} while ((next= node.next(c)) == null);
-				if (subMatch != null) {
-					if (next == root) {
+				// Switch to another path to continue matching.
+				next= ~next;
+				if (subMatch != -1) {
+					if (next == 0) {
 						// We fell off the trie and could not switch to another. Return the best
 						// sub-match.
-						return subMatch;
-					} else if (subMatch.getOffset() < i - node.depth) {
-						// The new path starts at i - node.depth == i - next.depth + 1, so if a
-						// sub-match is earlier, we may return it. Any primary match on this path
-						// or on any other path we might switch to later on will have a higher
-						// offset, and so will any sub-matches we might discover on these paths.
-						return subMatch;
+						return new MatchResult(match[subMatch], subOffset);
+					} else if (subOffset < i - depth[next] + 1) {
+						// The new path starts at i - depth[next] + 1, so if a sub-match is earlier,
+						// we may return it. Any primary match on this path or on any other path we
+						// might switch to later on will have a higher offset, and so will any
+						// sub-matches we might discover on these paths.
+						return new MatchResult(match[subMatch], subOffset);
 					}
 				}
 			}
-			node= next;
-			if (node.match != null) {
+			state= next;
+			if (match[state] != null) {
 				// Any new primary match is better because all have the same offset but any new one
 				// must be longer. An existing sub-match from a previous path is checked above.
-				primaryMatch= new MatchResult(node.match, i - node.depth + 1);
-				if (!node.hasChildren()) {
+				primaryMatch= state;
+				primaryOffset= i - depth[state] + 1;
+				if (!hasChildren(state)) {
 					// We will fall off the trie on the next character, so we can return right here.
-					return primaryMatch;
+					return new MatchResult(match[primaryMatch], primaryOffset);
 				}
 			}
 			// Check for sub matches but only if there is no primary match because only another
 			// primary match can be better.
-			if (primaryMatch == null) {
-				Node out= node.output;
-				if (out != null) {
-					int newOffset= i - out.depth + 1;
-					if (subMatch == null
-							|| newOffset < subMatch.getOffset()
-							|| (newOffset == subMatch.getOffset() && out.depth > subMatch.getText().length())) {
-						subMatch= new MatchResult(out.match, newOffset);
+			if (primaryMatch == -1) {
+				int out= output[state];
+				if (out != -1) {
+					int newOffset= i - depth[out] + 1;
+					if (subMatch == -1
+							|| newOffset < subOffset
+							|| (newOffset == subOffset && depth[out] > depth[subMatch])) {
+						subMatch= out;
+						subOffset= newOffset;
 					}
 				}
 			}
 		}
-		return primaryMatch != null ? primaryMatch : subMatch;
+		if (primaryMatch != -1) {
+			return new MatchResult(match[primaryMatch], primaryOffset);
+		}
+		return subMatch != -1 ? new MatchResult(match[subMatch], subOffset) : null;
+	}
+
+	private Match indexOfWholeWord(CharSequence text, int offset) {
+		// Not all matches are whole words, so the shortcuts of indexOf do not apply. Look at all matches
+		// until no match ending later can start at or before the best one.
+		boolean ignoreCase= (options & IGNORE_CASE) != 0;
+		WordBoundaries boundaries= new WordBoundaries(text, offset, maxDepth);
+		int textEnd= text.length();
+		int best= -1;
+		int bestOffset= -1;
+		int state= 0;
+		for (int i= offset; i < textEnd; i++) {
+			if (best != -1 && i >= bestOffset + maxDepth) {
+				break;
+			}
+			char c= text.charAt(i);
+			boundaries.add(i, c);
+			state= next(state, ignoreCase ? fold(c) : c);
+			for (int s= match[state] != null ? state : output[state]; s != -1; s= output[s]) {
+				int start= i - depth[s] + 1;
+				if ((best == -1 || start < bestOffset || start == bestOffset && depth[s] > depth[best]) && boundaries.isWholeWord(start, i)) {
+					best= s;
+					bestOffset= start;
+				}
+			}
+		}
+		return best != -1 ? new MatchResult(match[best], bestOffset) : null;
+	}
+
+	/**
+	 * Keeps track of the word boundaries of the most recently scanned characters, so that the text
+	 * is read only forward.
+	 */
+	private static class WordBoundaries {
+
+		private final CharSequence text;
+
+		/** Whether there is a word boundary before the character, by index modulo its length. */
+		private final boolean[] boundaries;
+
+		private boolean previousWordPart;
+
+		WordBoundaries(CharSequence text, int offset, int maxDepth) {
+			this.text= text;
+			boundaries= new boolean[Integer.highestOneBit(maxDepth) << 1];
+			previousWordPart= offset > 0 && isWordPart(text.charAt(offset - 1));
+		}
+
+		/**
+		 * Records the next scanned character.
+		 *
+		 * @param index the index of the character
+		 * @param c the character
+		 */
+		void add(int index, char c) {
+			boolean wordPart= isWordPart(c);
+			boundaries[index & (boundaries.length - 1)]= !(previousWordPart && wordPart);
+			previousWordPart= wordPart;
+		}
+
+		/**
+		 * Tells whether the match between the given indices is a whole word. The character at
+		 * {@code last} must be the most recently added one.
+		 *
+		 * @param start the index of the first character of the match
+		 * @param last the index of the last character of the match
+		 * @return {@code true} if the match neither starts nor ends within a word
+		 */
+		boolean isWholeWord(int start, int last) {
+			return boundaries[start & (boundaries.length - 1)]
+					&& (!previousWordPart || last + 1 == text.length() || !isWordPart(text.charAt(last + 1)));
+		}
 	}
 
 	/**
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import org.eclipse.jface.text.AbstractLineTracker.DelimiterInfo;
+
+
+/**
+ * Computes the lines of a large text by scanning chunks of it in parallel.
+ * <p>
+ * Each chunk is scanned by its own tracker, see {@link AbstractLineTracker#createScanner()}, and
+ * assumes that a line starts at the beginning of the chunk. The chunks are then stitched together
+ * in order. If a delimiter which was found at the end of a chunk extends into the next one, for
+ * example a <code>"\r\n"</code> split by the chunk boundary, the next chunk is scanned again from
+ * the end of that delimiter until it agrees with the delimiters found in parallel.
+ * </p>
+ *
+ * @since 3.13
+ */
+final class ParallelLineScanner {
+
+	/** The minimum number of characters scanned by one task. */
+	private static final int MIN_CHUNK_SIZE= 256 * 1024;
+	/** The minimum text length for which the text is scanned in parallel. */
+	static final int PARALLEL_THRESHOLD= 4 * MIN_CHUNK_SIZE;
+
+	/**
+	 * The delimiters found in one chunk of the text.
+	 */
+	private static final class Chunk extends RecursiveAction {
+
+		private static final long serialVersionUID= 1L;
+
+		/** The text. */
+		private final transient String fText;
+		/** The start of the chunk. */
+		final int fStart;
+		/** The end of the chunk, exclusive. */
+		final int fEnd;
+		/** The maximum length of a delimiter. */
+		private final int fMaxDelimiterLength;
+		/** The tracker used to scan the chunk. */
+		private final transient AbstractLineTracker fScanner;
+
+		/** The offsets of the delimiters starting in this chunk. */
+		int[] fIndices= new int[64];
+		/** The delimiters starting in this chunk. */
+		String[] fDelimiters= new String[64];
+		/** The number of delimiters found. */
+		int fCount;
+
+		Chunk(String text, int start, int end, int maxDelimiterLength, AbstractLineTracker scanner) {
+			fText= text;
+			fStart= start;
+			fEnd= end;
+			fMaxDelimiterLength= maxDelimiterLength;
+			fScanner= scanner;
+		}
+
+		@Override
+		protected void compute() {
+			// scan a copy that ends after the longest delimiter which can start in this chunk
+			String text= fText.substring(fStart, Math.min(fEnd + fMaxDelimiterLength - 1, fText.length()));
+			int end= fEnd - fStart;
+			DelimiterInfo info= fScanner.nextDelimiterInfo(text, 0);
+			while (info != null && info.delimiterIndex > -1 && info.delimiterIndex < end) {
+				if (fCount == fIndices.length) {
+					fIndices= Arrays.copyOf(fIndices, fCount * 2);
+					fDelimiters= Arrays.copyOf(fDelimiters, fCount * 2);
+				}
+				fIndices[fCount]= fStart + info.delimiterIndex;
+				fDelimiters[fCount]= info.delimiter;
+				fCount++;
+				info= fScanner.nextDelimiterInfo(text, info.delimiterIndex + info.delimiterLength);
+			}
+		}
+	}
+
+	private ParallelLineScanner() {
+		// not instantiable
+	}
+
+	/**
+	 * Returns the lines of the given text as computed by
+	 * {@link ListLineTracker#set(String)}, or <code>null</code> if the text is not scanned in
+	 * parallel.
+	 *
+	 * @param text the text
+	 * @param tracker the tracker defining the delimiters
+	 * @return the lines of the text or <code>null</code>
+	 */
+	static List<Line> computeLines(String text, AbstractLineTracker tracker) {
+		int parallelism= ForkJoinPool.getCommonPoolParallelism();
+		if (text == null || text.length() < PARALLEL_THRESHOLD || parallelism < 2)
+			return null;
+
+		int maxDelimiterLength= 1;
+		for (String delimiter : tracker.getLegalLineDelimiters())
+			maxDelimiterLength= Math.max(maxDelimiterLength, delimiter.length());
+
+		int length= text.length();
+		int count= Math.min(4 * parallelism, length / MIN_CHUNK_SIZE);
+		List<Chunk> chunks= new ArrayList<>(count);
+		for (int i= 0; i < count; i++) {
+			AbstractLineTracker scanner= tracker.createScanner();
+			if (scanner == null)
+				return null;
+			int start= (int) ((long) length * i / count);
+			int end= (int) ((long) length * (i + 1) / count);
+			chunks.add(new Chunk(text, start, end, maxDelimiterLength, scanner));
+		}
+		ForkJoinTask.invokeAll(chunks);
+
+		List<Line> lines= new ArrayList<>();
+		int lineStart= 0;
+		for (Chunk chunk : chunks) {
+			int i= 0;
+			if (lineStart > chunk.fStart) {
+				// a delimiter of the previous chunk extends into this chunk
+				while (true) {
+					DelimiterInfo info= tracker.nextDelimiterInfo(text, lineStart);
+					if (info == null || info.delimiterIndex < 0 || info.delimiterIndex >= chunk.fEnd) {
+						i= chunk.fCount;
+						break;
+					}
+					while (i < chunk.fCount && chunk.fIndices[i] < info.delimiterIndex)
+						i++;
+					if (i < chunk.fCount && chunk.fIndices[i] == info.delimiterIndex && chunk.fDelimiters[i].equals(info.delimiter))
+						break;
+
+					int index= info.delimiterIndex + info.delimiterLength - 1;
+					lines.add(new Line(lineStart, index, info.delimiter));
+					lineStart= index + 1;
+				}
+			}
+
+			for (; i < chunk.fCount; i++) {
+				int index= chunk.fIndices[i] + chunk.fDelimiters[i].length() - 1;
+				lines.add(new Line(lineStart, index, chunk.fDelimiters[i]));
+				lineStart= index + 1;
+			}
+		}
+
+		if (lineStart < length)
+			lines.add(new Line(lineStart, length - 1, null));
+		return lines;
+	}
+}
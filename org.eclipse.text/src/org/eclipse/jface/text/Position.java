@@ -46,6 +46,15 @@ public class Position {
 	/** Indicates whether the position has been deleted */
 	public boolean isDeleted;
 
+	/**
+	 * The number of changes of positions stored in a {@link PositionTree} through
+	 * {@link #setOffset(int)} and {@link #setLength(int)}.
+	 */
+	private static volatile int fgModificationCount;
+
+	/** Tells whether this position has been stored in a {@link PositionTree}. */
+	boolean fManaged;
+
 	/**
 	 * Creates a new position with the given offset and length 0.
 	 *
@@ -183,6 +192,8 @@ public class Position {
 	public void setLength(int length) {
 		Assert.isTrue(length >= 0);
 		this.length= length;
+		if (fManaged)
+			fgModificationCount++;
 	}
 
 	/**
@@ -193,6 +204,18 @@ public class Position {
 	public void setOffset(int offset) {
 		Assert.isTrue(offset >= 0);
 		this.offset= offset;
+		if (fManaged)
+			fgModificationCount++;
+	}
+
+	/**
+	 * Returns a counter which changes whenever a position that has been stored in a
+	 * {@link PositionTree} is changed through {@link #setOffset(int)} or {@link #setLength(int)}.
+	 *
+	 * @return the modification count
+	 */
+	static int getModificationCount() {
+		return fgModificationCount;
 	}
 
 	@Override
@@ -0,0 +1,576 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * The positions of one position category of an {@link AbstractDocument}, ordered by their
+ * offsets.
+ * <p>
+ * The positions are kept in a balanced tree that supports insertion and removal at an index, as
+ * well as index lookup by offset, in <i>O(log n)</i>. Each node is augmented with the maximum end
+ * offset of the positions in its subtree, which allows to find all positions overlapping a range
+ * in <i>O(log n + k)</i>.
+ * </p>
+ * <p>
+ * Like the sorted lists used before, the tree reads the offsets and lengths of the positions
+ * directly and relies on position updaters to keep their relative order. The maximum end offsets
+ * are stored relative to the offset of the node's position, so they stay valid when all positions
+ * of a subtree are shifted by the same amount. Positions overlapping a document change may be
+ * modified in other ways; {@link #markAffected(int, int)} has to be called for the change before
+ * they are updated, and {@link #repair()} afterwards.
+ * </p>
+ * <p>
+ * Clients may also change positions through {@link Position#setOffset(int)} and
+ * {@link Position#setLength(int)}, and position updaters may change any position. The tree
+ * therefore remembers the {@link Position#getModificationCount() modification count} for which
+ * its augmented data was computed. Queries which depend on that data recompute it in <i>O(n)</i>
+ * if the count has changed or if the tree has been {@link #invalidate() invalidated}. At the same
+ * time, the tree checks whether the positions are still {@link #isOrdered() ordered} by offset,
+ * which updaters may rely on to only investigate the positions near a change.
+ * </p>
+ *
+ * @since 3.13
+ */
+final class PositionTree extends AbstractList<Position> {
+
+	private static final class Node {
+		/** The position of this node. */
+		Position fPosition;
+		Node fLeft;
+		Node fRight;
+		/** The height of this subtree. */
+		int fHeight= 1;
+		/** The number of positions in this subtree. */
+		int fSize= 1;
+		/**
+		 * The maximum end offset of the positions in this subtree, relative to the offset of
+		 * {@link #fPosition}.
+		 */
+		int fMaxEnd;
+		/** Tells whether positions in this subtree may have changed since fMaxEnd was computed. */
+		boolean fDirty;
+
+		Node(Position position) {
+			fPosition= position;
+			position.fManaged= true;
+			fMaxEnd= position.getLength();
+		}
+	}
+
+	/** The root of the tree, <code>null</code> if empty. */
+	private Node fRoot;
+	/** The position removed by the last call to {@link #delete(Node, int)}. */
+	private Position fRemoved;
+	/** Tells whether the augmented data is known to be valid for {@link #fValidatedCount}. */
+	private boolean fValid= true;
+	/** The position modification count for which the augmented data was computed. */
+	private int fValidatedCount= Position.getModificationCount();
+	/** Tells whether the positions are being updated for a document change. */
+	private boolean fUpdating;
+	/** Tells whether the positions were ordered by offset when the augmented data was computed. */
+	private boolean fOrdered= true;
+
+
+	@Override
+	public int size() {
+		return size(fRoot);
+	}
+
+	@Override
+	public Position get(int index) {
+		checkIndex(index, size());
+		Node node= fRoot;
+		while (true) {
+			int leftSize= size(node.fLeft);
+			if (index < leftSize) {
+				node= node.fLeft;
+			} else if (index > leftSize) {
+				index -= leftSize + 1;
+				node= node.fRight;
+			} else {
+				return node.fPosition;
+			}
+		}
+	}
+
+	@Override
+	public Position set(int index, Position position) {
+		checkIndex(index, size());
+		Position previous= get(index);
+		fRoot= replace(fRoot, index, position);
+		return previous;
+	}
+
+	@Override
+	public void add(int index, Position position) {
+		if (index < 0 || index > size())
+			throw new IndexOutOfBoundsException();
+		fRoot= insert(fRoot, index, position);
+		modCount++;
+	}
+
+	@Override
+	public Position remove(int index) {
+		checkIndex(index, size());
+		fRoot= delete(fRoot, index);
+		modCount++;
+		Position removed= fRemoved;
+		fRemoved= null;
+		return removed;
+	}
+
+	@Override
+	public void clear() {
+		fRoot= null;
+		modCount++;
+	}
+
+	@Override
+	public Object[] toArray() {
+		Object[] result= new Object[size()];
+		fill(fRoot, result, 0);
+		return result;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T[] toArray(T[] a) {
+		int size= size();
+		if (a.length < size)
+			a= (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+		fill(fRoot, a, 0);
+		if (a.length > size)
+			a[size]= null;
+		return a;
+	}
+
+	/**
+	 * Replaces all positions of this tree with the given positions, which have to be ordered by
+	 * offset. The tree is built balanced in <i>O(n)</i>.
+	 *
+	 * @param positions the positions
+	 * @param count the number of positions to take from the array
+	 */
+	void setAll(Position[] positions, int count) {
+		fRoot= build(positions, 0, count);
+		modCount++;
+	}
+
+	/**
+	 * Returns the index at which a position with the given offset would be inserted. The position
+	 * would become the first of all positions with the same offset.
+	 *
+	 * @param offset the offset
+	 * @return the number of positions with an offset smaller than <code>offset</code>
+	 */
+	int computeIndex(int offset) {
+		int index= 0;
+		Node node= fRoot;
+		while (node != null) {
+			if (offset <= node.fPosition.getOffset()) {
+				node= node.fLeft;
+			} else {
+				index += size(node.fLeft) + 1;
+				node= node.fRight;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Removes the given position, based on identity.
+	 *
+	 * @param position the position to remove
+	 * @return <code>true</code> if the position was found
+	 */
+	boolean removePosition(Position position) {
+		int size= size();
+		int index= computeIndex(position.getOffset());
+		if (index < size && get(index) == position) {
+			remove(index);
+			return true;
+		}
+
+		// the order may be broken while positions are updated, search around the expected index
+		for (int back= index - 1, forth= index + 1; back >= 0 || forth < size; back--, forth++) {
+			if (back >= 0 && get(back) == position) {
+				remove(back);
+				return true;
+			}
+			if (forth < size && get(forth) == position) {
+				remove(forth);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Adds all positions between the given indices to the given list, in order.
+	 *
+	 * @param fromIndex the index of the first position, inclusive
+	 * @param toIndex the index of the last position, exclusive
+	 * @param result the list to add the positions to
+	 */
+	void collect(int fromIndex, int toIndex, List<Position> result) {
+		collect(fRoot, fromIndex, toIndex, result);
+	}
+
+	/**
+	 * Adds all positions with <code>offset &lt;= end</code> and
+	 * <code>offset + length &gt;= start</code> to the given list, ordered by offset.
+	 *
+	 * @param start the start of the range
+	 * @param end the end of the range
+	 * @param result the list to add the positions to
+	 */
+	void collectOverlapping(int start, int end, List<Position> result) {
+		validate();
+		collectOverlapping(fRoot, start, end, result);
+	}
+
+	/**
+	 * Adds the given delta to the offsets of all positions from the given index on.
+	 *
+	 * @param fromIndex the index of the first position to shift
+	 * @param delta the delta to add to the offsets
+	 */
+	void shift(int fromIndex, int delta) {
+		if (delta != 0)
+			shift(fRoot, fromIndex, delta);
+	}
+
+	/**
+	 * Tells whether all positions are ordered by offset.
+	 *
+	 * @return <code>true</code> if the positions are ordered by offset
+	 */
+	boolean isOrdered() {
+		validate();
+		return fOrdered;
+	}
+
+	/**
+	 * Tells whether the positions between the given indices are ordered by offset. Indices outside
+	 * of the tree are ignored.
+	 *
+	 * @param fromIndex the index of the first position, inclusive
+	 * @param toIndex the index of the last position, exclusive
+	 * @return <code>true</code> if the positions are ordered by offset
+	 */
+	boolean isOrdered(int fromIndex, int toIndex) {
+		List<Position> positions= new ArrayList<>();
+		collect(Math.max(fromIndex, 0), Math.min(toIndex, size()), positions);
+		for (int i= 1; i < positions.size(); i++) {
+			if (positions.get(i).getOffset() < positions.get(i - 1).getOffset())
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Marks the positions which may be modified by a document change of the given range. These
+	 * are the positions overlapping or touching the range, and the subtrees containing both
+	 * positions before and after the change.
+	 *
+	 * @param offset the offset of the change
+	 * @param length the length of the replaced text
+	 */
+	void markAffected(int offset, int length) {
+		if (fRoot == null)
+			return;
+
+		validate();
+		fUpdating= true;
+		mark(fRoot, offset, offset + length);
+		Node node= fRoot;
+		while (node != null) {
+			node.fDirty= true;
+			node= offset <= node.fPosition.getOffset() ? node.fLeft : node.fRight;
+		}
+	}
+
+	/**
+	 * Recomputes the augmented data of all subtrees marked by {@link #markAffected(int, int)}.
+	 */
+	void repair() {
+		repair(fRoot);
+		fUpdating= false;
+	}
+
+	/**
+	 * Tells the tree that positions may have been changed without being marked by
+	 * {@link #markAffected(int, int)}. The augmented data is recomputed on the next query.
+	 */
+	void invalidate() {
+		fValid= false;
+	}
+
+	/**
+	 * Recomputes the augmented data of all nodes if positions may have been changed since it was
+	 * computed.
+	 */
+	private void validate() {
+		int count= Position.getModificationCount();
+		if (fValid && fValidatedCount == count)
+			return;
+
+		// while positions are being updated, the result is only valid until the update is done
+		fOrdered= true;
+		recompute(fRoot, 0);
+		fValid= !fUpdating;
+		fValidatedCount= count;
+	}
+
+	private static int size(Node node) {
+		return node == null ? 0 : node.fSize;
+	}
+
+	private static int height(Node node) {
+		return node == null ? 0 : node.fHeight;
+	}
+
+	private static int maxEnd(Node node) {
+		return node.fPosition.getOffset() + node.fMaxEnd;
+	}
+
+	private static void checkIndex(int index, int size) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException();
+	}
+
+	/**
+	 * Recomputes the augmented data of the given node from its position and its children.
+	 *
+	 * @param node the node to update
+	 */
+	private static void update(Node node) {
+		Node left= node.fLeft;
+		Node right= node.fRight;
+		int offset= node.fPosition.getOffset();
+		int maxEnd= offset + node.fPosition.getLength();
+		if (left != null)
+			maxEnd= Math.max(maxEnd, maxEnd(left));
+		if (right != null)
+			maxEnd= Math.max(maxEnd, maxEnd(right));
+
+		node.fMaxEnd= maxEnd - offset;
+		node.fSize= size(left) + size(right) + 1;
+		node.fHeight= Math.max(height(left), height(right)) + 1;
+		node.fDirty |= left != null && left.fDirty || right != null && right.fDirty;
+	}
+
+	private static Node rotateLeft(Node node) {
+		Node right= node.fRight;
+		node.fRight= right.fLeft;
+		right.fLeft= node;
+		update(node);
+		update(right);
+		return right;
+	}
+
+	private static Node rotateRight(Node node) {
+		Node left= node.fLeft;
+		node.fLeft= left.fRight;
+		left.fRight= node;
+		update(node);
+		update(left);
+		return left;
+	}
+
+	private static Node balance(Node node) {
+		update(node);
+		int balance= height(node.fLeft) - height(node.fRight);
+		if (balance > 1) {
+			if (height(node.fLeft.fLeft) < height(node.fLeft.fRight))
+				node.fLeft= rotateLeft(node.fLeft);
+			return rotateRight(node);
+		}
+		if (balance < -1) {
+			if (height(node.fRight.fRight) < height(node.fRight.fLeft))
+				node.fRight= rotateRight(node.fRight);
+			return rotateLeft(node);
+		}
+		return node;
+	}
+
+	private static Node build(Position[] positions, int fromIndex, int toIndex) {
+		if (fromIndex >= toIndex)
+			return null;
+		int middle= (fromIndex + toIndex) >>> 1;
+		Node node= new Node(positions[middle]);
+		node.fLeft= build(positions, fromIndex, middle);
+		node.fRight= build(positions, middle + 1, toIndex);
+		update(node);
+		return node;
+	}
+
+	private static Node insert(Node node, int index, Position position) {
+		if (node == null)
+			return new Node(position);
+
+		int leftSize= size(node.fLeft);
+		if (index <= leftSize)
+			node.fLeft= insert(node.fLeft, index, position);
+		else
+			node.fRight= insert(node.fRight, index - leftSize - 1, position);
+		return balance(node);
+	}
+
+	private Node delete(Node node, int index) {
+		int leftSize= size(node.fLeft);
+		if (index < leftSize) {
+			node.fLeft= delete(node.fLeft, index);
+		} else if (index > leftSize) {
+			node.fRight= delete(node.fRight, index - leftSize - 1);
+		} else {
+			fRemoved= node.fPosition;
+			if (node.fLeft == null)
+				return node.fRight;
+			if (node.fRight == null)
+				return node.fLeft;
+
+			Node successor= node.fRight;
+			while (successor.fLeft != null)
+				successor= successor.fLeft;
+			node.fRight= deleteFirst(node.fRight);
+			node.fPosition= successor.fPosition;
+		}
+		return balance(node);
+	}
+
+	private static Node deleteFirst(Node node) {
+		if (node.fLeft == null)
+			return node.fRight;
+		node.fLeft= deleteFirst(node.fLeft);
+		return balance(node);
+	}
+
+	private static Node replace(Node node, int index, Position position) {
+		int leftSize= size(node.fLeft);
+		if (index < leftSize)
+			node.fLeft= replace(node.fLeft, index, position);
+		else if (index > leftSize)
+			node.fRight= replace(node.fRight, index - leftSize - 1, position);
+		else
+			node.fPosition= position;
+		update(node);
+		return node;
+	}
+
+	private static int fill(Node node, Object[] result, int index) {
+		while (node != null) {
+			index= fill(node.fLeft, result, index);
+			result[index++]= node.fPosition;
+			node= node.fRight;
+		}
+		return index;
+	}
+
+	private static void collect(Node node, int fromIndex, int toIndex, List<Position> result) {
+		while (node != null && fromIndex < toIndex) {
+			int leftSize= size(node.fLeft);
+			if (fromIndex < leftSize)
+				collect(node.fLeft, fromIndex, Math.min(toIndex, leftSize), result);
+			if (fromIndex <= leftSize && leftSize < toIndex)
+				result.add(node.fPosition);
+			fromIndex= Math.max(fromIndex - leftSize - 1, 0);
+			toIndex -= leftSize + 1;
+			node= node.fRight;
+		}
+	}
+
+	private static void collectOverlapping(Node node, int start, int end, List<Position> result) {
+		while (node != null) {
+			if (maxEnd(node) < start)
+				return;
+			collectOverlapping(node.fLeft, start, end, result);
+			Position position= node.fPosition;
+			int offset= position.getOffset();
+			if (offset > end)
+				return;
+			if (offset + position.getLength() >= start)
+				result.add(position);
+			node= node.fRight;
+		}
+	}
+
+	private static void shift(Node node, int fromIndex, int delta) {
+		while (node != null) {
+			int leftSize= size(node.fLeft);
+			if (fromIndex <= leftSize) {
+				shift(node.fLeft, fromIndex, delta);
+				node.fPosition.offset += delta;
+				fromIndex= 0;
+			} else {
+				fromIndex -= leftSize + 1;
+			}
+			node= node.fRight;
+		}
+	}
+
+	private static boolean mark(Node node, int start, int end) {
+		if (node == null || maxEnd(node) < start)
+			return false;
+
+		boolean affected= mark(node.fLeft, start, end);
+		Position position= node.fPosition;
+		int offset= position.getOffset();
+		if (offset <= end) {
+			if (offset + position.getLength() >= start)
+				affected= true;
+			if (mark(node.fRight, start, end))
+				affected= true;
+		}
+		if (affected)
+			node.fDirty= true;
+		return affected;
+	}
+
+	/**
+	 * Recomputes the augmented data of the given subtree and checks the order of its positions.
+	 *
+	 * @param node the root of the subtree
+	 * @param previousOffset the offset of the position before the subtree
+	 * @return the offset of the last position of the subtree, or <code>previousOffset</code> if it
+	 *         is empty
+	 */
+	private int recompute(Node node, int previousOffset) {
+		if (node == null)
+			return previousOffset;
+		int offset= node.fPosition.getOffset();
+		if (recompute(node.fLeft, previousOffset) > offset)
+			fOrdered= false;
+		int lastOffset= recompute(node.fRight, offset);
+		boolean dirty= node.fDirty;
+		update(node);
+		node.fDirty= dirty;
+		return lastOffset;
+	}
+
+	private static void repair(Node node) {
+		if (node == null || !node.fDirty)
+			return;
+		repair(node.fLeft);
+		repair(node.fRight);
+		node.fDirty= false;
+		update(node);
+	}
+}
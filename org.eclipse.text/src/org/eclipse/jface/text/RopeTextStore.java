@@ -0,0 +1,667 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import org.eclipse.core.runtime.Assert;
+
+/**
+ * A text store that keeps its content in a height balanced binary tree of immutable character
+ * chunks (a <em>rope</em>). Unlike the {@link GapTextStore}, the content is never kept in one
+ * contiguous array, so changes far away from the previous change do not move large parts of the
+ * content and no re-allocation of the whole content is ever necessary.
+ * <p>
+ * <strong>Performance:</strong> Let <var>n</var> be the length of the content and <var>c</var>
+ * the maximal chunk size. {@link #replace(int, int, String) replace(<var>offset</var>,
+ * <var>length</var>, <var>text</var>)} performs in <i>O(log(n) + c + length(text))</i>
+ * independent of the location of the previous change, {@link #get(int)} in <i>O(log(n))</i> (in
+ * <i>O(1)</i> when called for consecutive offsets) and {@linkplain #get(int, int) get(int,
+ * <var>length</var>)} in <i>O(log(n) + length)</i>. {@link #set(String)} performs in
+ * <i>O(n)</i>. The memory overhead is a small constant per chunk.
+ * </p>
+ * <p>
+ * The chunks and the tree nodes are never modified once created. Replacing text creates new nodes
+ * along the path to the change and shares all other nodes with the previous tree.
+ * </p>
+ * <p>
+ * This class is not intended to be subclassed.
+ * </p>
+ *
+ * @see GapTextStore
+ * @since 3.13
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public class RopeTextStore implements ITextStore {
+
+	/** The default maximal number of characters stored in one chunk. */
+	static final int DEFAULT_CHUNK_SIZE= 1024;
+
+	/**
+	 * A node of the rope. Nodes are immutable.
+	 */
+	abstract static class Node {
+
+		/**
+		 * Returns the number of characters in this subtree.
+		 *
+		 * @return the number of characters in this subtree
+		 */
+		abstract int length();
+
+		/**
+		 * Returns the height of this subtree, leaves have height 0.
+		 *
+		 * @return the height of this subtree
+		 */
+		abstract int height();
+
+		/**
+		 * Returns the number of line delimiters in this subtree. The delimiters "\r", "\n" and
+		 * "\r\n" are recognized, a trailing "\r" is counted as delimiter.
+		 *
+		 * @return the number of line delimiters in this subtree
+		 */
+		abstract int lines();
+
+		/**
+		 * Tells whether the first character of this subtree is a '\n'.
+		 *
+		 * @return <code>true</code> if this subtree starts with '\n'
+		 */
+		abstract boolean startsWithLF();
+
+		/**
+		 * Tells whether the last character of this subtree is a '\r'.
+		 *
+		 * @return <code>true</code> if this subtree ends with '\r'
+		 */
+		abstract boolean endsWithCR();
+
+		/**
+		 * Copies the characters <code>[from, to)</code> of this subtree into <code>dest</code>.
+		 *
+		 * @param from the first offset to copy, relative to this subtree
+		 * @param to the end offset (exclusive), relative to this subtree
+		 * @param dest the destination array
+		 * @param destPos the position in <code>dest</code> to copy the first character to
+		 */
+		abstract void getChars(int from, int to, char[] dest, int destPos);
+	}
+
+	/**
+	 * A leaf holding a chunk of characters.
+	 */
+	static final class Leaf extends Node {
+
+		/** The characters of this chunk, never modified. */
+		final char[] fChars;
+		/** The number of line delimiters in this chunk. */
+		private final int fLines;
+
+		/**
+		 * Creates a new leaf for the given characters. The array is not copied.
+		 *
+		 * @param chars the characters
+		 */
+		Leaf(char[] chars) {
+			fChars= chars;
+			fLines= countLines(chars, chars.length);
+		}
+
+		@Override
+		int length() {
+			return fChars.length;
+		}
+
+		@Override
+		int height() {
+			return 0;
+		}
+
+		@Override
+		int lines() {
+			return fLines;
+		}
+
+		@Override
+		boolean startsWithLF() {
+			return fChars.length > 0 && fChars[0] == '\n';
+		}
+
+		@Override
+		boolean endsWithCR() {
+			return fChars.length > 0 && fChars[fChars.length - 1] == '\r';
+		}
+
+		@Override
+		void getChars(int from, int to, char[] dest, int destPos) {
+			System.arraycopy(fChars, from, dest, destPos, to - from);
+		}
+	}
+
+	/**
+	 * An inner node concatenating two non-empty subtrees.
+	 */
+	static final class Branch extends Node {
+
+		/** The left subtree. */
+		final Node fLeft;
+		/** The right subtree. */
+		final Node fRight;
+		/** The number of characters in this subtree. */
+		private final int fLength;
+		/** The height of this subtree. */
+		private final int fHeight;
+		/** The number of line delimiters in this subtree. */
+		private final int fLines;
+
+		/**
+		 * Creates a new inner node.
+		 *
+		 * @param left the left subtree
+		 * @param right the right subtree
+		 */
+		Branch(Node left, Node right) {
+			fLeft= left;
+			fRight= right;
+			fLength= left.length() + right.length();
+			fHeight= Math.max(left.height(), right.height()) + 1;
+			fLines= left.lines() + right.lines() - (left.endsWithCR() && right.startsWithLF() ? 1 : 0);
+		}
+
+		@Override
+		int length() {
+			return fLength;
+		}
+
+		@Override
+		int height() {
+			return fHeight;
+		}
+
+		@Override
+		int lines() {
+			return fLines;
+		}
+
+		@Override
+		boolean startsWithLF() {
+			return fLeft.startsWithLF();
+		}
+
+		@Override
+		boolean endsWithCR() {
+			return fRight.endsWithCR();
+		}
+
+		@Override
+		void getChars(int from, int to, char[] dest, int destPos) {
+			int leftLength= fLeft.length();
+			if (from < leftLength) {
+				int leftTo= Math.min(to, leftLength);
+				fLeft.getChars(from, leftTo, dest, destPos);
+				destPos+= leftTo - from;
+			}
+			if (to > leftLength)
+				fRight.getChars(Math.max(from - leftLength, 0), to - leftLength, dest, destPos);
+		}
+	}
+
+	/** The empty rope. */
+	static final Node EMPTY= new Leaf(new char[0]);
+
+
+	/** The maximal number of characters stored in one chunk. */
+	private final int fChunkSize;
+	/** The root of the rope. */
+	private Node fRoot= EMPTY;
+
+	/** The leaf that was last accessed by {@link #get(int)}, or <code>null</code>. */
+	private Leaf fCachedLeaf;
+	/** The offset of {@link #fCachedLeaf} in the content. */
+	private int fCachedLeafOffset;
+
+	/**
+	 * Creates a new empty text store using a default chunk size.
+	 */
+	public RopeTextStore() {
+		this(DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Creates a new empty text store.
+	 *
+	 * @param chunkSize the maximal number of characters stored in one chunk (&gt;=&nbsp;16)
+	 */
+	public RopeTextStore(int chunkSize) {
+		Assert.isLegal(chunkSize >= 16);
+		fChunkSize= chunkSize;
+	}
+
+	@Override
+	public char get(int offset) {
+		Leaf leaf= fCachedLeaf;
+		int leafOffset= fCachedLeafOffset;
+		if (leaf == null || offset < leafOffset || offset >= leafOffset + leaf.fChars.length) {
+			if (offset < 0 || offset >= fRoot.length())
+				throw new IndexOutOfBoundsException(String.valueOf(offset));
+
+			Node node= fRoot;
+			leafOffset= 0;
+			while (node instanceof Branch) {
+				Branch branch= (Branch) node;
+				int leftLength= branch.fLeft.length();
+				if (offset - leafOffset < leftLength) {
+					node= branch.fLeft;
+				} else {
+					leafOffset+= leftLength;
+					node= branch.fRight;
+				}
+			}
+			leaf= (Leaf) node;
+			fCachedLeaf= leaf;
+			fCachedLeafOffset= leafOffset;
+		}
+		return leaf.fChars[offset - leafOffset];
+	}
+
+	@Override
+	public String get(int offset, int length) {
+		return toString(fRoot, offset, length);
+	}
+
+	@Override
+	public int getLength() {
+		return fRoot.length();
+	}
+
+	@Override
+	public void replace(int offset, int length, String text) {
+		if (offset < 0 || length < 0 || offset + length > fRoot.length())
+			throw new IndexOutOfBoundsException();
+
+		if (text == null)
+			text= ""; //$NON-NLS-1$
+
+		Node root= null;
+		if (text.length() <= fChunkSize)
+			root= replaceInLeaf(fRoot, offset, length, text, fChunkSize);
+
+		if (root == null) {
+			Node[] split= split(fRoot, offset, fChunkSize);
+			Node tail= split(split[1], length, fChunkSize)[1];
+			root= join(join(split[0], build(text, fChunkSize), fChunkSize), tail, fChunkSize);
+		}
+		setRoot(root);
+	}
+
+	@Override
+	public void set(String text) {
+		setRoot(text == null ? EMPTY : build(text, fChunkSize));
+	}
+
+	/**
+	 * Returns the root of the rope representing the current content. As nodes are never modified,
+	 * the returned tree stays valid after subsequent changes to this store.
+	 *
+	 * @return the root of the rope
+	 */
+	Node getRoot() {
+		return fRoot;
+	}
+
+	/**
+	 * Sets the root of the rope.
+	 *
+	 * @param root the new root
+	 */
+	void setRoot(Node root) {
+		fRoot= root;
+		fCachedLeaf= null;
+	}
+
+	/**
+	 * Returns the text of the specified range of the given rope.
+	 *
+	 * @param root the root of the rope
+	 * @param offset the offset of the range
+	 * @param length the length of the range
+	 * @return the text of the range
+	 */
+	static String toString(Node root, int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > root.length())
+			throw new IndexOutOfBoundsException();
+
+		if (length == 0)
+			return ""; //$NON-NLS-1$
+
+		char[] chars= new char[length];
+		root.getChars(offset, offset + length, chars, 0);
+		return new String(chars);
+	}
+
+	/**
+	 * Returns the character at the given offset of the given rope.
+	 *
+	 * @param root the root of the rope
+	 * @param offset the offset, must be inside the rope
+	 * @return the character at the offset
+	 */
+	static char charAt(Node root, int offset) {
+		if (offset < 0 || offset >= root.length())
+			throw new IndexOutOfBoundsException(String.valueOf(offset));
+
+		Node node= root;
+		while (node instanceof Branch) {
+			Branch branch= (Branch) node;
+			int leftLength= branch.fLeft.length();
+			if (offset < leftLength) {
+				node= branch.fLeft;
+			} else {
+				offset-= leftLength;
+				node= branch.fRight;
+			}
+		}
+		return ((Leaf) node).fChars[offset];
+	}
+
+	/**
+	 * Returns the number of the line containing the given offset of the given rope. The
+	 * delimiters "\r", "\n" and "\r\n" are recognized.
+	 *
+	 * @param root the root of the rope
+	 * @param offset the offset, <code>0 &lt;= offset &lt;= root.length()</code>
+	 * @return the line number of the offset
+	 */
+	static int lineOfOffset(Node root, int offset) {
+		if (offset < 0 || offset > root.length())
+			throw new IndexOutOfBoundsException(String.valueOf(offset));
+
+		// count the delimiters in [0, offset) as if the range was a text of its own ...
+		int lines= 0;
+		int rest= offset;
+		Node node= root;
+		while (node instanceof Branch) {
+			Branch branch= (Branch) node;
+			int leftLength= branch.fLeft.length();
+			if (rest <= leftLength) {
+				node= branch.fLeft;
+			} else {
+				lines+= branch.fLeft.lines();
+				if (branch.fLeft.endsWithCR() && branch.fRight.startsWithLF())
+					lines--;
+				rest-= leftLength;
+				node= branch.fRight;
+			}
+		}
+		lines+= countLines(((Leaf) node).fChars, rest);
+
+		// ... and correct a "\r" that is actually the first half of a "\r\n"
+		if (offset > 0 && offset < root.length() && charAt(root, offset - 1) == '\r' && charAt(root, offset) == '\n')
+			lines--;
+		return lines;
+	}
+
+	/**
+	 * Returns the offset of the given line of the given rope. The delimiters "\r", "\n" and
+	 * "\r\n" are recognized.
+	 *
+	 * @param root the root of the rope
+	 * @param line the line number, <code>0 &lt;= line &lt;= root.lines()</code>
+	 * @return the offset of the first character of the line
+	 */
+	static int lineOffset(Node root, int line) {
+		if (line < 0 || line > root.lines())
+			throw new IndexOutOfBoundsException(String.valueOf(line));
+
+		if (line == 0)
+			return 0;
+
+		int offset= 0;
+		int delimiters= line;
+		boolean nextIsLF= false;
+		Node node= root;
+		while (node instanceof Branch) {
+			Branch branch= (Branch) node;
+			int leftLines= branch.fLeft.lines();
+			if (branch.fLeft.endsWithCR() && branch.fRight.startsWithLF())
+				leftLines--;
+			if (delimiters <= leftLines) {
+				nextIsLF= branch.fRight.startsWithLF();
+				node= branch.fLeft;
+			} else {
+				delimiters-= leftLines;
+				offset+= branch.fLeft.length();
+				node= branch.fRight;
+			}
+		}
+
+		char[] chars= ((Leaf) node).fChars;
+		for (int i= 0; i < chars.length; i++) {
+			char c= chars[i];
+			if (c == '\n' || c == '\r' && (i + 1 < chars.length ? chars[i + 1] != '\n' : !nextIsLF)) {
+				if (--delimiters == 0)
+					return offset + i + 1;
+			}
+		}
+		throw new IllegalStateException();
+	}
+
+	/**
+	 * Counts the line delimiters in the first <code>length</code> characters of the given array.
+	 * The delimiters "\r", "\n" and "\r\n" are recognized, a trailing "\r" is counted as
+	 * delimiter.
+	 *
+	 * @param chars the characters
+	 * @param length the number of characters to consider
+	 * @return the number of line delimiters
+	 */
+	private static int countLines(char[] chars, int length) {
+		int lines= 0;
+		for (int i= 0; i < length; i++) {
+			char c= chars[i];
+			if (c == '\n' || c == '\r' && (i + 1 == length || chars[i + 1] != '\n'))
+				lines++;
+		}
+		return lines;
+	}
+
+	/**
+	 * Builds a balanced rope for the given text.
+	 *
+	 * @param text the text
+	 * @param chunkSize the maximal number of characters stored in one chunk
+	 * @return the root of the new rope
+	 */
+	static Node build(String text, int chunkSize) {
+		int length= text.length();
+		if (length == 0)
+			return EMPTY;
+		int chunks= (length + chunkSize - 1) / chunkSize;
+		return build(text, 0, chunks, chunkSize);
+	}
+
+	/**
+	 * Builds a balanced rope for the chunks <code>[firstChunk, lastChunk)</code> of the given
+	 * text.
+	 *
+	 * @param text the text
+	 * @param firstChunk the index of the first chunk
+	 * @param lastChunk the index after the last chunk
+	 * @param chunkSize the size of the chunks
+	 * @return the root of the new rope
+	 */
+	private static Node build(String text, int firstChunk, int lastChunk, int chunkSize) {
+		if (lastChunk - firstChunk == 1) {
+			int start= firstChunk * chunkSize;
+			int end= Math.min(start + chunkSize, text.length());
+			char[] chars= new char[end - start];
+			text.getChars(start, end, chars, 0);
+			return new Leaf(chars);
+		}
+		int middle= (firstChunk + lastChunk) >>> 1;
+		return new Branch(build(text, firstChunk, middle, chunkSize), build(text, middle, lastChunk, chunkSize));
+	}
+
+	/**
+	 * Replaces the given range if it is contained in a single leaf, which is the common case for
+	 * typing. Only the nodes on the path to that leaf are re-created.
+	 *
+	 * @param node the root of the rope
+	 * @param offset the offset of the range, relative to <code>node</code>
+	 * @param length the length of the range
+	 * @param text the replacement text, at most <code>chunkSize</code> characters long
+	 * @param chunkSize the maximal number of characters stored in one chunk
+	 * @return the root of the changed rope, or <code>null</code> if the range is not contained in
+	 *         a single leaf
+	 */
+	static Node replaceInLeaf(Node node, int offset, int length, String text, int chunkSize) {
+		if (node instanceof Branch) {
+			Branch branch= (Branch) node;
+			int leftLength= branch.fLeft.length();
+			if (offset + length <= leftLength) {
+				Node left= replaceInLeaf(branch.fLeft, offset, length, text, chunkSize);
+				return left == null ? null : join(left, branch.fRight, chunkSize);
+			}
+			if (offset >= leftLength) {
+				Node right= replaceInLeaf(branch.fRight, offset - leftLength, length, text, chunkSize);
+				return right == null ? null : join(branch.fLeft, right, chunkSize);
+			}
+			return null;
+		}
+
+		char[] chars= ((Leaf) node).fChars;
+		int textLength= text.length();
+		int newLength= chars.length - length + textLength;
+		char[] newChars= new char[newLength];
+		System.arraycopy(chars, 0, newChars, 0, offset);
+		text.getChars(0, textLength, newChars, offset);
+		System.arraycopy(chars, offset + length, newChars, offset + textLength, chars.length - offset - length);
+		if (newLength <= chunkSize)
+			return new Leaf(newChars);
+
+		int half= newLength / 2;
+		char[] head= new char[half];
+		char[] tail= new char[newLength - half];
+		System.arraycopy(newChars, 0, head, 0, head.length);
+		System.arraycopy(newChars, half, tail, 0, tail.length);
+		return new Branch(new Leaf(head), new Leaf(tail));
+	}
+
+	/**
+	 * Splits the given rope at the given offset.
+	 *
+	 * @param node the root of the rope
+	 * @param offset the offset to split at
+	 * @param chunkSize the maximal number of characters stored in one chunk
+	 * @return a two element array with the ropes before and after <code>offset</code>
+	 */
+	static Node[] split(Node node, int offset, int chunkSize) {
+		if (offset < 0 || offset > node.length())
+			throw new IndexOutOfBoundsException(String.valueOf(offset));
+
+		if (offset == 0)
+			return new Node[] { EMPTY, node };
+		if (offset == node.length())
+			return new Node[] { node, EMPTY };
+
+		if (node instanceof Leaf) {
+			char[] chars= ((Leaf) node).fChars;
+			char[] head= new char[offset];
+			char[] tail= new char[chars.length - offset];
+			System.arraycopy(chars, 0, head, 0, head.length);
+			System.arraycopy(chars, offset, tail, 0, tail.length);
+			return new Node[] { new Leaf(head), new Leaf(tail) };
+		}
+
+		Branch branch= (Branch) node;
+		int leftLength= branch.fLeft.length();
+		if (offset == leftLength)
+			return new Node[] { branch.fLeft, branch.fRight };
+
+		if (offset < leftLength) {
+			Node[] split= split(branch.fLeft, offset, chunkSize);
+			split[1]= join(split[1], branch.fRight, chunkSize);
+			return split;
+		}
+
+		Node[] split= split(branch.fRight, offset - leftLength, chunkSize);
+		split[0]= join(branch.fLeft, split[0], chunkSize);
+		return split;
+	}
+
+	/**
+	 * Concatenates two balanced ropes into a balanced rope. Adjacent leaves whose combined length
+	 * does not exceed <code>chunkSize</code> are merged into a single leaf.
+	 *
+	 * @param left the left rope
+	 * @param right the right rope
+	 * @param chunkSize the maximal size of a merged leaf
+	 * @return the concatenated rope
+	 */
+	static Node join(Node left, Node right, int chunkSize) {
+		if (left.length() == 0)
+			return right;
+		if (right.length() == 0)
+			return left;
+
+		int leftHeight= left.height();
+		int rightHeight= right.height();
+		if (leftHeight > rightHeight + 1) {
+			Branch branch= (Branch) left;
+			return balance(branch.fLeft, join(branch.fRight, right, chunkSize));
+		}
+		if (rightHeight > leftHeight + 1) {
+			Branch branch= (Branch) right;
+			return balance(join(left, branch.fLeft, chunkSize), branch.fRight);
+		}
+
+		if (left instanceof Leaf && right instanceof Leaf && left.length() + right.length() <= chunkSize) {
+			char[] leftChars= ((Leaf) left).fChars;
+			char[] rightChars= ((Leaf) right).fChars;
+			char[] chars= new char[leftChars.length + rightChars.length];
+			System.arraycopy(leftChars, 0, chars, 0, leftChars.length);
+			System.arraycopy(rightChars, 0, chars, leftChars.length, rightChars.length);
+			return new Leaf(chars);
+		}
+
+		return new Branch(left, right);
+	}
+
+	/**
+	 * Creates a new inner node for the given subtrees whose heights differ by at most two,
+	 * performing a single or double rotation if required to keep the tree balanced.
+	 *
+	 * @param left the left subtree
+	 * @param right the right subtree
+	 * @return the balanced subtree
+	 */
+	private static Node balance(Node left, Node right) {
+		int diff= left.height() - right.height();
+		if (diff > 1) {
+			Branch l= (Branch) left;
+			if (l.fLeft.height() >= l.fRight.height())
+				return new Branch(l.fLeft, new Branch(l.fRight, right));
+			Branch lr= (Branch) l.fRight;
+			return new Branch(new Branch(l.fLeft, lr.fLeft), new Branch(lr.fRight, right));
+		}
+		if (diff < -1) {
+			Branch r= (Branch) right;
+			if (r.fRight.height() >= r.fLeft.height())
+				return new Branch(new Branch(left, r.fLeft), r.fRight);
+			Branch rl= (Branch) r.fLeft;
+			return new Branch(new Branch(left, rl.fLeft), new Branch(rl.fRight, r.fRight));
+		}
+		return new Branch(left, right);
+	}
+}
@@ -178,29 +178,60 @@ abstract class TreeLineTracker implements ILineTracker {
 		if (n == 0)
 			return;
 
-		Line line= lines.get(0);
-		String delim= line.delimiter;
-		if (delim == null)
-			delim= NO_DELIM;
-		int length= line.length;
-		fRoot= new Node(length, delim);
-		Node node= fRoot;
-
-		for (int i= 1; i < n; i++) {
-			line= lines.get(i);
-			delim= line.delimiter;
-			if (delim == null)
-				delim= NO_DELIM;
-			length= line.length;
-			node= insertAfter(node, length, delim);
-		}
+		// the last line must not have a delimiter, add an empty one if needed
+		int count= lines.get(n - 1).delimiter != null ? n + 1 : n;
+		int[] offsets= new int[count + 1];
+		for (int i= 0; i < n; i++)
+			offsets[i + 1]= offsets[i] + lines.get(i).length;
+		if (count > n)
+			offsets[count]= offsets[n];
 
-		if (node.delimiter != NO_DELIM)
-			insertAfter(node, 0, NO_DELIM);
+		fRoot= createSubtree(lines, offsets, 0, count);
 
 		if (ASSERT) checkTree();
 	}
 
+	/**
+	 * Creates a balanced subtree for the given lines in linear time.
+	 *
+	 * @param lines the lines of a list line tracker
+	 * @param offsets the offsets of the lines, followed by the text length
+	 * @param from the index of the first line of the subtree, inclusive
+	 * @param to the index of the last line of the subtree, exclusive
+	 * @return the root of the subtree, <code>null</code> if it is empty
+	 * @since 3.13
+	 */
+	private static Node createSubtree(List<Line> lines, int[] offsets, int from, int to) {
+		if (from == to)
+			return null;
+
+		int mid= (from + to) >>> 1;
+		String delim= mid < lines.size() ? lines.get(mid).delimiter : null;
+		Node node= new Node(offsets[mid + 1] - offsets[mid], delim == null ? NO_DELIM : delim);
+		node.line= mid - from;
+		node.offset= offsets[mid] - offsets[from];
+		node.left= createSubtree(lines, offsets, from, mid);
+		node.right= createSubtree(lines, offsets, mid + 1, to);
+		if (node.left != null)
+			node.left.parent= node;
+		if (node.right != null)
+			node.right.parent= node;
+		node.balance= (byte) (height(to - mid - 1) - height(mid - from));
+		return node;
+	}
+
+	/**
+	 * Returns the height of a subtree created by
+	 * {@link #createSubtree(List, int[], int, int)}.
+	 *
+	 * @param size the number of lines in the subtree
+	 * @return the height of the subtree
+	 * @since 3.13
+	 */
+	private static int height(int size) {
+		return Integer.SIZE - Integer.numberOfLeadingZeros(size);
+	}
+
 	/**
 	 * Returns the node (line) including a certain offset. If the offset is between two
 	 * lines, the line starting at <code>offset</code> is returned.
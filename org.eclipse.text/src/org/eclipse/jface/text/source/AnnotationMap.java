@@ -16,8 +16,10 @@ package org.eclipse.jface.text.source;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -31,6 +33,91 @@ import org.eclipse.jface.text.Position;
  */
 class AnnotationMap implements IAnnotationMap {
 
+	/**
+	 * The number of region queries at the same modification stamp after which the annotations are
+	 * indexed by region.
+	 *
+	 * @since 3.13
+	 */
+	private static final int REGION_INDEX_THRESHOLD= 3;
+
+	/**
+	 * Index of the annotations by the ranges of their positions. The positions are sorted by
+	 * offset and form an implicit balanced tree, in which the middle of each index range is the
+	 * root of the subtree covering that range. Each root stores the maximal end offset of its
+	 * subtree, which allows to skip subtrees that end before a region.
+	 *
+	 * @since 3.13
+	 */
+	private static final class RegionIndex {
+
+		/** The modification stamp of the positions when the index was computed */
+		final long fStamp;
+		/** The size of the map when the index was computed */
+		final int fSize;
+		/** The annotations sorted by the offsets of their positions */
+		final Annotation[] fAnnotations;
+		/** The offsets of the positions */
+		final int[] fStarts;
+		/** The end offsets of the positions */
+		final int[] fEnds;
+		/** The maximal end offset of the subtree rooted at each index */
+		final int[] fMaxEnds;
+
+		RegionIndex(Map<Annotation, Position> map, long stamp) {
+			fStamp= stamp;
+			fSize= map.size();
+
+			List<Entry<Annotation, Position>> entries= new ArrayList<>(fSize);
+			for (Entry<Annotation, Position> entry : map.entrySet()) {
+				if (entry.getValue() != null)
+					entries.add(entry);
+			}
+			entries.sort(Comparator.comparingInt(entry -> entry.getValue().getOffset()));
+
+			int size= entries.size();
+			fAnnotations= new Annotation[size];
+			fStarts= new int[size];
+			fEnds= new int[size];
+			fMaxEnds= new int[size];
+			for (int i= 0; i < size; i++) {
+				Entry<Annotation, Position> entry= entries.get(i);
+				fAnnotations[i]= entry.getKey();
+				fStarts[i]= entry.getValue().getOffset();
+				fEnds[i]= fStarts[i] + entry.getValue().getLength();
+			}
+			computeMaxEnds(0, size);
+		}
+
+		private int computeMaxEnds(int low, int high) {
+			if (low >= high)
+				return Integer.MIN_VALUE;
+			int middle= (low + high) >>> 1;
+			int maxEnd= Math.max(fEnds[middle], Math.max(computeMaxEnds(low, middle), computeMaxEnds(middle + 1, high)));
+			fMaxEnds[middle]= maxEnd;
+			return maxEnd;
+		}
+
+		/**
+		 * Adds the annotations of the given index range which are inside the given region to the
+		 * given list. Only positions that start at or before the end of the region and end at or
+		 * after its start are investigated.
+		 */
+		void collect(int low, int high, Position region, boolean canStartBefore, boolean canEndAfter, List<Annotation> result) {
+			if (low >= high)
+				return;
+			int middle= (low + high) >>> 1;
+			if (fMaxEnds[middle] < region.getOffset())
+				return;
+			collect(low, middle, region, canStartBefore, canEndAfter, result);
+			if (fStarts[middle] > region.getOffset() + region.getLength())
+				return;
+			if (fEnds[middle] >= region.getOffset() && AnnotationModel.isWithinRegion(region, fStarts[middle], fEnds[middle] - fStarts[middle], canStartBefore, canEndAfter))
+				result.add(fAnnotations[middle]);
+			collect(middle + 1, high, region, canStartBefore, canEndAfter, result);
+		}
+	}
+
 	/**
 	 * The lock object used to synchronize the operations explicitly defined by
 	 * <code>IAnnotationMap</code>
@@ -44,6 +131,21 @@ class AnnotationMap implements IAnnotationMap {
 
 	/** The map holding the annotations */
 	private Map<Annotation, Position> fInternalMap;
+	/**
+	 * The index of the annotations by their positions, <code>null</code> if it has to be computed.
+	 * @since 3.13
+	 */
+	private RegionIndex fRegionIndex;
+	/**
+	 * The modification stamp of the last region query.
+	 * @since 3.13
+	 */
+	private long fQueryStamp;
+	/**
+	 * The number of region queries at {@link #fQueryStamp} since the last change of this map.
+	 * @since 3.13
+	 */
+	private int fQueryCount;
 
 	/**
 	 * Creates a new annotation map with the given capacity.
@@ -90,6 +192,7 @@ class AnnotationMap implements IAnnotationMap {
 	@Override
 	public Position put(Annotation annotation, Position position) {
 		synchronized (getLockObject()) {
+			invalidateRegionIndex();
 			return fInternalMap.put(annotation, position);
 		}
 	}
@@ -104,6 +207,7 @@ class AnnotationMap implements IAnnotationMap {
 	@Override
 	public void clear() {
 		synchronized (getLockObject()) {
+			invalidateRegionIndex();
 			fInternalMap.clear();
 		}
 	}
@@ -111,10 +215,80 @@ class AnnotationMap implements IAnnotationMap {
 	@Override
 	public Position remove(Object annotation) {
 		synchronized (getLockObject()) {
+			invalidateRegionIndex();
 			return fInternalMap.remove(annotation);
 		}
 	}
 
+	/**
+	 * Tells whether region queries at the given modification stamp should be answered by
+	 * {@link #getAnnotationIterator(int, int, boolean, boolean, long)}. This is the case once the
+	 * annotations have been queried repeatedly at that stamp without a change of this map, so that
+	 * computing the index pays off.
+	 *
+	 * @param stamp the modification stamp of the positions, not
+	 *            {@link org.eclipse.jface.text.IDocumentExtension4#UNKNOWN_MODIFICATION_STAMP}
+	 * @return <code>true</code> if the annotations should be looked up in the index
+	 * @since 3.13
+	 */
+	boolean isRegionIndexed(long stamp) {
+		synchronized (getLockObject()) {
+			if (fRegionIndex != null && fRegionIndex.fStamp == stamp)
+				return true;
+			if (fQueryStamp != stamp) {
+				fQueryStamp= stamp;
+				fQueryCount= 0;
+			}
+			return ++fQueryCount >= REGION_INDEX_THRESHOLD;
+		}
+	}
+
+	/**
+	 * Returns the annotations whose positions are inside the given region, sorted by the offsets
+	 * of their positions. See {@link IAnnotationModelExtension2} for a definition of inside.
+	 * <p>
+	 * The annotations are looked up in an index, which is computed on first use and kept until
+	 * this map changes, {@link #invalidateRegionIndex()} is called or a different modification
+	 * stamp is passed. Callers have to pass a new stamp whenever the positions may have been
+	 * modified, e.g. by a document change.
+	 * </p>
+	 *
+	 * @param offset the start of the region
+	 * @param length the length of the region
+	 * @param canStartBefore include annotations starting before the region
+	 * @param canEndAfter include annotations ending after the region
+	 * @param stamp the modification stamp of the positions, not
+	 *            {@link org.eclipse.jface.text.IDocumentExtension4#UNKNOWN_MODIFICATION_STAMP}
+	 * @return an iterator over the annotations inside the region
+	 * @since 3.13
+	 */
+	Iterator<Annotation> getAnnotationIterator(int offset, int length, boolean canStartBefore, boolean canEndAfter, long stamp) {
+		synchronized (getLockObject()) {
+			// the size check detects modifications through the collection views
+			if (fRegionIndex == null || fRegionIndex.fStamp != stamp || fRegionIndex.fSize != fInternalMap.size())
+				fRegionIndex= new RegionIndex(fInternalMap, stamp);
+
+			List<Annotation> result= new ArrayList<>();
+			fRegionIndex.collect(0, fRegionIndex.fAnnotations.length, new Position(offset, length), canStartBefore, canEndAfter, result);
+			return result.iterator();
+		}
+	}
+
+	/**
+	 * Drops the index used by {@link #getAnnotationIterator(int, int, boolean, boolean, long)}.
+	 * Has to be called when positions are modified without a change of the modification stamp,
+	 * e.g. when a position is modified in place or the model is connected to or disconnected
+	 * from a document.
+	 *
+	 * @since 3.13
+	 */
+	void invalidateRegionIndex() {
+		synchronized (getLockObject()) {
+			fRegionIndex= null;
+			fQueryCount= 0;
+		}
+	}
+
 	@Override
 	public int size() {
 		synchronized (getLockObject()) {
@@ -139,6 +313,7 @@ class AnnotationMap implements IAnnotationMap {
 	@Override
 	public void putAll(Map<? extends Annotation, ? extends Position> map) {
 		synchronized (getLockObject()) {
+			invalidateRegionIndex();
 			fInternalMap.putAll(map);
 		}
 	}
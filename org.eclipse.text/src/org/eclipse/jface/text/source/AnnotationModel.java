@@ -32,6 +32,7 @@ import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.BadPositionCategoryException;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.ISynchronizable;
 import org.eclipse.jface.text.Position;
@@ -122,17 +123,33 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 		}
 
 		private boolean isWithinRegion(int start, int length) {
-			if (fCanStartBefore && fCanEndAfter)
-				return fRegion.overlapsWith(start, length);
-			else if (fCanStartBefore)
-				return fRegion.includes(start + length - (length > 0 ? 1 : 0));
-			else if (fCanEndAfter)
-				return fRegion.includes(start);
-			else
-				return fRegion.includes(start) && fRegion.includes(start + length - (length > 0 ? 1 : 0));
+			return AnnotationModel.isWithinRegion(fRegion, start, length, fCanStartBefore, fCanEndAfter);
 		}
 	}
 
+	/**
+	 * Tells whether the given range is inside the given region. See
+	 * {@link IAnnotationModelExtension2} for a definition of inside.
+	 *
+	 * @param region the region
+	 * @param start the start of the range
+	 * @param length the length of the range
+	 * @param canStartBefore include ranges starting before the region
+	 * @param canEndAfter include ranges ending after the region
+	 * @return <code>true</code> if the range is inside the region
+	 * @since 3.13
+	 */
+	static boolean isWithinRegion(Position region, int start, int length, boolean canStartBefore, boolean canEndAfter) {
+		if (canStartBefore && canEndAfter)
+			return region.overlapsWith(start, length);
+		else if (canStartBefore)
+			return region.includes(start + length - (length > 0 ? 1 : 0));
+		else if (canEndAfter)
+			return region.includes(start);
+		else
+			return region.includes(start) && region.includes(start + length - (length > 0 ? 1 : 0));
+	}
+
 	/**
 	 * An iterator iteration over a Positions and mapping positions to
 	 * annotations using a provided map if the provided map contains the element.
@@ -390,6 +407,13 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 	 */
 	protected void replaceAnnotations(Annotation[] annotationsToRemove, Map<? extends Annotation, ? extends Position> annotationsToAdd, boolean fireModelChanged) throws BadLocationException {
 
+		if (fDocument instanceof AbstractDocument && ((AbstractDocument) fDocument).supportsBulkPositionUpdate() && supportsBulkPositionUpdate()
+				&& replaceAnnotationsInBulk((AbstractDocument) fDocument, annotationsToRemove, annotationsToAdd)) {
+			if (fireModelChanged)
+				fireModelChanged();
+			return;
+		}
+
 		if (annotationsToRemove != null) {
 			for (Annotation element : annotationsToRemove)
 				removeAnnotation(element, false);
@@ -409,6 +433,91 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 			fireModelChanged();
 	}
 
+	/**
+	 * Tells whether {@link #replaceAnnotations(Annotation[], Map, boolean)} may update the
+	 * positions of the connected document with a single call to
+	 * {@link AbstractDocument#replacePositions(String, Position[], Position[])} instead of adding
+	 * and removing each annotation through {@link #addAnnotation(Annotation, Position, boolean)},
+	 * {@link #removeAnnotation(Annotation, boolean)}, {@link #addPosition(IDocument, Position)} and
+	 * {@link #removePosition(IDocument, Position)}.
+	 * <p>
+	 * The default implementation returns <code>true</code> only for instances of this class.
+	 * Subclasses which do not rely on these methods being called for replaced annotations may
+	 * override and return <code>true</code>. In addition, the connected document has to allow it,
+	 * see {@link AbstractDocument#supportsBulkPositionUpdate()}.
+	 * </p>
+	 *
+	 * @return <code>true</code> if the positions of replaced annotations may be updated in bulk
+	 * @since 3.13
+	 */
+	protected boolean supportsBulkPositionUpdate() {
+		return getClass() == AnnotationModel.class;
+	}
+
+	/**
+	 * Replaces the given annotations like {@link #replaceAnnotations(Annotation[], Map, boolean)}
+	 * does, but updates the positions of the connected document with a single call to
+	 * {@link AbstractDocument#replacePositions(String, Position[], Position[])}.
+	 *
+	 * @param document the connected document
+	 * @param annotationsToRemove the annotations to be removed
+	 * @param annotationsToAdd the annotations to be added
+	 * @return <code>false</code> if nothing has been done because an annotation should be added at
+	 *         an invalid position, <code>true</code> otherwise
+	 */
+	private boolean replaceAnnotationsInBulk(AbstractDocument document, Annotation[] annotationsToRemove, Map<? extends Annotation, ? extends Position> annotationsToAdd) {
+		IAnnotationMap annotations= getAnnotationMap();
+
+		if (annotationsToAdd != null) {
+			int length= document.getLength();
+			for (Position position : annotationsToAdd.values()) {
+				if (position.offset < 0 || position.length < 0 || position.offset + position.length > length)
+					return false;
+			}
+		}
+
+		List<Position> removed= new ArrayList<>();
+		if (annotationsToRemove != null) {
+			for (Annotation annotation : annotationsToRemove) {
+				if (annotations.containsKey(annotation)) {
+					Position p= annotations.remove(annotation);
+					fPositions.remove(p);
+					removed.add(p);
+					synchronized (getLockObject()) {
+						getAnnotationModelEvent().annotationRemoved(annotation, p);
+					}
+				}
+			}
+		}
+
+		List<Annotation> added= new ArrayList<>();
+		List<Position> addedPositions= new ArrayList<>();
+		if (annotationsToAdd != null) {
+			for (Entry<? extends Annotation, ? extends Position> mapEntry : annotationsToAdd.entrySet()) {
+				Annotation annotation= mapEntry.getKey();
+				if (!annotations.containsKey(annotation)) {
+					Position position= mapEntry.getValue();
+					annotations.put(annotation, position);
+					fPositions.put(position, annotation);
+					added.add(annotation);
+					addedPositions.add(position);
+				}
+			}
+		}
+
+		try {
+			document.replacePositions(IDocument.DEFAULT_CATEGORY, removed.toArray(new Position[removed.size()]), addedPositions.toArray(new Position[addedPositions.size()]));
+		} catch (BadLocationException | BadPositionCategoryException e) {
+			// cannot happen, the positions have been checked and the default category always exists
+		}
+
+		synchronized (getLockObject()) {
+			for (Annotation annotation : added)
+				getAnnotationModelEvent().annotationAdded(annotation);
+		}
+		return true;
+	}
+
 	/**
 	 * Adds the given annotation to this model. Associates the
 	 * annotation with the given position. If requested, all annotation
@@ -483,6 +592,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 
 		if (fDocument == null) {
 			fDocument= document;
+			invalidateRegionIndex();
 			Iterator<Position> e= getAnnotationMap().valuesIterator();
 			while (e.hasNext())
 				try {
@@ -538,9 +648,21 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 				removePosition(document, p);
 			}
 			fDocument= null;
+			invalidateRegionIndex();
 		}
 	}
 
+	/**
+	 * Drops the region index of the annotation map, see
+	 * {@link AnnotationMap#invalidateRegionIndex()}.
+	 *
+	 * @since 3.13
+	 */
+	private void invalidateRegionIndex() {
+		if (getAnnotationMap() instanceof AnnotationMap)
+			((AnnotationMap) getAnnotationMap()).invalidateRegionIndex();
+	}
+
 	/**
 	 * Informs all annotation model listeners that this model has been changed.
 	 */
@@ -708,8 +830,11 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 	 * @since 3.4
 	 */
 	private Iterator<Annotation> getRegionAnnotationIterator(int offset, int length, boolean canStartBefore, boolean canEndAfter) {
-		if (!(fDocument instanceof AbstractDocument))
+		if (!(fDocument instanceof AbstractDocument)) {
+			if (useRegionIndex())
+				return ((AnnotationMap) getAnnotationMap()).getAnnotationIterator(offset, length, canStartBefore, canEndAfter, ((IDocumentExtension4) fDocument).getModificationStamp());
 			return new RegionIterator(getAnnotationIterator(true), this, offset, length, canStartBefore, canEndAfter);
+		}
 
 		AbstractDocument document= (AbstractDocument) fDocument;
 		cleanup(true);
@@ -723,6 +848,26 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 		}
 	}
 
+	/**
+	 * Tells whether region queries can be answered by the region index of the annotation map. The
+	 * positions of the annotations are only known to be unchanged as long as the modification stamp
+	 * of the document does not change, hence the index is not used without a document or if the
+	 * document does not provide a modification stamp. If the index is used, deleted positions are
+	 * removed from the model first.
+	 *
+	 * @return <code>true</code> if the region index is to be used
+	 * @since 3.13
+	 */
+	private boolean useRegionIndex() {
+		if (!(getAnnotationMap() instanceof AnnotationMap) || !(fDocument instanceof IDocumentExtension4))
+			return false;
+		long stamp= ((IDocumentExtension4) fDocument).getModificationStamp();
+		if (stamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP || !((AnnotationMap) getAnnotationMap()).isRegionIndexed(stamp))
+			return false;
+		cleanup(true);
+		return true;
+	}
+
 	/**
 	 * Returns all annotations managed by this model. <code>cleanup</code>
 	 * indicates whether all annotations whose associated positions are
@@ -874,6 +1019,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 					fDocument.removePosition(p);
 					p.setOffset(position.getOffset());
 					p.setLength(position.getLength());
+					invalidateRegionIndex();
 					try {
 						fDocument.addPosition(p);
 					} catch (BadLocationException e) {
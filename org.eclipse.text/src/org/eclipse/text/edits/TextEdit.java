@@ -105,6 +105,26 @@ public abstract class TextEdit {
 	 */
 	public static final int UPDATE_REGIONS= 1 << 1;
 
+	/**
+	 * Flag indicating that the changes of an edit tree are to be installed
+	 * into the document with a single replace operation. The new content of
+	 * the region covered by the changes is computed in one pass over the edit
+	 * tree before the document is modified. This is considerably faster for
+	 * trees with many edits, but document listeners and position updaters are
+	 * informed about one change only, so positions inside the changed region
+	 * are not preserved. The undo edit and the edit regions are the same as
+	 * without this flag.
+	 * <p>
+	 * The flag is only a hint: trees containing edits other than
+	 * {@link MultiTextEdit}, {@link RangeMarker}, and {@link ReplaceEdit},
+	 * {@link InsertEdit} or {@link DeleteEdit} without children are applied
+	 * edit by edit.
+	 * </p>
+	 *
+	 * @since 3.13
+	 */
+	public static final int SINGLE_REPLACE= 1 << 2;
+
 	private static class InsertionComparator implements Comparator<TextEdit> {
 		@Override
 		public int compare(TextEdit edit1, TextEdit edit2) throws MalformedTreeException {
@@ -695,7 +715,8 @@ public abstract class TextEdit {
 	 *
 	 * @param document the document to be manipulated
 	 * @param style flags controlling the execution of the edit tree. Valid
-	 *  flags are: <code>CREATE_UNDO</code> and <code>UPDATE_REGIONS</code>.
+	 *  flags are: <code>CREATE_UNDO</code>, <code>UPDATE_REGIONS</code> and
+	 *  <code>SINGLE_REPLACE</code>.
 	 * @return a undo edit, if <code>CREATE_UNDO</code> is specified. Otherwise
 	 *  <code>null</code> is returned.
 	 *
@@ -14,6 +14,7 @@
 package org.eclipse.text.edits;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.core.runtime.Assert;
@@ -55,7 +56,8 @@ public class TextEditProcessor {
 	 *  text edit processors. Clients must not modify the edit
 	 *  (e.g adding new children) any longer.
 	 *
-	 * @param style {@link TextEdit#NONE}, {@link TextEdit#CREATE_UNDO} or {@link TextEdit#UPDATE_REGIONS})
+	 * @param style {@link TextEdit#NONE} or a combination of {@link TextEdit#CREATE_UNDO},
+	 *  {@link TextEdit#UPDATE_REGIONS} and {@link TextEdit#SINGLE_REPLACE}
 	 */
 	public TextEditProcessor(IDocument document, TextEdit root, int style) {
 		this(document, root, style, false);
@@ -113,6 +115,7 @@ public class TextEditProcessor {
 	 * @return the style bits
 	 * @see TextEdit#CREATE_UNDO
 	 * @see TextEdit#UPDATE_REGIONS
+	 * @see TextEdit#SINGLE_REPLACE
 	 */
 	public int getStyle() {
 		return fStyle;
@@ -188,6 +191,9 @@ public class TextEditProcessor {
 	//---- execution --------------------------------------------------------------------
 
 	UndoEdit executeDo() throws BadLocationException {
+		if (singleReplace() && canReplaceAtOnce(fRoot))
+			return executeSingleReplace();
+
 		UndoCollector collector= new UndoCollector(fRoot);
 		try {
 			if (createUndo())
@@ -203,6 +209,55 @@ public class TextEditProcessor {
 		return collector.undo;
 	}
 
+	/**
+	 * Applies the edit tree with a single document replace. The tree is traversed
+	 * as usual, but against a document which only records the replacements. These
+	 * are then merged into the new content of the changed region.
+	 *
+	 * @return the undo edit or <code>null</code>
+	 * @throws BadLocationException if the changed region is not in the document
+	 * @since 3.13
+	 */
+	private UndoEdit executeSingleReplace() throws BadLocationException {
+		int offset= fRoot.getOffset();
+		int length= fRoot.getLength();
+		ReplaceRecorder recorder= new ReplaceRecorder();
+		fRoot.traverseDocumentUpdating(this, recorder);
+		UndoEdit undo= recorder.replace(fDocument, createUndo());
+		if (updateRegions()) {
+			fRoot.traverseRegionUpdating(this, fDocument, 0, false);
+		}
+		if (undo != null)
+			undo.defineRegion(offset, length + recorder.getDelta());
+		return undo;
+	}
+
+	/**
+	 * Tells whether the given edit tree can be applied with a single replace.
+	 * This is the case if it only consists of edits which modify the text they
+	 * cover and of plain containers.
+	 *
+	 * @param edit the root of the edit tree
+	 * @return <code>true</code> if the tree can be applied with a single replace
+	 * @since 3.13
+	 */
+	private static boolean canReplaceAtOnce(TextEdit edit) {
+		Class<? extends TextEdit> clazz= edit.getClass();
+		List<TextEdit> children= edit.internalGetChildren();
+		if (clazz == MultiTextEdit.class || clazz == RangeMarker.class) {
+			if (children != null) {
+				for (TextEdit child : children) {
+					if (!canReplaceAtOnce(child))
+						return false;
+				}
+			}
+			return true;
+		}
+		if (clazz == ReplaceEdit.class || clazz == InsertEdit.class || clazz == DeleteEdit.class)
+			return children == null || children.isEmpty();
+		return false;
+	}
+
 	private void computeSources() {
 		for (List<TextEdit> list : fSourceEdits) {
 			if (list != null) {
@@ -235,4 +290,97 @@ public class TextEditProcessor {
 	private boolean updateRegions() {
 		return (fStyle & TextEdit.UPDATE_REGIONS) != 0;
 	}
+
+	private boolean singleReplace() {
+		return (fStyle & TextEdit.SINGLE_REPLACE) != 0;
+	}
+
+	/**
+	 * A document which records the replacements performed by an edit tree instead
+	 * of executing them. Since the edits of a tree are performed from the end of
+	 * the document to its beginning and don't overlap, the offsets of all
+	 * replacements refer to the original document.
+	 *
+	 * @since 3.13
+	 */
+	private static final class ReplaceRecorder extends EditDocument {
+
+		private int[] fOffsets= new int[16];
+		private int[] fLengths= new int[16];
+		private String[] fTexts= new String[16];
+		private int fSize;
+		private int fDelta;
+
+		public ReplaceRecorder() {
+			super(""); //$NON-NLS-1$
+		}
+
+		@Override
+		public void replace(int offset, int length, String text) {
+			if (fSize == fOffsets.length) {
+				fOffsets= Arrays.copyOf(fOffsets, fSize * 2);
+				fLengths= Arrays.copyOf(fLengths, fSize * 2);
+				fTexts= Arrays.copyOf(fTexts, fSize * 2);
+			}
+			fOffsets[fSize]= offset;
+			fLengths[fSize]= length;
+			fTexts[fSize]= text;
+			fSize++;
+			fDelta+= text.length() - length;
+		}
+
+		/**
+		 * Returns the difference between the length of the new and the old text.
+		 *
+		 * @return the length delta of all recorded replacements
+		 */
+		public int getDelta() {
+			return fDelta;
+		}
+
+		/**
+		 * Replaces the region covered by the recorded replacements in the given
+		 * document by its new content.
+		 *
+		 * @param document the document to change
+		 * @param createUndo <code>true</code> if an undo edit is to be created
+		 * @return the undo edit without region or <code>null</code> if
+		 *  <code>createUndo</code> is <code>false</code>
+		 * @throws BadLocationException if the changed region is not in the document
+		 */
+		public UndoEdit replace(IDocument document, boolean createUndo) throws BadLocationException {
+			UndoEdit undo= createUndo ? new UndoEdit() : null;
+			if (fSize == 0)
+				return undo;
+
+			int start= fOffsets[fSize - 1];
+			int end= fOffsets[0] + fLengths[0];
+			String oldText= document.get(start, end - start);
+			StringBuilder buffer= new StringBuilder(oldText.length() + fDelta);
+			int last= start;
+			for (int i= fSize - 1; i >= 0; i--) {
+				int offset= fOffsets[i];
+				Assert.isTrue(offset >= last);
+				buffer.append(oldText, last - start, offset - start);
+				buffer.append(fTexts[i]);
+				last= offset + fLengths[i];
+			}
+			document.replace(start, end - start, buffer.toString());
+
+			if (undo != null) {
+				// same order and text sharing as the UndoCollector
+				String lastText= null;
+				for (int i= 0; i < fSize; i++) {
+					int offset= fOffsets[i] - start;
+					String text= oldText.substring(offset, offset + fLengths[i]);
+					if (lastText != null && lastText.equals(text))
+						text= lastText;
+					else
+						lastText= text;
+					undo.add(new ReplaceEdit(fOffsets[i], fTexts[i].length(), text));
+				}
+			}
+			return undo;
+		}
+	}
 }
@@ -14,8 +14,16 @@
  *******************************************************************************/
 package org.eclipse.text.undo;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 import org.eclipse.core.commands.ExecutionException;
 import org.eclipse.core.commands.operations.AbstractOperation;
@@ -61,14 +69,124 @@ import org.eclipse.jface.text.TextUtilities;
  * </p>
  *
  * @see IDocumentUndoManager
+ * @see IDocumentUndoManagerExtension
  * @see DocumentUndoManagerRegistry
  * @see IDocumentUndoListener
  * @see org.eclipse.jface.text.IDocument
  * @since 3.2
  * @noextend This class is not intended to be subclassed by clients.
  */
-public class DocumentUndoManager implements IDocumentUndoManager {
+public class DocumentUndoManager implements IDocumentUndoManager, IDocumentUndoManagerExtension {
 
+	/**
+	 * The minimal number of characters for which the texts of a change are
+	 * compressed.
+	 *
+	 * @since 3.13
+	 */
+	private static final int MIN_COMPRESSION_LENGTH= 256;
+
+	/**
+	 * The texts of a change, compressed with {@link Deflater}.
+	 *
+	 * @since 3.13
+	 */
+	private static final class CompressedTexts {
+
+		/** The compressed UTF-8 bytes of the concatenated texts. */
+		private final byte[] fData;
+		/** The number of uncompressed bytes. */
+		private final int fByteLength;
+		/** The lengths of the individual texts. */
+		private final int[] fLengths;
+
+		private CompressedTexts(byte[] data, int byteLength, int[] lengths) {
+			fData= data;
+			fByteLength= byteLength;
+			fLengths= lengths;
+		}
+
+		/**
+		 * Compresses the given texts.
+		 *
+		 * @param texts the texts to compress
+		 * @return the compressed texts or <code>null</code> if compression is not
+		 *         worthwhile
+		 */
+		static CompressedTexts create(String[] texts) {
+			int[] lengths= new int[texts.length];
+			StringBuilder buffer= new StringBuilder();
+			for (int i= 0; i < texts.length; i++) {
+				lengths[i]= texts[i].length();
+				buffer.append(texts[i]);
+			}
+			if (buffer.length() < MIN_COMPRESSION_LENGTH)
+				return null;
+
+			ByteBuffer bytes;
+			try {
+				// unpaired surrogates could not be restored
+				bytes= StandardCharsets.UTF_8.newEncoder().encode(CharBuffer.wrap(buffer));
+			} catch (CharacterCodingException e) {
+				return null;
+			}
+
+			Deflater deflater= new Deflater(Deflater.BEST_SPEED);
+			try {
+				deflater.setInput(bytes.array(), bytes.arrayOffset(), bytes.limit());
+				deflater.finish();
+				// only keep the result if it is smaller than the uncompressed texts
+				byte[] data= new byte[2 * buffer.length()];
+				int length= 0;
+				while (!deflater.finished()) {
+					if (length == data.length)
+						return null;
+					length+= deflater.deflate(data, length, data.length - length);
+				}
+				return new CompressedTexts(Arrays.copyOf(data, length), bytes.limit(), lengths);
+			} finally {
+				deflater.end();
+			}
+		}
+
+		/**
+		 * Returns the uncompressed texts.
+		 *
+		 * @return the texts
+		 */
+		String[] inflate() {
+			byte[] bytes= new byte[fByteLength];
+			Inflater inflater= new Inflater();
+			try {
+				inflater.setInput(fData);
+				int length= 0;
+				while (length < fByteLength && !inflater.finished())
+					length+= inflater.inflate(bytes, length, fByteLength - length);
+			} catch (DataFormatException x) {
+				throw new IllegalStateException(x);
+			} finally {
+				inflater.end();
+			}
+
+			String text= new String(bytes, StandardCharsets.UTF_8);
+			String[] texts= new String[fLengths.length];
+			int offset= 0;
+			for (int i= 0; i < texts.length; i++) {
+				texts[i]= text.substring(offset, offset + fLengths[i]);
+				offset+= fLengths[i];
+			}
+			return texts;
+		}
+
+		/**
+		 * Returns the number of bytes occupied by the compressed texts.
+		 *
+		 * @return the memory size
+		 */
+		long getMemorySize() {
+			return fData.length + 4L * fLengths.length;
+		}
+	}
 
 	/**
 	 * Represents an undo-able text change, described as the
@@ -97,6 +215,21 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		/** The redo modification stamp. */
 		protected long fRedoModificationStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
 
+		/**
+		 * The compressed texts, <code>null</code> if the texts are not compressed.
+		 *
+		 * @since 3.13
+		 */
+		protected CompressedTexts fCompressedTexts;
+
+		/**
+		 * The memory size of this change as counted in the undo memory size of
+		 * the manager, negative if this change is not in the undo history.
+		 *
+		 * @since 3.13
+		 */
+		private long fCountedMemorySize= -1;
+
 		/** The undo manager that generated the change. */
 		protected DocumentUndoManager fDocumentUndoManager;
 
@@ -117,6 +250,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		protected void reinitialize() {
 			fStart= fEnd= -1;
 			fText= fPreservedText= null;
+			fCompressedTexts= null;
 			fUndoModificationStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
 			fRedoModificationStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
 		}
@@ -258,6 +392,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		@Override
 		public IStatus undo(IProgressMonitor monitor, IAdaptable uiInfo) {
 			if (isValid()) {
+				inflate();
 				fDocumentUndoManager.fireDocumentUndo(fStart, fPreservedText, fText, uiInfo, DocumentUndoEvent.ABOUT_TO_UNDO, false);
 				undoTextChange();
 				fDocumentUndoManager.resetProcessChangeState();
@@ -292,6 +427,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		@Override
 		public IStatus redo(IProgressMonitor monitor, IAdaptable uiInfo) {
 			if (isValid()) {
+				inflate();
 				fDocumentUndoManager.fireDocumentUndo(fStart, fText, fPreservedText, uiInfo, DocumentUndoEvent.ABOUT_TO_REDO, false);
 				redoTextChange();
 				fDocumentUndoManager.resetProcessChangeState();
@@ -375,7 +511,47 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		 * @return <code>true</code> if the change is valid for undo or redo
 		 */
 		protected boolean isValid() {
-			return fStart > -1 && fEnd > -1 && fText != null;
+			return fStart > -1 && fEnd > -1 && (fText != null || fCompressedTexts != null);
+		}
+
+		/**
+		 * Returns the approximate number of bytes occupied by the texts of this
+		 * change.
+		 *
+		 * @return the memory size of this change
+		 * @since 3.13
+		 */
+		protected long getMemorySize() {
+			if (fCompressedTexts != null)
+				return fCompressedTexts.getMemorySize();
+			return 2L * (length(fText) + length(fPreservedText));
+		}
+
+		/**
+		 * Compresses the texts of this change if that reduces its memory size.
+		 *
+		 * @since 3.13
+		 */
+		protected void compress() {
+			if (fCompressedTexts == null && fText != null && fPreservedText != null) {
+				fCompressedTexts= CompressedTexts.create(new String[] { fText, fPreservedText });
+				if (fCompressedTexts != null)
+					fText= fPreservedText= null;
+			}
+		}
+
+		/**
+		 * Restores the texts of this change if they have been compressed.
+		 *
+		 * @since 3.13
+		 */
+		protected void inflate() {
+			if (fCompressedTexts != null) {
+				String[] texts= fCompressedTexts.inflate();
+				fText= texts[0];
+				fPreservedText= texts[1];
+				fCompressedTexts= null;
+			}
 		}
 
 		@Override
@@ -433,6 +609,13 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		/** The list of individual changes */
 		private List<UndoableTextChange> fChanges= new ArrayList<>();
 
+		/**
+		 * The memory size of the individual changes.
+		 *
+		 * @since 3.13
+		 */
+		private long fChangesMemorySize;
+
 		/**
 		 * Creates a new compound text change.
 		 *
@@ -449,6 +632,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		 */
 		protected void add(UndoableTextChange change) {
 			fChanges.add(change);
+			fChangesMemorySize+= change.getMemorySize();
 		}
 
 		@Override
@@ -456,6 +640,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 
 			int size= fChanges.size();
 			if (size > 0) {
+				inflate();
 				UndoableTextChange c;
 
 				c= fChanges.get(0);
@@ -488,6 +673,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 
 			int size= fChanges.size();
 			if (size > 0) {
+				inflate();
 
 				UndoableTextChange c;
 				c= fChanges.get(size - 1);
@@ -560,6 +746,49 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			return fStart > -1 || !fChanges.isEmpty();
 		}
 
+		@Override
+		protected long getMemorySize() {
+			if (fCompressedTexts != null)
+				return fCompressedTexts.getMemorySize();
+			return fChangesMemorySize + super.getMemorySize();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * The texts of all individual changes are compressed together.
+		 */
+		@Override
+		protected void compress() {
+			if (fCompressedTexts != null || fStart > -1 || fChanges.isEmpty())
+				return;
+
+			int size= fChanges.size();
+			String[] texts= new String[2 * size];
+			for (int i= 0; i < size; i++) {
+				UndoableTextChange c= fChanges.get(i);
+				texts[2 * i]= c.fText;
+				texts[2 * i + 1]= c.fPreservedText;
+			}
+			fCompressedTexts= CompressedTexts.create(texts);
+			if (fCompressedTexts != null) {
+				for (UndoableTextChange c : fChanges)
+					c.fText= c.fPreservedText= null;
+			}
+		}
+
+		@Override
+		protected void inflate() {
+			if (fCompressedTexts != null) {
+				String[] texts= fCompressedTexts.inflate();
+				for (int i= 0; i < fChanges.size(); i++) {
+					UndoableTextChange c= fChanges.get(i);
+					c.fText= texts[2 * i];
+					c.fPreservedText= texts[2 * i + 1];
+				}
+				fCompressedTexts= null;
+			}
+		}
+
 		@Override
 		protected long getUndoModificationStamp() {
 			if (fStart > -1) {
@@ -683,9 +912,20 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 					fOperation= event.getOperation();
 				}
 				break;
+			case OperationHistoryEvent.OPERATION_ADDED:
+				countMemorySize(event.getOperation(), true);
+				break;
+			case OperationHistoryEvent.OPERATION_REMOVED:
+				countMemorySize(event.getOperation(), false);
+				break;
+			case OperationHistoryEvent.OPERATION_CHANGED:
+				recountMemorySize(event.getOperation());
+				break;
 			case OperationHistoryEvent.UNDONE:
 			case OperationHistoryEvent.REDONE:
 			case OperationHistoryEvent.OPERATION_NOT_OK:
+				// undo and redo restore compressed texts
+				recountMemorySize(event.getOperation());
 				if (event.getOperation() == fOperation) {
 					listenToTextChanges(true);
 					fOperation= null;
@@ -772,6 +1012,20 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 	/** The list of clients connected. */
 	private List<Object> fConnected;
 
+	/**
+	 * The memory limit for the texts of the undo history, negative if unlimited.
+	 *
+	 * @since 3.13
+	 */
+	private long fMaximalUndoMemory= -1;
+
+	/**
+	 * The memory size of the text changes in the undo history.
+	 *
+	 * @since 3.13
+	 */
+	private long fUndoMemorySize;
+
 	/**
 	 *
 	 * Create a DocumentUndoManager for the given document.
@@ -815,6 +1069,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			}
 		}
 		fCurrent.commit();
+		enforceMemoryLimit();
 	}
 
 	@Override
@@ -894,6 +1149,107 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		fHistory.setLimit(fUndoContext, undoLimit);
 	}
 
+	@Override
+	public void setMaximalUndoMemory(long limit) {
+		fMaximalUndoMemory= limit;
+		if (isConnected())
+			enforceMemoryLimit();
+	}
+
+	@Override
+	public long getMaximalUndoMemory() {
+		return fMaximalUndoMemory;
+	}
+
+	/**
+	 * Reduces the memory used by the undo history if it exceeds the limit. The
+	 * texts of the changes farthest from the current document state are
+	 * compressed first, then the oldest undoable changes are removed. The most
+	 * recent undoable change, the redo history and operations other than text
+	 * changes are never removed.
+	 *
+	 * @since 3.13
+	 */
+	private void enforceMemoryLimit() {
+		if (fMaximalUndoMemory < 0)
+			return;
+
+		// only the changes still being built can have grown since they were counted
+		recountMemorySize(fCurrent);
+		recountMemorySize(fLastAddedTextEdit);
+		if (fUndoMemorySize <= fMaximalUndoMemory)
+			return;
+
+		// the most recent change is the one the next undo reverts, leave it untouched
+		IUndoableOperation[] undos= fHistory.getUndoHistory(fUndoContext);
+		IUndoableOperation[] redos= fHistory.getRedoHistory(fUndoContext);
+		int oldUndos= undos.length - 1;
+		compress(undos, oldUndos);
+		compress(redos, redos.length);
+
+		for (int i= 0; i < oldUndos && fUndoMemorySize > fMaximalUndoMemory; i++) {
+			if (undos[i] instanceof UndoableTextChange) {
+				UndoableTextChange change= (UndoableTextChange) undos[i];
+				fHistory.replaceOperation(change, new IUndoableOperation[0]);
+				countMemorySize(change, false);
+				change.dispose();
+			}
+		}
+	}
+
+	/**
+	 * Compresses the given operations, starting with the first one, until the
+	 * memory size of the undo history is within the limit.
+	 *
+	 * @param operations the operations
+	 * @param count the number of operations which may be compressed
+	 * @since 3.13
+	 */
+	private void compress(IUndoableOperation[] operations, int count) {
+		for (int i= 0; i < count && fUndoMemorySize > fMaximalUndoMemory; i++) {
+			if (operations[i] instanceof UndoableTextChange && operations[i] != fCurrent) {
+				((UndoableTextChange) operations[i]).compress();
+				recountMemorySize(operations[i]);
+			}
+		}
+	}
+
+	/**
+	 * Updates the undo memory size when the given operation is added to or
+	 * removed from the undo history.
+	 *
+	 * @param operation the operation
+	 * @param inHistory <code>true</code> if the operation is in the undo
+	 *            history
+	 * @since 3.13
+	 */
+	private void countMemorySize(IUndoableOperation operation, boolean inHistory) {
+		if (operation instanceof UndoableTextChange && ((UndoableTextChange) operation).fDocumentUndoManager == this) {
+			UndoableTextChange change= (UndoableTextChange) operation;
+			if (change.fCountedMemorySize >= 0)
+				fUndoMemorySize-= change.fCountedMemorySize;
+			change.fCountedMemorySize= inHistory ? change.getMemorySize() : -1;
+			if (inHistory)
+				fUndoMemorySize+= change.fCountedMemorySize;
+		}
+	}
+
+	/**
+	 * Updates the undo memory size after the memory size of the given
+	 * operation may have changed.
+	 *
+	 * @param operation the operation, may be <code>null</code>
+	 * @since 3.13
+	 */
+	private void recountMemorySize(IUndoableOperation operation) {
+		if (operation instanceof UndoableTextChange && ((UndoableTextChange) operation).fCountedMemorySize >= 0)
+			countMemorySize(operation, true);
+	}
+
+	private static int length(String text) {
+		return text == null ? 0 : text.length();
+	}
+
 	/**
 	 * Fires a document undo event to all registered document undo listeners.
 	 * Uses a robust iterator.
@@ -943,6 +1299,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 				|| edit instanceof UndoableCompoundTextChange) {
 			fHistory.add(edit);
 			fLastAddedTextEdit= edit;
+			enforceMemoryLimit();
 		}
 	}
 
@@ -1192,6 +1549,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 	 */
 	private void initialize() {
 		initializeUndoHistory();
+		fUndoMemorySize= 0;
 
 		// open up the current text edit
 		fCurrent= new UndoableTextChange(this);
@@ -31,9 +31,19 @@ import org.eclipse.core.commands.operations.IUndoContext;
  * after undo or redo events are performed. Clients must connect to the undo
  * manager in addition to registering listeners.</p>
  * <p>
- * Clients may implement this interface.
+ * In order to provide backward compatibility for clients of
+ * <code>IDocumentUndoManager</code>, extension interfaces are used to provide a
+ * means of evolution. The following extension interfaces exist:
+ * </p>
+ * <ul>
+ * <li>{@link org.eclipse.text.undo.IDocumentUndoManagerExtension} since version
+ * 3.13 introducing a memory limit for the undo history.</li>
+ * </ul>
+ * <p>
+ * Clients may implement this interface and its extension interfaces.
  * </p>
  *
+ * @see IDocumentUndoManagerExtension
  * @see DocumentUndoManagerRegistry
  * @see IDocumentUndoListener
  * @see org.eclipse.jface.text.IDocument
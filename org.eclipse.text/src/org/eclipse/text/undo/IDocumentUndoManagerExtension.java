@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.undo;
+
+
+/**
+ * Extension interface for {@link org.eclipse.text.undo.IDocumentUndoManager}.
+ * <p>
+ * Introduces a limit on the memory used by the texts kept in the undo history.
+ * If the history exceeds the limit, the texts of the changes which are farthest
+ * from the current document state are compressed first. If that is not
+ * sufficient, the oldest changes are removed from the history. The limit
+ * complements the maximal undo level set with
+ * {@link IDocumentUndoManager#setMaximalUndoLevel(int)}.
+ * </p>
+ * <p>
+ * Clients may implement this interface.
+ * </p>
+ *
+ * @see IDocumentUndoManager
+ * @since 3.13
+ */
+public interface IDocumentUndoManagerExtension {
+
+	/**
+	 * Sets the approximate number of bytes which the texts of the undo history
+	 * may occupy. The provided limit supersedes any previously set limit. A
+	 * negative value removes the limit, which is the default.
+	 * <p>
+	 * Older changes are compressed first and then removed from the undo
+	 * history. The most recent undoable change is never compressed or removed,
+	 * even if it alone exceeds the limit. Changes which can be redone are
+	 * compressed but never removed.
+	 * </p>
+	 *
+	 * @param limit the memory limit in bytes or a negative value for no limit
+	 */
+	void setMaximalUndoMemory(long limit);
+
+	/**
+	 * Returns the approximate number of bytes which the texts of the undo history
+	 * may occupy.
+	 *
+	 * @return the memory limit in bytes or a negative value if there is no limit
+	 */
+	long getMaximalUndoMemory();
+}
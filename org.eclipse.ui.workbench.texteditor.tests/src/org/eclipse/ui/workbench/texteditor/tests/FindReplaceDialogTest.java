@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -272,6 +272,18 @@ public class FindReplaceDialogTest {
 		assertTrue(allScopeBox.isFocusControl());
 	}
 
+	@Test
+	public void testReplaceAll() {
+		openTextViewerAndFindReplaceDialog();
+
+		Combo findField= (Combo)fFindReplaceDialog.get("fFindField");
+		findField.setText("line");
+		Combo replaceField= (Combo)fFindReplaceDialog.get("fReplaceField");
+		replaceField.setText("row");
+		fFindReplaceDialog.invoke("performReplaceAll", null);
+		assertEquals("row\nrow\nrow", fTextViewer.getDocument().get());
+	}
+
 	@Test
 	public void testShiftEnterReversesSearchDirection() {
 		openTextViewerAndFindReplaceDialog();
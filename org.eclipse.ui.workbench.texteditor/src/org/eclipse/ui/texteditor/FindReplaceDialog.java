@@ -65,6 +65,7 @@ import org.eclipse.jface.text.IFindReplaceTarget;
 import org.eclipse.jface.text.IFindReplaceTargetExtension;
 import org.eclipse.jface.text.IFindReplaceTargetExtension3;
 import org.eclipse.jface.text.IFindReplaceTargetExtension4;
+import org.eclipse.jface.text.IFindReplaceTargetExtension5;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextUtilities;
@@ -1582,6 +1583,13 @@ class FindReplaceDialog extends Dialog {
 			((IFindReplaceTargetExtension) fTarget).setReplaceAllMode(true);
 
 		try {
+			if (fTarget instanceof IFindReplaceTargetExtension5) {
+				replaceCount= ((IFindReplaceTargetExtension5) fTarget).replaceAll(findString, replaceString, caseSensitive, wholeWord, regExSearch);
+				if (replaceCount != -1)
+					return replaceCount;
+				replaceCount= 0;
+			}
+
 			int index= 0;
 			while (index != -1) {
 				index = findAndSelect(findReplacePosition, findString, true, caseSensitive, wholeWord, regExSearch);